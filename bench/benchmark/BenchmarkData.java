@@ -0,0 +1,96 @@
+package benchmark;
+
+import model.dao.*;
+import model.entity.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Seeded fixture shared by the benchmarks. The same seed and sizes always
+ * produce the same rows, so results can be compared between runs.
+ */
+final class BenchmarkData {
+    
+    static final long SEED = 20240601L;
+    
+    private static final String[] SUBJECTS = {
+        "Watercolor", "Oil Painting", "Sketching", "Sculpture", "Ceramics", "Portrait",
+        "Landscape", "Calligraphy", "Printmaking", "Digital Art"
+    };
+    
+    private final Random random;
+    
+    BenchmarkData(long seed) {
+        this.random = new Random(seed);
+    }
+    
+    String name() {
+        return DataGenerator.randomName(random);
+    }
+    
+    /**
+     * Picks a search term: a three to five letter slice of a generated name.
+     */
+    String searchTerm() {
+        String source = name().toLowerCase();
+        while (source.length() < 5) {
+            source = name().toLowerCase();
+        }
+        int length = 3 + random.nextInt(3);
+        int start = random.nextInt(source.length() - length + 1);
+        return source.substring(start, start + length);
+    }
+    
+    void addStudents(StudentDAO dao, int count, Student.SkillLevel level) {
+        for (int i = 0; i < count; i++) {
+            int n = dao.count() + 1;
+            dao.save(new Student(0, name(), name(), "student" + n + "@bench.test", "5550000000",
+                    "2000-01-01", level != null ? level : Student.SkillLevel.values()[random.nextInt(3)]));
+        }
+    }
+    
+    void addInstructors(InstructorDAO dao, int count) {
+        for (int i = 0; i < count; i++) {
+            Instructor instructor = new Instructor();
+            instructor.setFirstName(name());
+            instructor.setLastName(name());
+            instructor.setEmail("instructor" + (dao.count() + 1) + "@bench.test");
+            instructor.setSpecialization(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+            dao.save(instructor);
+        }
+    }
+    
+    void addCourses(CourseDAO dao, int count, int instructors, int capacity, Student.SkillLevel level) {
+        for (int i = 0; i < count; i++) {
+            dao.save(new Course(0, SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + name(), "Benchmark course",
+                    random.nextBoolean() ? Course.Term.SUMMER : Course.Term.WINTER,
+                    level != null ? level : Student.SkillLevel.values()[random.nextInt(3)],
+                    1 + random.nextInt(Math.max(1, instructors)), capacity, new BigDecimal("150.00"),
+                    LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31)));
+        }
+    }
+    
+    void addSessions(SessionDAO dao, int courseId, int count) {
+        for (int i = 0; i < count; i++) {
+            Session session = new Session();
+            session.setCourseId(courseId);
+            session.setSessionDate(LocalDate.of(2025, 6, 2).plusWeeks(i));
+            session.setStartTime(LocalTime.of(10, 0));
+            session.setEndTime(LocalTime.of(12, 0));
+            session.setTopic("Week " + (i + 1));
+            dao.save(session);
+        }
+    }
+    
+    Attendance.AttendanceStatus attendanceStatus() {
+        int roll = random.nextInt(100);
+        return roll < 80 ? Attendance.AttendanceStatus.PRESENT
+                : roll < 90 ? Attendance.AttendanceStatus.LATE : Attendance.AttendanceStatus.ABSENT;
+    }
+    
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+}
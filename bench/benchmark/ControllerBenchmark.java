@@ -0,0 +1,162 @@
+package benchmark;
+
+import controller.AttendanceController;
+import controller.EnrollmentController;
+import model.dao.impl.*;
+import model.entity.*;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller hot paths with {@code rows} students and existing enrollments.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class ControllerBenchmark {
+    
+    /** Enrollments created per measured batch of enrollStudent. */
+    private static final int ENROLL_BATCH = 1000;
+    private static final int SESSIONS_PER_COURSE = 12;
+    /** Sessions whose roll is taken in turns by recordSessionAttendance. */
+    private static final int ROLL_SESSIONS = 16;
+    
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+    
+    private EnrollmentDAOImpl enrollmentDAO;
+    private PaymentDAOImpl paymentDAO;
+    private EnrollmentController enrollmentController;
+    private AttendanceController attendanceController;
+    private int courses;
+    private int firstFreeStudent;
+    private int nextStudent;
+    private final List<Integer> batchEnrollments = new ArrayList<>();
+    private int[] enrollmentIds;
+    private int nextEnrollment;
+    private int[] rollSessions;
+    private final List<Map<Integer, Attendance.AttendanceStatus>> rolls = new ArrayList<>();
+    private int nextRoll;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(BenchmarkData.SEED);
+        StudentDAOImpl studentDAO = new StudentDAOImpl();
+        InstructorDAOImpl instructorDAO = new InstructorDAOImpl();
+        CourseDAOImpl courseDAO = new CourseDAOImpl();
+        SessionDAOImpl sessionDAO = new SessionDAOImpl();
+        AttendanceDAOImpl attendanceDAO = new AttendanceDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        paymentDAO = new PaymentDAOImpl();
+        courseDAO.setEnrollmentDAO(enrollmentDAO);
+        attendanceDAO.setEnrollmentDAO(enrollmentDAO);
+        attendanceDAO.setCourseDAO(courseDAO);
+        paymentDAO.setEnrollmentDAO(enrollmentDAO);
+        paymentDAO.setCourseDAO(courseDAO);
+        
+        // Half the students are already enrolled; the rest feed the enrollStudent batches
+        courses = Math.max(10, rows / 100);
+        data.addStudents(studentDAO, rows + ENROLL_BATCH, Student.SkillLevel.BEGINNER);
+        data.addInstructors(instructorDAO, courses);
+        data.addCourses(courseDAO, courses, courses, Integer.MAX_VALUE, Student.SkillLevel.BEGINNER);
+        
+        enrollmentController = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, paymentDAO);
+        attendanceController = new AttendanceController(attendanceDAO, enrollmentDAO, sessionDAO);
+        
+        int[] sessionBase = new int[courses + 1];
+        for (int courseId = 1; courseId <= courses; courseId++) {
+            sessionBase[courseId] = sessionDAO.count() + 1;
+            data.addSessions(sessionDAO, courseId, SESSIONS_PER_COURSE);
+        }
+        int preEnrolled = rows / 2;
+        enrollmentIds = new int[preEnrolled];
+        for (int studentId = 1; studentId <= preEnrolled; studentId++) {
+            int courseId = 1 + (studentId % courses);
+            Enrollment enrollment = enrollmentController.enrollStudent(studentId, courseId);
+            enrollmentIds[studentId - 1] = enrollment.getId();
+            // Attendance for a sample of enrollments keeps setup time bounded at 1M rows
+            if (studentId % 10 == 0) {
+                for (int s = 0; s < SESSIONS_PER_COURSE; s++) {
+                    Attendance attendance = new Attendance();
+                    attendance.setEnrollmentId(enrollment.getId());
+                    attendance.setSessionId(sessionBase[courseId] + s);
+                    attendance.setStatus(data.attendanceStatus());
+                    attendanceDAO.save(attendance);
+                }
+            }
+        }
+        firstFreeStudent = preEnrolled + 1;
+        nextStudent = firstFreeStudent;
+        
+        // Two rolls per session that differ for every student, so each call writes the whole class
+        rollSessions = new int[ROLL_SESSIONS];
+        for (int i = 0; i < ROLL_SESSIONS; i++) {
+            int courseId = 1 + (i % courses);
+            rollSessions[i] = sessionBase[courseId] + (i / courses) % SESSIONS_PER_COURSE;
+        }
+        Attendance.AttendanceStatus[] statuses = Attendance.AttendanceStatus.values();
+        for (int variant = 0; variant < 2; variant++) {
+            for (int sessionId : rollSessions) {
+                Map<Integer, Attendance.AttendanceStatus> roll = new LinkedHashMap<>();
+                for (Enrollment enrollment : attendanceController.getSessionRoster(sessionId)) {
+                    roll.put(enrollment.getId(), statuses[(enrollment.getId() + variant) % statuses.length]);
+                }
+                rolls.add(roll);
+            }
+        }
+    }
+    
+    @TearDown(Level.Iteration)
+    public void removeBatchEnrollments() {
+        for (int enrollmentId : batchEnrollments) {
+            enrollmentController.dropEnrollment(enrollmentId);
+            for (Payment payment : paymentDAO.findByEnrollmentId(enrollmentId)) {
+                paymentDAO.delete(payment.getId());
+            }
+            enrollmentDAO.delete(enrollmentId);
+        }
+        batchEnrollments.clear();
+        nextStudent = firstFreeStudent;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = ENROLL_BATCH)
+    @Measurement(iterations = 10, batchSize = ENROLL_BATCH)
+    public Enrollment enrollStudent() {
+        int studentId = nextStudent++;
+        Enrollment enrollment = enrollmentController.enrollStudent(studentId, 1 + (studentId % courses));
+        batchEnrollments.add(enrollment.getId());
+        return enrollment;
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public double calculateAttendancePercentage() {
+        int index = (nextEnrollment++ * 10 + 9) % enrollmentIds.length;
+        return attendanceController.calculateAttendancePercentage(enrollmentIds[index]);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<AttendanceController.AttendanceRate> termAttendanceRates() {
+        return attendanceController.getTermAttendanceRates(Course.Term.SUMMER, 75.0);
+    }
+    
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public List<AttendanceController.RollCallResult> recordSessionAttendance() {
+        int index = nextRoll++ % rolls.size();
+        return attendanceController.recordSessionAttendance(rollSessions[index % ROLL_SESSIONS], rolls.get(index));
+    }
+}
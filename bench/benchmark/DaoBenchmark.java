@@ -0,0 +1,102 @@
+package benchmark;
+
+import model.dao.DataGenerator;
+import model.dao.DataGeneratorConfig;
+import model.dao.impl.*;
+import model.entity.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the in-memory DAOs at increasing table sizes.
+ * The student table has {@code rows} rows; instructors and courses scale with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class DaoBenchmark {
+    
+    private static final int QUERIES = 64;
+    
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+    
+    private StudentDAOImpl studentDAO;
+    private InstructorDAOImpl instructorDAO;
+    private CourseDAOImpl courseDAO;
+    private EnrollmentDAOImpl enrollmentDAO;
+    private String[] terms;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        studentDAO = new StudentDAOImpl();
+        instructorDAO = new InstructorDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        courseDAO.setEnrollmentDAO(enrollmentDAO);
+        
+        // Full courses of 100 seats give about one enrollment per student
+        DataGeneratorConfig config = new DataGeneratorConfig();
+        config.setSeed(BenchmarkData.SEED);
+        config.setStudents(rows);
+        config.setInstructors(Math.max(10, rows / 100));
+        config.setCoursesPerTerm(Math.max(5, rows / 200));
+        config.setSessionsPerCourse(0);
+        config.setCourseCapacity(100);
+        config.setCapacityFillRatio(1.0);
+        config.setBatchSize(10_000);
+        new DataGenerator(studentDAO, instructorDAO, courseDAO, new SessionDAOImpl(), enrollmentDAO,
+                new PaymentDAOImpl(), new AttendanceDAOImpl(), new SkillTestDAOImpl()).generate(config);
+        
+        BenchmarkData data = new BenchmarkData(BenchmarkData.SEED);
+        terms = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            terms[i] = data.searchTerm();
+        }
+    }
+    
+    private String nextTerm() {
+        return terms[next++ & (QUERIES - 1)];
+    }
+    
+    @Benchmark
+    public List<Student> studentFindAll() {
+        return studentDAO.findAll();
+    }
+    
+    @Benchmark
+    public List<Student> studentSearchByName() {
+        return studentDAO.searchByName(nextTerm());
+    }
+    
+    @Benchmark
+    public List<Student> studentSearchByNameTop20() {
+        return studentDAO.searchByName(nextTerm(), 20);
+    }
+    
+    @Benchmark
+    public List<Instructor> instructorSearchByName() {
+        return instructorDAO.searchByName(nextTerm());
+    }
+    
+    @Benchmark
+    public List<Course> courseSearchByName() {
+        return courseDAO.searchByName(nextTerm());
+    }
+    
+    @Benchmark
+    public List<Course> findAvailableCourses() {
+        return courseDAO.findAvailableCourses();
+    }
+    
+    @Benchmark
+    public void studentForEach(Blackhole blackhole) {
+        studentDAO.forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import model.dao.NameSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NameSearchIndex against the lower-casing scan it replaced, over the same
+ * generated first and last names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+public class NameSearchBenchmark {
+    
+    private static final int QUERIES = 64;
+    private static final int LIMIT = 50;
+    
+    @Param({"100000"})
+    public int rows;
+    
+    private NameSearchIndex index;
+    private String[][] names;
+    private String[] terms;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(BenchmarkData.SEED);
+        index = new NameSearchIndex();
+        names = new String[rows + 1][];
+        for (int id = 1; id <= rows; id++) {
+            names[id] = new String[] {data.name(), data.name()};
+            index.put(id, names[id]);
+        }
+        terms = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            terms[i] = data.searchTerm();
+        }
+    }
+    
+    private String nextTerm() {
+        return terms[next++ & (QUERIES - 1)];
+    }
+    
+    @Benchmark
+    public List<Integer> indexedSearch() {
+        return index.search(nextTerm(), LIMIT);
+    }
+    
+    @Benchmark
+    public List<Integer> lowerCasingScan() {
+        String needle = nextTerm();
+        List<Integer> matches = new ArrayList<>();
+        for (int id = 1; id <= rows; id++) {
+            if (Arrays.stream(names[id]).anyMatch(n -> n.toLowerCase().contains(needle))) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import model.dao.DataGenerator;
+import model.dao.DataGeneratorConfig;
+import model.dao.impl.*;
+import model.storage.DurableStore;
+import model.storage.EntityCodecs;
+import org.openjdk.jmh.annotations.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Start-up time of the durable in-memory store with {@code rows} students plus their
+ * enrollments, payments and skill tests, recovered either from a snapshot or by
+ * replaying the whole write-ahead log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class RecoveryBenchmark {
+    
+    @Param({"100000", "1000000"})
+    public int rows;
+    
+    @Param({"snapshot", "log"})
+    public String source;
+    
+    private Path directory;
+    
+    /**
+     * One set of DAOs registered with a store on the benchmark directory.
+     */
+    private static final class Tables {
+        final StudentDAOImpl students = new StudentDAOImpl();
+        final InstructorDAOImpl instructors = new InstructorDAOImpl();
+        final CourseDAOImpl courses = new CourseDAOImpl();
+        final SessionDAOImpl sessions = new SessionDAOImpl();
+        final EnrollmentDAOImpl enrollments = new EnrollmentDAOImpl();
+        final AttendanceDAOImpl attendance = new AttendanceDAOImpl();
+        final PaymentDAOImpl payments = new PaymentDAOImpl();
+        final SkillTestDAOImpl skillTests = new SkillTestDAOImpl();
+        final DurableStore store;
+        
+        Tables(Path directory) {
+            courses.setEnrollmentDAO(enrollments);
+            store = new DurableStore(directory, false)
+                    .register("students", students, EntityCodecs.STUDENT)
+                    .register("instructors", instructors, EntityCodecs.INSTRUCTOR)
+                    .register("courses", courses, EntityCodecs.COURSE)
+                    .register("sessions", sessions, EntityCodecs.SESSION)
+                    .register("enrollments", enrollments, EntityCodecs.ENROLLMENT)
+                    .register("attendance", attendance, EntityCodecs.ATTENDANCE)
+                    .register("payments", payments, EntityCodecs.PAYMENT)
+                    .register("skill_tests", skillTests, EntityCodecs.SKILL_TEST);
+        }
+    }
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("recovery-bench");
+        Tables tables = new Tables(directory);
+        tables.store.open();
+        
+        DataGeneratorConfig config = new DataGeneratorConfig();
+        config.setSeed(BenchmarkData.SEED);
+        config.setStudents(rows);
+        config.setInstructors(Math.max(10, rows / 100));
+        config.setCoursesPerTerm(Math.max(5, rows / 200));
+        config.setSessionsPerCourse(0);
+        config.setCourseCapacity(100);
+        config.setCapacityFillRatio(1.0);
+        config.setBatchSize(10_000);
+        new DataGenerator(tables.students, tables.instructors, tables.courses, tables.sessions,
+                tables.enrollments, tables.payments, tables.attendance, tables.skillTests,
+                tables.store).generate(config);
+        if (source.equals("snapshot")) {
+            // Closing writes a final snapshot and leaves an empty log after it
+            tables.store.close();
+        }
+        // Otherwise the store is left open, as after a crash: everything is in the log only
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public DurableStore.Recovery recover() {
+        Tables tables = new Tables(directory);
+        DurableStore.Recovery recovery = tables.store.open();
+        // Nothing was written since open(), so closing does not snapshot
+        tables.store.close();
+        return recovery;
+    }
+}
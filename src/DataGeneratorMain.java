@@ -0,0 +1,89 @@
+import model.dao.DataGenerator;
+import model.dao.DataGeneratorConfig;
+import model.dao.TransactionManager;
+import model.dao.impl.*;
+import util.AppConstants;
+import util.ConfigManager;
+import util.DatabaseConnection;
+
+/**
+ * Command line entry point that fills the configured storage with synthetic data.
+ * Usage: {@code DataGeneratorMain [--students=N] [--seed=N] [--attendanceRate=0.9] ...};
+ * every {@link DataGeneratorConfig} property can be set as {@code --name=value}.
+ */
+public class DataGeneratorMain {
+    
+    public static void main(String[] args) {
+        DataGeneratorConfig config = new DataGeneratorConfig();
+        try {
+            for (String arg : args) {
+                apply(config, arg);
+            }
+            config.validate();
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        
+        DataGenerator generator;
+        if (AppConstants.STORAGE_POSTGRESQL.equalsIgnoreCase(ConfigManager.getInstance().getStorage())) {
+            JdbcTransactionManager provider =
+                new JdbcTransactionManager(DatabaseConnection.getInstance().getConnectionProvider());
+            JdbcSchema.initialize(provider);
+            generator = new DataGenerator(
+                new JdbcStudentDAOImpl(provider), new JdbcInstructorDAOImpl(provider),
+                new JdbcCourseDAOImpl(provider), new JdbcSessionDAOImpl(provider),
+                new JdbcEnrollmentDAOImpl(provider), new JdbcPaymentDAOImpl(provider),
+                new JdbcAttendanceDAOImpl(provider), new JdbcSkillTestDAOImpl(provider), provider);
+        } else {
+            // Nothing is kept after exit; useful to time generation or check memory use
+            CourseDAOImpl courseDAO = new CourseDAOImpl();
+            EnrollmentDAOImpl enrollmentDAO = new EnrollmentDAOImpl();
+            courseDAO.setEnrollmentDAO(enrollmentDAO);
+            generator = new DataGenerator(
+                new StudentDAOImpl(), new InstructorDAOImpl(), courseDAO, new SessionDAOImpl(),
+                enrollmentDAO, new PaymentDAOImpl(), new AttendanceDAOImpl(), new SkillTestDAOImpl(),
+                TransactionManager.NONE);
+        }
+        
+        long start = System.nanoTime();
+        try {
+            DataGenerator.Summary summary = generator.generate(config);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(summary);
+            System.out.println(summary.total() + " rows in " + millis + " ms");
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+    
+    private static void apply(DataGeneratorConfig config, String arg) {
+        int eq = arg.indexOf('=');
+        if (!arg.startsWith("--") || eq < 0) {
+            throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+        }
+        String name = arg.substring(2, eq);
+        String value = arg.substring(eq + 1);
+        try {
+            switch (name) {
+                case "seed": config.setSeed(Long.parseLong(value)); break;
+                case "students": config.setStudents(Integer.parseInt(value)); break;
+                case "instructors": config.setInstructors(Integer.parseInt(value)); break;
+                case "coursesPerTerm": config.setCoursesPerTerm(Integer.parseInt(value)); break;
+                case "sessionsPerCourse": config.setSessionsPerCourse(Integer.parseInt(value)); break;
+                case "courseCapacity": config.setCourseCapacity(Integer.parseInt(value)); break;
+                case "beginnerShare": config.setBeginnerShare(Double.parseDouble(value)); break;
+                case "intermediateShare": config.setIntermediateShare(Double.parseDouble(value)); break;
+                case "capacityFillRatio": config.setCapacityFillRatio(Double.parseDouble(value)); break;
+                case "attendanceRate": config.setAttendanceRate(Double.parseDouble(value)); break;
+                case "lateShare": config.setLateShare(Double.parseDouble(value)); break;
+                case "paymentCompletionRate": config.setPaymentCompletionRate(Double.parseDouble(value)); break;
+                case "batchSize": config.setBatchSize(Integer.parseInt(value)); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+        }
+    }
+}
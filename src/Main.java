@@ -1,9 +1,16 @@
 import controller.*;
 import model.dao.*;
 import model.dao.impl.*;
+import model.event.EventBus;
+import model.storage.DurableStore;
+import model.storage.EntityCodecs;
 import view.MainFrame;
+import util.AppConstants;
+import util.ConfigManager;
+import util.DatabaseConnection;
 import util.GlobalExceptionHandler;
 import javax.swing.*;
+import java.nio.file.Path;
 
 /**
  * Main entry point for the Art School Management System.
@@ -22,27 +29,95 @@ public class Main {
             // Use default Look and Feel
         }
         
-        // Initialize DAOs (In-Memory implementation)
-        StudentDAOImpl studentDAO = new StudentDAOImpl();
-        InstructorDAOImpl instructorDAO = new InstructorDAOImpl();
-        CourseDAOImpl courseDAO = new CourseDAOImpl();
-        EnrollmentDAOImpl enrollmentDAO = new EnrollmentDAOImpl();
-        SessionDAOImpl sessionDAO = new SessionDAOImpl();
-        AttendanceDAOImpl attendanceDAO = new AttendanceDAOImpl();
-        PaymentDAOImpl paymentDAO = new PaymentDAOImpl();
-        SkillTestDAOImpl skillTestDAO = new SkillTestDAOImpl();
+        // Initialize DAOs (backend selected by app.storage)
+        StudentDAO studentDAO;
+        InstructorDAO instructorDAO;
+        CourseDAO courseDAO;
+        EnrollmentDAO enrollmentDAO;
+        SessionDAO sessionDAO;
+        AttendanceDAO attendanceDAO;
+        PaymentDAO paymentDAO;
+        SkillTestDAO skillTestDAO;
+        TransactionManager transactionManager;
         
-        // Link DAOs for relationship queries
-        courseDAO.setEnrollmentDAO(enrollmentDAO);
+        if (AppConstants.STORAGE_POSTGRESQL.equalsIgnoreCase(ConfigManager.getInstance().getStorage())) {
+            JdbcTransactionManager provider =
+                new JdbcTransactionManager(DatabaseConnection.getInstance().getConnectionProvider());
+            JdbcSchema.initialize(provider);
+            transactionManager = provider;
+            studentDAO = new JdbcStudentDAOImpl(provider);
+            instructorDAO = new JdbcInstructorDAOImpl(provider);
+            courseDAO = new JdbcCourseDAOImpl(provider);
+            enrollmentDAO = new JdbcEnrollmentDAOImpl(provider);
+            sessionDAO = new JdbcSessionDAOImpl(provider);
+            attendanceDAO = new JdbcAttendanceDAOImpl(provider);
+            paymentDAO = new JdbcPaymentDAOImpl(provider);
+            skillTestDAO = new JdbcSkillTestDAOImpl(provider);
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> DatabaseConnection.getInstance().closeConnection()));
+        } else {
+            StudentDAOImpl memoryStudentDAO = new StudentDAOImpl();
+            InstructorDAOImpl memoryInstructorDAO = new InstructorDAOImpl();
+            CourseDAOImpl memoryCourseDAO = new CourseDAOImpl();
+            EnrollmentDAOImpl memoryEnrollmentDAO = new EnrollmentDAOImpl();
+            SessionDAOImpl memorySessionDAO = new SessionDAOImpl();
+            AttendanceDAOImpl memoryAttendanceDAO = new AttendanceDAOImpl();
+            PaymentDAOImpl memoryPaymentDAO = new PaymentDAOImpl();
+            SkillTestDAOImpl memorySkillTestDAO = new SkillTestDAOImpl();
+            // Link DAOs for relationship queries
+            memoryStudentDAO.setEnrollmentDAO(memoryEnrollmentDAO);
+            memoryStudentDAO.setPaymentDAO(memoryPaymentDAO);
+            memoryInstructorDAO.setCourseDAO(memoryCourseDAO);
+            memoryCourseDAO.setEnrollmentDAO(memoryEnrollmentDAO);
+            memoryCourseDAO.setSessionDAO(memorySessionDAO);
+            memoryAttendanceDAO.setEnrollmentDAO(memoryEnrollmentDAO);
+            memoryAttendanceDAO.setCourseDAO(memoryCourseDAO);
+            memoryPaymentDAO.setEnrollmentDAO(memoryEnrollmentDAO);
+            memoryPaymentDAO.setCourseDAO(memoryCourseDAO);
+            memoryEnrollmentDAO.setStudentDAO(memoryStudentDAO);
+            memoryEnrollmentDAO.setCourseDAO(memoryCourseDAO);
+            studentDAO = memoryStudentDAO;
+            instructorDAO = memoryInstructorDAO;
+            courseDAO = memoryCourseDAO;
+            enrollmentDAO = memoryEnrollmentDAO;
+            sessionDAO = memorySessionDAO;
+            attendanceDAO = memoryAttendanceDAO;
+            paymentDAO = memoryPaymentDAO;
+            skillTestDAO = memorySkillTestDAO;
+            transactionManager = TransactionManager.NONE;
+            
+            // Persist to the data directory when one is configured
+            ConfigManager config = ConfigManager.getInstance();
+            if (!config.getMemoryDataDir().isEmpty()) {
+                DurableStore store = new DurableStore(Path.of(config.getMemoryDataDir()), config.isMemoryFsync())
+                    .register("students", memoryStudentDAO, EntityCodecs.STUDENT)
+                    .register("instructors", memoryInstructorDAO, EntityCodecs.INSTRUCTOR)
+                    .register("courses", memoryCourseDAO, EntityCodecs.COURSE)
+                    .register("sessions", memorySessionDAO, EntityCodecs.SESSION)
+                    .register("enrollments", memoryEnrollmentDAO, EntityCodecs.ENROLLMENT)
+                    .register("attendance", memoryAttendanceDAO, EntityCodecs.ATTENDANCE)
+                    .register("payments", memoryPaymentDAO, EntityCodecs.PAYMENT)
+                    .register("skill_tests", memorySkillTestDAO, EntityCodecs.SKILL_TEST);
+                store.open();
+                store.startSnapshots(config.getMemorySnapshotIntervalSeconds());
+                Runtime.getRuntime().addShutdownHook(new Thread(store::close));
+                transactionManager = store;
+            }
+        }
         
-        // Initialize Controllers
-        StudentController studentController = new StudentController(studentDAO, skillTestDAO);
-        InstructorController instructorController = new InstructorController(instructorDAO);
-        CourseController courseController = new CourseController(courseDAO, instructorDAO, sessionDAO);
+        // Initialize Controllers; they publish their writes for the panels
+        EventBus eventBus = new EventBus();
+        StudentController studentController = new StudentController(studentDAO, skillTestDAO, eventBus);
+        InstructorController instructorController = new InstructorController(instructorDAO, eventBus);
+        CourseController courseController = new CourseController(courseDAO, instructorDAO, sessionDAO, eventBus);
         EnrollmentController enrollmentController = new EnrollmentController(
-            enrollmentDAO, studentDAO, courseDAO, paymentDAO);
+            enrollmentDAO, studentDAO, courseDAO, paymentDAO, transactionManager, eventBus);
         AttendanceController attendanceController = new AttendanceController(
-            attendanceDAO, enrollmentDAO, sessionDAO);
+            attendanceDAO, enrollmentDAO, sessionDAO, transactionManager, eventBus);
+        StatisticsService statisticsService = new StatisticsService(
+            studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, eventBus);
+        ReportService reportService = new ReportService(
+            studentDAO, courseDAO, sessionDAO, enrollmentDAO, attendanceDAO, paymentDAO);
         
         // Run GUI on Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
@@ -51,7 +126,10 @@ public class Main {
                 instructorController,
                 courseController,
                 enrollmentController,
-                attendanceController
+                attendanceController,
+                statisticsService,
+                reportService,
+                eventBus
             );
             mainFrame.setVisible(true);
         });
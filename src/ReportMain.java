@@ -0,0 +1,81 @@
+import controller.ReportService;
+import model.dao.impl.*;
+import model.report.ReportFormat;
+import util.AppConstants;
+import util.ConfigManager;
+import util.DatabaseConnection;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command line entry point that exports one report from the configured storage.
+ * Usage: {@code ReportMain <report> [--format=csv|json] [--out=file]}; without
+ * {@code --out} the report goes to standard output. Progress goes to standard error.
+ */
+public class ReportMain {
+    
+    public static void main(String[] args) {
+        ReportService.Report report = null;
+        ReportFormat format = ReportFormat.CSV;
+        Path out = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--format=")) {
+                    format = ReportFormat.fromExtension(arg.substring("--format=".length()));
+                } else if (arg.startsWith("--out=")) {
+                    out = Path.of(arg.substring("--out=".length()));
+                } else if (!arg.startsWith("--") && report == null) {
+                    report = ReportService.Report.fromId(arg);
+                } else {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+            }
+            if (report == null) {
+                throw new IllegalArgumentException("No report given");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            printUsage();
+            System.exit(1);
+            return;
+        }
+        
+        ReportService service;
+        if (AppConstants.STORAGE_POSTGRESQL.equalsIgnoreCase(ConfigManager.getInstance().getStorage())) {
+            JdbcTransactionManager provider =
+                new JdbcTransactionManager(DatabaseConnection.getInstance().getConnectionProvider());
+            JdbcSchema.initialize(provider);
+            service = new ReportService(
+                new JdbcStudentDAOImpl(provider), new JdbcCourseDAOImpl(provider),
+                new JdbcSessionDAOImpl(provider), new JdbcEnrollmentDAOImpl(provider),
+                new JdbcAttendanceDAOImpl(provider), new JdbcPaymentDAOImpl(provider));
+        } else {
+            // The in-memory store starts empty, so this only writes the header
+            service = new ReportService(
+                new StudentDAOImpl(), new CourseDAOImpl(), new SessionDAOImpl(),
+                new EnrollmentDAOImpl(), new AttendanceDAOImpl(), new PaymentDAOImpl());
+        }
+        
+        long start = System.nanoTime();
+        try {
+            long rows = out != null
+                ? service.export(report, format, out)
+                : service.export(report, format, System.out);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            System.err.println(report.getId() + ": " + rows + " rows in " + millis + " ms");
+        } catch (IOException e) {
+            System.err.println("Export failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.getInstance().closeConnection();
+        }
+    }
+    
+    private static void printUsage() {
+        System.err.println("Usage: ReportMain <report> [--format=csv|json] [--out=file]");
+        System.err.println("Reports:");
+        for (ReportService.Report report : ReportService.Report.values()) {
+            System.err.println("  " + report.getId() + "  " + report);
+        }
+    }
+}
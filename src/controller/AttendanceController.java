@@ -1,28 +1,82 @@
 package controller;
 
 import model.dao.AttendanceDAO;
+import model.dao.AttendanceTotals;
+import model.dao.AttendanceUpsert;
 import model.dao.EnrollmentDAO;
+import model.dao.Page;
+import model.dao.PageRequest;
 import model.dao.SessionDAO;
+import model.dao.TransactionManager;
 import model.entity.Attendance;
+import model.entity.Course;
 import model.entity.Enrollment;
 import model.entity.Session;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Controller for Attendance operations.
+ * Successful writes are published on the event bus.
  */
 public class AttendanceController {
     
     private final AttendanceDAO attendanceDAO;
     private final EnrollmentDAO enrollmentDAO;
     private final SessionDAO sessionDAO;
+    private final TransactionManager transactionManager;
+    private final EventBus eventBus;
+    
+    /**
+     * What a roll call did for one enrollment.
+     */
+    public enum RollCallOutcome {
+        CREATED, UPDATED, UNCHANGED, REJECTED
+    }
+    
+    /**
+     * Result of a roll call for one enrollment. Attendance is null and message says
+     * why when the enrollment was rejected.
+     */
+    public record RollCallResult(int enrollmentId, RollCallOutcome outcome, Attendance attendance, String message) {}
+    
+    /**
+     * Attendance of one enrollment: records marked present or late out of all records with a status.
+     */
+    public record AttendanceRate(int enrollmentId, int attended, int recorded) {
+        
+        public double percentage() {
+            return AttendanceController.percentage(attended, recorded);
+        }
+    }
     
     public AttendanceController(AttendanceDAO attendanceDAO, EnrollmentDAO enrollmentDAO, 
                                 SessionDAO sessionDAO) {
+        this(attendanceDAO, enrollmentDAO, sessionDAO, new EventBus());
+    }
+    
+    public AttendanceController(AttendanceDAO attendanceDAO, EnrollmentDAO enrollmentDAO, 
+                                SessionDAO sessionDAO, EventBus eventBus) {
+        this(attendanceDAO, enrollmentDAO, sessionDAO, TransactionManager.NONE, eventBus);
+    }
+    
+    public AttendanceController(AttendanceDAO attendanceDAO, EnrollmentDAO enrollmentDAO, 
+                                SessionDAO sessionDAO, TransactionManager transactionManager,
+                                EventBus eventBus) {
         this.attendanceDAO = attendanceDAO;
         this.enrollmentDAO = enrollmentDAO;
         this.sessionDAO = sessionDAO;
+        this.transactionManager = transactionManager;
+        this.eventBus = eventBus;
     }
     
     /**
@@ -48,7 +102,11 @@ public class AttendanceController {
             // Update existing attendance
             existing.setStatus(status);
             existing.setNotes(notes);
-            return attendanceDAO.update(existing);
+            Attendance updated = attendanceDAO.update(existing);
+            if (updated != null) {
+                eventBus.publish(EntityEvent.updated(Attendance.class, updated.getId(), updated));
+            }
+            return updated;
         }
         
         // Create new attendance record
@@ -58,7 +116,88 @@ public class AttendanceController {
         attendance.setStatus(status);
         attendance.setNotes(notes);
         
-        return attendanceDAO.save(attendance);
+        Attendance saved = attendanceDAO.save(attendance);
+        eventBus.publish(EntityEvent.created(Attendance.class, saved.getId(), saved));
+        return saved;
+    }
+    
+    /**
+     * Records the roll call for a whole session: the status of each enrollment, written
+     * as one batch. Enrollments that are not active in the session's course, or have no
+     * status, are rejected without failing the others; records that already have the
+     * status are left alone.
+     * @param sessionId Session ID
+     * @param statuses Status by enrollment ID
+     * @return One result per enrollment, in the order of statuses
+     */
+    public List<RollCallResult> recordSessionAttendance(int sessionId,
+                                                        Map<Integer, Attendance.AttendanceStatus> statuses) {
+        if (statuses == null || statuses.isEmpty()) {
+            throw new IllegalArgumentException("No attendance to record.");
+        }
+        Session session = sessionDAO.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found."));
+        Set<Integer> active = activeEnrollments(session.getCourseId()).stream()
+                .map(Enrollment::getId)
+                .collect(Collectors.toSet());
+        Map<Integer, Attendance> existing = new HashMap<>();
+        for (Attendance a : attendanceDAO.findBySessionId(sessionId)) {
+            existing.putIfAbsent(a.getEnrollmentId(), a);
+        }
+        
+        Map<Integer, RollCallResult> results = new LinkedHashMap<>();
+        Map<Integer, Attendance.AttendanceStatus> changes = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Attendance.AttendanceStatus> entry : statuses.entrySet()) {
+            int enrollmentId = entry.getKey();
+            Attendance current = existing.get(enrollmentId);
+            if (entry.getValue() == null) {
+                results.put(enrollmentId, rejected(enrollmentId, "Status is required."));
+            } else if (!active.contains(enrollmentId)) {
+                results.put(enrollmentId, rejected(enrollmentId, "Not an active enrollment in this session's course."));
+            } else if (current != null && current.getStatus() == entry.getValue()) {
+                results.put(enrollmentId, new RollCallResult(enrollmentId, RollCallOutcome.UNCHANGED, current, null));
+            } else {
+                results.put(enrollmentId, null);
+                changes.put(enrollmentId, entry.getValue());
+            }
+        }
+        if (changes.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+        
+        List<AttendanceUpsert> stored = transactionManager.inTransaction(
+                () -> attendanceDAO.upsertStatuses(sessionId, changes));
+        List<EntityEvent<?>> events = new ArrayList<>();
+        for (AttendanceUpsert upsert : stored) {
+            Attendance a = upsert.attendance();
+            boolean created = upsert.created();
+            results.put(a.getEnrollmentId(), new RollCallResult(a.getEnrollmentId(),
+                    created ? RollCallOutcome.CREATED : RollCallOutcome.UPDATED, a, null));
+            events.add(created ? EntityEvent.created(Attendance.class, a.getId(), a)
+                    : EntityEvent.updated(Attendance.class, a.getId(), a));
+        }
+        eventBus.publishAll(events);
+        results.replaceAll((id, result) -> result != null ? result : rejected(id, "Could not be recorded."));
+        return new ArrayList<>(results.values());
+    }
+    
+    private static RollCallResult rejected(int enrollmentId, String message) {
+        return new RollCallResult(enrollmentId, RollCallOutcome.REJECTED, null, message);
+    }
+    
+    /**
+     * Gets the active enrollments of a session's course, i.e. the students on its roll.
+     */
+    public List<Enrollment> getSessionRoster(int sessionId) {
+        Session session = sessionDAO.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found."));
+        return activeEnrollments(session.getCourseId());
+    }
+    
+    private List<Enrollment> activeEnrollments(int courseId) {
+        return enrollmentDAO.findByCourseId(courseId).stream()
+                .filter(e -> e.getStatus() == Enrollment.Status.ACTIVE)
+                .collect(Collectors.toList());
     }
     
     /**
@@ -76,19 +215,70 @@ public class AttendanceController {
     }
     
     /**
-     * Calculates attendance percentage for an enrollment.
+     * Gets one page of attendance records ordered by id.
+     */
+    public Page<Attendance> getAttendancePage(PageRequest request) {
+        return attendanceDAO.findPage(request);
+    }
+    
+    /**
+     * Calculates attendance percentage for an enrollment: present or late out of all
+     * records with a status.
      */
     public double calculateAttendancePercentage(int enrollmentId) {
-        List<Attendance> attendances = attendanceDAO.findByEnrollmentId(enrollmentId);
-        if (attendances.isEmpty()) {
-            return 0.0;
+        Map<Attendance.AttendanceStatus, Integer> counts = attendanceDAO.countByStatus(enrollmentId);
+        int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+        int presentCount = counts.get(Attendance.AttendanceStatus.PRESENT)
+                + counts.get(Attendance.AttendanceStatus.LATE);
+        return percentage(presentCount, total);
+    }
+    
+    /**
+     * Gets the attendance rate of every enrollment in a course that has recorded
+     * attendance, lowest first.
+     */
+    public List<AttendanceRate> getCourseAttendanceRates(int courseId) {
+        return getCourseAttendanceRates(courseId, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Gets the enrollments in a course attending less than the given percentage, lowest first.
+     */
+    public List<AttendanceRate> getCourseAttendanceRates(int courseId, double belowPercentage) {
+        return rates(attendanceDAO.countByStatusForCourse(courseId), belowPercentage);
+    }
+    
+    /**
+     * Gets the attendance rate of every enrollment in the courses of a term that has
+     * recorded attendance, lowest first.
+     */
+    public List<AttendanceRate> getTermAttendanceRates(Course.Term term) {
+        return getTermAttendanceRates(term, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Gets the enrollments in the courses of a term attending less than the given
+     * percentage, lowest first; the at-risk sweep for a term.
+     */
+    public List<AttendanceRate> getTermAttendanceRates(Course.Term term, double belowPercentage) {
+        return rates(attendanceDAO.countByStatusForTerm(term), belowPercentage);
+    }
+    
+    private static List<AttendanceRate> rates(AttendanceTotals totals, double belowPercentage) {
+        List<AttendanceRate> result = new ArrayList<>();
+        for (int i = 0; i < totals.size(); i++) {
+            int attended = totals.getAttended(i);
+            int recorded = totals.getRecorded(i);
+            if (percentage(attended, recorded) < belowPercentage) {
+                result.add(new AttendanceRate(totals.getEnrollmentId(i), attended, recorded));
+            }
         }
-        
-        long presentCount = attendances.stream()
-                .filter(a -> a.getStatus() == Attendance.AttendanceStatus.PRESENT ||
-                            a.getStatus() == Attendance.AttendanceStatus.LATE)
-                .count();
-        
-        return (double) presentCount / attendances.size() * 100;
+        result.sort(Comparator.comparingDouble(AttendanceRate::percentage)
+                .thenComparingInt(AttendanceRate::enrollmentId));
+        return result;
+    }
+    
+    private static double percentage(int attended, int recorded) {
+        return recorded == 0 ? 0.0 : (double) attended / recorded * 100;
     }
 }
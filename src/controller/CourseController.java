@@ -2,10 +2,14 @@ package controller;
 
 import model.dao.CourseDAO;
 import model.dao.InstructorDAO;
+import model.dao.Page;
+import model.dao.PageRequest;
 import model.dao.SessionDAO;
 import model.entity.Course;
 import model.entity.Session;
 import model.entity.Student;
+import model.event.EntityEvent;
+import model.event.EventBus;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -14,17 +18,25 @@ import java.util.Optional;
 
 /**
  * Controller for Course operations.
+ * Successful writes are published on the event bus.
  */
 public class CourseController {
     
     private final CourseDAO courseDAO;
     private final InstructorDAO instructorDAO;
     private final SessionDAO sessionDAO;
+    private final EventBus eventBus;
     
     public CourseController(CourseDAO courseDAO, InstructorDAO instructorDAO, SessionDAO sessionDAO) {
+        this(courseDAO, instructorDAO, sessionDAO, new EventBus());
+    }
+    
+    public CourseController(CourseDAO courseDAO, InstructorDAO instructorDAO, SessionDAO sessionDAO,
+                            EventBus eventBus) {
         this.courseDAO = courseDAO;
         this.instructorDAO = instructorDAO;
         this.sessionDAO = sessionDAO;
+        this.eventBus = eventBus;
     }
     
     /**
@@ -50,7 +62,9 @@ public class CourseController {
         course.setStartDate(startDate);
         course.setEndDate(endDate);
         
-        return courseDAO.save(course);
+        Course saved = courseDAO.save(course);
+        eventBus.publish(EntityEvent.created(Course.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -67,18 +81,33 @@ public class CourseController {
         return courseDAO.findAll();
     }
     
+    /**
+     * Gets one page of courses ordered by id.
+     */
+    public Page<Course> getCoursesPage(PageRequest request) {
+        return courseDAO.findPage(request);
+    }
+    
     /**
      * Updates course information.
      */
     public Course updateCourse(Course course) {
-        return courseDAO.update(course);
+        Course updated = courseDAO.update(course);
+        if (updated != null) {
+            eventBus.publish(EntityEvent.updated(Course.class, updated.getId(), updated));
+        }
+        return updated;
     }
     
     /**
      * Deletes a course.
      */
     public boolean deleteCourse(int id) {
-        return courseDAO.delete(id);
+        boolean deleted = courseDAO.delete(id);
+        if (deleted) {
+            eventBus.publish(EntityEvent.deleted(Course.class, id));
+        }
+        return deleted;
     }
     
     /**
@@ -118,7 +147,9 @@ public class CourseController {
         session.setEndTime(endTime);
         session.setTopic(topic);
         
-        return sessionDAO.save(session);
+        Session saved = sessionDAO.save(session);
+        eventBus.publish(EntityEvent.created(Session.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -128,6 +159,20 @@ public class CourseController {
         return sessionDAO.findByCourseId(courseId);
     }
     
+    /**
+     * Gets courses that have no sessions.
+     */
+    public List<Course> getCoursesWithoutSessions() {
+        return courseDAO.findWithoutSessions();
+    }
+    
+    /**
+     * Counts courses that have no sessions.
+     */
+    public int countCoursesWithoutSessions() {
+        return courseDAO.countWithoutSessions();
+    }
+    
     /**
      * Gets total course count.
      */
@@ -2,32 +2,90 @@ package controller;
 
 import model.dao.CourseDAO;
 import model.dao.EnrollmentDAO;
+import model.dao.Page;
+import model.dao.PageRequest;
 import model.dao.PaymentDAO;
+import model.dao.PaymentTotals;
 import model.dao.StudentDAO;
+import model.dao.TransactionManager;
 import model.entity.Course;
 import model.entity.Enrollment;
+import model.entity.EnrollmentView;
 import model.entity.Payment;
 import model.entity.Student;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import util.IdempotencyCache;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Controller for Enrollment operations.
+ * Successful writes are published on the event bus; writes made in a transaction
+ * are published once it has committed.
  */
 public class EnrollmentController {
     
+    /** Idempotency keys of settled lines remembered, several nightly files' worth. */
+    private static final int SETTLEMENT_KEYS = 50_000;
+    
     private final EnrollmentDAO enrollmentDAO;
     private final StudentDAO studentDAO;
     private final CourseDAO courseDAO;
     private final PaymentDAO paymentDAO;
+    private final TransactionManager transactionManager;
+    private final SeatLedger seatLedger;
+    private final EventBus eventBus;
+    private final IdempotencyCache<SettlementResult> settledKeys = new IdempotencyCache<>(SETTLEMENT_KEYS);
+    
+    /**
+     * One line of a settlement, e.g. a row of a bank-transfer reconciliation file.
+     * The idempotency key identifies the line, so a resubmitted line settles nothing twice.
+     */
+    public record Settlement(int enrollmentId, String paymentMethod, String idempotencyKey) {}
+    
+    /**
+     * Outcome of a settlement line.
+     */
+    public enum SettlementOutcome {
+        SETTLED, DUPLICATE, REJECTED
+    }
+    
+    /**
+     * Result of a settlement line. Payment is the payment the key settled, now or earlier,
+     * and is null when the line was rejected; message then says why.
+     */
+    public record SettlementResult(String idempotencyKey, int enrollmentId, SettlementOutcome outcome,
+                                   Payment payment, String message) {}
     
     public EnrollmentController(EnrollmentDAO enrollmentDAO, StudentDAO studentDAO, 
                                 CourseDAO courseDAO, PaymentDAO paymentDAO) {
+        this(enrollmentDAO, studentDAO, courseDAO, paymentDAO, TransactionManager.NONE);
+    }
+    
+    public EnrollmentController(EnrollmentDAO enrollmentDAO, StudentDAO studentDAO, 
+                                CourseDAO courseDAO, PaymentDAO paymentDAO,
+                                TransactionManager transactionManager) {
+        this(enrollmentDAO, studentDAO, courseDAO, paymentDAO, transactionManager, new EventBus());
+    }
+    
+    public EnrollmentController(EnrollmentDAO enrollmentDAO, StudentDAO studentDAO, 
+                                CourseDAO courseDAO, PaymentDAO paymentDAO,
+                                TransactionManager transactionManager, EventBus eventBus) {
         this.enrollmentDAO = enrollmentDAO;
         this.studentDAO = studentDAO;
         this.courseDAO = courseDAO;
         this.paymentDAO = paymentDAO;
+        this.transactionManager = transactionManager;
+        this.seatLedger = new SeatLedger(enrollmentDAO);
+        this.eventBus = eventBus;
     }
     
     /**
@@ -61,57 +119,98 @@ public class EnrollmentController {
             throw new IllegalArgumentException("Student is already enrolled in this course.");
         }
         
-        // Check course capacity
-        int currentEnrollments = enrollmentDAO.countByCourseId(courseId);
-        if (currentEnrollments >= course.getMaxCapacity()) {
+        // Reserve a seat; the compare-and-set cannot overbook under concurrent enrollments
+        if (!seatLedger.tryReserve(courseId, course.getMaxCapacity())) {
+            // Another process sharing the database may have freed seats since the ledger counted
+            seatLedger.resync(courseId, enrollmentDAO.countByCourseId(courseId));
+            if (!seatLedger.tryReserve(courseId, course.getMaxCapacity())) {
+                throw new IllegalArgumentException("Course is full.");
+            }
+        }
+        
+        List<EntityEvent<?>> events = new ArrayList<>();
+        Enrollment enrollment;
+        try {
+            enrollment = transactionManager.inTransaction(
+                    () -> createEnrollmentWithPayment(studentId, course, events));
+        } catch (RuntimeException e) {
+            seatLedger.cancel(courseId);
+            throw e;
+        }
+        seatLedger.commit(courseId);
+        eventBus.publishAll(events);
+        return enrollment;
+    }
+    
+    /**
+     * Checks the course still has room, then saves the enrollment and its pending payment.
+     * If the payment cannot be saved the enrollment is removed again, so neither is left
+     * behind on its own.
+     * Both writes are added to events for publishing after the commit.
+     */
+    private Enrollment createEnrollmentWithPayment(int studentId, Course course, List<EntityEvent<?>> events) {
+        // The seat ledger only counts this process; the locked count covers every writer
+        if (enrollmentDAO.countByCourseIdForUpdate(course.getId()) >= course.getMaxCapacity()) {
             throw new IllegalArgumentException("Course is full.");
         }
         
-        // Create enrollment
         Enrollment enrollment = new Enrollment();
         enrollment.setStudentId(studentId);
-        enrollment.setCourseId(courseId);
+        enrollment.setCourseId(course.getId());
         enrollment.setStatus(Enrollment.Status.ACTIVE);
         
         Enrollment savedEnrollment = enrollmentDAO.save(enrollment);
         
-        // Create pending payment
-        Payment payment = new Payment();
-        payment.setEnrollmentId(savedEnrollment.getId());
-        payment.setAmount(course.getFee());
-        payment.setStatus(Payment.PaymentStatus.PENDING);
-        paymentDAO.save(payment);
+        try {
+            Payment payment = new Payment();
+            payment.setEnrollmentId(savedEnrollment.getId());
+            payment.setAmount(course.getFee());
+            payment.setStatus(Payment.PaymentStatus.PENDING);
+            Payment savedPayment = paymentDAO.save(payment);
+            events.add(EntityEvent.created(Enrollment.class, savedEnrollment.getId(), savedEnrollment));
+            events.add(EntityEvent.created(Payment.class, savedPayment.getId(), savedPayment));
+        } catch (RuntimeException e) {
+            enrollmentDAO.delete(savedEnrollment.getId());
+            throw e;
+        }
         
         return savedEnrollment;
     }
     
     /**
      * Drops a student from a course.
+     * @return false if the enrollment does not exist or is no longer active
      */
     public boolean dropEnrollment(int enrollmentId) {
-        Optional<Enrollment> enrollmentOpt = enrollmentDAO.findById(enrollmentId);
-        if (enrollmentOpt.isEmpty()) {
-            return false;
-        }
-        
-        Enrollment enrollment = enrollmentOpt.get();
-        enrollment.setStatus(Enrollment.Status.DROPPED);
-        enrollmentDAO.update(enrollment);
-        return true;
+        return endEnrollment(enrollmentId, Enrollment.Status.DROPPED);
     }
     
     /**
      * Completes an enrollment.
+     * @return false if the enrollment does not exist or is no longer active
      */
     public boolean completeEnrollment(int enrollmentId) {
+        return endEnrollment(enrollmentId, Enrollment.Status.COMPLETED);
+    }
+    
+    /**
+     * Gives an active enrollment its final status. Leaving ACTIVE is a compare-and-set in
+     * the DAO, so when a drop and a completion race only the winner releases the seat and
+     * the loser leaves the winner's status in place.
+     */
+    private boolean endEnrollment(int enrollmentId, Enrollment.Status status) {
         Optional<Enrollment> enrollmentOpt = enrollmentDAO.findById(enrollmentId);
         if (enrollmentOpt.isEmpty()) {
             return false;
         }
         
         Enrollment enrollment = enrollmentOpt.get();
-        enrollment.setStatus(Enrollment.Status.COMPLETED);
-        enrollmentDAO.update(enrollment);
+        if (!enrollmentDAO.endIfActive(enrollmentId, status)) {
+            return false;
+        }
+        seatLedger.release(enrollment.getCourseId());
+        enrollment.setStatus(status);
+        eventBus.publish(EntityEvent.updated(Enrollment.class, enrollmentId, enrollment));
         return true;
     }
     
@@ -136,21 +235,178 @@ public class EnrollmentController {
         return enrollmentDAO.findActiveEnrollments();
     }
     
+    /**
+     * Gets all enrollments with student and course names, for listing.
+     */
+    public List<EnrollmentView> getEnrollmentViews() {
+        return enrollmentDAO.findAllViews();
+    }
+    
+    /**
+     * Gets the views of some enrollments, e.g. the ones in a batch of change events,
+     * looking up each of their students and courses once.
+     * @return One view per enrollment, in order
+     */
+    public List<EnrollmentView> getEnrollmentViews(List<Enrollment> enrollments) {
+        Map<Integer, String> studentNames = new HashMap<>();
+        Map<Integer, String> courseNames = new HashMap<>();
+        List<EnrollmentView> views = new ArrayList<>(enrollments.size());
+        for (Enrollment enrollment : enrollments) {
+            String studentName = studentNames.computeIfAbsent(enrollment.getStudentId(),
+                    id -> studentDAO.findById(id).map(Student::getFullName).orElse(null));
+            String courseName = courseNames.computeIfAbsent(enrollment.getCourseId(),
+                    id -> courseDAO.findById(id).map(Course::getName).orElse(null));
+            views.add(new EnrollmentView(enrollment, studentName, courseName));
+        }
+        return views;
+    }
+    
+    /**
+     * Gets one page of enrollments ordered by id.
+     */
+    public Page<Enrollment> getEnrollmentsPage(PageRequest request) {
+        return enrollmentDAO.findPage(request);
+    }
+    
     /**
      * Processes payment for an enrollment.
      */
     public Payment processPayment(int enrollmentId, String paymentMethod) {
-        List<Payment> payments = paymentDAO.findByEnrollmentId(enrollmentId);
+        List<Payment> completed = transactionManager.inTransaction(
+                () -> paymentDAO.completePending(Collections.singletonMap(enrollmentId, paymentMethod)));
+        if (completed.isEmpty()) {
+            throw new IllegalArgumentException("No pending payment found for this enrollment.");
+        }
         
-        for (Payment payment : payments) {
-            if (payment.getStatus() == Payment.PaymentStatus.PENDING) {
-                payment.setPaymentMethod(paymentMethod);
-                payment.setStatus(Payment.PaymentStatus.COMPLETED);
-                return paymentDAO.update(payment);
+        Payment updated = completed.get(0);
+        eventBus.publish(EntityEvent.updated(Payment.class, updated.getId(), updated));
+        return updated;
+    }
+    
+    /**
+     * Settles many payments in one transaction: each line completes the oldest pending
+     * payment of its enrollment with the line's method. A line whose idempotency key has
+     * already settled a payment, earlier in the batch or in a batch still remembered, is
+     * reported as a duplicate and changes nothing. Lines without a key or method, a key
+     * reused for another enrollment, a second line for an enrollment and enrollments
+     * without a pending payment are rejected without failing the others. Batches run one
+     * at a time, so the same key submitted twice at once settles once.
+     * @param settlements Lines to settle
+     * @return One result per line, in order
+     */
+    public synchronized List<SettlementResult> settlePayments(List<Settlement> settlements) {
+        if (settlements == null || settlements.isEmpty()) {
+            throw new IllegalArgumentException("No payments to settle.");
+        }
+        SettlementResult[] results = new SettlementResult[settlements.size()];
+        // Line that first used each key in this batch; later lines with the key follow its result
+        Map<String, Integer> firstLineByKey = new HashMap<>();
+        int[] repeatOf = new int[results.length];
+        Arrays.fill(repeatOf, -1);
+        Map<Integer, String> methods = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            Settlement line = settlements.get(i);
+            String key = line.idempotencyKey();
+            if (key == null || key.isBlank()) {
+                results[i] = rejected(line, "Idempotency key is required.");
+                continue;
+            }
+            Integer first = firstLineByKey.putIfAbsent(key, i);
+            if (first != null) {
+                repeatOf[i] = first;
+                continue;
+            }
+            SettlementResult earlier = settledKeys.get(key);
+            if (earlier != null) {
+                results[i] = repeat(line, earlier);
+            } else if (line.paymentMethod() == null || line.paymentMethod().isBlank()) {
+                results[i] = rejected(line, "Payment method is required.");
+            } else if (methods.putIfAbsent(line.enrollmentId(), line.paymentMethod()) != null) {
+                results[i] = rejected(line, "Enrollment is already settled by another line of this batch.");
             }
         }
         
-        throw new IllegalArgumentException("No pending payment found for this enrollment.");
+        if (!methods.isEmpty()) {
+            List<Payment> completed = transactionManager.inTransaction(() -> paymentDAO.completePending(methods));
+            Map<Integer, Payment> byEnrollment = new HashMap<>();
+            List<EntityEvent<?>> events = new ArrayList<>();
+            for (Payment payment : completed) {
+                byEnrollment.put(payment.getEnrollmentId(), payment);
+                events.add(EntityEvent.updated(Payment.class, payment.getId(), payment));
+            }
+            for (int i = 0; i < results.length; i++) {
+                Settlement line = settlements.get(i);
+                if (results[i] != null || repeatOf[i] >= 0) {
+                    continue;
+                }
+                Payment payment = byEnrollment.get(line.enrollmentId());
+                if (payment == null) {
+                    results[i] = rejected(line, "No pending payment found for this enrollment.");
+                } else {
+                    results[i] = new SettlementResult(line.idempotencyKey(), line.enrollmentId(),
+                            SettlementOutcome.SETTLED, payment, null);
+                    settledKeys.put(line.idempotencyKey(), results[i]);
+                }
+            }
+            eventBus.publishAll(events);
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (repeatOf[i] >= 0) {
+                results[i] = repeat(settlements.get(i), results[repeatOf[i]]);
+            }
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Settles one chosen payment, rather than the oldest pending payment of its enrollment.
+     * The key is derived from the payment id. A payment that is already completed, by an
+     * earlier click or by a settlement line, is reported as a duplicate.
+     * @param paymentId Payment ID
+     * @param paymentMethod Payment method
+     * @return Result of the settlement
+     */
+    public SettlementResult settlePayment(int paymentId, String paymentMethod) {
+        String key = "payment-" + paymentId;
+        Payment payment = paymentDAO.findById(paymentId).orElse(null);
+        if (payment == null) {
+            return new SettlementResult(key, 0, SettlementOutcome.REJECTED, null, "Payment not found.");
+        }
+        Settlement line = new Settlement(payment.getEnrollmentId(), paymentMethod, key);
+        if (paymentMethod == null || paymentMethod.isBlank()) {
+            return rejected(line, "Payment method is required.");
+        }
+        Payment completed = transactionManager.inTransaction(
+                () -> paymentDAO.completeIfPending(paymentId, paymentMethod));
+        if (completed != null) {
+            eventBus.publish(EntityEvent.updated(Payment.class, completed.getId(), completed));
+            return new SettlementResult(key, line.enrollmentId(), SettlementOutcome.SETTLED, completed, null);
+        }
+        Payment current = paymentDAO.findById(paymentId).orElse(null);
+        if (current != null && current.getStatus() == Payment.PaymentStatus.COMPLETED) {
+            return new SettlementResult(key, line.enrollmentId(), SettlementOutcome.DUPLICATE, current, null);
+        }
+        return rejected(line, "This payment is no longer pending.");
+    }
+    
+    /**
+     * Result for a line whose key was used before: a duplicate of what that key settled,
+     * or the same rejection as the first line with the key.
+     */
+    private static SettlementResult repeat(Settlement line, SettlementResult first) {
+        if (first.enrollmentId() != line.enrollmentId()) {
+            return rejected(line, "Idempotency key was already used for another enrollment.");
+        }
+        if (first.outcome() == SettlementOutcome.REJECTED) {
+            return rejected(line, first.message());
+        }
+        return new SettlementResult(line.idempotencyKey(), line.enrollmentId(), SettlementOutcome.DUPLICATE,
+                first.payment(), null);
+    }
+    
+    private static SettlementResult rejected(Settlement line, String message) {
+        return new SettlementResult(line.idempotencyKey(), line.enrollmentId(), SettlementOutcome.REJECTED,
+                null, message);
     }
     
     /**
@@ -159,4 +415,25 @@ public class EnrollmentController {
     public List<Payment> getPendingPayments() {
         return paymentDAO.findPendingPayments();
     }
+    
+    /**
+     * Gets one page of payments of any status ordered by id.
+     */
+    public Page<Payment> getPaymentsPage(PageRequest request) {
+        return paymentDAO.findPage(request);
+    }
+    
+    /**
+     * Gets the outstanding, collected and refunded amounts of a course's payments.
+     */
+    public PaymentTotals getPaymentTotals(int courseId) {
+        return paymentDAO.getTotalsByCourse(courseId);
+    }
+    
+    /**
+     * Gets the outstanding, collected and refunded amounts of the payments in a term's courses.
+     */
+    public PaymentTotals getPaymentTotals(Course.Term term) {
+        return paymentDAO.getTotalsByTerm(term);
+    }
 }
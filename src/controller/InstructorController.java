@@ -1,19 +1,30 @@
 package controller;
 
+import model.dao.Page;
+import model.dao.PageRequest;
 import model.dao.InstructorDAO;
 import model.entity.Instructor;
+import model.event.EntityEvent;
+import model.event.EventBus;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Controller for Instructor operations.
+ * Successful writes are published on the event bus.
  */
 public class InstructorController {
     
     private final InstructorDAO instructorDAO;
+    private final EventBus eventBus;
     
     public InstructorController(InstructorDAO instructorDAO) {
+        this(instructorDAO, new EventBus());
+    }
+    
+    public InstructorController(InstructorDAO instructorDAO, EventBus eventBus) {
         this.instructorDAO = instructorDAO;
+        this.eventBus = eventBus;
     }
     
     /**
@@ -22,7 +33,7 @@ public class InstructorController {
     public Instructor registerInstructor(String firstName, String lastName, String email, 
                                          String phone, String specialization) {
         // Check if email already exists
-        if (instructorDAO.findByEmail(email) != null) {
+        if (instructorDAO.existsByEmail(email)) {
             throw new IllegalArgumentException("An instructor with this email already exists.");
         }
         
@@ -33,7 +44,9 @@ public class InstructorController {
         instructor.setPhone(phone);
         instructor.setSpecialization(specialization);
         
-        return instructorDAO.save(instructor);
+        Instructor saved = instructorDAO.save(instructor);
+        eventBus.publish(EntityEvent.created(Instructor.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -50,18 +63,33 @@ public class InstructorController {
         return instructorDAO.findAll();
     }
     
+    /**
+     * Gets one page of instructors ordered by id.
+     */
+    public Page<Instructor> getInstructorsPage(PageRequest request) {
+        return instructorDAO.findPage(request);
+    }
+    
     /**
      * Updates instructor information.
      */
     public Instructor updateInstructor(Instructor instructor) {
-        return instructorDAO.update(instructor);
+        Instructor updated = instructorDAO.update(instructor);
+        if (updated != null) {
+            eventBus.publish(EntityEvent.updated(Instructor.class, updated.getId(), updated));
+        }
+        return updated;
     }
     
     /**
      * Deletes an instructor.
      */
     public boolean deleteInstructor(int id) {
-        return instructorDAO.delete(id);
+        boolean deleted = instructorDAO.delete(id);
+        if (deleted) {
+            eventBus.publish(EntityEvent.deleted(Instructor.class, id));
+        }
+        return deleted;
     }
     
     /**
@@ -78,6 +106,20 @@ public class InstructorController {
         return instructorDAO.searchByName(name);
     }
     
+    /**
+     * Gets instructors that teach no courses.
+     */
+    public List<Instructor> getInstructorsWithoutCourses() {
+        return instructorDAO.findWithoutCourses();
+    }
+    
+    /**
+     * Counts instructors that teach no courses.
+     */
+    public int countInstructorsWithoutCourses() {
+        return instructorDAO.countWithoutCourses();
+    }
+    
     /**
      * Gets total instructor count.
      */
@@ -0,0 +1,347 @@
+package controller;
+
+import model.dao.*;
+import model.entity.*;
+import model.report.ReportFormat;
+import model.report.ReportWriter;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Builds the operational reports by streaming the DAOs through running totals.
+ * Large tables (enrollments, payments, attendance) are read once with
+ * {@link GenericDAO#forEach} and never collected; only the totals per output group and
+ * an int per enrollment for the joins are kept. Rows go to the {@link ReportWriter}
+ * as soon as they are known, so memory use does not depend on the size of the export.
+ */
+public class ReportService {
+    
+    private static final int RATE_SCALE = 4;
+    
+    private final StudentDAO studentDAO;
+    private final CourseDAO courseDAO;
+    private final SessionDAO sessionDAO;
+    private final EnrollmentDAO enrollmentDAO;
+    private final AttendanceDAO attendanceDAO;
+    private final PaymentDAO paymentDAO;
+    
+    /**
+     * Available reports.
+     */
+    public enum Report {
+        REVENUE_BY_TERM("revenue-by-term", "Revenue per term"),
+        ATTENDANCE_BY_COURSE("attendance-by-course", "Attendance per course"),
+        ENROLLMENT_FUNNEL("enrollment-funnel", "Enrollment funnel per course"),
+        OUTSTANDING_BALANCES("outstanding-balances", "Outstanding balances per student");
+        
+        private final String id;
+        private final String title;
+        
+        Report(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+        
+        public String getId() {
+            return id;
+        }
+        
+        @Override
+        public String toString() {
+            return title;
+        }
+        
+        /**
+         * Finds a report by its id.
+         * @throws IllegalArgumentException if no report matches
+         */
+        public static Report fromId(String id) {
+            for (Report report : values()) {
+                if (report.id.equals(id)) {
+                    return report;
+                }
+            }
+            throw new IllegalArgumentException("Unknown report: " + id);
+        }
+    }
+    
+    public ReportService(StudentDAO studentDAO, CourseDAO courseDAO, SessionDAO sessionDAO,
+                         EnrollmentDAO enrollmentDAO, AttendanceDAO attendanceDAO, PaymentDAO paymentDAO) {
+        this.studentDAO = studentDAO;
+        this.courseDAO = courseDAO;
+        this.sessionDAO = sessionDAO;
+        this.enrollmentDAO = enrollmentDAO;
+        this.attendanceDAO = attendanceDAO;
+        this.paymentDAO = paymentDAO;
+    }
+    
+    /**
+     * Writes a report to a file, replacing it.
+     * @return Number of rows written
+     */
+    public long export(Report report, ReportFormat format, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            return export(report, format.open(out));
+        }
+    }
+    
+    /**
+     * Writes a report to a stream as UTF-8; the stream is flushed but not closed.
+     * @return Number of rows written
+     */
+    public long export(Report report, ReportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        return export(report, format.open(writer));
+    }
+    
+    /**
+     * Runs a report into the given writer and ends it.
+     * @return Number of rows written
+     */
+    public long export(Report report, ReportWriter writer) throws IOException {
+        try {
+            switch (report) {
+                case REVENUE_BY_TERM -> revenueByTerm(writer);
+                case ATTENDANCE_BY_COURSE -> attendanceByCourse(writer);
+                case ENROLLMENT_FUNNEL -> enrollmentFunnel(writer);
+                case OUTSTANDING_BALANCES -> outstandingBalances(writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.end();
+        return writer.getRowCount();
+    }
+    
+    /**
+     * Payments grouped by the term and start year of their course.
+     */
+    private void revenueByTerm(ReportWriter writer) throws IOException {
+        writer.begin(Report.REVENUE_BY_TERM.getId(), List.of("year", "term", "courses", "enrollments",
+                "payments", "collected", "outstanding", "refunded"));
+        Map<Integer, TermTotals> totalsByCourse = new HashMap<>();
+        Map<TermKey, TermTotals> totalsByTerm = new TreeMap<>();
+        courseDAO.forEach(c -> {
+            TermKey key = new TermKey(c.getStartDate() != null ? c.getStartDate().getYear() : 0, c.getTerm());
+            TermTotals totals = totalsByTerm.computeIfAbsent(key, k -> new TermTotals());
+            totals.courses++;
+            totalsByCourse.put(c.getId(), totals);
+        });
+        IntLookup courseByEnrollment = new IntLookup();
+        enrollmentDAO.forEach(e -> {
+            courseByEnrollment.put(e.getId(), e.getCourseId());
+            TermTotals totals = totalsByCourse.get(e.getCourseId());
+            if (totals != null) {
+                totals.enrollments++;
+            }
+        });
+        paymentDAO.forEach(p -> {
+            TermTotals totals = totalsByCourse.get(courseByEnrollment.get(p.getEnrollmentId()));
+            if (totals == null || p.getAmount() == null || p.getStatus() == null) {
+                return;
+            }
+            totals.payments++;
+            switch (p.getStatus()) {
+                case COMPLETED -> totals.collected = totals.collected.add(p.getAmount());
+                case PENDING -> totals.outstanding = totals.outstanding.add(p.getAmount());
+                case REFUNDED -> totals.refunded = totals.refunded.add(p.getAmount());
+            }
+        });
+        for (Map.Entry<TermKey, TermTotals> entry : totalsByTerm.entrySet()) {
+            TermKey key = entry.getKey();
+            TermTotals t = entry.getValue();
+            writer.row(key.year() != 0 ? key.year() : null, key.term(), t.courses, t.enrollments,
+                    t.payments, t.collected, t.outstanding, t.refunded);
+        }
+    }
+    
+    /**
+     * Sessions, enrollments and attendance records per course, with the share of
+     * records marked present or late.
+     */
+    private void attendanceByCourse(ReportWriter writer) throws IOException {
+        writer.begin(Report.ATTENDANCE_BY_COURSE.getId(), List.of("course_id", "course", "sessions",
+                "enrollments", "present", "late", "absent", "attendance_rate"));
+        Map<Integer, CourseTotals> totalsByCourse = new LinkedHashMap<>();
+        courseDAO.forEach(c -> totalsByCourse.put(c.getId(), new CourseTotals(c)));
+        sessionDAO.forEach(s -> {
+            CourseTotals totals = totalsByCourse.get(s.getCourseId());
+            if (totals != null) {
+                totals.sessions++;
+            }
+        });
+        IntLookup courseByEnrollment = new IntLookup();
+        enrollmentDAO.forEach(e -> {
+            courseByEnrollment.put(e.getId(), e.getCourseId());
+            CourseTotals totals = totalsByCourse.get(e.getCourseId());
+            if (totals != null) {
+                totals.enrollments++;
+            }
+        });
+        attendanceDAO.forEach(a -> {
+            CourseTotals totals = totalsByCourse.get(courseByEnrollment.get(a.getEnrollmentId()));
+            if (totals == null || a.getStatus() == null) {
+                return;
+            }
+            switch (a.getStatus()) {
+                case PRESENT -> totals.present++;
+                case LATE -> totals.late++;
+                case ABSENT -> totals.absent++;
+            }
+        });
+        for (CourseTotals t : totalsByCourse.values()) {
+            int records = t.present + t.late + t.absent;
+            BigDecimal rate = records == 0 ? null : BigDecimal.valueOf(t.present + t.late)
+                    .divide(BigDecimal.valueOf(records), RATE_SCALE, RoundingMode.HALF_UP);
+            writer.row(t.course.getId(), t.course.getName(), t.sessions, t.enrollments,
+                    t.present, t.late, t.absent, rate);
+        }
+    }
+    
+    /**
+     * Enrollment counts per course by status, and how many of them have a completed payment.
+     */
+    private void enrollmentFunnel(ReportWriter writer) throws IOException {
+        writer.begin(Report.ENROLLMENT_FUNNEL.getId(), List.of("course_id", "course", "capacity",
+                "enrolled", "paid", "active", "completed", "dropped"));
+        BitSet paidEnrollments = new BitSet();
+        paymentDAO.forEach(p -> {
+            if (p.getStatus() == Payment.PaymentStatus.COMPLETED) {
+                paidEnrollments.set(p.getEnrollmentId());
+            }
+        });
+        Map<Integer, CourseTotals> totalsByCourse = new LinkedHashMap<>();
+        courseDAO.forEach(c -> totalsByCourse.put(c.getId(), new CourseTotals(c)));
+        enrollmentDAO.forEach(e -> {
+            CourseTotals totals = totalsByCourse.get(e.getCourseId());
+            if (totals == null) {
+                return;
+            }
+            totals.enrollments++;
+            if (paidEnrollments.get(e.getId())) {
+                totals.paid++;
+            }
+            if (e.getStatus() == null) {
+                return;
+            }
+            switch (e.getStatus()) {
+                case ACTIVE -> totals.active++;
+                case COMPLETED -> totals.completed++;
+                case DROPPED -> totals.dropped++;
+            }
+        });
+        for (CourseTotals t : totalsByCourse.values()) {
+            writer.row(t.course.getId(), t.course.getName(), t.course.getMaxCapacity(),
+                    t.enrollments, t.paid, t.active, t.completed, t.dropped);
+        }
+    }
+    
+    /**
+     * Students with pending payments and the amount they owe, in student id order.
+     * Only students that owe something are kept in memory or written.
+     */
+    private void outstandingBalances(ReportWriter writer) throws IOException {
+        writer.begin(Report.OUTSTANDING_BALANCES.getId(), List.of("student_id", "student", "email",
+                "pending_payments", "outstanding"));
+        IntLookup studentByEnrollment = new IntLookup();
+        enrollmentDAO.forEach(e -> studentByEnrollment.put(e.getId(), e.getStudentId()));
+        Map<Integer, Balance> balances = new HashMap<>();
+        paymentDAO.forEach(p -> {
+            int studentId = studentByEnrollment.get(p.getEnrollmentId());
+            if (p.getStatus() != Payment.PaymentStatus.PENDING || studentId == 0 || p.getAmount() == null) {
+                return;
+            }
+            Balance balance = balances.computeIfAbsent(studentId, id -> new Balance());
+            balance.payments++;
+            balance.amount = balance.amount.add(p.getAmount());
+        });
+        if (balances.isEmpty()) {
+            return;
+        }
+        studentDAO.forEach(s -> {
+            Balance balance = balances.get(s.getId());
+            if (balance != null) {
+                writeRow(writer, s.getId(), s.getFullName(), s.getEmail(), balance.payments, balance.amount);
+            }
+        });
+    }
+    
+    /**
+     * Writes a row from inside a DAO callback; unwrapped again in {@link #export(Report, ReportWriter)}.
+     */
+    private static void writeRow(ReportWriter writer, Object... values) {
+        try {
+            writer.row(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private record TermKey(int year, Course.Term term) implements Comparable<TermKey> {
+        
+        @Override
+        public int compareTo(TermKey other) {
+            int byYear = Integer.compare(year, other.year);
+            return byYear != 0 ? byYear : Comparator.nullsLast(Comparator.<Course.Term>naturalOrder())
+                    .compare(term, other.term);
+        }
+    }
+    
+    private static final class TermTotals {
+        int courses;
+        int enrollments;
+        int payments;
+        BigDecimal collected = BigDecimal.ZERO;
+        BigDecimal outstanding = BigDecimal.ZERO;
+        BigDecimal refunded = BigDecimal.ZERO;
+    }
+    
+    private static final class CourseTotals {
+        final Course course;
+        int sessions;
+        int enrollments;
+        int present;
+        int late;
+        int absent;
+        int paid;
+        int active;
+        int completed;
+        int dropped;
+        
+        CourseTotals(Course course) {
+            this.course = course;
+        }
+    }
+    
+    private static final class Balance {
+        int payments;
+        BigDecimal amount = BigDecimal.ZERO;
+    }
+    
+    /**
+     * Dense id-to-id map for the streamed joins; 0 means no entry.
+     * Database ids are small positive ints, so an array beats boxed map entries.
+     */
+    private static final class IntLookup {
+        private int[] values = new int[1024];
+        
+        void put(int id, int value) {
+            if (id <= 0) {
+                return;
+            }
+            if (id >= values.length) {
+                values = Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+            }
+            values[id] = value;
+        }
+        
+        int get(int id) {
+            return id > 0 && id < values.length ? values[id] : 0;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package controller;
+
+import model.dao.EnrollmentDAO;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-course count of taken seats with compare-and-set reservation.
+ * Each counter starts from the DAO's active enrollment count the first time a
+ * course is seen; afterwards every ACTIVE enrollment created or ended through
+ * EnrollmentController reserves or releases exactly one seat.
+ * The ledger only sees this process's writes. It keeps concurrent enrollments here
+ * from all reaching the database; EnrollmentController still re-counts the course
+ * under a row lock in the saving transaction, which is what holds against other
+ * processes sharing the database. Seats they free are picked up by resync().
+ */
+class SeatLedger {
+    
+    private final EnrollmentDAO enrollmentDAO;
+    private final Map<Integer, Seats> seatsByCourse = new ConcurrentHashMap<>();
+    
+    /**
+     * Seats of one course: taken counts committed enrollments plus reservations,
+     * uncommitted only the reservations whose enrollment is not saved yet.
+     */
+    private record Seats(AtomicInteger taken, AtomicInteger uncommitted) {}
+    
+    SeatLedger(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+    
+    /**
+     * Takes one seat if fewer than capacity are taken. The reservation must be
+     * followed by commit() or cancel().
+     * @return true if a seat was reserved
+     */
+    boolean tryReserve(int courseId, int capacity) {
+        Seats seats = seats(courseId);
+        while (true) {
+            int current = seats.taken().get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (seats.taken().compareAndSet(current, current + 1)) {
+                seats.uncommitted().incrementAndGet();
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Marks a reservation as saved; its seat stays taken.
+     */
+    void commit(int courseId) {
+        seats(courseId).uncommitted().decrementAndGet();
+    }
+    
+    /**
+     * Gives back a reservation whose enrollment was not saved.
+     */
+    void cancel(int courseId) {
+        Seats seats = seats(courseId);
+        seats.uncommitted().decrementAndGet();
+        seats.taken().updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+    
+    /**
+     * Gives back the seat of an ended enrollment.
+     */
+    void release(int courseId) {
+        seats(courseId).taken().updateAndGet(current -> current > 0 ? current - 1 : 0);
+    }
+    
+    /**
+     * Replaces the taken seats with a fresh count of saved active enrollments, plus
+     * this process's reservations still being saved.
+     * @param active Active enrollments of the course in the database
+     */
+    void resync(int courseId, int active) {
+        Seats seats = seats(courseId);
+        seats.taken().set(active + seats.uncommitted().get());
+    }
+    
+    /**
+     * Gets the number of seats currently taken.
+     */
+    int taken(int courseId) {
+        return seats(courseId).taken().get();
+    }
+    
+    private Seats seats(int courseId) {
+        return seatsByCourse.computeIfAbsent(courseId,
+                id -> new Seats(new AtomicInteger(enrollmentDAO.countByCourseId(id)), new AtomicInteger()));
+    }
+}
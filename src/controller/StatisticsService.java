@@ -0,0 +1,319 @@
+package controller;
+
+import model.dao.CourseDAO;
+import model.dao.EnrollmentDAO;
+import model.dao.InstructorDAO;
+import model.dao.PaymentDAO;
+import model.dao.StudentDAO;
+import model.entity.Course;
+import model.entity.Enrollment;
+import model.entity.Instructor;
+import model.entity.Payment;
+import model.entity.Student;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Keeps the dashboard and report counters current without querying for them.
+ * The counters are built with one pass over each DAO and then maintained from the
+ * change events on the event bus. For each entity only the fields that are counted are
+ * remembered (a student's level, an active enrollment's course, ...), because the
+ * events carry the new state only, and in-memory entities are updated in place.
+ * Ids are dense, so these are kept in primitive arrays and bit sets indexed by id
+ * rather than in maps of boxed values; only the per-course figures use maps.
+ * Writes that bypass the controllers are picked up by {@link #rebuild()}, which counts
+ * into new counters without holding the lock that event listeners take. Events that
+ * arrive meanwhile are applied as usual and also queued, then replayed over the new
+ * counters before they replace the old ones; applying an event twice has no further
+ * effect, so replaying one the scan already saw is harmless.
+ * The first count runs on a background thread so startup does not wait for it.
+ */
+public class StatisticsService {
+    
+    private static final Student.SkillLevel[] LEVELS = Student.SkillLevel.values();
+    
+    private final StudentDAO studentDAO;
+    private final InstructorDAO instructorDAO;
+    private final CourseDAO courseDAO;
+    private final EnrollmentDAO enrollmentDAO;
+    private final PaymentDAO paymentDAO;
+    private final CompletableFuture<Void> firstCount = new CompletableFuture<>();
+    // One rebuild at a time; never held together with this
+    private final Object rebuildLock = new Object();
+    
+    // Guarded by this
+    private Counters counters = new Counters();
+    // Events seen while a rebuild is scanning, or null when none is
+    private List<EntityEvent<?>> replay;
+    private volatile Snapshot snapshot;
+    
+    /**
+     * Counters at one point in time; all values are consistent with each other.
+     */
+    public record Snapshot(int students, int instructors, int courses, int activeEnrollments,
+                           int pendingPayments, int availableCourses,
+                           Map<Student.SkillLevel, Integer> studentsByLevel) {
+        
+        public int studentsAt(Student.SkillLevel level) {
+            return studentsByLevel.getOrDefault(level, 0);
+        }
+    }
+    
+    /**
+     * Subscribes to changes and starts counting the current data in the background.
+     */
+    public StatisticsService(StudentDAO studentDAO, InstructorDAO instructorDAO, CourseDAO courseDAO,
+                             EnrollmentDAO enrollmentDAO, PaymentDAO paymentDAO, EventBus eventBus) {
+        this.studentDAO = studentDAO;
+        this.instructorDAO = instructorDAO;
+        this.courseDAO = courseDAO;
+        this.enrollmentDAO = enrollmentDAO;
+        this.paymentDAO = paymentDAO;
+        
+        eventBus.subscribe(Student.class, this::onEvent);
+        eventBus.subscribe(Instructor.class, this::onEvent);
+        eventBus.subscribe(Course.class, this::onEvent);
+        eventBus.subscribe(Enrollment.class, this::onEvent);
+        eventBus.subscribe(Payment.class, this::onEvent);
+        
+        Thread counter = new Thread(() -> {
+            try {
+                rebuild();
+                firstCount.complete(null);
+            } catch (RuntimeException e) {
+                firstCount.completeExceptionally(e);
+            }
+        }, "statistics-count");
+        counter.setDaemon(true);
+        counter.start();
+    }
+    
+    /**
+     * Gets the current counters. Reads are O(1) until the next change; until the first
+     * count has finished they wait for it, so call this off the EDT.
+     */
+    public Snapshot getSnapshot() {
+        try {
+            firstCount.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = counters.snapshot();
+            }
+            return snapshot;
+        }
+    }
+    
+    /**
+     * Recounts everything from the DAOs. Listeners are only held up while the new
+     * counters are swapped in, not during the scan.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            Counters fresh = new Counters();
+            try {
+                studentDAO.forEach(s -> fresh.putStudent(s.getId(), s.getSkillLevel()));
+                instructorDAO.forEach(i -> fresh.instructorIds.set(i.getId()));
+                courseDAO.forEach(c -> fresh.putCourse(c.getId(), c.getMaxCapacity()));
+                enrollmentDAO.forEach(fresh::putEnrollment);
+                paymentDAO.forEach(fresh::putPayment);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    replay = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                for (EntityEvent<?> event : replay) {
+                    fresh.apply(event);
+                }
+                replay = null;
+                counters = fresh;
+                snapshot = null;
+            }
+        }
+    }
+    
+    private synchronized void onEvent(EntityEvent<?> event) {
+        counters.apply(event);
+        if (replay != null) {
+            replay.add(event);
+        }
+        snapshot = null;
+    }
+    
+    /**
+     * Counted state of every entity; not thread-safe, callers hold the service's lock
+     * or own the instance.
+     */
+    private static final class Counters {
+        
+        // Level ordinal + 1 by student id; 0 for no student, LEVELS.length + 1 for no level
+        private byte[] studentLevels = new byte[0];
+        private final int[] studentsByLevel = new int[LEVELS.length];
+        private int students;
+        private final BitSet instructorIds = new BitSet();
+        private final Map<Integer, Integer> capacityByCourse = new HashMap<>();
+        // Course id by active enrollment id; 0 for no active enrollment
+        private int[] courseByActiveEnrollment = new int[0];
+        private int activeEnrollments;
+        private final Map<Integer, Integer> activeByCourse = new HashMap<>();
+        private final BitSet pendingPaymentIds = new BitSet();
+        private int availableCourses;
+        
+        Snapshot snapshot() {
+            Map<Student.SkillLevel, Integer> byLevel = new EnumMap<>(Student.SkillLevel.class);
+            for (Student.SkillLevel level : LEVELS) {
+                if (studentsByLevel[level.ordinal()] > 0) {
+                    byLevel.put(level, studentsByLevel[level.ordinal()]);
+                }
+            }
+            return new Snapshot(students, instructorIds.cardinality(), capacityByCourse.size(),
+                    activeEnrollments, pendingPaymentIds.cardinality(), availableCourses,
+                    Collections.unmodifiableMap(byLevel));
+        }
+        
+        void apply(EntityEvent<?> event) {
+            boolean deleted = event.kind() == EntityEvent.Kind.DELETED;
+            int id = event.id();
+            if (event.type() == Student.class) {
+                if (deleted) {
+                    removeStudent(id);
+                } else {
+                    putStudent(id, ((Student) event.entity()).getSkillLevel());
+                }
+            } else if (event.type() == Instructor.class) {
+                instructorIds.set(id, !deleted);
+            } else if (event.type() == Course.class) {
+                if (deleted) {
+                    removeCourse(id);
+                } else {
+                    putCourse(id, ((Course) event.entity()).getMaxCapacity());
+                }
+            } else if (event.type() == Enrollment.class) {
+                if (deleted) {
+                    removeActiveEnrollment(id);
+                } else {
+                    putEnrollment((Enrollment) event.entity());
+                }
+            } else if (event.type() == Payment.class) {
+                if (deleted) {
+                    pendingPaymentIds.clear(id);
+                } else {
+                    putPayment((Payment) event.entity());
+                }
+            }
+        }
+        
+        void putStudent(int id, Student.SkillLevel level) {
+            removeStudent(id);
+            studentLevels = ensureSize(studentLevels, id);
+            studentLevels[id] = (byte) (level == null ? LEVELS.length + 1 : level.ordinal() + 1);
+            students++;
+            if (level != null) {
+                studentsByLevel[level.ordinal()]++;
+            }
+        }
+        
+        void removeStudent(int id) {
+            int stored = id < studentLevels.length ? studentLevels[id] : 0;
+            if (stored == 0) {
+                return;
+            }
+            studentLevels[id] = 0;
+            students--;
+            if (stored <= LEVELS.length) {
+                studentsByLevel[stored - 1]--;
+            }
+        }
+        
+        void putCourse(int id, int capacity) {
+            boolean wasAvailable = isAvailable(id);
+            capacityByCourse.put(id, capacity);
+            updateAvailable(wasAvailable, id);
+        }
+        
+        void removeCourse(int id) {
+            if (isAvailable(id)) {
+                availableCourses--;
+            }
+            capacityByCourse.remove(id);
+        }
+        
+        void putEnrollment(Enrollment enrollment) {
+            int id = enrollment.getId();
+            if (enrollment.getStatus() != Enrollment.Status.ACTIVE) {
+                removeActiveEnrollment(id);
+                return;
+            }
+            if (id < courseByActiveEnrollment.length && courseByActiveEnrollment[id] != 0) {
+                return;
+            }
+            int courseId = enrollment.getCourseId();
+            boolean wasAvailable = isAvailable(courseId);
+            courseByActiveEnrollment = ensureSize(courseByActiveEnrollment, id);
+            courseByActiveEnrollment[id] = courseId;
+            activeEnrollments++;
+            activeByCourse.merge(courseId, 1, Integer::sum);
+            updateAvailable(wasAvailable, courseId);
+        }
+        
+        void removeActiveEnrollment(int id) {
+            int courseId = id < courseByActiveEnrollment.length ? courseByActiveEnrollment[id] : 0;
+            if (courseId == 0) {
+                return;
+            }
+            courseByActiveEnrollment[id] = 0;
+            activeEnrollments--;
+            boolean wasAvailable = isAvailable(courseId);
+            activeByCourse.computeIfPresent(courseId, (c, n) -> n > 1 ? n - 1 : null);
+            updateAvailable(wasAvailable, courseId);
+        }
+        
+        void putPayment(Payment payment) {
+            pendingPaymentIds.set(payment.getId(), payment.getStatus() == Payment.PaymentStatus.PENDING);
+        }
+        
+        /**
+         * A course is available while it has fewer active enrollments than seats.
+         */
+        private boolean isAvailable(int courseId) {
+            Integer capacity = capacityByCourse.get(courseId);
+            return capacity != null && activeByCourse.getOrDefault(courseId, 0) < capacity;
+        }
+        
+        private void updateAvailable(boolean wasAvailable, int courseId) {
+            boolean available = isAvailable(courseId);
+            if (available != wasAvailable) {
+                availableCourses += available ? 1 : -1;
+            }
+        }
+    }
+    
+    private static byte[] ensureSize(byte[] values, int id) {
+        return id < values.length ? values : Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+    }
+    
+    private static int[] ensureSize(int[] values, int id) {
+        return id < values.length ? values : Arrays.copyOf(values, Math.max(id + 1, values.length * 2));
+    }
+}
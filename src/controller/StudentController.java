@@ -1,23 +1,34 @@
 package controller;
 
+import model.dao.Page;
+import model.dao.PageRequest;
 import model.dao.StudentDAO;
 import model.dao.SkillTestDAO;
 import model.entity.Student;
 import model.entity.SkillTest;
+import model.event.EntityEvent;
+import model.event.EventBus;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Controller for Student operations.
+ * Successful writes are published on the event bus.
  */
 public class StudentController {
     
     private final StudentDAO studentDAO;
     private final SkillTestDAO skillTestDAO;
+    private final EventBus eventBus;
     
     public StudentController(StudentDAO studentDAO, SkillTestDAO skillTestDAO) {
+        this(studentDAO, skillTestDAO, new EventBus());
+    }
+    
+    public StudentController(StudentDAO studentDAO, SkillTestDAO skillTestDAO, EventBus eventBus) {
         this.studentDAO = studentDAO;
         this.skillTestDAO = skillTestDAO;
+        this.eventBus = eventBus;
     }
     
     /**
@@ -26,7 +37,7 @@ public class StudentController {
     public Student registerStudent(String firstName, String lastName, String email, 
                                    String phone, String dateOfBirth) {
         // Check if email already exists
-        if (studentDAO.findByEmail(email) != null) {
+        if (studentDAO.existsByEmail(email)) {
             throw new IllegalArgumentException("A student with this email already exists.");
         }
         
@@ -38,7 +49,9 @@ public class StudentController {
         student.setDateOfBirth(dateOfBirth);
         student.setSkillLevel(Student.SkillLevel.BEGINNER);
         
-        return studentDAO.save(student);
+        Student saved = studentDAO.save(student);
+        eventBus.publish(EntityEvent.created(Student.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -55,18 +68,33 @@ public class StudentController {
         return studentDAO.findAll();
     }
     
+    /**
+     * Gets one page of students ordered by id.
+     */
+    public Page<Student> getStudentsPage(PageRequest request) {
+        return studentDAO.findPage(request);
+    }
+    
     /**
      * Updates student information.
      */
     public Student updateStudent(Student student) {
-        return studentDAO.update(student);
+        Student updated = studentDAO.update(student);
+        if (updated != null) {
+            eventBus.publish(EntityEvent.updated(Student.class, updated.getId(), updated));
+        }
+        return updated;
     }
     
     /**
      * Deletes a student.
      */
     public boolean deleteStudent(int id) {
-        return studentDAO.delete(id);
+        boolean deleted = studentDAO.delete(id);
+        if (deleted) {
+            eventBus.publish(EntityEvent.deleted(Student.class, id));
+        }
+        return deleted;
     }
     
     /**
@@ -91,8 +119,11 @@ public class StudentController {
         // Update student's skill level
         student.setSkillLevel(newLevel);
         studentDAO.update(student);
+        SkillTest saved = skillTestDAO.save(skillTest);
         
-        return skillTestDAO.save(skillTest);
+        eventBus.publish(EntityEvent.updated(Student.class, student.getId(), student));
+        eventBus.publish(EntityEvent.created(SkillTest.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -109,6 +140,34 @@ public class StudentController {
         return studentDAO.searchByName(name);
     }
     
+    /**
+     * Gets students that have no enrollments.
+     */
+    public List<Student> getStudentsWithoutEnrollments() {
+        return studentDAO.findWithoutEnrollments();
+    }
+    
+    /**
+     * Counts students that have no enrollments.
+     */
+    public int countStudentsWithoutEnrollments() {
+        return studentDAO.countWithoutEnrollments();
+    }
+    
+    /**
+     * Gets students that have no payments.
+     */
+    public List<Student> getStudentsWithoutPayments() {
+        return studentDAO.findWithoutPayments();
+    }
+    
+    /**
+     * Counts students that have no payments.
+     */
+    public int countStudentsWithoutPayments() {
+        return studentDAO.countWithoutPayments();
+    }
+    
     /**
      * Gets total student count.
      */
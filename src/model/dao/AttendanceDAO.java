@@ -1,7 +1,9 @@
 package model.dao;
 
 import model.entity.Attendance;
+import model.entity.Course;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object interface for Attendance entity.
@@ -29,4 +31,38 @@ public interface AttendanceDAO extends GenericDAO<Attendance> {
      * @return Attendance record if exists
      */
     Attendance findByEnrollmentAndSession(int enrollmentId, int sessionId);
+    
+    /**
+     * Counts an enrollment's attendance records by status. Records without a status are not counted.
+     * @param enrollmentId Enrollment ID
+     * @return Count for every status, zero where there are no records
+     */
+    Map<Attendance.AttendanceStatus, Integer> countByStatus(int enrollmentId);
+    
+    /**
+     * Counts attendance records by status for every enrollment in a course, in one pass.
+     * Enrollments without a record with a status are left out.
+     * @param courseId Course ID
+     * @return Counts per enrollment, in enrollment id order
+     */
+    AttendanceTotals countByStatusForCourse(int courseId);
+    
+    /**
+     * Counts attendance records by status for every enrollment in the courses of a term,
+     * in one pass. Enrollments without a record with a status are left out.
+     * @param term Course term
+     * @return Counts per enrollment
+     */
+    AttendanceTotals countByStatusForTerm(Course.Term term);
+    
+    /**
+     * Sets the status of many enrollments in one session as one batch. An existing record
+     * for an (enrollment, session) pair gets the new status and keeps its notes; otherwise
+     * a record without notes is created.
+     * @param sessionId Session ID
+     * @param statuses Status by enrollment ID
+     * @return The session's records for those enrollments after the write, each with
+     *         whether it was created
+     */
+    List<AttendanceUpsert> upsertStatuses(int sessionId, Map<Integer, Attendance.AttendanceStatus> statuses);
 }
@@ -0,0 +1,111 @@
+package model.dao;
+
+import model.entity.Attendance;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Attendance counts by status for a group of enrollments, kept in parallel primitive
+ * arrays so a whole term fits in a few arrays instead of a map entry per enrollment.
+ * Enrollments are in the order they were added; records without a status are not counted.
+ */
+public final class AttendanceTotals {
+    
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+    
+    private int[] enrollmentIds;
+    // STATUSES.length counts per enrollment, by status ordinal
+    private int[] counts;
+    private int size;
+    
+    public AttendanceTotals() {
+        this(16);
+    }
+    
+    /**
+     * @param expectedEnrollments Number of enrollments to make room for
+     */
+    public AttendanceTotals(int expectedEnrollments) {
+        int capacity = Math.max(expectedEnrollments, 1);
+        this.enrollmentIds = new int[capacity];
+        this.counts = new int[capacity * STATUSES.length];
+    }
+    
+    /**
+     * Adds records of one status. Rows for the same enrollment must come one after
+     * another, as they do from a query grouped and ordered by enrollment.
+     */
+    public void add(int enrollmentId, Attendance.AttendanceStatus status, int count) {
+        if (size == 0 || enrollmentIds[size - 1] != enrollmentId) {
+            append(enrollmentId);
+        }
+        counts[(size - 1) * STATUSES.length + status.ordinal()] += count;
+    }
+    
+    /**
+     * Adds an enrollment with its counts by status ordinal.
+     */
+    public void add(int enrollmentId, int[] countsByStatus) {
+        append(enrollmentId);
+        System.arraycopy(countsByStatus, 0, counts, (size - 1) * STATUSES.length, STATUSES.length);
+    }
+    
+    /**
+     * Appends the enrollments of other totals, e.g. to merge totals built in parallel.
+     */
+    public void addAll(AttendanceTotals other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.enrollmentIds, 0, enrollmentIds, size, other.size);
+        System.arraycopy(other.counts, 0, counts, size * STATUSES.length, other.size * STATUSES.length);
+        size += other.size;
+    }
+    
+    public int size() { return size; }
+    
+    public boolean isEmpty() { return size == 0; }
+    
+    public int getEnrollmentId(int index) {
+        return enrollmentIds[checkIndex(index)];
+    }
+    
+    public int getCount(int index, Attendance.AttendanceStatus status) {
+        return counts[checkIndex(index) * STATUSES.length + status.ordinal()];
+    }
+    
+    /**
+     * Gets the number of records with a status for the enrollment at index.
+     */
+    public int getRecorded(int index) {
+        int start = checkIndex(index) * STATUSES.length;
+        int total = 0;
+        for (int i = start; i < start + STATUSES.length; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Gets the number of records marked present or late for the enrollment at index.
+     */
+    public int getAttended(int index) {
+        return getCount(index, Attendance.AttendanceStatus.PRESENT)
+                + getCount(index, Attendance.AttendanceStatus.LATE);
+    }
+    
+    private void append(int enrollmentId) {
+        ensureCapacity(size + 1);
+        enrollmentIds[size++] = enrollmentId;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > enrollmentIds.length) {
+            int grown = Math.max(capacity, enrollmentIds.length * 2);
+            enrollmentIds = Arrays.copyOf(enrollmentIds, grown);
+            counts = Arrays.copyOf(counts, grown * STATUSES.length);
+        }
+    }
+    
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+}
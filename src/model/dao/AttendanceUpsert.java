@@ -0,0 +1,10 @@
+package model.dao;
+
+import model.entity.Attendance;
+
+/**
+ * A record written by {@link AttendanceDAO#upsertStatuses}, with whether that write created
+ * it or updated an existing record. Decided inside the write, so it holds under concurrent
+ * roll calls for the same session.
+ */
+public record AttendanceUpsert(Attendance attendance, boolean created) {}
@@ -37,9 +37,29 @@ public interface CourseDAO extends GenericDAO<Course> {
      */
     List<Course> searchByName(String name);
     
+    /**
+     * Searches courses by name, returning names that start with the text first.
+     * @param name Name to search for
+     * @param limit Maximum number of results
+     * @return Up to limit matching courses
+     */
+    List<Course> searchByName(String name, int limit);
+    
     /**
      * Finds courses with available capacity.
      * @return List of courses that are not full
      */
     List<Course> findAvailableCourses();
+    
+    /**
+     * Finds courses that have no sessions.
+     * @return Courses without sessions, in id order
+     */
+    List<Course> findWithoutSessions();
+    
+    /**
+     * Counts courses that have no sessions.
+     * @return Number of courses without sessions
+     */
+    int countWithoutSessions();
 }
@@ -0,0 +1,15 @@
+package model.dao;
+
+/**
+ * Unchecked exception thrown when the underlying data store fails.
+ */
+public class DataAccessException extends RuntimeException {
+    
+    public DataAccessException(String message) {
+        super(message);
+    }
+    
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
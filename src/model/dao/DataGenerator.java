@@ -0,0 +1,299 @@
+package model.dao;
+
+import model.entity.*;
+import util.AppLogger;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded synthetic data for load testing. Fills all eight DAOs through the
+ * {@link GenericDAO} interfaces, so it works with both storage backends.
+ * The same seed and settings always produce the same rows and ids on an empty store.
+ * Rows are written in batches of {@link DataGeneratorConfig#getBatchSize()}, each in its
+ * own unit of work; only int ids are kept between phases.
+ */
+public class DataGenerator {
+    
+    private static final String[] SYLLABLES = {
+        "an", "ber", "ca", "del", "e", "fa", "gul", "han", "i", "jo", "ka", "lin",
+        "mar", "nur", "o", "pe", "ra", "se", "tu", "ul", "ve", "ya", "zer"
+    };
+    private static final String[] SUBJECTS = {
+        "Watercolor", "Oil Painting", "Sketching", "Sculpture", "Ceramics", "Portrait",
+        "Landscape", "Calligraphy", "Printmaking", "Digital Art"
+    };
+    private static final String[] PAYMENT_METHODS = {"Cash", "Credit Card", "Bank Transfer"};
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 1, 6, 9, 0);
+    private static final BigDecimal FEE = new BigDecimal("150.00");
+    
+    private final StudentDAO studentDAO;
+    private final InstructorDAO instructorDAO;
+    private final CourseDAO courseDAO;
+    private final SessionDAO sessionDAO;
+    private final EnrollmentDAO enrollmentDAO;
+    private final PaymentDAO paymentDAO;
+    private final AttendanceDAO attendanceDAO;
+    private final SkillTestDAO skillTestDAO;
+    private final TransactionManager transactionManager;
+    
+    /**
+     * Row counts written by one {@link #generate(DataGeneratorConfig)} run.
+     */
+    public record Summary(int instructors, int courses, int sessions, int students, int skillTests,
+                          int enrollments, int payments, int attendance) {
+        
+        public int total() {
+            return instructors + courses + sessions + students + skillTests + enrollments + payments + attendance;
+        }
+    }
+    
+    public DataGenerator(StudentDAO studentDAO, InstructorDAO instructorDAO, CourseDAO courseDAO,
+                         SessionDAO sessionDAO, EnrollmentDAO enrollmentDAO, PaymentDAO paymentDAO,
+                         AttendanceDAO attendanceDAO, SkillTestDAO skillTestDAO) {
+        this(studentDAO, instructorDAO, courseDAO, sessionDAO, enrollmentDAO, paymentDAO,
+             attendanceDAO, skillTestDAO, TransactionManager.NONE);
+    }
+    
+    public DataGenerator(StudentDAO studentDAO, InstructorDAO instructorDAO, CourseDAO courseDAO,
+                         SessionDAO sessionDAO, EnrollmentDAO enrollmentDAO, PaymentDAO paymentDAO,
+                         AttendanceDAO attendanceDAO, SkillTestDAO skillTestDAO,
+                         TransactionManager transactionManager) {
+        this.studentDAO = studentDAO;
+        this.instructorDAO = instructorDAO;
+        this.courseDAO = courseDAO;
+        this.sessionDAO = sessionDAO;
+        this.enrollmentDAO = enrollmentDAO;
+        this.paymentDAO = paymentDAO;
+        this.attendanceDAO = attendanceDAO;
+        this.skillTestDAO = skillTestDAO;
+        this.transactionManager = transactionManager;
+    }
+    
+    /**
+     * Builds a random name from a few syllables, e.g. "Kamarse".
+     * @param random Source of randomness
+     * @return Capitalized name
+     */
+    public static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int parts = 2 + random.nextInt(3);
+        for (int i = 0; i < parts; i++) {
+            sb.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+    
+    /**
+     * Generates a full data set.
+     * @param config Sizes, distributions and seed
+     * @return Number of rows written per table
+     */
+    public Summary generate(DataGeneratorConfig config) {
+        config.validate();
+        Run run = new Run(config);
+        
+        int[] instructorIds = run.instructors();
+        AppLogger.info("Generated " + instructorIds.length + " instructors");
+        run.courses(instructorIds);
+        AppLogger.info("Generated " + run.courseIds.length + " courses and " + run.sessions + " sessions");
+        run.students();
+        AppLogger.info("Generated " + run.students + " students with skill tests");
+        run.enrollments();
+        AppLogger.info("Generated " + run.enrollments + " enrollments, " + run.payments + " payments and "
+                + run.attendance + " attendance records");
+        
+        return new Summary(instructorIds.length, run.courseIds.length, run.sessions, run.students,
+                run.students, run.enrollments, run.payments, run.attendance);
+    }
+    
+    /**
+     * State of a single generate() call.
+     */
+    private class Run {
+        
+        private final DataGeneratorConfig config;
+        private final Random random;
+        private final String token;
+        private final int[][] studentsByLevel = new int[Student.SkillLevel.values().length][];
+        private final int[] studentCounts = new int[Student.SkillLevel.values().length];
+        private int[] courseIds;
+        private byte[] courseLevels;
+        private int[] sessionIds;
+        private int sessions;
+        private int students;
+        private int enrollments;
+        private int payments;
+        private int attendance;
+        
+        Run(DataGeneratorConfig config) {
+            this.config = config;
+            this.random = new Random(config.getSeed());
+            // Keeps emails unique when several seeds are loaded into one store
+            this.token = Long.toString(config.getSeed(), 36).replace('-', 'n');
+            for (int i = 0; i < studentsByLevel.length; i++) {
+                studentsByLevel[i] = new int[16];
+            }
+        }
+        
+        int[] instructors() {
+            int[] ids = new int[config.getInstructors()];
+            inBatches(ids.length, config.getBatchSize(), i -> {
+                Instructor instructor = new Instructor();
+                instructor.setFirstName(randomName(random));
+                instructor.setLastName(randomName(random));
+                instructor.setEmail("instructor" + (i + 1) + "." + token + "@generated.test");
+                instructor.setPhone(phone(i));
+                instructor.setSpecialization(SUBJECTS[random.nextInt(SUBJECTS.length)]);
+                instructor.setCreatedAt(BASE_TIME);
+                ids[i] = instructorDAO.save(instructor).getId();
+            });
+            return ids;
+        }
+        
+        void courses(int[] instructorIds) {
+            Course.Term[] terms = Course.Term.values();
+            int count = config.getCoursesPerTerm() * terms.length;
+            int perCourse = config.getSessionsPerCourse();
+            courseIds = new int[count];
+            courseLevels = new byte[count];
+            sessionIds = new int[count * perCourse];
+            int coursesPerBatch = Math.max(1, config.getBatchSize() / (1 + perCourse));
+            inBatches(count, coursesPerBatch, i -> {
+                Course.Term term = terms[i / config.getCoursesPerTerm()];
+                LocalDate start = term == Course.Term.SUMMER ? LocalDate.of(2025, 6, 2) : LocalDate.of(2025, 10, 6);
+                Student.SkillLevel level = skillLevel();
+                Course course = new Course(0, SUBJECTS[random.nextInt(SUBJECTS.length)] + " " + randomName(random),
+                        "Generated course", term, level, instructorIds[random.nextInt(instructorIds.length)],
+                        config.getCourseCapacity(), FEE, start, start.plusWeeks(Math.max(1, perCourse)));
+                courseIds[i] = courseDAO.save(course).getId();
+                courseLevels[i] = (byte) level.ordinal();
+                for (int s = 0; s < perCourse; s++) {
+                    Session session = new Session(0, courseIds[i], start.plusWeeks(s),
+                            LocalTime.of(10, 0), LocalTime.of(12, 0), "Week " + (s + 1));
+                    sessionIds[i * perCourse + s] = sessionDAO.save(session).getId();
+                    sessions++;
+                }
+            });
+        }
+        
+        void students() {
+            inBatches(config.getStudents(), config.getBatchSize(), i -> {
+                Student.SkillLevel level = skillLevel();
+                Student student = new Student(0, randomName(random), randomName(random),
+                        "student" + (i + 1) + "." + token + "@generated.test", phone(i),
+                        LocalDate.of(1970 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)).toString(),
+                        level);
+                student.setCreatedAt(BASE_TIME.plusMinutes(i));
+                int id = studentDAO.save(student).getId();
+                
+                SkillTest skillTest = new SkillTest(0, id, scoreFor(level), level, "Placement test");
+                skillTest.setTestDate(BASE_TIME.plusMinutes(i));
+                skillTestDAO.save(skillTest);
+                addStudent(level.ordinal(), id);
+                students++;
+            });
+        }
+        
+        void enrollments() {
+            int seats = (int) Math.round(config.getCourseCapacity() * config.getCapacityFillRatio());
+            int rowsPerCourse = Math.max(1, seats * (2 + config.getSessionsPerCourse()));
+            int coursesPerBatch = Math.max(1, config.getBatchSize() / rowsPerCourse);
+            inBatches(courseIds.length, coursesPerBatch, i -> enrollCourse(i, seats));
+        }
+        
+        private void enrollCourse(int courseIndex, int seats) {
+            int level = courseLevels[courseIndex];
+            int poolSize = studentCounts[level];
+            int[] pool = studentsByLevel[level];
+            int count = Math.min(seats, poolSize);
+            Set<Integer> taken = new HashSet<>();
+            int perCourse = config.getSessionsPerCourse();
+            for (int seat = 0; seat < count; seat++) {
+                int studentId = pool[random.nextInt(poolSize)];
+                while (!taken.add(studentId)) {
+                    studentId = pool[random.nextInt(poolSize)];
+                }
+                Enrollment enrollment = new Enrollment(0, studentId, courseIds[courseIndex], Enrollment.Status.ACTIVE);
+                enrollment.setEnrollmentDate(BASE_TIME.plusDays(courseIndex % 28).plusMinutes(seat));
+                int enrollmentId = enrollmentDAO.save(enrollment).getId();
+                enrollments++;
+                
+                boolean completed = random.nextDouble() < config.getPaymentCompletionRate();
+                Payment payment = new Payment(0, enrollmentId, FEE,
+                        PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)],
+                        completed ? Payment.PaymentStatus.COMPLETED : Payment.PaymentStatus.PENDING);
+                payment.setPaymentDate(enrollment.getEnrollmentDate());
+                paymentDAO.save(payment);
+                payments++;
+                
+                for (int s = 0; s < perCourse; s++) {
+                    attendanceDAO.save(new Attendance(0, enrollmentId, sessionIds[courseIndex * perCourse + s],
+                            attendanceStatus(), null));
+                    attendance++;
+                }
+            }
+        }
+        
+        private void inBatches(int count, int batchSize, IndexConsumer action) {
+            for (int from = 0; from < count; from += batchSize) {
+                int start = from;
+                int end = Math.min(count, from + batchSize);
+                transactionManager.inTransaction(() -> {
+                    for (int i = start; i < end; i++) {
+                        action.accept(i);
+                    }
+                    return null;
+                });
+            }
+        }
+        
+        private Student.SkillLevel skillLevel() {
+            double roll = random.nextDouble();
+            if (roll < config.getBeginnerShare()) {
+                return Student.SkillLevel.BEGINNER;
+            }
+            return roll < config.getBeginnerShare() + config.getIntermediateShare()
+                    ? Student.SkillLevel.INTERMEDIATE : Student.SkillLevel.ADVANCED;
+        }
+        
+        private Attendance.AttendanceStatus attendanceStatus() {
+            if (random.nextDouble() >= config.getAttendanceRate()) {
+                return Attendance.AttendanceStatus.ABSENT;
+            }
+            return random.nextDouble() < config.getLateShare()
+                    ? Attendance.AttendanceStatus.LATE : Attendance.AttendanceStatus.PRESENT;
+        }
+        
+        private int scoreFor(Student.SkillLevel level) {
+            // Ranges match SkillTest.determineLevel
+            switch (level) {
+                case BEGINNER: return random.nextInt(41);
+                case INTERMEDIATE: return 41 + random.nextInt(30);
+                default: return 71 + random.nextInt(30);
+            }
+        }
+        
+        private String phone(int i) {
+            return String.format("555%07d", i % 10_000_000);
+        }
+        
+        private void addStudent(int level, int id) {
+            if (studentCounts[level] == studentsByLevel[level].length) {
+                studentsByLevel[level] = Arrays.copyOf(studentsByLevel[level], studentCounts[level] * 2);
+            }
+            studentsByLevel[level][studentCounts[level]++] = id;
+        }
+    }
+    
+    @FunctionalInterface
+    private interface IndexConsumer {
+        void accept(int index);
+    }
+}
@@ -0,0 +1,87 @@
+package model.dao;
+
+/**
+ * Settings for {@link DataGenerator}. Ratios are between 0 and 1.
+ */
+public class DataGeneratorConfig {
+    
+    private long seed = 42L;
+    private int students = 10_000;
+    private int instructors = 50;
+    private int coursesPerTerm = 100;
+    private int sessionsPerCourse = 12;
+    private int courseCapacity = 20;
+    private double beginnerShare = 0.5;
+    private double intermediateShare = 0.3;
+    private double capacityFillRatio = 0.8;
+    private double attendanceRate = 0.85;
+    private double lateShare = 0.1;
+    private double paymentCompletionRate = 0.7;
+    private int batchSize = 1_000;
+    
+    /**
+     * Checks that counts are positive and ratios are in range.
+     */
+    public void validate() {
+        if (students < 0 || instructors < 1 || coursesPerTerm < 0 || sessionsPerCourse < 0
+                || courseCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Generator counts must be positive.");
+        }
+        for (double ratio : new double[] {beginnerShare, intermediateShare, capacityFillRatio,
+                attendanceRate, lateShare, paymentCompletionRate}) {
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("Generator ratios must be between 0 and 1.");
+            }
+        }
+        if (beginnerShare + intermediateShare > 1) {
+            throw new IllegalArgumentException("Skill level shares must not exceed 1.");
+        }
+    }
+    
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    
+    public int getStudents() { return students; }
+    public void setStudents(int students) { this.students = students; }
+    
+    public int getInstructors() { return instructors; }
+    public void setInstructors(int instructors) { this.instructors = instructors; }
+    
+    public int getCoursesPerTerm() { return coursesPerTerm; }
+    public void setCoursesPerTerm(int coursesPerTerm) { this.coursesPerTerm = coursesPerTerm; }
+    
+    public int getSessionsPerCourse() { return sessionsPerCourse; }
+    public void setSessionsPerCourse(int sessionsPerCourse) { this.sessionsPerCourse = sessionsPerCourse; }
+    
+    public int getCourseCapacity() { return courseCapacity; }
+    public void setCourseCapacity(int courseCapacity) { this.courseCapacity = courseCapacity; }
+    
+    /** Share of BEGINNER students and courses; ADVANCED gets what is left after INTERMEDIATE. */
+    public double getBeginnerShare() { return beginnerShare; }
+    public void setBeginnerShare(double beginnerShare) { this.beginnerShare = beginnerShare; }
+    
+    public double getIntermediateShare() { return intermediateShare; }
+    public void setIntermediateShare(double intermediateShare) { this.intermediateShare = intermediateShare; }
+    
+    /** Fraction of each course's seats that get an enrollment. */
+    public double getCapacityFillRatio() { return capacityFillRatio; }
+    public void setCapacityFillRatio(double capacityFillRatio) { this.capacityFillRatio = capacityFillRatio; }
+    
+    /** Chance that an enrolled student attends (PRESENT or LATE) a session. */
+    public double getAttendanceRate() { return attendanceRate; }
+    public void setAttendanceRate(double attendanceRate) { this.attendanceRate = attendanceRate; }
+    
+    /** Share of attended sessions recorded as LATE. */
+    public double getLateShare() { return lateShare; }
+    public void setLateShare(double lateShare) { this.lateShare = lateShare; }
+    
+    /** Chance that an enrollment's payment is COMPLETED rather than PENDING. */
+    public double getPaymentCompletionRate() { return paymentCompletionRate; }
+    public void setPaymentCompletionRate(double paymentCompletionRate) {
+        this.paymentCompletionRate = paymentCompletionRate;
+    }
+    
+    /** Rows written per unit of work; each batch is one transaction on the JDBC backend. */
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+}
@@ -1,6 +1,7 @@
 package model.dao;
 
 import model.entity.Enrollment;
+import model.entity.EnrollmentView;
 import java.util.List;
 
 /**
@@ -42,4 +43,28 @@ public interface EnrollmentDAO extends GenericDAO<Enrollment> {
      * @return Number of enrollments
      */
     int countByCourseId(int courseId);
+    
+    /**
+     * Counts the active enrollments of a course while holding a lock on the course
+     * until the surrounding transaction ends, so writers checking the course's capacity
+     * from any process go one at a time. Call it in the transaction that saves.
+     * @param courseId Course ID
+     * @return Number of active enrollments
+     */
+    int countByCourseIdForUpdate(int courseId);
+    
+    /**
+     * Moves an active enrollment to another status in one atomic step, so of several
+     * concurrent calls for the same enrollment only one sees it active.
+     * @param id Enrollment ID
+     * @param status New status
+     * @return true if the enrollment was active and now has the new status
+     */
+    boolean endIfActive(int id, Enrollment.Status status);
+    
+    /**
+     * Lists every enrollment with its student and course names in one query.
+     * @return Enrollment views ordered by enrollment ID
+     */
+    List<EnrollmentView> findAllViews();
 }
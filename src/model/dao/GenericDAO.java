@@ -2,6 +2,8 @@ package model.dao;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generic Data Access Object interface for CRUD operations.
@@ -48,4 +50,28 @@ public interface GenericDAO<T> {
      * @return Count of entities
      */
     int count();
+    
+    /**
+     * Retrieves one page of entities ordered by id.
+     * @param request Page position, size and direction
+     * @return The requested page
+     */
+    Page<T> findPage(PageRequest request);
+    
+    /**
+     * Streams all entities in id order without copying the whole table.
+     * The stream may hold a database connection; close it when done.
+     * @return Stream of all entities
+     */
+    Stream<T> streamAll();
+    
+    /**
+     * Passes every entity to the action in id order.
+     * @param action Action to apply
+     */
+    default void forEach(Consumer<? super T> action) {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(action);
+        }
+    }
 }
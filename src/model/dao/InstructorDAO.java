@@ -15,6 +15,13 @@ public interface InstructorDAO extends GenericDAO<Instructor> {
      */
     Instructor findByEmail(String email);
     
+    /**
+     * Checks whether an email is already registered (case-insensitive).
+     * @param email Email to check
+     * @return true if an instructor with the email exists
+     */
+    boolean existsByEmail(String email);
+    
     /**
      * Finds all instructors by specialization.
      * @param specialization Specialization to filter by
@@ -28,4 +35,24 @@ public interface InstructorDAO extends GenericDAO<Instructor> {
      * @return List of matching instructors
      */
     List<Instructor> searchByName(String name);
+    
+    /**
+     * Searches instructors by name, returning names that start with the text first.
+     * @param name Name to search for
+     * @param limit Maximum number of results
+     * @return Up to limit matching instructors
+     */
+    List<Instructor> searchByName(String name, int limit);
+    
+    /**
+     * Finds instructors that teach no courses.
+     * @return Instructors without courses, in id order
+     */
+    List<Instructor> findWithoutCourses();
+    
+    /**
+     * Counts instructors that teach no courses.
+     * @return Number of instructors without courses
+     */
+    int countWithoutCourses();
 }
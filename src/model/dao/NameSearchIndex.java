@@ -0,0 +1,163 @@
+package model.dao;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigram inverted index for case-insensitive substring search over entity names.
+ * Each id is indexed under one or more name fields (e.g. first and last name). A query
+ * of three or more characters intersects the posting lists of its trigrams, then checks
+ * the surviving candidates with contains(); shorter queries fall back to a scan of the
+ * pre-lowercased names. Writers of the same id must be serialized by the caller;
+ * writers of different ids and readers may run concurrently.
+ */
+public class NameSearchIndex {
+    
+    private static final int GRAM = 3;
+    
+    private final Map<Long, Set<Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Integer, String[]> namesById = new ConcurrentHashMap<>();
+    
+    /**
+     * Indexes (or re-indexes) an id under the given names. Null names are ignored.
+     */
+    public void put(int id, String... names) {
+        String[] lowered = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            lowered[i] = names[i] == null ? "" : names[i].toLowerCase(Locale.ROOT);
+        }
+        String[] previous = namesById.put(id, lowered);
+        Set<Long> oldGrams = previous == null ? Collections.emptySet() : trigramsOf(previous);
+        Set<Long> newGrams = trigramsOf(lowered);
+        for (Long gram : oldGrams) {
+            if (!newGrams.contains(gram)) {
+                removePosting(gram, id);
+            }
+        }
+        for (Long gram : newGrams) {
+            if (!oldGrams.contains(gram)) {
+                postings.compute(gram, (k, ids) -> {
+                    Set<Integer> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    result.add(id);
+                    return result;
+                });
+            }
+        }
+    }
+    
+    /**
+     * Removes an id from the index.
+     */
+    public void remove(int id) {
+        String[] previous = namesById.remove(id);
+        if (previous != null) {
+            for (Long gram : trigramsOf(previous)) {
+                removePosting(gram, id);
+            }
+        }
+    }
+    
+    /**
+     * Finds ids whose names contain the query, ignoring case.
+     * Ids with a name starting with the query come first; ties are ordered by id.
+     * @param query Text to search for
+     * @param limit Maximum number of ids to return
+     * @return Matching ids, best first
+     */
+    public List<Integer> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<Integer> prefixMatches = new ArrayList<>();
+        List<Integer> otherMatches = new ArrayList<>();
+        for (Integer id : candidates(needle)) {
+            String[] names = namesById.get(id);
+            if (names == null) {
+                continue;
+            }
+            int rank = rank(names, needle);
+            if (rank == 0) {
+                prefixMatches.add(id);
+            } else if (rank == 1) {
+                otherMatches.add(id);
+            }
+        }
+        Collections.sort(prefixMatches);
+        Collections.sort(otherMatches);
+        List<Integer> result = new ArrayList<>(Math.min(limit, prefixMatches.size() + otherMatches.size()));
+        for (List<Integer> group : List.of(prefixMatches, otherMatches)) {
+            for (Integer id : group) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(id);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the number of indexed ids.
+     */
+    public int size() {
+        return namesById.size();
+    }
+    
+    private Collection<Integer> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return namesById.keySet();
+        }
+        List<Set<Integer>> lists = new ArrayList<>();
+        for (Long gram : trigramsOf(new String[] {needle})) {
+            Set<Integer> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Integer> smallest = lists.get(0);
+        List<Integer> result = new ArrayList<>();
+        outer:
+        for (Integer id : smallest) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(id)) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        return result;
+    }
+    
+    /**
+     * 0 for a prefix match, 1 for a match elsewhere, 2 for no match.
+     */
+    private static int rank(String[] names, String needle) {
+        int best = 2;
+        for (String name : names) {
+            if (name.startsWith(needle)) {
+                return 0;
+            }
+            if (name.contains(needle)) {
+                best = 1;
+            }
+        }
+        return best;
+    }
+    
+    private void removePosting(Long gram, int id) {
+        postings.computeIfPresent(gram, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+    }
+    
+    private static Set<Long> trigramsOf(String[] names) {
+        Set<Long> grams = new HashSet<>();
+        for (String name : names) {
+            for (int i = 0; i + GRAM <= name.length(); i++) {
+                grams.add(((long) name.charAt(i) << 32) | ((long) name.charAt(i + 1) << 16) | name.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,48 @@
+package model.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of query results.
+ * @param <T> Entity type
+ */
+public final class Page<T> {
+    
+    private final List<T> content;
+    private final PageRequest request;
+    private final boolean hasNext;
+    private final int lastId;
+    
+    /**
+     * @param content Rows of this page
+     * @param request Request that produced the page
+     * @param hasNext Whether more rows follow
+     * @param lastId Id of the last row, used as the keyset cursor for the next page
+     */
+    public Page(List<T> content, PageRequest request, boolean hasNext, int lastId) {
+        this.content = Collections.unmodifiableList(content);
+        this.request = request;
+        this.hasNext = hasNext;
+        this.lastId = lastId;
+    }
+    
+    public List<T> getContent() { return content; }
+    
+    public PageRequest getRequest() { return request; }
+    
+    public boolean hasNext() { return hasNext; }
+    
+    public boolean isEmpty() { return content.isEmpty(); }
+    
+    /**
+     * Gets the request for the following page, keeping the keyset or offset style.
+     */
+    public PageRequest nextRequest() {
+        if (!request.isSorted() && (request.isKeyset() || request.getOffset() == 0)) {
+            PageRequest next = PageRequest.first(request.getLimit()).after(lastId);
+            return request.isDescending() ? next.descending() : next;
+        }
+        return request.withOffset(request.getOffset() + content.size());
+    }
+}
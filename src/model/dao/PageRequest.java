@@ -0,0 +1,99 @@
+package model.dao;
+
+/**
+ * Describes one page of a query ordered by id.
+ * A keyset request ({@link #after(int)}) continues after the last id of the previous
+ * page and costs the same on every page; an offset request skips rows and suits
+ * random access to a page number. A request can instead be ordered by a column
+ * ({@link #sortBy(String)}), with id breaking ties; such requests use offsets only.
+ */
+public final class PageRequest {
+    
+    private final Integer afterId;
+    private final int offset;
+    private final int limit;
+    private final boolean descending;
+    private final String sortBy;
+    
+    private PageRequest(Integer afterId, int offset, int limit, boolean descending, String sortBy) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        this.afterId = afterId;
+        this.offset = offset;
+        this.limit = limit;
+        this.descending = descending;
+        this.sortBy = sortBy;
+    }
+    
+    /**
+     * First page of the given size, in ascending id order.
+     */
+    public static PageRequest first(int limit) {
+        return new PageRequest(null, 0, limit, false, null);
+    }
+    
+    /**
+     * Page starting at a row offset.
+     */
+    public static PageRequest ofOffset(int offset, int limit) {
+        return new PageRequest(null, offset, limit, false, null);
+    }
+    
+    /**
+     * Same request continuing after the given id (keyset cursor).
+     */
+    public PageRequest after(int id) {
+        if (sortBy != null) {
+            throw new IllegalArgumentException("Keyset paging is only supported in id order");
+        }
+        return new PageRequest(id, 0, limit, descending, null);
+    }
+    
+    /**
+     * Same request in descending order.
+     */
+    public PageRequest descending() {
+        return new PageRequest(afterId, offset, limit, true, sortBy);
+    }
+    
+    /**
+     * Same request ordered by a column (DAO-specific, e.g. "last_name"), then by id.
+     */
+    public PageRequest sortBy(String column) {
+        if (afterId != null) {
+            throw new IllegalArgumentException("Keyset paging is only supported in id order");
+        }
+        return new PageRequest(null, offset, limit, descending, column);
+    }
+    
+    /**
+     * Same request starting at another row offset.
+     */
+    PageRequest withOffset(int newOffset) {
+        return new PageRequest(null, newOffset, limit, descending, sortBy);
+    }
+    
+    public Integer getAfterId() { return afterId; }
+    
+    public boolean isKeyset() { return afterId != null; }
+    
+    public int getOffset() { return offset; }
+    
+    public int getLimit() { return limit; }
+    
+    public boolean isDescending() { return descending; }
+    
+    public String getSortBy() { return sortBy; }
+    
+    public boolean isSorted() { return sortBy != null; }
+    
+    @Override
+    public String toString() {
+        return "PageRequest{afterId=" + afterId + ", offset=" + offset + ", limit=" + limit +
+               ", descending=" + descending + ", sortBy=" + sortBy + "}";
+    }
+}
@@ -1,7 +1,9 @@
 package model.dao;
 
+import model.entity.Course;
 import model.entity.Payment;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object interface for Payment entity.
@@ -26,4 +28,42 @@ public interface PaymentDAO extends GenericDAO<Payment> {
      * @return List of completed payments
      */
     List<Payment> findCompletedPayments();
+    
+    /**
+     * Finds the oldest pending payment of an enrollment.
+     * @param enrollmentId Enrollment ID
+     * @return Pending payment with the lowest id, or null if there is none
+     */
+    Payment findPendingByEnrollmentId(int enrollmentId);
+    
+    /**
+     * Completes the oldest pending payment of many enrollments as one batch, recording
+     * the method each was paid with. Enrollments without a pending payment are skipped.
+     * @param methods Payment method by enrollment ID
+     * @return The completed payments, at most one per enrollment
+     */
+    List<Payment> completePending(Map<Integer, String> methods);
+    
+    /**
+     * Completes one payment if it is still pending, recording the method it was paid with.
+     * The check and the write are atomic, so two callers cannot both complete it.
+     * @param id Payment ID
+     * @param paymentMethod Payment method
+     * @return The completed payment, or null if it does not exist or is not pending
+     */
+    Payment completeIfPending(int id, String paymentMethod);
+    
+    /**
+     * Sums the payments of a course's enrollments by status.
+     * @param courseId Course ID
+     * @return Outstanding, collected and refunded amounts
+     */
+    PaymentTotals getTotalsByCourse(int courseId);
+    
+    /**
+     * Sums the payments of the enrollments in a term's courses by status.
+     * @param term Course term
+     * @return Outstanding, collected and refunded amounts
+     */
+    PaymentTotals getTotalsByTerm(Course.Term term);
 }
@@ -0,0 +1,37 @@
+package model.dao;
+
+import model.entity.Payment;
+import java.math.BigDecimal;
+
+/**
+ * Amounts of a group of payments by status: pending payments are outstanding,
+ * completed ones collected and refunded ones refunded. Payments without an amount
+ * or status count for nothing.
+ */
+public record PaymentTotals(BigDecimal outstanding, BigDecimal collected, BigDecimal refunded) {
+    
+    public static final PaymentTotals ZERO = new PaymentTotals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    
+    /**
+     * Gets these totals with an amount added to a status; a negative amount takes it away.
+     */
+    public PaymentTotals plus(Payment.PaymentStatus status, BigDecimal amount) {
+        if (status == null || amount == null) {
+            return this;
+        }
+        return switch (status) {
+            case PENDING -> new PaymentTotals(outstanding.add(amount), collected, refunded);
+            case COMPLETED -> new PaymentTotals(outstanding, collected.add(amount), refunded);
+            case REFUNDED -> new PaymentTotals(outstanding, collected, refunded.add(amount));
+        };
+    }
+    
+    public PaymentTotals plus(PaymentTotals other) {
+        return new PaymentTotals(outstanding.add(other.outstanding), collected.add(other.collected),
+                refunded.add(other.refunded));
+    }
+    
+    public boolean isZero() {
+        return outstanding.signum() == 0 && collected.signum() == 0 && refunded.signum() == 0;
+    }
+}
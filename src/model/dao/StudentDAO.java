@@ -15,6 +15,13 @@ public interface StudentDAO extends GenericDAO<Student> {
      */
     Student findByEmail(String email);
     
+    /**
+     * Checks whether an email is already registered (case-insensitive).
+     * @param email Email to check
+     * @return true if a student with the email exists
+     */
+    boolean existsByEmail(String email);
+    
     /**
      * Finds all students by skill level.
      * @param level Skill level
@@ -28,4 +35,36 @@ public interface StudentDAO extends GenericDAO<Student> {
      * @return List of matching students
      */
     List<Student> searchByName(String name);
+    
+    /**
+     * Searches students by name, returning names that start with the text first.
+     * @param name Name to search for
+     * @param limit Maximum number of results
+     * @return Up to limit matching students
+     */
+    List<Student> searchByName(String name, int limit);
+    
+    /**
+     * Finds students that have no enrollments.
+     * @return Students without enrollments, in id order
+     */
+    List<Student> findWithoutEnrollments();
+    
+    /**
+     * Counts students that have no enrollments.
+     * @return Number of students without enrollments
+     */
+    int countWithoutEnrollments();
+    
+    /**
+     * Finds students that have no payments, whatever their status.
+     * @return Students without payments, in id order
+     */
+    List<Student> findWithoutPayments();
+    
+    /**
+     * Counts students that have no payments, whatever their status.
+     * @return Number of students without payments
+     */
+    int countWithoutPayments();
 }
@@ -0,0 +1,29 @@
+package model.dao;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work that spans several DAO calls.
+ */
+public interface TransactionManager {
+    
+    /**
+     * Runs work directly. Used with the in-memory DAOs, which have no rollback;
+     * callers compensate for partial writes themselves.
+     */
+    TransactionManager NONE = new TransactionManager() {
+        @Override
+        public <T> T inTransaction(Supplier<T> work) {
+            return work.get();
+        }
+    };
+    
+    /**
+     * Runs work as a single transaction. If the work throws, all its writes are
+     * rolled back (where the backing store supports it) and the exception is rethrown.
+     * Nested calls join the outer transaction.
+     * @param work The unit of work
+     * @return The result of the work
+     */
+    <T> T inTransaction(Supplier<T> work);
+}
@@ -0,0 +1,553 @@
+package model.dao.impl;
+
+import model.dao.GenericDAO;
+import model.dao.Page;
+import model.dao.PageRequest;
+import model.storage.MappedTable;
+import util.StripedLocks;
+import java.util.*;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base class for the in-memory DAO implementations.
+ * Storage is a ConcurrentSkipListMap keyed by id with atomic id generation, so DAOs can
+ * be shared between the EDT and background threads, and pages and streams walk the map
+ * in id order without copying it. Subclasses guard invariants spanning
+ * several fields or entities (unique email, one enrollment per student and course)
+ * with the striped locks.
+ * With a {@link Journal} attached, every change is also appended to it and the
+ * write returns once the journal reports it durable.
+ * With an archive attached (see {@link #attachArchive}), the map only holds rows written
+ * since; the others are decoded from the mapped file when read. Subclasses read rows
+ * through {@link #row} and {@link #rows} so both tiers are seen.
+ * @param <T> Entity type
+ */
+public abstract class AbstractInMemoryDAO<T> implements GenericDAO<T> {
+    
+    private static final int LOCK_STRIPES = 64;
+    
+    protected final ConcurrentNavigableMap<Integer, T> store = new ConcurrentSkipListMap<>();
+    protected final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    // ConcurrentSkipListMap.size() walks the whole map, so the count is kept separately
+    private final AtomicInteger size = new AtomicInteger();
+    // Bumped on every write; sorted snapshots built at an older version are rebuilt
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Comparator<T>> sortOrders = new ConcurrentHashMap<>();
+    private final Map<String, SortedSnapshot<T>> sortedSnapshots = new ConcurrentHashMap<>();
+    // Innermost lock: orders the journal records of one row like the changes to the store
+    private final StripedLocks rowOrder = new StripedLocks(LOCK_STRIPES);
+    private volatile Journal<T> journal;
+    // Read-only bottom tier; archived rows that were deleted since are masked out
+    private volatile MappedTable<T> archive;
+    private final Set<Integer> archiveDeleted = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Rows in (column, id) order as of a store version.
+     */
+    private record SortedSnapshot<T>(long version, List<T> rows) {}
+    
+    /**
+     * Gets the entity id.
+     */
+    protected abstract int getId(T entity);
+    
+    /**
+     * Sets the entity id.
+     */
+    protected abstract void setId(T entity, int id);
+    
+    @Override
+    public T save(T entity) {
+        int id = nextId.getAndIncrement();
+        setId(entity, id);
+        long sequence = applyAndLog(id, () -> store.put(id, entity) == null, log -> log.logPut(entity));
+        size.incrementAndGet();
+        version.incrementAndGet();
+        afterSave(entity);
+        awaitDurable(sequence);
+        return entity;
+    }
+    
+    @Override
+    public Optional<T> findById(int id) {
+        return Optional.ofNullable(row(id));
+    }
+    
+    @Override
+    public List<T> findAll() {
+        if (archive == null) {
+            return new ArrayList<>(store.values());
+        }
+        List<T> rows = new ArrayList<>(count());
+        rowIterator(false, null).forEachRemaining(rows::add);
+        return rows;
+    }
+    
+    @Override
+    public T update(T entity) {
+        int id = getId(entity);
+        long sequence = applyAndLog(id, () -> store.replace(id, entity) != null
+                || (isLiveInArchive(id) && store.putIfAbsent(id, entity) == null), log -> log.logPut(entity));
+        if (sequence < 0) {
+            return null;
+        }
+        version.incrementAndGet();
+        afterUpdate(entity);
+        awaitDurable(sequence);
+        return entity;
+    }
+    
+    @Override
+    public boolean delete(int id) {
+        AtomicReference<T> removed = new AtomicReference<>();
+        long sequence = applyAndLog(id, () -> {
+            removed.set(removeRow(id));
+            return removed.get() != null;
+        }, log -> log.logDelete(id));
+        if (sequence < 0) {
+            return false;
+        }
+        size.decrementAndGet();
+        version.incrementAndGet();
+        afterDelete(removed.get());
+        awaitDurable(sequence);
+        return true;
+    }
+    
+    /**
+     * Applies a change to one row and, with a journal attached, appends it while
+     * holding the row's order lock. With an archive the lock is taken as well, since
+     * moving a row out of the archive takes more than one map operation.
+     * @return Journal sequence number, 0 without a journal, or -1 if the change did not apply
+     */
+    private long applyAndLog(int id, BooleanSupplier change, ToLongFunction<Journal<T>> record) {
+        Journal<T> log = journal;
+        if (log == null && archive == null) {
+            return change.getAsBoolean() ? 0 : -1;
+        }
+        return rowOrder.withLock(id, () -> {
+            if (!change.getAsBoolean()) {
+                return -1L;
+            }
+            return log == null ? 0L : record.applyAsLong(log);
+        });
+    }
+    
+    /**
+     * Removes a row from the map and masks it in the archive.
+     * @return The removed row, or null if there was none
+     */
+    private T removeRow(int id) {
+        T removed = store.remove(id);
+        MappedTable<T> tier = archive;
+        if (tier != null && tier.contains(id) && archiveDeleted.add(id) && removed == null) {
+            removed = tier.get(id);
+        }
+        return removed;
+    }
+    
+    private boolean isLiveInArchive(int id) {
+        MappedTable<T> tier = archive;
+        return tier != null && !archiveDeleted.contains(id) && tier.contains(id);
+    }
+    
+    private void awaitDurable(long sequence) {
+        Journal<T> log = journal;
+        if (sequence > 0 && log != null) {
+            log.awaitDurable(sequence);
+        }
+    }
+    
+    /**
+     * Attaches the journal that receives all further changes; null detaches it.
+     */
+    public void setJournal(Journal<T> journal) {
+        this.journal = journal;
+    }
+    
+    /**
+     * Stores a recovered row as is, replacing any row with the same id. Skips the
+     * journal and the uniqueness checks of save() and update(), but keeps indexes current.
+     */
+    public void restore(T entity) {
+        int id = getId(entity);
+        T previous = store.put(id, entity);
+        if (previous == null && isLiveInArchive(id)) {
+            previous = entity;
+        }
+        version.incrementAndGet();
+        restoreNextId(id + 1);
+        if (previous == null) {
+            size.incrementAndGet();
+            afterSave(entity);
+        } else {
+            afterUpdate(entity);
+        }
+    }
+    
+    /**
+     * Removes a row during recovery without journaling it.
+     */
+    public void restoreDelete(int id) {
+        restoreNextId(id + 1);
+        T removed = removeRow(id);
+        if (removed != null) {
+            size.decrementAndGet();
+            version.incrementAndGet();
+            afterDelete(removed);
+        }
+    }
+    
+    /**
+     * Uses a mapped table as the read-only bottom tier of an empty DAO. Its rows are not
+     * loaded: reads decode them from the file, and saves, updates and deletes go to the
+     * map on top of it. Only DAOs with secondary indexes (see {@link #indexesRows()})
+     * decode every row once here to build them.
+     */
+    public void attachArchive(MappedTable<T> table) {
+        if (archive != null || !store.isEmpty()) {
+            throw new IllegalStateException("Archive must be attached to an empty DAO");
+        }
+        archive = table;
+        size.addAndGet(table.count());
+        version.incrementAndGet();
+        restoreNextId(table.nextId());
+        if (indexesRows()) {
+            for (int slot = 0; slot < table.count(); slot++) {
+                afterSave(table.rowAt(slot));
+            }
+        }
+    }
+    
+    /**
+     * Whether {@link #afterSave} maintains secondary indexes, so attaching an archive must
+     * feed every archived row through it. Subclasses that override the hooks return true.
+     */
+    protected boolean indexesRows() {
+        return false;
+    }
+    
+    /**
+     * Gets the id the next save() will use.
+     */
+    public int getNextId() {
+        return nextId.get();
+    }
+    
+    /**
+     * Makes sure ids below nextId are never handed out again, even if their rows were deleted.
+     */
+    public void restoreNextId(int nextId) {
+        this.nextId.accumulateAndGet(nextId, Math::max);
+    }
+    
+    @Override
+    public int count() {
+        return size.get();
+    }
+    
+    @Override
+    public Page<T> findPage(PageRequest request) {
+        if (request.isSorted()) {
+            return findSortedPage(request);
+        }
+        Iterator<T> it = rowIterator(request.isDescending(), request.isKeyset() ? request.getAfterId() : null);
+        for (int skipped = 0; skipped < request.getOffset() && it.hasNext(); skipped++) {
+            it.next();
+        }
+        List<T> content = new ArrayList<>(Math.min(request.getLimit(), 1024));
+        while (content.size() < request.getLimit() && it.hasNext()) {
+            content.add(it.next());
+        }
+        int lastId = content.isEmpty() ? 0 : getId(content.get(content.size() - 1));
+        return new Page<>(content, request, it.hasNext(), lastId);
+    }
+    
+    /**
+     * Offset page in column order, cut from a sorted snapshot that is shared by
+     * page requests until the next write.
+     */
+    private Page<T> findSortedPage(PageRequest request) {
+        List<T> rows = sortedRows(request.getSortBy());
+        int total = rows.size();
+        int from = Math.min(request.getOffset(), total);
+        int to = Math.min(from + request.getLimit(), total);
+        List<T> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(rows.get(request.isDescending() ? total - 1 - i : i));
+        }
+        int lastId = content.isEmpty() ? 0 : getId(content.get(content.size() - 1));
+        return new Page<>(content, request, to < total, lastId);
+    }
+    
+    private List<T> sortedRows(String column) {
+        Comparator<T> order = sortOrders.get(column);
+        if (order == null) {
+            throw new IllegalArgumentException("Cannot sort by " + column);
+        }
+        long current = version.get();
+        SortedSnapshot<T> snapshot = sortedSnapshots.get(column);
+        if (snapshot == null || snapshot.version() != current) {
+            List<T> rows = findAll();
+            rows.sort(order);
+            snapshot = new SortedSnapshot<>(current, rows);
+            sortedSnapshots.put(column, snapshot);
+        }
+        return snapshot.rows();
+    }
+    
+    /**
+     * Registers a column for {@link PageRequest#sortBy(String)}. Rows are ordered by the
+     * key with nulls last, then by id, matching the JDBC DAOs.
+     * @param column Column name as used by the JDBC DAO
+     * @param key Extracts the sort key from an entity
+     */
+    protected <K extends Comparable<? super K>> void sortable(String column, Function<T, K> key) {
+        Comparator<T> byKey = Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+        sortOrders.put(column, byKey.thenComparingInt(this::getId));
+    }
+    
+    /**
+     * Sort key for enum columns; the JDBC DAOs store enums as text, so they sort by name.
+     */
+    protected static String enumName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+    
+    @Override
+    public Stream<T> streamAll() {
+        if (archive == null) {
+            return store.values().stream();
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rowIterator(false, null),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    /**
+     * Gets a row from the map or, failing that, the archive.
+     */
+    protected T row(int id) {
+        T entity = store.get(id);
+        if (entity == null && isLiveInArchive(id)) {
+            entity = archive.get(id);
+        }
+        return entity;
+    }
+    
+    /**
+     * All rows in id order, archived ones decoded as the walk reaches them.
+     */
+    protected Iterable<T> rows() {
+        return archive == null ? store.values() : () -> rowIterator(false, null);
+    }
+    
+    /**
+     * Walks the rows in id order, or in reverse, optionally starting after an id.
+     * Map rows shadow archived rows with the same id.
+     */
+    private Iterator<T> rowIterator(boolean descending, Integer afterId) {
+        NavigableMap<Integer, T> view = descending ? store.descendingMap() : store;
+        if (afterId != null) {
+            view = view.tailMap(afterId, false);
+        }
+        MappedTable<T> tier = archive;
+        if (tier == null) {
+            return view.values().iterator();
+        }
+        Iterator<Map.Entry<Integer, T>> heap = view.entrySet().iterator();
+        int step = descending ? -1 : 1;
+        return new Iterator<>() {
+            Map.Entry<Integer, T> nextHeap = heap.hasNext() ? heap.next() : null;
+            int slot = firstSlot();
+            boolean started;
+            int lastId;
+            T pending;
+            
+            private int firstSlot() {
+                if (afterId == null) {
+                    return descending ? tier.count() - 1 : 0;
+                }
+                int found = tier.slotOf(afterId);
+                if (found >= 0) {
+                    return found + step;
+                }
+                // Insertion point is the first id above afterId
+                return descending ? -found - 2 : -found - 1;
+            }
+            
+            private boolean beyond(int id, int than) {
+                return descending ? id < than : id > than;
+            }
+            
+            private boolean passed(int id) {
+                return started && !beyond(id, lastId);
+            }
+            
+            /**
+             * Takes the lower id of the two tiers. An archived row that was updated while
+             * walking is read from the map, and ids already returned are skipped, so a
+             * row moving between tiers is neither lost nor returned twice.
+             */
+            private T advance() {
+                while (true) {
+                    while (nextHeap != null && passed(nextHeap.getKey())) {
+                        nextHeap = heap.hasNext() ? heap.next() : null;
+                    }
+                    while (slot >= 0 && slot < tier.count()
+                            && (passed(tier.idAt(slot)) || archiveDeleted.contains(tier.idAt(slot)))) {
+                        slot += step;
+                    }
+                    boolean archiveLeft = slot >= 0 && slot < tier.count();
+                    if (nextHeap == null && !archiveLeft) {
+                        return null;
+                    }
+                    started = true;
+                    if (!archiveLeft || (nextHeap != null && !beyond(nextHeap.getKey(), tier.idAt(slot)))) {
+                        lastId = nextHeap.getKey();
+                        return nextHeap.getValue();
+                    }
+                    lastId = tier.idAt(slot);
+                    T entity = store.get(lastId);
+                    if (entity == null && !archiveDeleted.contains(lastId)) {
+                        entity = tier.rowAt(slot);
+                    }
+                    if (entity != null) {
+                        return entity;
+                    }
+                }
+            }
+            
+            @Override
+            public boolean hasNext() {
+                if (pending == null) {
+                    pending = advance();
+                }
+                return pending != null;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T entity = pending;
+                pending = null;
+                return entity;
+            }
+        };
+    }
+    
+    /**
+     * Called after save() stored a new entity. Subclasses update secondary indexes here.
+     */
+    protected void afterSave(T entity) {
+    }
+    
+    /**
+     * Called after update() replaced an existing entity.
+     */
+    protected void afterUpdate(T entity) {
+    }
+    
+    /**
+     * Called after delete() removed an entity.
+     */
+    protected void afterDelete(T entity) {
+    }
+    
+    /**
+     * Returns the entities for the given ids in the same order, skipping ids that
+     * were deleted in the meantime.
+     */
+    protected List<T> findByIds(Collection<Integer> ids) {
+        List<T> result = new ArrayList<>();
+        for (Integer id : ids) {
+            T entity = row(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Collects the ids another DAO's rows point at, e.g. the student ids of all
+     * enrollments, in one pass. An unlinked DAO references nothing.
+     */
+    protected static <E> BitSet referencedIds(GenericDAO<E> dao, ToIntFunction<? super E> foreignKey) {
+        BitSet ids = new BitSet();
+        if (dao != null) {
+            dao.forEach(e -> ids.set(foreignKey.applyAsInt(e)));
+        }
+        return ids;
+    }
+    
+    /**
+     * Anti-join: returns the entities whose id is not in ids, in id order.
+     */
+    protected List<T> findNotIn(BitSet ids) {
+        List<T> result = new ArrayList<>();
+        for (T entity : rows()) {
+            if (!ids.get(getId(entity))) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Counts the entities whose id is not in ids.
+     */
+    protected int countNotIn(BitSet ids) {
+        int count = 0;
+        for (Integer id : store.keySet()) {
+            if (!ids.get(id)) {
+                count++;
+            }
+        }
+        MappedTable<T> tier = archive;
+        if (tier != null) {
+            // Ids are read from the index, so no archived row is decoded
+            for (int slot = 0; slot < tier.count(); slot++) {
+                int id = tier.idAt(slot);
+                if (!ids.get(id) && !archiveDeleted.contains(id) && !store.containsKey(id)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Returns all entities matching the filter.
+     */
+    protected List<T> findWhere(Predicate<T> filter) {
+        return streamAll()
+                .filter(filter)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Returns the first entity matching the filter, or null.
+     */
+    protected T findFirstWhere(Predicate<T> filter) {
+        return streamAll()
+                .filter(filter)
+                .findFirst()
+                .orElse(null);
+    }
+}
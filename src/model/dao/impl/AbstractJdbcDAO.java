@@ -0,0 +1,455 @@
+package model.dao.impl;
+
+import model.dao.DataAccessException;
+import model.dao.GenericDAO;
+import model.dao.Page;
+import model.dao.PageRequest;
+import util.AppLogger;
+import util.ConnectionProvider;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base class for PostgreSQL DAO implementations.
+ * All SQL text is built once per DAO, so the driver's per-connection statement cache
+ * (prepareThreshold / preparedStatementCacheQueries) keeps the server-side prepared
+ * statements alive across calls on the same pooled connection.
+ * @param <T> Entity type
+ */
+public abstract class AbstractJdbcDAO<T> implements GenericDAO<T> {
+    
+    /**
+     * Binds parameters to a prepared statement.
+     */
+    @FunctionalInterface
+    protected interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+    
+    /**
+     * Maps the current row of a result set, for queries that do not return T.
+     */
+    @FunctionalInterface
+    protected interface RowMapper<R> {
+        R map(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Statements run on one borrowed connection.
+     */
+    @FunctionalInterface
+    protected interface ConnectionWork<R> {
+        R run(Connection conn) throws SQLException;
+    }
+    
+    protected final ConnectionProvider provider;
+    protected final String table;
+    protected final String selectColumns;
+    
+    private final String insertSql;
+    private final String updateSql;
+    private final String findByIdSql;
+    private final String findAllSql;
+    private final String deleteSql;
+    private final String countSql;
+    private final String pageAfterAscSql;
+    private final String pageAfterDescSql;
+    private final String pageOffsetAscSql;
+    private final String pageOffsetDescSql;
+    private final Set<String> sortableColumns;
+    private final int columnCount;
+    private volatile JdbcDialect dialect;
+    
+    /** Rows fetched per round trip when streaming. */
+    protected static final int STREAM_FETCH_SIZE = 500;
+    
+    /**
+     * @param provider Connection source
+     * @param table Table name
+     * @param columns Non-id columns, in the order bound by {@link #bindColumns}
+     */
+    protected AbstractJdbcDAO(ConnectionProvider provider, String table, String... columns) {
+        this.provider = provider;
+        this.table = table;
+        this.columnCount = columns.length;
+        String columnList = String.join(", ", columns);
+        this.selectColumns = "id, " + columnList;
+        this.insertSql = "INSERT INTO " + table + " (" + columnList + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        this.updateSql = "UPDATE " + table + " SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?";
+        this.findByIdSql = "SELECT " + selectColumns + " FROM " + table + " WHERE id = ?";
+        this.findAllSql = "SELECT " + selectColumns + " FROM " + table + " ORDER BY id";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ?";
+        this.countSql = "SELECT COUNT(*) FROM " + table;
+        String selectFrom = "SELECT " + selectColumns + " FROM " + table;
+        this.pageAfterAscSql = selectFrom + " WHERE id > ? ORDER BY id LIMIT ?";
+        this.pageAfterDescSql = selectFrom + " WHERE id < ? ORDER BY id DESC LIMIT ?";
+        this.pageOffsetAscSql = selectFrom + " ORDER BY id LIMIT ? OFFSET ?";
+        this.pageOffsetDescSql = selectFrom + " ORDER BY id DESC LIMIT ? OFFSET ?";
+        this.sortableColumns = Set.of(columns);
+    }
+    
+    /**
+     * Maps the current row to an entity.
+     */
+    protected abstract T mapRow(ResultSet rs) throws SQLException;
+    
+    /**
+     * Binds all non-id columns starting at parameter index 1.
+     */
+    protected abstract void bindColumns(PreparedStatement ps, T entity) throws SQLException;
+    
+    protected abstract int getId(T entity);
+    
+    protected abstract void setId(T entity, int id);
+    
+    @Override
+    public T save(T entity) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = dialect(conn).prepareInsert(conn, insertSql)) {
+            bindColumns(ps, entity);
+            setId(entity, dialect(conn).executeInsert(ps));
+            return entity;
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to save into " + table + ": " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Optional<T> findById(int id) {
+        return Optional.ofNullable(queryOne(findByIdSql, ps -> ps.setInt(1, id)));
+    }
+    
+    @Override
+    public List<T> findAll() {
+        return queryList(findAllSql, ps -> {});
+    }
+    
+    @Override
+    public T update(T entity) {
+        int updated = executeUpdate(updateSql, ps -> {
+            bindColumns(ps, entity);
+            ps.setInt(columnCount + 1, getId(entity));
+        });
+        return updated > 0 ? entity : null;
+    }
+    
+    @Override
+    public boolean delete(int id) {
+        return executeUpdate(deleteSql, ps -> ps.setInt(1, id)) > 0;
+    }
+    
+    @Override
+    public int count() {
+        return queryInt(countSql, ps -> {});
+    }
+    
+    @Override
+    public Page<T> findPage(PageRequest request) {
+        // One extra row tells whether another page follows
+        int fetch = request.getLimit() + 1;
+        List<T> rows;
+        if (request.isSorted()) {
+            rows = queryList(sortedPageSql(request), ps -> {
+                ps.setInt(1, fetch);
+                ps.setInt(2, request.getOffset());
+            });
+        } else if (request.isKeyset()) {
+            rows = queryList(request.isDescending() ? pageAfterDescSql : pageAfterAscSql, ps -> {
+                ps.setInt(1, request.getAfterId());
+                ps.setInt(2, fetch);
+            });
+        } else {
+            rows = queryList(request.isDescending() ? pageOffsetDescSql : pageOffsetAscSql, ps -> {
+                ps.setInt(1, fetch);
+                ps.setInt(2, request.getOffset());
+            });
+        }
+        boolean hasNext = rows.size() > request.getLimit();
+        if (hasNext) {
+            rows = rows.subList(0, request.getLimit());
+        }
+        int lastId = rows.isEmpty() ? 0 : getId(rows.get(rows.size() - 1));
+        return new Page<>(new ArrayList<>(rows), request, hasNext, lastId);
+    }
+    
+    /**
+     * ORDER BY a whitelisted column, then id; the column name is never taken from
+     * arbitrary input.
+     */
+    private String sortedPageSql(PageRequest request) {
+        String column = request.getSortBy();
+        if (!sortableColumns.contains(column)) {
+            throw new IllegalArgumentException("Cannot sort by " + column);
+        }
+        String direction = request.isDescending() ? " DESC" : "";
+        return "SELECT " + selectColumns + " FROM " + table + " ORDER BY " + column + direction
+                + ", id" + direction + " LIMIT ? OFFSET ?";
+    }
+    
+    @Override
+    public Stream<T> streamAll() {
+        return queryStream(findAllSql, ps -> {});
+    }
+    
+    /**
+     * Builds "SELECT id, columns FROM table WHERE " + condition.
+     */
+    protected String selectWhere(String condition) {
+        return "SELECT " + selectColumns + " FROM " + table + " WHERE " + condition;
+    }
+    
+    protected List<T> queryList(String sql, Binder binder) {
+        return queryList(sql, binder, this::mapRow);
+    }
+    
+    protected <R> List<R> queryList(String sql, Binder binder, RowMapper<R> mapper) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<R> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(mapper.map(rs));
+                }
+                return result;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Query on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    protected T queryOne(String sql, Binder binder) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapRow(rs) : null;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Query on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    protected int queryInt(String sql, Binder binder) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Query on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    protected int executeUpdate(String sql, Binder binder) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException("Update on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Runs several statements on one connection as a unit. Inside a surrounding
+     * transaction they join it; otherwise they get their own, committed at the end
+     * and rolled back on failure.
+     */
+    protected <R> R inTransaction(ConnectionWork<R> work) {
+        try (Connection conn = provider.getConnection()) {
+            if (!conn.getAutoCommit()) {
+                return work.run(conn);
+            }
+            conn.setAutoCommit(false);
+            try {
+                R result = work.run(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Update on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Streams the rows of a query through a server-side cursor, fetching
+     * {@value #STREAM_FETCH_SIZE} rows at a time. The connection stays open until the
+     * stream is closed, so callers must close it (try-with-resources).
+     */
+    protected Stream<T> queryStream(String sql, Binder binder) {
+        Cursor cursor = new Cursor();
+        try {
+            cursor.conn = provider.getConnection();
+            // pgjdbc only honours the fetch size outside auto-commit mode
+            if (cursor.conn.getAutoCommit()) {
+                cursor.conn.setAutoCommit(false);
+                cursor.restoreAutoCommit = true;
+            }
+            cursor.ps = cursor.conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            cursor.ps.setFetchSize(STREAM_FETCH_SIZE);
+            binder.bind(cursor.ps);
+            cursor.rs = cursor.ps.executeQuery();
+        } catch (SQLException e) {
+            cursor.close();
+            throw new DataAccessException("Query on " + table + " failed: " + e.getMessage(), e);
+        }
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!cursor.rs.next()) {
+                        return false;
+                    }
+                    action.accept(mapRow(cursor.rs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Reading " + table + " failed: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(cursor::close);
+    }
+    
+    protected JdbcDialect dialect(Connection conn) throws SQLException {
+        JdbcDialect current = dialect;
+        if (current == null) {
+            current = JdbcDialect.detect(conn);
+            dialect = current;
+        }
+        return current;
+    }
+    
+    // ==================== Binding helpers ====================
+    
+    /**
+     * Turns a search term into a case-insensitive LIKE pattern matching anywhere.
+     */
+    protected static String containsPattern(String text) {
+        return "%" + escapeLike(text) + "%";
+    }
+    
+    /**
+     * Builds a lower-case LIKE pattern matching values that start with the text.
+     */
+    protected static String prefixPattern(String text) {
+        return escapeLike(text) + "%";
+    }
+    
+    private static String escapeLike(String text) {
+        return text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+    
+    protected static void setEnum(PreparedStatement ps, int index, Enum<?> value) throws SQLException {
+        ps.setString(index, value != null ? value.name() : null);
+    }
+    
+    protected static <E extends Enum<E>> E getEnum(ResultSet rs, String column, Class<E> type) throws SQLException {
+        String value = rs.getString(column);
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+    
+    protected static void setDate(PreparedStatement ps, int index, LocalDate value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(value));
+        }
+    }
+    
+    protected static LocalDate getDate(ResultSet rs, String column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value != null ? value.toLocalDate() : null;
+    }
+    
+    protected static void setTime(PreparedStatement ps, int index, LocalTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIME);
+        } else {
+            ps.setTime(index, Time.valueOf(value));
+        }
+    }
+    
+    protected static LocalTime getTime(ResultSet rs, String column) throws SQLException {
+        Time value = rs.getTime(column);
+        return value != null ? value.toLocalTime() : null;
+    }
+    
+    protected static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+    
+    protected static LocalDateTime getTimestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+    
+    /**
+     * Resources held open by a streaming query.
+     */
+    private static final class Cursor {
+        Connection conn;
+        PreparedStatement ps;
+        ResultSet rs;
+        boolean restoreAutoCommit;
+        
+        void close() {
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+                if (ps != null) {
+                    ps.close();
+                }
+                if (conn != null && restoreAutoCommit) {
+                    conn.commit();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                AppLogger.warning("Failed to close cursor: " + e.getMessage());
+            } finally {
+                if (conn != null) {
+                    try {
+                        conn.close();
+                    } catch (SQLException e) {
+                        AppLogger.warning("Failed to close connection: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,74 +1,268 @@
 package model.dao.impl;
 
 import model.dao.AttendanceDAO;
+import model.dao.AttendanceTotals;
+import model.dao.AttendanceUpsert;
+import model.dao.CourseDAO;
+import model.dao.EnrollmentDAO;
 import model.entity.Attendance;
+import model.entity.Course;
+import model.entity.Enrollment;
+import util.StripedLocks;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * In-Memory implementation of AttendanceDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Keeps per-enrollment and per-session indexes, an (enrollment, session) index and
+ * running tallies of each status per enrollment, so lookups and attendance percentages
+ * do not scan the attendance history. Pairs are not unique; the pair index holds the
+ * lowest id, like the JDBC lookup. Course and term totals need the enrollment and
+ * course DAOs to be linked.
  */
-public class AttendanceDAOImpl implements AttendanceDAO {
+public class AttendanceDAOImpl extends AbstractInMemoryDAO<Attendance> implements AttendanceDAO {
     
-    private final Map<Integer, Attendance> attendances = new HashMap<>();
-    private int nextId = 1;
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+    // Courses one fork/join task totals before it splits
+    private static final int COURSES_PER_TASK = 8;
     
-    @Override
-    public Attendance save(Attendance attendance) {
-        attendance.setId(nextId++);
-        attendances.put(attendance.getId(), attendance);
-        return attendance;
+    private final Map<Integer, IndexKey> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> idsByEnrollment = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> idsBySession = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> idByEnrollmentAndSession = new ConcurrentHashMap<>();
+    // Count per status ordinal; arrays are replaced, never changed, so readers see one state
+    private final Map<Integer, int[]> statusCounts = new ConcurrentHashMap<>();
+    // Taken before the row locks, never while holding one
+    private final StripedLocks sessionLocks = new StripedLocks(16);
+    private volatile EnrollmentDAO enrollmentDAO;
+    private volatile CourseDAO courseDAO;
+    
+    /**
+     * Indexed state of a record. Entities are mutated in place before update(),
+     * so the previous keys have to be remembered to unindex them.
+     */
+    private record IndexKey(int enrollmentId, int sessionId, Attendance.AttendanceStatus status) {}
+    
+    public void setEnrollmentDAO(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+    
+    public void setCourseDAO(CourseDAO courseDAO) {
+        this.courseDAO = courseDAO;
     }
     
     @Override
-    public Optional<Attendance> findById(int id) {
-        return Optional.ofNullable(attendances.get(id));
+    protected int getId(Attendance attendance) {
+        return attendance.getId();
     }
     
     @Override
-    public List<Attendance> findAll() {
-        return new ArrayList<>(attendances.values());
+    protected void setId(Attendance attendance, int id) {
+        attendance.setId(id);
     }
     
     @Override
     public Attendance update(Attendance attendance) {
-        if (attendances.containsKey(attendance.getId())) {
-            attendances.put(attendance.getId(), attendance);
-            return attendance;
-        }
-        return null;
+        return locks.withLock(attendance.getId(), () -> super.update(attendance));
     }
     
     @Override
     public boolean delete(int id) {
-        return attendances.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
     }
     
     @Override
-    public int count() {
-        return attendances.size();
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Attendance attendance) {
+        index(attendance);
+    }
+    
+    @Override
+    protected void afterUpdate(Attendance attendance) {
+        unindex(attendance.getId());
+        index(attendance);
+    }
+    
+    @Override
+    protected void afterDelete(Attendance attendance) {
+        unindex(attendance.getId());
     }
     
     @Override
     public List<Attendance> findByEnrollmentId(int enrollmentId) {
-        return attendances.values().stream()
-                .filter(a -> a.getEnrollmentId() == enrollmentId)
-                .collect(Collectors.toList());
+        return findByIds(idsByEnrollment.getOrDefault(enrollmentId, Collections.emptyNavigableSet()));
     }
     
     @Override
     public List<Attendance> findBySessionId(int sessionId) {
-        return attendances.values().stream()
-                .filter(a -> a.getSessionId() == sessionId)
-                .collect(Collectors.toList());
+        return findByIds(idsBySession.getOrDefault(sessionId, Collections.emptyNavigableSet()));
     }
     
     @Override
     public Attendance findByEnrollmentAndSession(int enrollmentId, int sessionId) {
-        return attendances.values().stream()
-                .filter(a -> a.getEnrollmentId() == enrollmentId && a.getSessionId() == sessionId)
-                .findFirst()
-                .orElse(null);
+        Integer id = idByEnrollmentAndSession.get(pairKey(enrollmentId, sessionId));
+        return id == null ? null : row(id);
+    }
+    
+    @Override
+    public Map<Attendance.AttendanceStatus, Integer> countByStatus(int enrollmentId) {
+        int[] counts = statusCounts.get(enrollmentId);
+        Map<Attendance.AttendanceStatus, Integer> result = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (Attendance.AttendanceStatus status : STATUSES) {
+            result.put(status, counts == null ? 0 : counts[status.ordinal()]);
+        }
+        return result;
+    }
+    
+    @Override
+    public AttendanceTotals countByStatusForCourse(int courseId) {
+        EnrollmentDAO enrollments = enrollmentDAO;
+        if (enrollments == null) {
+            return new AttendanceTotals(0);
+        }
+        return new CourseTotalsTask(enrollments, new int[] {courseId}, 0, 1).compute();
+    }
+    
+    /**
+     * Reads the running tallies of the term's enrollments; terms with many courses are
+     * split into fork/join tasks of {@value #COURSES_PER_TASK} courses on the common pool.
+     */
+    @Override
+    public AttendanceTotals countByStatusForTerm(Course.Term term) {
+        EnrollmentDAO enrollments = enrollmentDAO;
+        CourseDAO courses = courseDAO;
+        if (enrollments == null || courses == null) {
+            return new AttendanceTotals(0);
+        }
+        int[] courseIds = courses.findByTerm(term).stream().mapToInt(Course::getId).toArray();
+        return new CourseTotalsTask(enrollments, courseIds, 0, courseIds.length).invoke();
+    }
+    
+    /**
+     * Totals a range of courses, splitting it in halves while it is large. Results are
+     * appended left before right, so enrollments stay in course order.
+     */
+    private final class CourseTotalsTask extends RecursiveTask<AttendanceTotals> {
+        private final EnrollmentDAO enrollments;
+        private final int[] courseIds;
+        private final int from;
+        private final int to;
+        
+        CourseTotalsTask(EnrollmentDAO enrollments, int[] courseIds, int from, int to) {
+            this.enrollments = enrollments;
+            this.courseIds = courseIds;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected AttendanceTotals compute() {
+            if (to - from > COURSES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                CourseTotalsTask right = new CourseTotalsTask(enrollments, courseIds, middle, to);
+                right.fork();
+                AttendanceTotals totals = new CourseTotalsTask(enrollments, courseIds, from, middle).compute();
+                totals.addAll(right.join());
+                return totals;
+            }
+            AttendanceTotals totals = new AttendanceTotals();
+            for (int i = from; i < to; i++) {
+                for (Enrollment enrollment : enrollments.findByCourseId(courseIds[i])) {
+                    int[] counts = statusCounts.get(enrollment.getId());
+                    if (counts != null) {
+                        totals.add(enrollment.getId(), counts);
+                    }
+                }
+            }
+            return totals;
+        }
+    }
+    
+    @Override
+    public List<AttendanceUpsert> upsertStatuses(int sessionId, Map<Integer, Attendance.AttendanceStatus> statuses) {
+        // One roll call per session at a time, so two cannot both create the same pair
+        return sessionLocks.withLock(sessionId, () -> {
+            List<AttendanceUpsert> result = new ArrayList<>(statuses.size());
+            for (Map.Entry<Integer, Attendance.AttendanceStatus> entry : statuses.entrySet()) {
+                Attendance attendance = findByEnrollmentAndSession(entry.getKey(), sessionId);
+                if (attendance != null) {
+                    attendance.setStatus(entry.getValue());
+                    if (update(attendance) != null) {
+                        result.add(new AttendanceUpsert(attendance, false));
+                        continue;
+                    }
+                }
+                attendance = new Attendance();
+                attendance.setEnrollmentId(entry.getKey());
+                attendance.setSessionId(sessionId);
+                attendance.setStatus(entry.getValue());
+                result.add(new AttendanceUpsert(save(attendance), true));
+            }
+            return result;
+        });
+    }
+    
+    private void index(Attendance attendance) {
+        int id = attendance.getId();
+        IndexKey key = new IndexKey(attendance.getEnrollmentId(), attendance.getSessionId(), attendance.getStatus());
+        indexedKeys.put(id, key);
+        addTo(idsByEnrollment, key.enrollmentId(), id);
+        addTo(idsBySession, key.sessionId(), id);
+        idByEnrollmentAndSession.merge(pairKey(key.enrollmentId(), key.sessionId()), id, Math::min);
+        tally(key, 1);
+    }
+    
+    private void unindex(int id) {
+        IndexKey key = indexedKeys.remove(id);
+        if (key == null) {
+            return;
+        }
+        removeFrom(idsByEnrollment, key.enrollmentId(), id);
+        removeFrom(idsBySession, key.sessionId(), id);
+        long pair = pairKey(key.enrollmentId(), key.sessionId());
+        if (idByEnrollmentAndSession.remove(pair, id)) {
+            // A duplicate of the pair may remain; the enrollment's few records tell
+            for (Integer other : idsByEnrollment.getOrDefault(key.enrollmentId(), Collections.emptyNavigableSet())) {
+                IndexKey otherKey = indexedKeys.get(other);
+                if (otherKey != null && otherKey.sessionId() == key.sessionId()) {
+                    idByEnrollmentAndSession.merge(pair, other, Math::min);
+                    break;
+                }
+            }
+        }
+        tally(key, -1);
+    }
+    
+    private void tally(IndexKey key, int delta) {
+        if (key.status() == null) {
+            return;
+        }
+        statusCounts.compute(key.enrollmentId(), (k, counts) -> {
+            int[] next = counts != null ? counts.clone() : new int[STATUSES.length];
+            next[key.status().ordinal()] += delta;
+            return Arrays.stream(next).allMatch(c -> c == 0) ? null : next;
+        });
+    }
+    
+    private static void addTo(Map<Integer, NavigableSet<Integer>> index, int key, int id) {
+        index.compute(key, (k, ids) -> {
+            NavigableSet<Integer> result = ids != null ? ids : new ConcurrentSkipListSet<>();
+            result.add(id);
+            return result;
+        });
+    }
+    
+    private static void removeFrom(Map<Integer, NavigableSet<Integer>> index, int key, int id) {
+        index.computeIfPresent(key, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+    }
+    
+    private static long pairKey(int enrollmentId, int sessionId) {
+        return ((long) enrollmentId << 32) | (sessionId & 0xFFFFFFFFL);
     }
 }
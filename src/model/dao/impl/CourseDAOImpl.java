@@ -2,97 +2,122 @@ package model.dao.impl;
 
 import model.dao.CourseDAO;
 import model.dao.EnrollmentDAO;
+import model.dao.NameSearchIndex;
+import model.dao.SessionDAO;
 import model.entity.Course;
+import model.entity.Session;
 import model.entity.Student;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * In-Memory implementation of CourseDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Name searches go through a trigram index over course names.
+ * Availability and the session report need the enrollment and session DAOs to be linked.
  */
-public class CourseDAOImpl implements CourseDAO {
+public class CourseDAOImpl extends AbstractInMemoryDAO<Course> implements CourseDAO {
     
-    private final Map<Integer, Course> courses = new HashMap<>();
-    private int nextId = 1;
-    private EnrollmentDAO enrollmentDAO;
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    private volatile EnrollmentDAO enrollmentDAO;
+    private volatile SessionDAO sessionDAO;
+    
+    public CourseDAOImpl() {
+        sortable("name", Course::getName);
+        sortable("term", c -> enumName(c.getTerm()));
+        sortable("skill_level", c -> enumName(c.getSkillLevel()));
+        sortable("instructor_id", Course::getInstructorId);
+        sortable("max_capacity", Course::getMaxCapacity);
+        sortable("fee", Course::getFee);
+    }
     
     public void setEnrollmentDAO(EnrollmentDAO enrollmentDAO) {
         this.enrollmentDAO = enrollmentDAO;
     }
     
-    @Override
-    public Course save(Course course) {
-        course.setId(nextId++);
-        courses.put(course.getId(), course);
-        return course;
+    public void setSessionDAO(SessionDAO sessionDAO) {
+        this.sessionDAO = sessionDAO;
     }
     
     @Override
-    public Optional<Course> findById(int id) {
-        return Optional.ofNullable(courses.get(id));
+    protected int getId(Course course) {
+        return course.getId();
     }
     
     @Override
-    public List<Course> findAll() {
-        return new ArrayList<>(courses.values());
+    protected void setId(Course course, int id) {
+        course.setId(id);
     }
     
     @Override
     public Course update(Course course) {
-        if (courses.containsKey(course.getId())) {
-            courses.put(course.getId(), course);
-            return course;
-        }
-        return null;
+        return locks.withLock(course.getId(), () -> super.update(course));
     }
     
     @Override
     public boolean delete(int id) {
-        return courses.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
+    }
+    
+    @Override
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Course course) {
+        nameIndex.put(course.getId(), course.getName());
+    }
+    
+    @Override
+    protected void afterUpdate(Course course) {
+        nameIndex.put(course.getId(), course.getName());
     }
     
     @Override
-    public int count() {
-        return courses.size();
+    protected void afterDelete(Course course) {
+        nameIndex.remove(course.getId());
     }
     
     @Override
     public List<Course> findByTerm(Course.Term term) {
-        return courses.values().stream()
-                .filter(c -> c.getTerm() == term)
-                .collect(Collectors.toList());
+        return findWhere(c -> c.getTerm() == term);
     }
     
     @Override
     public List<Course> findBySkillLevel(Student.SkillLevel level) {
-        return courses.values().stream()
-                .filter(c -> c.getSkillLevel() == level)
-                .collect(Collectors.toList());
+        return findWhere(c -> c.getSkillLevel() == level);
     }
     
     @Override
     public List<Course> findByInstructorId(int instructorId) {
-        return courses.values().stream()
-                .filter(c -> c.getInstructorId() == instructorId)
-                .collect(Collectors.toList());
+        return findWhere(c -> c.getInstructorId() == instructorId);
     }
     
     @Override
     public List<Course> searchByName(String name) {
-        String lowerName = name.toLowerCase();
-        return courses.values().stream()
-                .filter(c -> c.getName().toLowerCase().contains(lowerName))
-                .collect(Collectors.toList());
+        return searchByName(name, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Course> searchByName(String name, int limit) {
+        return findByIds(nameIndex.search(name, limit));
     }
     
     @Override
     public List<Course> findAvailableCourses() {
-        if (enrollmentDAO == null) {
-            return new ArrayList<>(courses.values());
+        EnrollmentDAO enrollments = enrollmentDAO;
+        if (enrollments == null) {
+            return findAll();
         }
-        return courses.values().stream()
-                .filter(c -> enrollmentDAO.countByCourseId(c.getId()) < c.getMaxCapacity())
-                .collect(Collectors.toList());
+        return findWhere(c -> enrollments.countByCourseId(c.getId()) < c.getMaxCapacity());
+    }
+    
+    @Override
+    public List<Course> findWithoutSessions() {
+        return findNotIn(referencedIds(sessionDAO, Session::getCourseId));
+    }
+    
+    @Override
+    public int countWithoutSessions() {
+        return countNotIn(referencedIds(sessionDAO, Session::getCourseId));
     }
 }
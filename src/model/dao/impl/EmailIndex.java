@@ -0,0 +1,74 @@
+package model.dao.impl;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Case-insensitive email to id index used by the in-memory DAOs.
+ * Remembers the email each id was indexed under, because entities are mutated in
+ * place before update() and the old key would otherwise be lost.
+ * Callers serialize writers of the same email with a stripe lock.
+ */
+final class EmailIndex {
+    
+    private final Map<String, Integer> idByEmail = new ConcurrentHashMap<>();
+    private final Map<Integer, String> emailById = new ConcurrentHashMap<>();
+    private final String duplicateMessage;
+    
+    /**
+     * @param duplicateMessage Message of the IllegalArgumentException thrown on a duplicate
+     */
+    EmailIndex(String duplicateMessage) {
+        this.duplicateMessage = duplicateMessage;
+    }
+    
+    /**
+     * Normalizes an email to its index key; null stays null.
+     */
+    static String normalize(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Gets the id registered for the email, or null.
+     */
+    Integer idOf(String email) {
+        String key = normalize(email);
+        return key == null ? null : idByEmail.get(key);
+    }
+    
+    /**
+     * Throws if the email belongs to an entity other than ownId.
+     */
+    void ensureAvailable(String email, int ownId) {
+        Integer existing = idOf(email);
+        if (existing != null && existing != ownId) {
+            throw new IllegalArgumentException(duplicateMessage);
+        }
+    }
+    
+    /**
+     * Indexes the id under the email, dropping any key it had before.
+     */
+    void put(int id, String email) {
+        String key = normalize(email);
+        String previous = key == null ? emailById.remove(id) : emailById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            idByEmail.remove(previous, id);
+        }
+        if (key != null) {
+            idByEmail.put(key, id);
+        }
+    }
+    
+    /**
+     * Removes the id from the index.
+     */
+    void remove(int id) {
+        String previous = emailById.remove(id);
+        if (previous != null) {
+            idByEmail.remove(previous, id);
+        }
+    }
+}
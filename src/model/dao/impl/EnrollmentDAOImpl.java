@@ -1,88 +1,220 @@
 package model.dao.impl;
 
+import model.dao.CourseDAO;
 import model.dao.EnrollmentDAO;
+import model.dao.StudentDAO;
 import model.entity.Enrollment;
+import model.entity.EnrollmentView;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * In-Memory implementation of EnrollmentDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Keeps per-student, per-course and (student, course) indexes plus an active count
+ * per course so lookups do not scan every enrollment. A student can hold at most one
+ * enrollment per course; the check and the write run under the stripe lock for the pair.
+ * Enrollment views need the student and course DAOs to be linked.
  */
-public class EnrollmentDAOImpl implements EnrollmentDAO {
+public class EnrollmentDAOImpl extends AbstractInMemoryDAO<Enrollment> implements EnrollmentDAO {
     
-    private final Map<Integer, Enrollment> enrollments = new HashMap<>();
-    private int nextId = 1;
+    private final Map<Integer, IndexKey> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> idsByStudent = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> idsByCourse = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> idByStudentAndCourse = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> activeCountByCourse = new ConcurrentHashMap<>();
+    private volatile StudentDAO studentDAO;
+    private volatile CourseDAO courseDAO;
+    
+    /**
+     * Indexed state of an enrollment. Entities are mutated in place before update(),
+     * so the previous keys have to be remembered to unindex them.
+     */
+    private record IndexKey(int studentId, int courseId, boolean active) {}
+    
+    public void setStudentDAO(StudentDAO studentDAO) {
+        this.studentDAO = studentDAO;
+    }
+    
+    public void setCourseDAO(CourseDAO courseDAO) {
+        this.courseDAO = courseDAO;
+    }
     
     @Override
-    public Enrollment save(Enrollment enrollment) {
-        enrollment.setId(nextId++);
-        enrollments.put(enrollment.getId(), enrollment);
-        return enrollment;
+    protected int getId(Enrollment enrollment) {
+        return enrollment.getId();
     }
     
     @Override
-    public Optional<Enrollment> findById(int id) {
-        return Optional.ofNullable(enrollments.get(id));
+    protected void setId(Enrollment enrollment, int id) {
+        enrollment.setId(id);
     }
     
     @Override
-    public List<Enrollment> findAll() {
-        return new ArrayList<>(enrollments.values());
+    public Enrollment save(Enrollment enrollment) {
+        long pair = pairKey(enrollment.getStudentId(), enrollment.getCourseId());
+        return locks.withLock(pair, () -> {
+            ensureNotEnrolled(pair, 0);
+            return super.save(enrollment);
+        });
     }
     
     @Override
     public Enrollment update(Enrollment enrollment) {
-        if (enrollments.containsKey(enrollment.getId())) {
-            enrollments.put(enrollment.getId(), enrollment);
-            return enrollment;
-        }
-        return null;
+        int id = enrollment.getId();
+        long pair = pairKey(enrollment.getStudentId(), enrollment.getCourseId());
+        return locks.withLocks(id, pair, () -> {
+            ensureNotEnrolled(pair, id);
+            return super.update(enrollment);
+        });
     }
     
     @Override
     public boolean delete(int id) {
-        return enrollments.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
+    }
+    
+    /**
+     * Checks the indexed state rather than the entity, which callers may have mutated
+     * without saving; update() holds the same id stripe, so the check and write are atomic.
+     */
+    @Override
+    public boolean endIfActive(int id, Enrollment.Status status) {
+        return locks.withLock(id, () -> {
+            IndexKey key = indexedKeys.get(id);
+            Enrollment enrollment = row(id);
+            if (key == null || !key.active() || enrollment == null) {
+                return false;
+            }
+            enrollment.setStatus(status);
+            return super.update(enrollment) != null;
+        });
     }
     
     @Override
-    public int count() {
-        return enrollments.size();
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Enrollment enrollment) {
+        index(enrollment);
+    }
+    
+    @Override
+    protected void afterUpdate(Enrollment enrollment) {
+        unindex(enrollment.getId());
+        index(enrollment);
+    }
+    
+    @Override
+    protected void afterDelete(Enrollment enrollment) {
+        unindex(enrollment.getId());
     }
     
     @Override
     public List<Enrollment> findByStudentId(int studentId) {
-        return enrollments.values().stream()
-                .filter(e -> e.getStudentId() == studentId)
-                .collect(Collectors.toList());
+        return findByIds(idsByStudent.getOrDefault(studentId, Collections.emptyNavigableSet()));
     }
     
     @Override
     public List<Enrollment> findByCourseId(int courseId) {
-        return enrollments.values().stream()
-                .filter(e -> e.getCourseId() == courseId)
-                .collect(Collectors.toList());
+        return findByIds(idsByCourse.getOrDefault(courseId, Collections.emptyNavigableSet()));
     }
     
     @Override
     public Enrollment findByStudentAndCourse(int studentId, int courseId) {
-        return enrollments.values().stream()
-                .filter(e -> e.getStudentId() == studentId && e.getCourseId() == courseId)
-                .findFirst()
-                .orElse(null);
+        Integer id = idByStudentAndCourse.get(pairKey(studentId, courseId));
+        return id == null ? null : row(id);
     }
     
     @Override
     public List<Enrollment> findActiveEnrollments() {
-        return enrollments.values().stream()
-                .filter(e -> e.getStatus() == Enrollment.Status.ACTIVE)
-                .collect(Collectors.toList());
+        return findWhere(e -> e.getStatus() == Enrollment.Status.ACTIVE);
     }
     
     @Override
     public int countByCourseId(int courseId) {
-        return (int) enrollments.values().stream()
-                .filter(e -> e.getCourseId() == courseId && e.getStatus() == Enrollment.Status.ACTIVE)
-                .count();
+        return activeCountByCourse.getOrDefault(courseId, 0);
+    }
+    
+    /**
+     * Only this process writes the in-memory store, so the plain count is enough.
+     */
+    @Override
+    public int countByCourseIdForUpdate(int courseId) {
+        return countByCourseId(courseId);
+    }
+    
+    /**
+     * Hash join: builds id-to-name maps from one pass over students and courses,
+     * then probes them once per enrollment. Names are null for unlinked DAOs.
+     */
+    @Override
+    public List<EnrollmentView> findAllViews() {
+        Map<Integer, String> studentNames = new HashMap<>();
+        Map<Integer, String> courseNames = new HashMap<>();
+        StudentDAO students = studentDAO;
+        CourseDAO courses = courseDAO;
+        if (students != null) {
+            students.forEach(s -> studentNames.put(s.getId(), s.getFullName()));
+        }
+        if (courses != null) {
+            courses.forEach(c -> courseNames.put(c.getId(), c.getName()));
+        }
+        List<EnrollmentView> views = new ArrayList<>(count());
+        for (Enrollment e : rows()) {
+            views.add(new EnrollmentView(e, studentNames.get(e.getStudentId()), courseNames.get(e.getCourseId())));
+        }
+        return views;
+    }
+    
+    private void ensureNotEnrolled(long pair, int ownId) {
+        Integer existing = idByStudentAndCourse.get(pair);
+        if (existing != null && existing != ownId) {
+            throw new IllegalArgumentException("Student is already enrolled in this course.");
+        }
+    }
+    
+    private void index(Enrollment enrollment) {
+        int id = enrollment.getId();
+        IndexKey key = new IndexKey(enrollment.getStudentId(), enrollment.getCourseId(),
+                enrollment.getStatus() == Enrollment.Status.ACTIVE);
+        indexedKeys.put(id, key);
+        addTo(idsByStudent, key.studentId(), id);
+        addTo(idsByCourse, key.courseId(), id);
+        idByStudentAndCourse.put(pairKey(key.studentId(), key.courseId()), id);
+        if (key.active()) {
+            activeCountByCourse.merge(key.courseId(), 1, Integer::sum);
+        }
+    }
+    
+    private void unindex(int id) {
+        IndexKey key = indexedKeys.remove(id);
+        if (key == null) {
+            return;
+        }
+        removeFrom(idsByStudent, key.studentId(), id);
+        removeFrom(idsByCourse, key.courseId(), id);
+        idByStudentAndCourse.remove(pairKey(key.studentId(), key.courseId()), id);
+        if (key.active()) {
+            activeCountByCourse.computeIfPresent(key.courseId(), (k, c) -> c > 1 ? c - 1 : null);
+        }
+    }
+    
+    private static void addTo(Map<Integer, NavigableSet<Integer>> index, int key, int id) {
+        index.compute(key, (k, ids) -> {
+            NavigableSet<Integer> result = ids != null ? ids : new ConcurrentSkipListSet<>();
+            result.add(id);
+            return result;
+        });
+    }
+    
+    private static void removeFrom(Map<Integer, NavigableSet<Integer>> index, int key, int id) {
+        index.computeIfPresent(key, (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+    }
+    
+    private static long pairKey(int studentId, int courseId) {
+        return ((long) studentId << 32) | (courseId & 0xFFFFFFFFL);
     }
 }
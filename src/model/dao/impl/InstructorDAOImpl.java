@@ -1,76 +1,129 @@
 package model.dao.impl;
 
+import model.dao.CourseDAO;
+import model.dao.NameSearchIndex;
 import model.dao.InstructorDAO;
+import model.entity.Course;
 import model.entity.Instructor;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * In-Memory implementation of InstructorDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Email addresses are unique (case-insensitive) and indexed; the check and the write
+ * run under the stripe lock for the email so concurrent registrations cannot both succeed.
+ * Name searches go through a trigram index over first and last names.
+ * The course report needs the course DAO to be linked.
  */
-public class InstructorDAOImpl implements InstructorDAO {
+public class InstructorDAOImpl extends AbstractInMemoryDAO<Instructor> implements InstructorDAO {
     
-    private final Map<Integer, Instructor> instructors = new HashMap<>();
-    private int nextId = 1;
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    private final EmailIndex emailIndex = new EmailIndex("An instructor with this email already exists.");
+    private volatile CourseDAO courseDAO;
+    
+    public InstructorDAOImpl() {
+        sortable("first_name", Instructor::getFirstName);
+        sortable("last_name", Instructor::getLastName);
+        sortable("email", Instructor::getEmail);
+        sortable("phone", Instructor::getPhone);
+        sortable("specialization", Instructor::getSpecialization);
+    }
+    
+    public void setCourseDAO(CourseDAO courseDAO) {
+        this.courseDAO = courseDAO;
+    }
     
     @Override
-    public Instructor save(Instructor instructor) {
-        instructor.setId(nextId++);
-        instructors.put(instructor.getId(), instructor);
-        return instructor;
+    protected int getId(Instructor instructor) {
+        return instructor.getId();
     }
     
     @Override
-    public Optional<Instructor> findById(int id) {
-        return Optional.ofNullable(instructors.get(id));
+    protected void setId(Instructor instructor, int id) {
+        instructor.setId(id);
     }
     
     @Override
-    public List<Instructor> findAll() {
-        return new ArrayList<>(instructors.values());
+    public Instructor save(Instructor instructor) {
+        return locks.withLock(emailKey(instructor.getEmail()), () -> {
+            emailIndex.ensureAvailable(instructor.getEmail(), 0);
+            return super.save(instructor);
+        });
     }
     
     @Override
     public Instructor update(Instructor instructor) {
-        if (instructors.containsKey(instructor.getId())) {
-            instructors.put(instructor.getId(), instructor);
-            return instructor;
-        }
-        return null;
+        int id = instructor.getId();
+        return locks.withLocks(id, emailKey(instructor.getEmail()), () -> {
+            emailIndex.ensureAvailable(instructor.getEmail(), id);
+            return super.update(instructor);
+        });
     }
     
     @Override
     public boolean delete(int id) {
-        return instructors.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
+    }
+    
+    @Override
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Instructor instructor) {
+        afterUpdate(instructor);
+    }
+    
+    @Override
+    protected void afterUpdate(Instructor instructor) {
+        emailIndex.put(instructor.getId(), instructor.getEmail());
+        nameIndex.put(instructor.getId(), instructor.getFirstName(), instructor.getLastName());
     }
     
     @Override
-    public int count() {
-        return instructors.size();
+    protected void afterDelete(Instructor instructor) {
+        emailIndex.remove(instructor.getId());
+        nameIndex.remove(instructor.getId());
     }
     
     @Override
     public Instructor findByEmail(String email) {
-        return instructors.values().stream()
-                .filter(i -> i.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
+        Integer id = emailIndex.idOf(email);
+        return id == null ? null : row(id);
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return emailIndex.idOf(email) != null;
     }
     
     @Override
     public List<Instructor> findBySpecialization(String specialization) {
-        return instructors.values().stream()
-                .filter(i -> i.getSpecialization().equalsIgnoreCase(specialization))
-                .collect(Collectors.toList());
+        return findWhere(i -> i.getSpecialization().equalsIgnoreCase(specialization));
     }
     
     @Override
     public List<Instructor> searchByName(String name) {
-        String lowerName = name.toLowerCase();
-        return instructors.values().stream()
-                .filter(i -> i.getFirstName().toLowerCase().contains(lowerName) ||
-                            i.getLastName().toLowerCase().contains(lowerName))
-                .collect(Collectors.toList());
+        return searchByName(name, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Instructor> searchByName(String name, int limit) {
+        return findByIds(nameIndex.search(name, limit));
+    }
+    
+    private static String emailKey(String email) {
+        String key = EmailIndex.normalize(email);
+        return key == null ? "" : key;
+    }
+    
+    @Override
+    public List<Instructor> findWithoutCourses() {
+        return findNotIn(referencedIds(courseDAO, Course::getInstructorId));
+    }
+    
+    @Override
+    public int countWithoutCourses() {
+        return countNotIn(referencedIds(courseDAO, Course::getInstructorId));
     }
 }
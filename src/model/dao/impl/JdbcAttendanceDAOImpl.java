@@ -0,0 +1,206 @@
+package model.dao.impl;
+
+import model.dao.AttendanceDAO;
+import model.dao.AttendanceTotals;
+import model.dao.AttendanceUpsert;
+import model.dao.DataAccessException;
+import model.entity.Attendance;
+import model.entity.Course;
+import util.ConnectionProvider;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PostgreSQL implementation of AttendanceDAO.
+ */
+public class JdbcAttendanceDAOImpl extends AbstractJdbcDAO<Attendance> implements AttendanceDAO {
+    
+    private final String findByEnrollmentIdSql = selectWhere("enrollment_id = ? ORDER BY id");
+    private final String findBySessionIdSql = selectWhere("session_id = ? ORDER BY id");
+    private final String findByEnrollmentAndSessionSql = selectWhere(
+            "enrollment_id = ? AND session_id = ? ORDER BY id LIMIT 1");
+    private final String countByStatusSql =
+            "SELECT status, COUNT(*) FROM attendance WHERE enrollment_id = ? AND status IS NOT NULL GROUP BY status";
+    private final String countByStatusForCourseSql = "SELECT a.enrollment_id, a.status, COUNT(*) "
+            + "FROM attendance a JOIN enrollments e ON e.id = a.enrollment_id "
+            + "WHERE e.course_id = ? AND a.status IS NOT NULL "
+            + "GROUP BY a.enrollment_id, a.status ORDER BY a.enrollment_id";
+    private final String countByStatusForTermSql = "SELECT a.enrollment_id, a.status, COUNT(*) "
+            + "FROM attendance a JOIN enrollments e ON e.id = a.enrollment_id "
+            + "JOIN courses c ON c.id = e.course_id WHERE c.term = ? AND a.status IS NOT NULL "
+            + "GROUP BY a.enrollment_id, a.status ORDER BY a.enrollment_id";
+    private final String lockSessionSql = "SELECT id FROM sessions WHERE id = ? FOR UPDATE";
+    private final String updateStatusSql = "UPDATE attendance SET status = ? WHERE id = ?";
+    private final String insertStatusSql =
+            "INSERT INTO attendance (enrollment_id, session_id, status) VALUES (?, ?, ?)";
+    
+    public JdbcAttendanceDAOImpl(ConnectionProvider provider) {
+        super(provider, "attendance", "enrollment_id", "session_id", "status", "notes");
+    }
+    
+    @Override
+    protected Attendance mapRow(ResultSet rs) throws SQLException {
+        Attendance attendance = new Attendance();
+        attendance.setId(rs.getInt("id"));
+        attendance.setEnrollmentId(rs.getInt("enrollment_id"));
+        attendance.setSessionId(rs.getInt("session_id"));
+        attendance.setStatus(getEnum(rs, "status", Attendance.AttendanceStatus.class));
+        attendance.setNotes(rs.getString("notes"));
+        return attendance;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Attendance attendance) throws SQLException {
+        ps.setInt(1, attendance.getEnrollmentId());
+        ps.setInt(2, attendance.getSessionId());
+        setEnum(ps, 3, attendance.getStatus());
+        ps.setString(4, attendance.getNotes());
+    }
+    
+    @Override
+    protected int getId(Attendance attendance) {
+        return attendance.getId();
+    }
+    
+    @Override
+    protected void setId(Attendance attendance, int id) {
+        attendance.setId(id);
+    }
+    
+    @Override
+    public List<Attendance> findByEnrollmentId(int enrollmentId) {
+        return queryList(findByEnrollmentIdSql, ps -> ps.setInt(1, enrollmentId));
+    }
+    
+    @Override
+    public List<Attendance> findBySessionId(int sessionId) {
+        return queryList(findBySessionIdSql, ps -> ps.setInt(1, sessionId));
+    }
+    
+    @Override
+    public Attendance findByEnrollmentAndSession(int enrollmentId, int sessionId) {
+        return queryOne(findByEnrollmentAndSessionSql, ps -> {
+            ps.setInt(1, enrollmentId);
+            ps.setInt(2, sessionId);
+        });
+    }
+    
+    @Override
+    public Map<Attendance.AttendanceStatus, Integer> countByStatus(int enrollmentId) {
+        Map<Attendance.AttendanceStatus, Integer> counts = new EnumMap<>(Attendance.AttendanceStatus.class);
+        for (Attendance.AttendanceStatus status : Attendance.AttendanceStatus.values()) {
+            counts.put(status, 0);
+        }
+        for (Map.Entry<Attendance.AttendanceStatus, Integer> row : queryList(countByStatusSql,
+                ps -> ps.setInt(1, enrollmentId),
+                rs -> Map.entry(getEnum(rs, "status", Attendance.AttendanceStatus.class), rs.getInt(2)))) {
+            counts.put(row.getKey(), row.getValue());
+        }
+        return counts;
+    }
+    
+    @Override
+    public AttendanceTotals countByStatusForCourse(int courseId) {
+        return queryTotals(countByStatusForCourseSql, ps -> ps.setInt(1, courseId));
+    }
+    
+    @Override
+    public AttendanceTotals countByStatusForTerm(Course.Term term) {
+        return queryTotals(countByStatusForTermSql, ps -> setEnum(ps, 1, term));
+    }
+    
+    /**
+     * Reads (enrollment, status, count) rows straight into the totals, without a row object each.
+     */
+    private AttendanceTotals queryTotals(String sql, Binder binder) {
+        try (Connection conn = provider.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                AttendanceTotals totals = new AttendanceTotals();
+                while (rs.next()) {
+                    totals.add(rs.getInt(1), getEnum(rs, "status", Attendance.AttendanceStatus.class), rs.getInt(3));
+                }
+                return totals;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Query on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Locks the session row, reads its records, sends the updates and inserts as two
+     * batches and reads the records back, all in one transaction: five round trips
+     * however many enrollments there are.
+     */
+    @Override
+    public List<AttendanceUpsert> upsertStatuses(int sessionId, Map<Integer, Attendance.AttendanceStatus> statuses) {
+        return inTransaction(conn -> {
+            // Serialises roll calls for the session, so two cannot both insert the same pair
+            try (PreparedStatement lock = conn.prepareStatement(lockSessionSql)) {
+                lock.setInt(1, sessionId);
+                lock.executeQuery().close();
+            }
+            Map<Integer, Integer> existing = new HashMap<>();
+            for (Attendance a : findBySessionId(conn, sessionId)) {
+                existing.putIfAbsent(a.getEnrollmentId(), a.getId());
+            }
+            try (PreparedStatement update = conn.prepareStatement(updateStatusSql);
+                 PreparedStatement insert = conn.prepareStatement(insertStatusSql)) {
+                int updates = 0;
+                int inserts = 0;
+                for (Map.Entry<Integer, Attendance.AttendanceStatus> entry : statuses.entrySet()) {
+                    Integer id = existing.get(entry.getKey());
+                    if (id != null) {
+                        setEnum(update, 1, entry.getValue());
+                        update.setInt(2, id);
+                        update.addBatch();
+                        updates++;
+                    } else {
+                        insert.setInt(1, entry.getKey());
+                        insert.setInt(2, sessionId);
+                        setEnum(insert, 3, entry.getValue());
+                        insert.addBatch();
+                        inserts++;
+                    }
+                }
+                if (updates > 0) {
+                    update.executeBatch();
+                }
+                if (inserts > 0) {
+                    insert.executeBatch();
+                }
+            }
+            List<AttendanceUpsert> result = new ArrayList<>(statuses.size());
+            Set<Integer> seen = new HashSet<>();
+            for (Attendance a : findBySessionId(conn, sessionId)) {
+                if (statuses.containsKey(a.getEnrollmentId()) && seen.add(a.getEnrollmentId())) {
+                    result.add(new AttendanceUpsert(a, !existing.containsKey(a.getEnrollmentId())));
+                }
+            }
+            return result;
+        });
+    }
+    
+    private List<Attendance> findBySessionId(Connection conn, int sessionId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(findBySessionIdSql)) {
+            ps.setInt(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Attendance> result = new ArrayList<>();
+                while (rs.next()) {
+                    result.add(mapRow(rs));
+                }
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package model.dao.impl;
+
+import model.dao.CourseDAO;
+import model.entity.Course;
+import model.entity.Student;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of CourseDAO.
+ */
+public class JdbcCourseDAOImpl extends AbstractJdbcDAO<Course> implements CourseDAO {
+    
+    private final String findByTermSql = selectWhere("term = ? ORDER BY id");
+    private final String findBySkillLevelSql = selectWhere("skill_level = ? ORDER BY id");
+    private final String findByInstructorIdSql = selectWhere("instructor_id = ? ORDER BY id");
+    private final String searchByNameSql = selectWhere("LOWER(name) LIKE ? ORDER BY id");
+    private final String searchByNameLimitSql = selectWhere(
+            "LOWER(name) LIKE ? ORDER BY CASE WHEN LOWER(name) LIKE ? THEN 0 ELSE 1 END, id LIMIT ?");
+    private final String findAvailableSql = selectWhere(
+            "max_capacity > (SELECT COUNT(*) FROM enrollments e "
+            + "WHERE e.course_id = courses.id AND e.status = 'ACTIVE') ORDER BY id");
+    private static final String NO_SESSIONS =
+            "NOT EXISTS (SELECT 1 FROM sessions s WHERE s.course_id = courses.id)";
+    private final String findWithoutSessionsSql = selectWhere(NO_SESSIONS + " ORDER BY id");
+    private final String countWithoutSessionsSql = "SELECT COUNT(*) FROM courses WHERE " + NO_SESSIONS;
+    
+    public JdbcCourseDAOImpl(ConnectionProvider provider) {
+        super(provider, "courses", "name", "description", "term", "skill_level", "instructor_id",
+                "max_capacity", "fee", "start_date", "end_date");
+    }
+    
+    @Override
+    protected Course mapRow(ResultSet rs) throws SQLException {
+        Course course = new Course();
+        course.setId(rs.getInt("id"));
+        course.setName(rs.getString("name"));
+        course.setDescription(rs.getString("description"));
+        course.setTerm(getEnum(rs, "term", Course.Term.class));
+        course.setSkillLevel(getEnum(rs, "skill_level", Student.SkillLevel.class));
+        course.setInstructorId(rs.getInt("instructor_id"));
+        course.setMaxCapacity(rs.getInt("max_capacity"));
+        course.setFee(rs.getBigDecimal("fee"));
+        course.setStartDate(getDate(rs, "start_date"));
+        course.setEndDate(getDate(rs, "end_date"));
+        return course;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Course course) throws SQLException {
+        ps.setString(1, course.getName());
+        ps.setString(2, course.getDescription());
+        setEnum(ps, 3, course.getTerm());
+        setEnum(ps, 4, course.getSkillLevel());
+        ps.setInt(5, course.getInstructorId());
+        ps.setInt(6, course.getMaxCapacity());
+        ps.setBigDecimal(7, course.getFee());
+        setDate(ps, 8, course.getStartDate());
+        setDate(ps, 9, course.getEndDate());
+    }
+    
+    @Override
+    protected int getId(Course course) {
+        return course.getId();
+    }
+    
+    @Override
+    protected void setId(Course course, int id) {
+        course.setId(id);
+    }
+    
+    @Override
+    public List<Course> findByTerm(Course.Term term) {
+        return queryList(findByTermSql, ps -> setEnum(ps, 1, term));
+    }
+    
+    @Override
+    public List<Course> findBySkillLevel(Student.SkillLevel level) {
+        return queryList(findBySkillLevelSql, ps -> setEnum(ps, 1, level));
+    }
+    
+    @Override
+    public List<Course> findByInstructorId(int instructorId) {
+        return queryList(findByInstructorIdSql, ps -> ps.setInt(1, instructorId));
+    }
+    
+    @Override
+    public List<Course> searchByName(String name) {
+        return queryList(searchByNameSql, ps -> ps.setString(1, containsPattern(name)));
+    }
+    
+    @Override
+    public List<Course> searchByName(String name, int limit) {
+        return queryList(searchByNameLimitSql, ps -> {
+            ps.setString(1, containsPattern(name));
+            ps.setString(2, prefixPattern(name));
+            ps.setInt(3, limit);
+        });
+    }
+    
+    @Override
+    public List<Course> findAvailableCourses() {
+        return queryList(findAvailableSql, ps -> {});
+    }
+    
+    @Override
+    public List<Course> findWithoutSessions() {
+        return queryList(findWithoutSessionsSql, ps -> {});
+    }
+    
+    @Override
+    public int countWithoutSessions() {
+        return queryInt(countWithoutSessionsSql, ps -> {});
+    }
+}
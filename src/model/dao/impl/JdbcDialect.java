@@ -0,0 +1,51 @@
+package model.dao.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * SQL differences between PostgreSQL and the H2 stand-in used by tests.
+ */
+public enum JdbcDialect {
+    
+    POSTGRESQL,
+    H2;
+    
+    /**
+     * Detects the dialect from connection metadata.
+     */
+    public static JdbcDialect detect(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return product != null && product.toUpperCase().contains("H2") ? H2 : POSTGRESQL;
+    }
+    
+    /**
+     * Prepares an INSERT that yields the generated id.
+     * PostgreSQL appends RETURNING id; H2 has no RETURNING clause and uses generated keys.
+     */
+    public PreparedStatement prepareInsert(Connection connection, String insertSql) throws SQLException {
+        if (this == POSTGRESQL) {
+            return connection.prepareStatement(insertSql + " RETURNING id");
+        }
+        return connection.prepareStatement(insertSql, new String[]{"id"});
+    }
+    
+    /**
+     * Executes a statement prepared by {@link #prepareInsert} and returns the new id.
+     */
+    public int executeInsert(PreparedStatement statement) throws SQLException {
+        if (this == POSTGRESQL) {
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+        statement.executeUpdate();
+        try (ResultSet rs = statement.getGeneratedKeys()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package model.dao.impl;
+
+import model.dao.EnrollmentDAO;
+import model.entity.Enrollment;
+import model.entity.EnrollmentView;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of EnrollmentDAO.
+ */
+public class JdbcEnrollmentDAOImpl extends AbstractJdbcDAO<Enrollment> implements EnrollmentDAO {
+    
+    private final String findByStudentIdSql = selectWhere("student_id = ? ORDER BY id");
+    private final String findByCourseIdSql = selectWhere("course_id = ? ORDER BY id");
+    private final String findByStudentAndCourseSql = selectWhere(
+            "student_id = ? AND course_id = ? ORDER BY id LIMIT 1");
+    private final String findActiveSql = selectWhere("status = 'ACTIVE' ORDER BY id");
+    private final String countByCourseIdSql =
+            "SELECT COUNT(*) FROM enrollments WHERE course_id = ? AND status = 'ACTIVE'";
+    private final String lockCourseSql = "SELECT id FROM courses WHERE id = ? FOR UPDATE";
+    private final String endIfActiveSql =
+            "UPDATE enrollments SET status = ? WHERE id = ? AND status = 'ACTIVE'";
+    private final String findAllViewsSql =
+            "SELECT e.id, e.student_id, e.course_id, e.enrollment_date, e.status, "
+            + "s.first_name, s.last_name, c.name AS course_name FROM enrollments e "
+            + "LEFT JOIN students s ON s.id = e.student_id "
+            + "LEFT JOIN courses c ON c.id = e.course_id ORDER BY e.id";
+    
+    public JdbcEnrollmentDAOImpl(ConnectionProvider provider) {
+        super(provider, "enrollments", "student_id", "course_id", "enrollment_date", "status");
+    }
+    
+    @Override
+    protected Enrollment mapRow(ResultSet rs) throws SQLException {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(rs.getInt("id"));
+        enrollment.setStudentId(rs.getInt("student_id"));
+        enrollment.setCourseId(rs.getInt("course_id"));
+        enrollment.setEnrollmentDate(getTimestamp(rs, "enrollment_date"));
+        enrollment.setStatus(getEnum(rs, "status", Enrollment.Status.class));
+        return enrollment;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Enrollment enrollment) throws SQLException {
+        ps.setInt(1, enrollment.getStudentId());
+        ps.setInt(2, enrollment.getCourseId());
+        setTimestamp(ps, 3, enrollment.getEnrollmentDate());
+        setEnum(ps, 4, enrollment.getStatus());
+    }
+    
+    @Override
+    protected int getId(Enrollment enrollment) {
+        return enrollment.getId();
+    }
+    
+    @Override
+    protected void setId(Enrollment enrollment, int id) {
+        enrollment.setId(id);
+    }
+    
+    @Override
+    public List<Enrollment> findByStudentId(int studentId) {
+        return queryList(findByStudentIdSql, ps -> ps.setInt(1, studentId));
+    }
+    
+    @Override
+    public List<Enrollment> findByCourseId(int courseId) {
+        return queryList(findByCourseIdSql, ps -> ps.setInt(1, courseId));
+    }
+    
+    @Override
+    public Enrollment findByStudentAndCourse(int studentId, int courseId) {
+        return queryOne(findByStudentAndCourseSql, ps -> {
+            ps.setInt(1, studentId);
+            ps.setInt(2, courseId);
+        });
+    }
+    
+    @Override
+    public List<Enrollment> findActiveEnrollments() {
+        return queryList(findActiveSql, ps -> {});
+    }
+    
+    @Override
+    public int countByCourseId(int courseId) {
+        return queryInt(countByCourseIdSql, ps -> ps.setInt(1, courseId));
+    }
+    
+    @Override
+    public int countByCourseIdForUpdate(int courseId) {
+        return inTransaction(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(lockCourseSql)) {
+                ps.setInt(1, courseId);
+                ps.executeQuery().close();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(countByCourseIdSql)) {
+                ps.setInt(1, courseId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean endIfActive(int id, Enrollment.Status status) {
+        return executeUpdate(endIfActiveSql, ps -> {
+            setEnum(ps, 1, status);
+            ps.setInt(2, id);
+        }) == 1;
+    }
+    
+    @Override
+    public List<EnrollmentView> findAllViews() {
+        return queryList(findAllViewsSql, ps -> {}, rs -> {
+            String firstName = rs.getString("first_name");
+            String studentName = firstName == null ? null : firstName + " " + rs.getString("last_name");
+            return new EnrollmentView(mapRow(rs), studentName, rs.getString("course_name"));
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package model.dao.impl;
+
+import model.dao.InstructorDAO;
+import model.entity.Instructor;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of InstructorDAO.
+ */
+public class JdbcInstructorDAOImpl extends AbstractJdbcDAO<Instructor> implements InstructorDAO {
+    
+    private final String countByEmailSql = "SELECT COUNT(*) FROM instructors WHERE LOWER(email) = LOWER(?)";
+    private final String findByEmailSql = selectWhere("LOWER(email) = LOWER(?) ORDER BY id LIMIT 1");
+    private final String findBySpecializationSql = selectWhere("LOWER(specialization) = LOWER(?) ORDER BY id");
+    private final String searchByNameSql = selectWhere(
+            "LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? ORDER BY id");
+    private final String searchByNameLimitSql = selectWhere(
+            "LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? ORDER BY "
+            + "CASE WHEN LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? THEN 0 ELSE 1 END, id LIMIT ?");
+    private static final String NO_COURSES =
+            "NOT EXISTS (SELECT 1 FROM courses c WHERE c.instructor_id = instructors.id)";
+    private final String findWithoutCoursesSql = selectWhere(NO_COURSES + " ORDER BY id");
+    private final String countWithoutCoursesSql = "SELECT COUNT(*) FROM instructors WHERE " + NO_COURSES;
+    
+    public JdbcInstructorDAOImpl(ConnectionProvider provider) {
+        super(provider, "instructors", "first_name", "last_name", "email", "phone",
+                "specialization", "created_at");
+    }
+    
+    @Override
+    protected Instructor mapRow(ResultSet rs) throws SQLException {
+        Instructor instructor = new Instructor();
+        instructor.setId(rs.getInt("id"));
+        instructor.setFirstName(rs.getString("first_name"));
+        instructor.setLastName(rs.getString("last_name"));
+        instructor.setEmail(rs.getString("email"));
+        instructor.setPhone(rs.getString("phone"));
+        instructor.setSpecialization(rs.getString("specialization"));
+        instructor.setCreatedAt(getTimestamp(rs, "created_at"));
+        return instructor;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Instructor instructor) throws SQLException {
+        ps.setString(1, instructor.getFirstName());
+        ps.setString(2, instructor.getLastName());
+        ps.setString(3, instructor.getEmail());
+        ps.setString(4, instructor.getPhone());
+        ps.setString(5, instructor.getSpecialization());
+        setTimestamp(ps, 6, instructor.getCreatedAt());
+    }
+    
+    @Override
+    protected int getId(Instructor instructor) {
+        return instructor.getId();
+    }
+    
+    @Override
+    protected void setId(Instructor instructor, int id) {
+        instructor.setId(id);
+    }
+    
+    @Override
+    public Instructor findByEmail(String email) {
+        return queryOne(findByEmailSql, ps -> ps.setString(1, email));
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return queryInt(countByEmailSql, ps -> ps.setString(1, email)) > 0;
+    }
+    
+    @Override
+    public List<Instructor> findBySpecialization(String specialization) {
+        return queryList(findBySpecializationSql, ps -> ps.setString(1, specialization));
+    }
+    
+    @Override
+    public List<Instructor> searchByName(String name) {
+        String pattern = containsPattern(name);
+        return queryList(searchByNameSql, ps -> {
+            ps.setString(1, pattern);
+            ps.setString(2, pattern);
+        });
+    }
+    
+    @Override
+    public List<Instructor> searchByName(String name, int limit) {
+        String pattern = containsPattern(name);
+        String prefix = prefixPattern(name);
+        return queryList(searchByNameLimitSql, ps -> {
+            ps.setString(1, pattern);
+            ps.setString(2, pattern);
+            ps.setString(3, prefix);
+            ps.setString(4, prefix);
+            ps.setInt(5, limit);
+        });
+    }
+    
+    @Override
+    public List<Instructor> findWithoutCourses() {
+        return queryList(findWithoutCoursesSql, ps -> {});
+    }
+    
+    @Override
+    public int countWithoutCourses() {
+        return queryInt(countWithoutCoursesSql, ps -> {});
+    }
+}
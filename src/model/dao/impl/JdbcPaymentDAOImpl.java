@@ -0,0 +1,163 @@
+package model.dao.impl;
+
+import model.dao.PaymentDAO;
+import model.dao.PaymentTotals;
+import model.entity.Course;
+import model.entity.Payment;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PostgreSQL implementation of PaymentDAO.
+ */
+public class JdbcPaymentDAOImpl extends AbstractJdbcDAO<Payment> implements PaymentDAO {
+    
+    private final String findByEnrollmentIdSql = selectWhere("enrollment_id = ? ORDER BY id");
+    private final String findByStatusSql = selectWhere("status = ? ORDER BY id");
+    private final String findPendingByEnrollmentIdSql = selectWhere(
+            "enrollment_id = ? AND status = ? ORDER BY id LIMIT 1");
+    private final String lockPendingSql = selectWhere(
+            "status = ? AND enrollment_id = ANY(?) ORDER BY id FOR UPDATE");
+    private final String completeSql = "UPDATE payments SET status = ?, payment_method = ? WHERE id = ?";
+    private final String completeIfPendingSql =
+            "UPDATE payments SET status = ?, payment_method = ? WHERE id = ? AND status = 'PENDING'";
+    private final String totalsByCourseSql = "SELECT p.status, SUM(p.amount) FROM payments p "
+            + "JOIN enrollments e ON e.id = p.enrollment_id "
+            + "WHERE e.course_id = ? AND p.amount IS NOT NULL GROUP BY p.status";
+    private final String totalsByTermSql = "SELECT p.status, SUM(p.amount) FROM payments p "
+            + "JOIN enrollments e ON e.id = p.enrollment_id JOIN courses c ON c.id = e.course_id "
+            + "WHERE c.term = ? AND p.amount IS NOT NULL GROUP BY p.status";
+    
+    public JdbcPaymentDAOImpl(ConnectionProvider provider) {
+        super(provider, "payments", "enrollment_id", "amount", "payment_date", "payment_method", "status");
+    }
+    
+    @Override
+    protected Payment mapRow(ResultSet rs) throws SQLException {
+        Payment payment = new Payment();
+        payment.setId(rs.getInt("id"));
+        payment.setEnrollmentId(rs.getInt("enrollment_id"));
+        payment.setAmount(rs.getBigDecimal("amount"));
+        payment.setPaymentDate(getTimestamp(rs, "payment_date"));
+        payment.setPaymentMethod(rs.getString("payment_method"));
+        payment.setStatus(getEnum(rs, "status", Payment.PaymentStatus.class));
+        return payment;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Payment payment) throws SQLException {
+        ps.setInt(1, payment.getEnrollmentId());
+        ps.setBigDecimal(2, payment.getAmount());
+        setTimestamp(ps, 3, payment.getPaymentDate());
+        ps.setString(4, payment.getPaymentMethod());
+        setEnum(ps, 5, payment.getStatus());
+    }
+    
+    @Override
+    protected int getId(Payment payment) {
+        return payment.getId();
+    }
+    
+    @Override
+    protected void setId(Payment payment, int id) {
+        payment.setId(id);
+    }
+    
+    @Override
+    public List<Payment> findByEnrollmentId(int enrollmentId) {
+        return queryList(findByEnrollmentIdSql, ps -> ps.setInt(1, enrollmentId));
+    }
+    
+    @Override
+    public List<Payment> findPendingPayments() {
+        return queryList(findByStatusSql, ps -> setEnum(ps, 1, Payment.PaymentStatus.PENDING));
+    }
+    
+    @Override
+    public List<Payment> findCompletedPayments() {
+        return queryList(findByStatusSql, ps -> setEnum(ps, 1, Payment.PaymentStatus.COMPLETED));
+    }
+    
+    @Override
+    public Payment findPendingByEnrollmentId(int enrollmentId) {
+        return queryOne(findPendingByEnrollmentIdSql, ps -> {
+            ps.setInt(1, enrollmentId);
+            setEnum(ps, 2, Payment.PaymentStatus.PENDING);
+        });
+    }
+    
+    /**
+     * Locks the enrollments' pending payments with one query and completes the oldest of
+     * each as one batch: two round trips however many enrollments there are.
+     */
+    @Override
+    public List<Payment> completePending(Map<Integer, String> methods) {
+        if (methods.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return inTransaction(conn -> {
+            Map<Integer, Payment> oldest = new LinkedHashMap<>();
+            try (PreparedStatement ps = conn.prepareStatement(lockPendingSql)) {
+                setEnum(ps, 1, Payment.PaymentStatus.PENDING);
+                ps.setArray(2, conn.createArrayOf("INTEGER", methods.keySet().toArray()));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Payment payment = mapRow(rs);
+                        oldest.putIfAbsent(payment.getEnrollmentId(), payment);
+                    }
+                }
+            }
+            List<Payment> completed = new ArrayList<>(oldest.size());
+            try (PreparedStatement ps = conn.prepareStatement(completeSql)) {
+                for (Payment payment : oldest.values()) {
+                    payment.setStatus(Payment.PaymentStatus.COMPLETED);
+                    payment.setPaymentMethod(methods.get(payment.getEnrollmentId()));
+                    setEnum(ps, 1, payment.getStatus());
+                    ps.setString(2, payment.getPaymentMethod());
+                    ps.setInt(3, payment.getId());
+                    ps.addBatch();
+                    completed.add(payment);
+                }
+                if (!completed.isEmpty()) {
+                    ps.executeBatch();
+                }
+            }
+            return completed;
+        });
+    }
+    
+    @Override
+    public Payment completeIfPending(int id, String paymentMethod) {
+        int updated = executeUpdate(completeIfPendingSql, ps -> {
+            setEnum(ps, 1, Payment.PaymentStatus.COMPLETED);
+            ps.setString(2, paymentMethod);
+            ps.setInt(3, id);
+        });
+        return updated == 1 ? findById(id).orElse(null) : null;
+    }
+    
+    @Override
+    public PaymentTotals getTotalsByCourse(int courseId) {
+        return queryTotals(totalsByCourseSql, ps -> ps.setInt(1, courseId));
+    }
+    
+    @Override
+    public PaymentTotals getTotalsByTerm(Course.Term term) {
+        return queryTotals(totalsByTermSql, ps -> setEnum(ps, 1, term));
+    }
+    
+    private PaymentTotals queryTotals(String sql, Binder binder) {
+        PaymentTotals totals = PaymentTotals.ZERO;
+        for (PaymentTotals row : queryList(sql, binder, rs -> PaymentTotals.ZERO.plus(
+                getEnum(rs, "status", Payment.PaymentStatus.class), rs.getBigDecimal(2)))) {
+            totals = totals.plus(row);
+        }
+        return totals;
+    }
+}
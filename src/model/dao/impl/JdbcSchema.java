@@ -0,0 +1,61 @@
+package model.dao.impl;
+
+import model.dao.DataAccessException;
+import util.ConnectionProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates the database tables from schema.sql on the classpath.
+ */
+public final class JdbcSchema {
+    
+    private static final String SCHEMA_RESOURCE = "/schema.sql";
+    
+    private JdbcSchema() {
+        // Utility class
+    }
+    
+    /**
+     * Runs every statement in schema.sql. Statements use IF NOT EXISTS, so this is safe to repeat.
+     */
+    public static void initialize(ConnectionProvider provider) {
+        String script = stripComments(readScript());
+        try (Connection conn = provider.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String sql : script.split(";")) {
+                String trimmed = sql.trim();
+                if (!trimmed.isEmpty()) {
+                    stmt.execute(trimmed);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to initialize database schema", e);
+        }
+    }
+    
+    private static String readScript() {
+        try (InputStream in = JdbcSchema.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new DataAccessException("Missing resource " + SCHEMA_RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DataAccessException("Failed to read " + SCHEMA_RESOURCE, e);
+        }
+    }
+    
+    private static String stripComments(String sql) {
+        StringBuilder sb = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package model.dao.impl;
+
+import model.dao.SessionDAO;
+import model.entity.Session;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of SessionDAO.
+ */
+public class JdbcSessionDAOImpl extends AbstractJdbcDAO<Session> implements SessionDAO {
+    
+    private final String findByCourseIdSql = selectWhere("course_id = ? ORDER BY session_date, id");
+    
+    public JdbcSessionDAOImpl(ConnectionProvider provider) {
+        super(provider, "sessions", "course_id", "session_date", "start_time", "end_time", "topic");
+    }
+    
+    @Override
+    protected Session mapRow(ResultSet rs) throws SQLException {
+        Session session = new Session();
+        session.setId(rs.getInt("id"));
+        session.setCourseId(rs.getInt("course_id"));
+        session.setSessionDate(getDate(rs, "session_date"));
+        session.setStartTime(getTime(rs, "start_time"));
+        session.setEndTime(getTime(rs, "end_time"));
+        session.setTopic(rs.getString("topic"));
+        return session;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Session session) throws SQLException {
+        ps.setInt(1, session.getCourseId());
+        setDate(ps, 2, session.getSessionDate());
+        setTime(ps, 3, session.getStartTime());
+        setTime(ps, 4, session.getEndTime());
+        ps.setString(5, session.getTopic());
+    }
+    
+    @Override
+    protected int getId(Session session) {
+        return session.getId();
+    }
+    
+    @Override
+    protected void setId(Session session, int id) {
+        session.setId(id);
+    }
+    
+    @Override
+    public List<Session> findByCourseId(int courseId) {
+        return queryList(findByCourseIdSql, ps -> ps.setInt(1, courseId));
+    }
+}
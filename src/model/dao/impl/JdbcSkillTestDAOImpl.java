@@ -0,0 +1,65 @@
+package model.dao.impl;
+
+import model.dao.SkillTestDAO;
+import model.entity.SkillTest;
+import model.entity.Student;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of SkillTestDAO.
+ */
+public class JdbcSkillTestDAOImpl extends AbstractJdbcDAO<SkillTest> implements SkillTestDAO {
+    
+    private final String findByStudentIdSql = selectWhere("student_id = ? ORDER BY id");
+    private final String findLatestSql = selectWhere(
+            "student_id = ? ORDER BY test_date DESC, id DESC LIMIT 1");
+    
+    public JdbcSkillTestDAOImpl(ConnectionProvider provider) {
+        super(provider, "skill_tests", "student_id", "test_date", "score", "assigned_level", "notes");
+    }
+    
+    @Override
+    protected SkillTest mapRow(ResultSet rs) throws SQLException {
+        SkillTest skillTest = new SkillTest();
+        skillTest.setId(rs.getInt("id"));
+        skillTest.setStudentId(rs.getInt("student_id"));
+        skillTest.setTestDate(getTimestamp(rs, "test_date"));
+        skillTest.setScore(rs.getInt("score"));
+        skillTest.setAssignedLevel(getEnum(rs, "assigned_level", Student.SkillLevel.class));
+        skillTest.setNotes(rs.getString("notes"));
+        return skillTest;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, SkillTest skillTest) throws SQLException {
+        ps.setInt(1, skillTest.getStudentId());
+        setTimestamp(ps, 2, skillTest.getTestDate());
+        ps.setInt(3, skillTest.getScore());
+        setEnum(ps, 4, skillTest.getAssignedLevel());
+        ps.setString(5, skillTest.getNotes());
+    }
+    
+    @Override
+    protected int getId(SkillTest skillTest) {
+        return skillTest.getId();
+    }
+    
+    @Override
+    protected void setId(SkillTest skillTest, int id) {
+        skillTest.setId(id);
+    }
+    
+    @Override
+    public List<SkillTest> findByStudentId(int studentId) {
+        return queryList(findByStudentIdSql, ps -> ps.setInt(1, studentId));
+    }
+    
+    @Override
+    public SkillTest findLatestByStudentId(int studentId) {
+        return queryOne(findLatestSql, ps -> ps.setInt(1, studentId));
+    }
+}
@@ -0,0 +1,143 @@
+package model.dao.impl;
+
+import model.dao.StudentDAO;
+import model.entity.Student;
+import util.ConnectionProvider;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * PostgreSQL implementation of StudentDAO.
+ */
+public class JdbcStudentDAOImpl extends AbstractJdbcDAO<Student> implements StudentDAO {
+    
+    private final String countByEmailSql = "SELECT COUNT(*) FROM students WHERE LOWER(email) = LOWER(?)";
+    private final String findByEmailSql = selectWhere("LOWER(email) = LOWER(?) ORDER BY id LIMIT 1");
+    private final String findBySkillLevelSql = selectWhere("skill_level = ? ORDER BY id");
+    private final String searchByNameSql = selectWhere(
+            "LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? ORDER BY id");
+    private final String searchByNameLimitSql = selectWhere(
+            "LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? ORDER BY "
+            + "CASE WHEN LOWER(first_name) LIKE ? OR LOWER(last_name) LIKE ? THEN 0 ELSE 1 END, id LIMIT ?");
+    private static final String NO_ENROLLMENTS =
+            "NOT EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = students.id)";
+    private static final String NO_PAYMENTS = "NOT EXISTS (SELECT 1 FROM enrollments e "
+            + "JOIN payments p ON p.enrollment_id = e.id WHERE e.student_id = students.id)";
+    private final String findWithoutEnrollmentsSql = selectWhere(NO_ENROLLMENTS + " ORDER BY id");
+    private final String countWithoutEnrollmentsSql = "SELECT COUNT(*) FROM students WHERE " + NO_ENROLLMENTS;
+    private final String findWithoutPaymentsSql = selectWhere(NO_PAYMENTS + " ORDER BY id");
+    private final String countWithoutPaymentsSql = "SELECT COUNT(*) FROM students WHERE " + NO_PAYMENTS;
+    
+    public JdbcStudentDAOImpl(ConnectionProvider provider) {
+        super(provider, "students", "first_name", "last_name", "email", "phone",
+                "date_of_birth", "skill_level", "created_at");
+    }
+    
+    @Override
+    protected Student mapRow(ResultSet rs) throws SQLException {
+        Student student = new Student();
+        student.setId(rs.getInt("id"));
+        student.setFirstName(rs.getString("first_name"));
+        student.setLastName(rs.getString("last_name"));
+        student.setEmail(rs.getString("email"));
+        student.setPhone(rs.getString("phone"));
+        LocalDate dateOfBirth = getDate(rs, "date_of_birth");
+        student.setDateOfBirth(dateOfBirth != null ? dateOfBirth.toString() : null);
+        student.setSkillLevel(getEnum(rs, "skill_level", Student.SkillLevel.class));
+        student.setCreatedAt(getTimestamp(rs, "created_at"));
+        return student;
+    }
+    
+    @Override
+    protected void bindColumns(PreparedStatement ps, Student student) throws SQLException {
+        ps.setString(1, student.getFirstName());
+        ps.setString(2, student.getLastName());
+        ps.setString(3, student.getEmail());
+        ps.setString(4, student.getPhone());
+        setDate(ps, 5, parseDate(student.getDateOfBirth()));
+        setEnum(ps, 6, student.getSkillLevel());
+        setTimestamp(ps, 7, student.getCreatedAt());
+    }
+    
+    @Override
+    protected int getId(Student student) {
+        return student.getId();
+    }
+    
+    @Override
+    protected void setId(Student student, int id) {
+        student.setId(id);
+    }
+    
+    @Override
+    public Student findByEmail(String email) {
+        return queryOne(findByEmailSql, ps -> ps.setString(1, email));
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return queryInt(countByEmailSql, ps -> ps.setString(1, email)) > 0;
+    }
+    
+    @Override
+    public List<Student> findBySkillLevel(Student.SkillLevel level) {
+        return queryList(findBySkillLevelSql, ps -> setEnum(ps, 1, level));
+    }
+    
+    @Override
+    public List<Student> searchByName(String name) {
+        String pattern = containsPattern(name);
+        return queryList(searchByNameSql, ps -> {
+            ps.setString(1, pattern);
+            ps.setString(2, pattern);
+        });
+    }
+    
+    @Override
+    public List<Student> searchByName(String name, int limit) {
+        String pattern = containsPattern(name);
+        String prefix = prefixPattern(name);
+        return queryList(searchByNameLimitSql, ps -> {
+            ps.setString(1, pattern);
+            ps.setString(2, pattern);
+            ps.setString(3, prefix);
+            ps.setString(4, prefix);
+            ps.setInt(5, limit);
+        });
+    }
+    
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date of birth: " + value);
+        }
+    }
+    
+    @Override
+    public List<Student> findWithoutEnrollments() {
+        return queryList(findWithoutEnrollmentsSql, ps -> {});
+    }
+    
+    @Override
+    public int countWithoutEnrollments() {
+        return queryInt(countWithoutEnrollmentsSql, ps -> {});
+    }
+    
+    @Override
+    public List<Student> findWithoutPayments() {
+        return queryList(findWithoutPaymentsSql, ps -> {});
+    }
+    
+    @Override
+    public int countWithoutPayments() {
+        return queryInt(countWithoutPaymentsSql, ps -> {});
+    }
+}
@@ -0,0 +1,103 @@
+package model.dao.impl;
+
+import model.dao.DataAccessException;
+import model.dao.TransactionManager;
+import util.AppLogger;
+import util.ConnectionProvider;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * TransactionManager for the JDBC DAOs.
+ * While a transaction is open, getConnection() on this provider returns the
+ * connection bound to the current thread, so every DAO built on it takes part in
+ * the transaction. Outside a transaction it simply delegates.
+ */
+public class JdbcTransactionManager implements TransactionManager, ConnectionProvider {
+    
+    private final ConnectionProvider delegate;
+    private final ThreadLocal<Connection> current = new ThreadLocal<>();
+    
+    public JdbcTransactionManager(ConnectionProvider delegate) {
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (current.get() != null) {
+            return work.get();
+        }
+        Connection conn;
+        try {
+            conn = delegate.getConnection();
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to begin transaction", e);
+        }
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            try {
+                conn.close();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new DataAccessException("Failed to begin transaction", e);
+        }
+        current.set(conn);
+        try {
+            T result = work.get();
+            conn.commit();
+            return result;
+        } catch (SQLException e) {
+            rollback(conn);
+            throw new DataAccessException("Failed to commit transaction", e);
+        } catch (RuntimeException | Error e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            current.remove();
+            try {
+                conn.setAutoCommit(true);
+                conn.close();
+            } catch (SQLException e) {
+                AppLogger.warning("Failed to release transaction connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection bound = current.get();
+        if (bound == null) {
+            return delegate.getConnection();
+        }
+        // DAOs close what they borrow; keep the bound connection open until the transaction ends
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(bound, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+    
+    @Override
+    public void close() {
+        delegate.close();
+    }
+    
+    private static void rollback(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            AppLogger.warning("Rollback failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package model.dao.impl;
+
+/**
+ * Receives the row changes of an in-memory DAO so they can be made durable.
+ * Changes are appended in the order they were applied to each row; waiting for
+ * durability is a separate step so several writers can share one sync.
+ * @param <T> Entity type
+ */
+public interface Journal<T> {
+    
+    /**
+     * Records the new state of a saved or updated row.
+     * @param entity Row as stored
+     * @return Sequence number of the record
+     */
+    long logPut(T entity);
+    
+    /**
+     * Records that a row was deleted.
+     * @param id Row id
+     * @return Sequence number of the record
+     */
+    long logDelete(int id);
+    
+    /**
+     * Blocks until the record with the given sequence number, and all before it, are durable.
+     * @param sequence Sequence number from logPut or logDelete
+     */
+    void awaitDurable(long sequence);
+}
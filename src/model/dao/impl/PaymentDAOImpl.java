@@ -1,73 +1,243 @@
 package model.dao.impl;
 
+import model.dao.CourseDAO;
+import model.dao.EnrollmentDAO;
 import model.dao.PaymentDAO;
+import model.dao.PaymentTotals;
+import model.entity.Course;
+import model.entity.Enrollment;
 import model.entity.Payment;
+import util.StripedLocks;
+import java.math.BigDecimal;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * In-Memory implementation of PaymentDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Keeps the payment ids of each status and of each enrollment, and running totals per
+ * course, so listing by status, finding an enrollment's pending payment and reading a
+ * course's totals do not scan every payment. A term's totals add up its courses' totals,
+ * so they follow a course that moves to another term. Course totals need the enrollment
+ * DAO to be linked, term totals the course DAO as well.
  */
-public class PaymentDAOImpl implements PaymentDAO {
+public class PaymentDAOImpl extends AbstractInMemoryDAO<Payment> implements PaymentDAO {
     
-    private final Map<Integer, Payment> payments = new HashMap<>();
-    private int nextId = 1;
+    private final Map<Integer, IndexKey> indexedKeys = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Integer>> idsByEnrollment = new ConcurrentHashMap<>();
+    private final Map<Payment.PaymentStatus, NavigableSet<Integer>> idsByStatus =
+            new EnumMap<>(Payment.PaymentStatus.class);
+    private final Map<Integer, PaymentTotals> totalsByCourse = new ConcurrentHashMap<>();
+    // Taken before the row locks, never while holding one
+    private final StripedLocks enrollmentLocks = new StripedLocks(16);
+    private volatile EnrollmentDAO enrollmentDAO;
+    private volatile CourseDAO courseDAO;
     
-    @Override
-    public Payment save(Payment payment) {
-        payment.setId(nextId++);
-        payments.put(payment.getId(), payment);
-        return payment;
+    /**
+     * Indexed state of a payment, with the course of its enrollment when it was indexed.
+     * Entities are mutated in place before update(), so the previous keys have to be
+     * remembered to unindex them.
+     */
+    private record IndexKey(int enrollmentId, int courseId, Payment.PaymentStatus status, BigDecimal amount) {}
+    
+    public PaymentDAOImpl() {
+        // Filled once here and only read afterwards, so the EnumMap itself needs no locking
+        for (Payment.PaymentStatus status : Payment.PaymentStatus.values()) {
+            idsByStatus.put(status, new ConcurrentSkipListSet<>());
+        }
+    }
+    
+    public void setEnrollmentDAO(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+    
+    public void setCourseDAO(CourseDAO courseDAO) {
+        this.courseDAO = courseDAO;
     }
     
     @Override
-    public Optional<Payment> findById(int id) {
-        return Optional.ofNullable(payments.get(id));
+    protected int getId(Payment payment) {
+        return payment.getId();
     }
     
     @Override
-    public List<Payment> findAll() {
-        return new ArrayList<>(payments.values());
+    protected void setId(Payment payment, int id) {
+        payment.setId(id);
     }
     
     @Override
     public Payment update(Payment payment) {
-        if (payments.containsKey(payment.getId())) {
-            payments.put(payment.getId(), payment);
-            return payment;
-        }
-        return null;
+        return locks.withLock(payment.getId(), () -> super.update(payment));
     }
     
     @Override
     public boolean delete(int id) {
-        return payments.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
     }
     
     @Override
-    public int count() {
-        return payments.size();
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Payment payment) {
+        index(payment);
+    }
+    
+    @Override
+    protected void afterUpdate(Payment payment) {
+        unindex(payment.getId());
+        index(payment);
+    }
+    
+    @Override
+    protected void afterDelete(Payment payment) {
+        unindex(payment.getId());
     }
     
     @Override
     public List<Payment> findByEnrollmentId(int enrollmentId) {
-        return payments.values().stream()
-                .filter(p -> p.getEnrollmentId() == enrollmentId)
-                .collect(Collectors.toList());
+        return findByIds(idsByEnrollment.getOrDefault(enrollmentId, Collections.emptyNavigableSet()));
     }
     
     @Override
     public List<Payment> findPendingPayments() {
-        return payments.values().stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.PENDING)
-                .collect(Collectors.toList());
+        return findByIds(idsByStatus.get(Payment.PaymentStatus.PENDING));
     }
     
     @Override
     public List<Payment> findCompletedPayments() {
-        return payments.values().stream()
-                .filter(p -> p.getStatus() == Payment.PaymentStatus.COMPLETED)
-                .collect(Collectors.toList());
+        return findByIds(idsByStatus.get(Payment.PaymentStatus.COMPLETED));
+    }
+    
+    @Override
+    public Payment findPendingByEnrollmentId(int enrollmentId) {
+        for (Integer id : idsByEnrollment.getOrDefault(enrollmentId, Collections.emptyNavigableSet())) {
+            IndexKey key = indexedKeys.get(id);
+            if (key != null && key.status() == Payment.PaymentStatus.PENDING) {
+                Payment payment = row(id);
+                if (payment != null) {
+                    return payment;
+                }
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public List<Payment> completePending(Map<Integer, String> methods) {
+        List<Payment> completed = new ArrayList<>(methods.size());
+        for (Map.Entry<Integer, String> entry : methods.entrySet()) {
+            // One settlement per enrollment at a time, so two cannot complete the same payment
+            Payment payment = enrollmentLocks.withLock(entry.getKey(), () -> {
+                Payment pending = findPendingByEnrollmentId(entry.getKey());
+                if (pending == null) {
+                    return null;
+                }
+                pending.setPaymentMethod(entry.getValue());
+                pending.setStatus(Payment.PaymentStatus.COMPLETED);
+                return update(pending);
+            });
+            if (payment != null) {
+                completed.add(payment);
+            }
+        }
+        return completed;
+    }
+    
+    /**
+     * Takes the enrollment's lock like completePending, then the id stripe that update()
+     * also holds, so the pending check and the write are atomic.
+     */
+    @Override
+    public Payment completeIfPending(int id, String paymentMethod) {
+        IndexKey indexed = indexedKeys.get(id);
+        if (indexed == null) {
+            return null;
+        }
+        return enrollmentLocks.withLock(indexed.enrollmentId(), () -> locks.withLock(id, () -> {
+            IndexKey key = indexedKeys.get(id);
+            Payment payment = row(id);
+            if (key == null || key.status() != Payment.PaymentStatus.PENDING || payment == null) {
+                return null;
+            }
+            payment.setPaymentMethod(paymentMethod);
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            return super.update(payment);
+        }));
+    }
+    
+    @Override
+    public PaymentTotals getTotalsByCourse(int courseId) {
+        return totalsByCourse.getOrDefault(courseId, PaymentTotals.ZERO);
+    }
+    
+    @Override
+    public PaymentTotals getTotalsByTerm(Course.Term term) {
+        CourseDAO courses = courseDAO;
+        PaymentTotals totals = PaymentTotals.ZERO;
+        if (courses == null) {
+            return totals;
+        }
+        for (Course course : courses.findByTerm(term)) {
+            PaymentTotals courseTotals = totalsByCourse.get(course.getId());
+            if (courseTotals != null) {
+                totals = totals.plus(courseTotals);
+            }
+        }
+        return totals;
+    }
+    
+    private void index(Payment payment) {
+        int id = payment.getId();
+        IndexKey key = new IndexKey(payment.getEnrollmentId(), courseOf(payment.getEnrollmentId()),
+                payment.getStatus(), payment.getAmount());
+        indexedKeys.put(id, key);
+        idsByEnrollment.compute(key.enrollmentId(), (k, ids) -> {
+            NavigableSet<Integer> result = ids != null ? ids : new ConcurrentSkipListSet<>();
+            result.add(id);
+            return result;
+        });
+        if (key.status() != null) {
+            idsByStatus.get(key.status()).add(id);
+        }
+        addToTotals(key, key.amount());
+    }
+    
+    private void unindex(int id) {
+        IndexKey key = indexedKeys.remove(id);
+        if (key == null) {
+            return;
+        }
+        idsByEnrollment.computeIfPresent(key.enrollmentId(),
+                (k, ids) -> ids.remove(id) && ids.isEmpty() ? null : ids);
+        if (key.status() != null) {
+            idsByStatus.get(key.status()).remove(id);
+        }
+        if (key.amount() != null) {
+            addToTotals(key, key.amount().negate());
+        }
+    }
+    
+    private void addToTotals(IndexKey key, BigDecimal amount) {
+        if (key.courseId() == 0 || key.status() == null || amount == null) {
+            return;
+        }
+        totalsByCourse.compute(key.courseId(), (k, totals) -> {
+            PaymentTotals next = (totals != null ? totals : PaymentTotals.ZERO).plus(key.status(), amount);
+            return next.isZero() ? null : next;
+        });
+    }
+    
+    /**
+     * Gets the course of an enrollment, or 0 if it is unknown. An enrollment keeps its course.
+     */
+    private int courseOf(int enrollmentId) {
+        EnrollmentDAO enrollments = enrollmentDAO;
+        if (enrollments == null) {
+            return 0;
+        }
+        return enrollments.findById(enrollmentId).map(Enrollment::getCourseId).orElse(0);
     }
 }
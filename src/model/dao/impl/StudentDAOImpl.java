@@ -1,76 +1,163 @@
 package model.dao.impl;
 
+import model.dao.EnrollmentDAO;
+import model.dao.NameSearchIndex;
+import model.dao.PaymentDAO;
 import model.dao.StudentDAO;
+import model.entity.Enrollment;
+import model.entity.Payment;
 import model.entity.Student;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * In-Memory implementation of StudentDAO.
- * Will be replaced with PostgreSQL implementation later.
+ * Email addresses are unique (case-insensitive) and indexed; the check and the write
+ * run under the stripe lock for the email so concurrent registrations cannot both succeed.
+ * Name searches go through a trigram index over first and last names.
+ * The enrollment and payment reports need the enrollment and payment DAOs to be linked.
  */
-public class StudentDAOImpl implements StudentDAO {
+public class StudentDAOImpl extends AbstractInMemoryDAO<Student> implements StudentDAO {
     
-    private final Map<Integer, Student> students = new HashMap<>();
-    private int nextId = 1;
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    private final EmailIndex emailIndex = new EmailIndex("A student with this email already exists.");
+    private volatile EnrollmentDAO enrollmentDAO;
+    private volatile PaymentDAO paymentDAO;
+    
+    public StudentDAOImpl() {
+        sortable("first_name", Student::getFirstName);
+        sortable("last_name", Student::getLastName);
+        sortable("email", Student::getEmail);
+        sortable("phone", Student::getPhone);
+        sortable("skill_level", s -> enumName(s.getSkillLevel()));
+    }
+    
+    public void setEnrollmentDAO(EnrollmentDAO enrollmentDAO) {
+        this.enrollmentDAO = enrollmentDAO;
+    }
+    
+    public void setPaymentDAO(PaymentDAO paymentDAO) {
+        this.paymentDAO = paymentDAO;
+    }
     
     @Override
-    public Student save(Student student) {
-        student.setId(nextId++);
-        students.put(student.getId(), student);
-        return student;
+    protected int getId(Student student) {
+        return student.getId();
     }
     
     @Override
-    public Optional<Student> findById(int id) {
-        return Optional.ofNullable(students.get(id));
+    protected void setId(Student student, int id) {
+        student.setId(id);
     }
     
     @Override
-    public List<Student> findAll() {
-        return new ArrayList<>(students.values());
+    public Student save(Student student) {
+        return locks.withLock(emailKey(student.getEmail()), () -> {
+            emailIndex.ensureAvailable(student.getEmail(), 0);
+            return super.save(student);
+        });
     }
     
     @Override
     public Student update(Student student) {
-        if (students.containsKey(student.getId())) {
-            students.put(student.getId(), student);
-            return student;
-        }
-        return null;
+        int id = student.getId();
+        return locks.withLocks(id, emailKey(student.getEmail()), () -> {
+            emailIndex.ensureAvailable(student.getEmail(), id);
+            return super.update(student);
+        });
     }
     
     @Override
     public boolean delete(int id) {
-        return students.remove(id) != null;
+        return locks.withLock(id, () -> super.delete(id));
     }
     
     @Override
-    public int count() {
-        return students.size();
+    protected boolean indexesRows() {
+        return true;
+    }
+    
+    @Override
+    protected void afterSave(Student student) {
+        afterUpdate(student);
+    }
+    
+    @Override
+    protected void afterUpdate(Student student) {
+        emailIndex.put(student.getId(), student.getEmail());
+        nameIndex.put(student.getId(), student.getFirstName(), student.getLastName());
+    }
+    
+    @Override
+    protected void afterDelete(Student student) {
+        emailIndex.remove(student.getId());
+        nameIndex.remove(student.getId());
     }
     
     @Override
     public Student findByEmail(String email) {
-        return students.values().stream()
-                .filter(s -> s.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
+        Integer id = emailIndex.idOf(email);
+        return id == null ? null : row(id);
+    }
+    
+    @Override
+    public boolean existsByEmail(String email) {
+        return emailIndex.idOf(email) != null;
     }
     
     @Override
     public List<Student> findBySkillLevel(Student.SkillLevel level) {
-        return students.values().stream()
-                .filter(s -> s.getSkillLevel() == level)
-                .collect(Collectors.toList());
+        return findWhere(s -> s.getSkillLevel() == level);
     }
     
     @Override
     public List<Student> searchByName(String name) {
-        String lowerName = name.toLowerCase();
-        return students.values().stream()
-                .filter(s -> s.getFirstName().toLowerCase().contains(lowerName) ||
-                            s.getLastName().toLowerCase().contains(lowerName))
-                .collect(Collectors.toList());
+        return searchByName(name, Integer.MAX_VALUE);
+    }
+    
+    @Override
+    public List<Student> searchByName(String name, int limit) {
+        return findByIds(nameIndex.search(name, limit));
+    }
+    
+    private static String emailKey(String email) {
+        String key = EmailIndex.normalize(email);
+        return key == null ? "" : key;
+    }
+    
+    @Override
+    public List<Student> findWithoutEnrollments() {
+        return findNotIn(referencedIds(enrollmentDAO, Enrollment::getStudentId));
+    }
+    
+    @Override
+    public int countWithoutEnrollments() {
+        return countNotIn(referencedIds(enrollmentDAO, Enrollment::getStudentId));
+    }
+    
+    @Override
+    public List<Student> findWithoutPayments() {
+        return findNotIn(studentsWithPayments());
+    }
+    
+    @Override
+    public int countWithoutPayments() {
+        return countNotIn(studentsWithPayments());
+    }
+    
+    /**
+     * Marks the enrollments that have a payment, then the students of those enrollments.
+     */
+    private BitSet studentsWithPayments() {
+        BitSet paidEnrollments = referencedIds(paymentDAO, Payment::getEnrollmentId);
+        BitSet students = new BitSet();
+        EnrollmentDAO enrollments = enrollmentDAO;
+        if (enrollments != null && !paidEnrollments.isEmpty()) {
+            enrollments.forEach(e -> {
+                if (paidEnrollments.get(e.getId())) {
+                    students.set(e.getStudentId());
+                }
+            });
+        }
+        return students;
     }
 }
@@ -0,0 +1,47 @@
+package model.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an enrollment with its student and course names,
+ * used to list enrollments without looking up each row's student and course.
+ */
+public class EnrollmentView {
+    private final int id;
+    private final int studentId;
+    private final String studentName;
+    private final int courseId;
+    private final String courseName;
+    private final Enrollment.Status status;
+    private final LocalDateTime enrollmentDate;
+
+    /**
+     * @param enrollment Enrollment to project
+     * @param studentName Student full name, or null if the student no longer exists
+     * @param courseName Course name, or null if the course no longer exists
+     */
+    public EnrollmentView(Enrollment enrollment, String studentName, String courseName) {
+        this.id = enrollment.getId();
+        this.studentId = enrollment.getStudentId();
+        this.studentName = studentName;
+        this.courseId = enrollment.getCourseId();
+        this.courseName = courseName;
+        this.status = enrollment.getStatus();
+        this.enrollmentDate = enrollment.getEnrollmentDate();
+    }
+
+    // Getters
+    public int getId() { return id; }
+    public int getStudentId() { return studentId; }
+    public String getStudentName() { return studentName; }
+    public int getCourseId() { return courseId; }
+    public String getCourseName() { return courseName; }
+    public Enrollment.Status getStatus() { return status; }
+    public LocalDateTime getEnrollmentDate() { return enrollmentDate; }
+
+    @Override
+    public String toString() {
+        return String.format("EnrollmentView[id=%d, student=%s, course=%s, status=%s]",
+                id, studentName, courseName, status);
+    }
+}
@@ -0,0 +1,28 @@
+package model.event;
+
+/**
+ * A change to one entity, published on the {@link EventBus} after the write succeeded.
+ * @param kind What happened to the entity
+ * @param type Entity class, used to route the event
+ * @param id Entity id
+ * @param entity The entity as written; null for deletions
+ * @param <T> Entity type
+ */
+public record EntityEvent<T>(Kind kind, Class<T> type, int id, T entity) {
+    
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+    
+    public static <T> EntityEvent<T> created(Class<T> type, int id, T entity) {
+        return new EntityEvent<>(Kind.CREATED, type, id, entity);
+    }
+    
+    public static <T> EntityEvent<T> updated(Class<T> type, int id, T entity) {
+        return new EntityEvent<>(Kind.UPDATED, type, id, entity);
+    }
+    
+    public static <T> EntityEvent<T> deleted(Class<T> type, int id) {
+        return new EntityEvent<>(Kind.DELETED, type, id, null);
+    }
+}
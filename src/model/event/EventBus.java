@@ -0,0 +1,69 @@
+package model.event;
+
+import util.AppLogger;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Routes entity change events from the controllers to subscribers by entity type.
+ * Listeners run on the publishing thread, which is often a background thread, so
+ * views hand events over to the EDT themselves. A failing listener is logged and
+ * does not stop delivery to the others. Safe for concurrent use.
+ */
+public class EventBus {
+    
+    private final Map<Class<?>, List<Consumer<EntityEvent<?>>>> listeners = new ConcurrentHashMap<>();
+    
+    /**
+     * Handle for removing a listener again.
+     */
+    public interface Subscription extends AutoCloseable {
+        
+        @Override
+        void close();
+    }
+    
+    /**
+     * Subscribes to events for one entity type.
+     * @param type Entity class
+     * @param listener Called for every event of that type
+     * @return Subscription that removes the listener when closed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Subscription subscribe(Class<T> type, Consumer<? super EntityEvent<T>> listener) {
+        Consumer<EntityEvent<?>> entry = event -> listener.accept((EntityEvent<T>) event);
+        List<Consumer<EntityEvent<?>>> forType =
+                listeners.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+        forType.add(entry);
+        return () -> forType.remove(entry);
+    }
+    
+    /**
+     * Delivers an event to the listeners of its type.
+     */
+    public void publish(EntityEvent<?> event) {
+        List<Consumer<EntityEvent<?>>> forType = listeners.get(event.type());
+        if (forType == null) {
+            return;
+        }
+        for (Consumer<EntityEvent<?>> listener : forType) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                AppLogger.error("Event listener failed for " + event, e);
+            }
+        }
+    }
+    
+    /**
+     * Delivers events in order, e.g. the writes of a committed transaction.
+     */
+    public void publishAll(List<? extends EntityEvent<?>> events) {
+        for (EntityEvent<?> event : events) {
+            publish(event);
+        }
+    }
+}
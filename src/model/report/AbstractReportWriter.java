@@ -0,0 +1,77 @@
+package model.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Checks the begin/row/end order and the column count for the format writers.
+ * Nothing is buffered beyond the underlying writer, so memory use does not grow with rows.
+ */
+public abstract class AbstractReportWriter implements ReportWriter {
+    
+    protected final Writer out;
+    private List<String> columns;
+    private long rowCount;
+    private boolean ended;
+    
+    protected AbstractReportWriter(Writer out) {
+        this.out = out;
+    }
+    
+    @Override
+    public final void begin(String report, List<String> columns) throws IOException {
+        if (this.columns != null) {
+            throw new IllegalStateException("Report already started");
+        }
+        this.columns = List.copyOf(columns);
+        writeHeader(report, this.columns);
+    }
+    
+    @Override
+    public final void row(Object... values) throws IOException {
+        if (columns == null || ended) {
+            throw new IllegalStateException("Report is not open");
+        }
+        if (values.length != columns.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + columns.size() + " values but got " + values.length);
+        }
+        writeRow(columns, values, rowCount++);
+    }
+    
+    @Override
+    public final void end() throws IOException {
+        if (columns == null || ended) {
+            throw new IllegalStateException("Report is not open");
+        }
+        ended = true;
+        writeFooter();
+        out.flush();
+    }
+    
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    protected abstract void writeHeader(String report, List<String> columns) throws IOException;
+    
+    protected abstract void writeRow(List<String> columns, Object[] values, long index) throws IOException;
+    
+    protected abstract void writeFooter() throws IOException;
+    
+    /**
+     * Formats a non-null value; decimals are written without exponent.
+     */
+    protected static String text(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+}
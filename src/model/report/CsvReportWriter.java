@@ -0,0 +1,60 @@
+package model.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes a report as RFC 4180 CSV: a header line, then one line per row.
+ * Fields holding commas, quotes or line breaks are quoted; null is an empty field.
+ */
+public class CsvReportWriter extends AbstractReportWriter {
+    
+    private static final String LINE_END = "\r\n";
+    
+    public CsvReportWriter(Writer out) {
+        super(out);
+    }
+    
+    @Override
+    protected void writeHeader(String report, List<String> columns) throws IOException {
+        writeRecord(columns.toArray());
+    }
+    
+    @Override
+    protected void writeRow(List<String> columns, Object[] values, long index) throws IOException {
+        writeRecord(values);
+    }
+    
+    @Override
+    protected void writeFooter() {
+        // CSV has no trailer
+    }
+    
+    private void writeRecord(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeField(text(values[i]));
+            }
+        }
+        out.write(LINE_END);
+    }
+    
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
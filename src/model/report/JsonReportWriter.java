@@ -0,0 +1,81 @@
+package model.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes a report as one JSON document:
+ * {@code {"report": id, "columns": [...], "rows": [{column: value, ...}, ...]}}.
+ * Rows are written one object per line as they arrive; numbers stay unquoted.
+ */
+public class JsonReportWriter extends AbstractReportWriter {
+    
+    public JsonReportWriter(Writer out) {
+        super(out);
+    }
+    
+    @Override
+    protected void writeHeader(String report, List<String> columns) throws IOException {
+        out.write("{\"report\":");
+        writeString(report);
+        out.write(",\"columns\":[");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeString(columns.get(i));
+        }
+        out.write("],\"rows\":[");
+    }
+    
+    @Override
+    protected void writeRow(List<String> columns, Object[] values, long index) throws IOException {
+        out.write(index == 0 ? "\n{" : ",\n{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeString(columns.get(i));
+            out.write(':');
+            writeValue(values[i]);
+        }
+        out.write('}');
+    }
+    
+    @Override
+    protected void writeFooter() throws IOException {
+        out.write("\n]}\n");
+    }
+    
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.write(text(value));
+        } else {
+            writeString(text(value));
+        }
+    }
+    
+    private void writeString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
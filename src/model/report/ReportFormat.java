@@ -0,0 +1,46 @@
+package model.report;
+
+import java.io.Writer;
+
+/**
+ * Output formats for report exports.
+ */
+public enum ReportFormat {
+    CSV("csv"),
+    JSON("json");
+    
+    private final String extension;
+    
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    /**
+     * Creates a writer of this format on top of the given output.
+     * @param out Output; should be buffered
+     * @return New report writer
+     */
+    public ReportWriter open(Writer out) {
+        return switch (this) {
+            case CSV -> new CsvReportWriter(out);
+            case JSON -> new JsonReportWriter(out);
+        };
+    }
+    
+    /**
+     * Finds a format by its extension, ignoring case.
+     * @throws IllegalArgumentException if no format matches
+     */
+    public static ReportFormat fromExtension(String extension) {
+        for (ReportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report format: " + extension);
+    }
+}
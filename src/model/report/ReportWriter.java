@@ -0,0 +1,35 @@
+package model.report;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives report rows one at a time and writes them out as they arrive.
+ * Values may be strings, numbers, enums or null.
+ */
+public interface ReportWriter {
+    
+    /**
+     * Starts a report; must be called once before any row.
+     * @param report Report id
+     * @param columns Column names, in row order
+     */
+    void begin(String report, List<String> columns) throws IOException;
+    
+    /**
+     * Writes one row.
+     * @param values One value per column
+     */
+    void row(Object... values) throws IOException;
+    
+    /**
+     * Finishes the report and flushes the output without closing it.
+     */
+    void end() throws IOException;
+    
+    /**
+     * Gets the number of rows written so far.
+     * @return Row count, excluding any header
+     */
+    long getRowCount();
+}
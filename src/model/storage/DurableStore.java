@@ -0,0 +1,408 @@
+package model.storage;
+
+import model.dao.DataAccessException;
+import model.dao.TransactionManager;
+import model.dao.impl.AbstractInMemoryDAO;
+import model.dao.impl.Journal;
+import util.AppLogger;
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Makes the in-memory DAOs durable with a write-ahead log and periodic snapshots.
+ * <p>
+ * Register every DAO, then {@link #open()} maps the newest snapshot, replays the log
+ * written after it and attaches a journal to each DAO. From then on each write is
+ * logged and returns once it is on disk; concurrent writers share fsyncs (see
+ * {@link WriteAheadLog}), and inside {@link #inTransaction} the wait happens once at
+ * the end of the unit of work.
+ * <p>
+ * A snapshot first rolls the log to a new segment, then copies the live maps while
+ * writers carry on. The copy may already contain some later changes, but every one of
+ * them is also in the new segment, and replaying a row's records in order ends in its
+ * latest state. Once the snapshot is complete the older segments are deleted.
+ * Rows are snapshotted as they are at the time, so a row that is being edited in
+ * place is also fixed up by the update record that follows.
+ * <p>
+ * A snapshot is a directory with one {@link MappedTable} file per DAO. On open the files
+ * are attached to the DAOs as their archive tier instead of being read, so start-up
+ * does not decode rows apart from those the DAOs index. The snapshot mapped at open
+ * stays in use until the next start, so it is kept until then.
+ */
+public class DurableStore implements TransactionManager, Closeable {
+    
+    private static final byte OP_PUT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d+)(\\.tmp)?");
+    
+    private final Path directory;
+    private final boolean fsync;
+    private final List<Table<?>> tables = new ArrayList<>();
+    private final ThreadLocal<long[]> unitOfWork = new ThreadLocal<>();
+    private final Object snapshotLock = new Object();
+    private WriteAheadLog log;
+    private ScheduledExecutorService scheduler;
+    private volatile long snapshotAt;
+    // Segment of the snapshot the DAOs read from, -1 for none
+    private long mappedSegment = -1;
+    
+    /**
+     * What {@link #open()} found on disk.
+     */
+    public record Recovery(long snapshotRows, long logRecords, long millis) {}
+    
+    /**
+     * @param directory Data directory for the log and snapshots; created if missing
+     * @param fsync Whether writes wait for the disk, not only the OS cache
+     */
+    public DurableStore(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+    }
+    
+    /**
+     * Adds a DAO. All DAOs must be registered before {@link #open()}, always in the same
+     * order and under the same names, since the files refer to them by position.
+     */
+    public synchronized <T> DurableStore register(String name, AbstractInMemoryDAO<T> dao, EntityCodec<T> codec) {
+        if (log != null) {
+            throw new IllegalStateException("Store is already open");
+        }
+        if (tables.size() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many tables");
+        }
+        tables.add(new Table<>(tables.size(), name, dao, codec));
+        return this;
+    }
+    
+    /**
+     * Attaches the latest snapshot to the registered DAOs and replays the log after it,
+     * then starts logging their writes. The DAOs should be empty.
+     */
+    public synchronized Recovery open() {
+        if (log != null) {
+            throw new IllegalStateException("Store is already open");
+        }
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            Path snapshot = latestSnapshot();
+            long snapshotRows = 0;
+            long fromSegment = 0;
+            if (snapshot != null) {
+                fromSegment = snapshotSegment(snapshot);
+                for (Table<?> table : tables) {
+                    snapshotRows += table.attachArchive(snapshot);
+                }
+                mappedSegment = fromSegment;
+            }
+            deleteSnapshotsBefore(fromSegment);
+            long logRecords = WriteAheadLog.replay(directory, fromSegment, this::applyRecord);
+            log = new WriteAheadLog(directory, fsync);
+            snapshotAt = log.getAppended();
+            for (Table<?> table : tables) {
+                table.attach();
+            }
+            Recovery recovery = new Recovery(snapshotRows, logRecords, (System.nanoTime() - start) / 1_000_000);
+            AppLogger.info("Recovered " + snapshotRows + " snapshot rows and " + logRecords
+                    + " log records from " + directory + " in " + recovery.millis() + " ms");
+            return recovery;
+        } catch (IOException e) {
+            throw new DataAccessException("Could not open data directory " + directory + ": " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Takes a snapshot every interval on a background thread, if anything was written since the last one.
+     */
+    public synchronized void startSnapshots(long intervalSeconds) {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (log.getAppended() != snapshotAt) {
+                    snapshot();
+                }
+            } catch (RuntimeException e) {
+                AppLogger.error("Snapshot failed", e);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Writes a snapshot of all registered DAOs and drops the log segments it covers.
+     * Writers are not blocked while the snapshot is written.
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            WriteAheadLog current = requireOpen();
+            try {
+                long appended = current.getAppended();
+                long segment = current.roll();
+                Path target = directory.resolve(String.format("snapshot-%06d", segment));
+                Path temp = directory.resolve(target.getFileName() + ".tmp");
+                deleteSnapshot(temp);
+                Files.createDirectory(temp);
+                for (Table<?> table : tables) {
+                    table.writeSnapshot(temp);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                snapshotAt = appended;
+                deleteSnapshotsBefore(segment);
+                current.deleteSegmentsBefore(segment);
+            } catch (IOException e) {
+                throw new DataAccessException("Snapshot failed: " + e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * Runs work with the durability waits of its writes deferred to the end, so a batch of
+     * writes costs one sync. There is no rollback: writes made before a failure stay.
+     */
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        if (unitOfWork.get() != null) {
+            return work.get();
+        }
+        long[] lastSequence = new long[1];
+        unitOfWork.set(lastSequence);
+        try {
+            return work.get();
+        } finally {
+            unitOfWork.remove();
+            awaitDurable(lastSequence[0]);
+        }
+    }
+    
+    /**
+     * Stops the snapshot thread, writes a final snapshot so the next start does not
+     * have to replay the log, and closes the log. The DAOs are detached.
+     */
+    @Override
+    public synchronized void close() {
+        if (log == null) {
+            return;
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+        }
+        try {
+            if (log.getAppended() != snapshotAt) {
+                snapshot();
+            }
+        } finally {
+            for (Table<?> table : tables) {
+                table.detach();
+            }
+            try {
+                log.close();
+            } catch (IOException e) {
+                AppLogger.error("Could not close write-ahead log", e);
+            }
+            log = null;
+        }
+    }
+    
+    private WriteAheadLog requireOpen() {
+        WriteAheadLog current = log;
+        if (current == null) {
+            throw new IllegalStateException("Store is not open");
+        }
+        return current;
+    }
+    
+    private long append(byte[] record) {
+        return requireOpen().append(record);
+    }
+    
+    private void awaitDurable(long sequence) {
+        if (sequence <= 0) {
+            return;
+        }
+        long[] deferred = unitOfWork.get();
+        if (deferred != null) {
+            deferred[0] = Math.max(deferred[0], sequence);
+            return;
+        }
+        try {
+            requireOpen().sync(sequence);
+        } catch (IOException e) {
+            throw new DataAccessException("Write-ahead log sync failed: " + e.getMessage(), e);
+        }
+    }
+    
+    private void applyRecord(DataInput in) throws IOException {
+        Table<?> table = table(in.readByte());
+        byte op = in.readByte();
+        if (op == OP_PUT) {
+            table.restore(in);
+        } else if (op == OP_DELETE) {
+            table.dao.restoreDelete(in.readInt());
+        } else {
+            throw new IOException("Unknown log operation " + op);
+        }
+    }
+    
+    private Table<?> table(int index) throws IOException {
+        if (index < 0 || index >= tables.size()) {
+            throw new IOException("Unknown table " + index);
+        }
+        return tables.get(index);
+    }
+    
+    private Path latestSnapshot() throws IOException {
+        Path latest = null;
+        for (Path file : snapshots()) {
+            if (!isTemporary(file) && (latest == null || snapshotSegment(file) > snapshotSegment(latest))) {
+                latest = file;
+            }
+        }
+        return latest;
+    }
+    
+    /**
+     * Deletes older snapshots and unfinished ones, except the one the DAOs read from.
+     */
+    private void deleteSnapshotsBefore(long segment) throws IOException {
+        for (Path snapshot : snapshots()) {
+            long snapshotSegment = snapshotSegment(snapshot);
+            if (snapshotSegment < segment && snapshotSegment != mappedSegment
+                    || isTemporary(snapshot) && snapshotSegment <= segment) {
+                deleteSnapshot(snapshot);
+            }
+        }
+    }
+    
+    private static void deleteSnapshot(Path snapshot) throws IOException {
+        if (!Files.isDirectory(snapshot)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(snapshot)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(snapshot);
+    }
+    
+    private List<Path> snapshots() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "snapshot-*")) {
+            for (Path file : stream) {
+                if (Files.isDirectory(file) && SNAPSHOT_NAME.matcher(file.getFileName().toString()).matches()) {
+                    files.add(file);
+                }
+            }
+        }
+        return files;
+    }
+    
+    private static boolean isTemporary(Path snapshot) {
+        return snapshot.getFileName().toString().endsWith(".tmp");
+    }
+    
+    private static long snapshotSegment(Path file) {
+        Matcher m = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Not a snapshot directory: " + file);
+        }
+        return Long.parseLong(m.group(1));
+    }
+    
+    /**
+     * One registered DAO and the journal that logs its writes.
+     */
+    private final class Table<T> implements Journal<T> {
+        final int index;
+        final String name;
+        final AbstractInMemoryDAO<T> dao;
+        final EntityCodec<T> codec;
+        
+        Table(int index, String name, AbstractInMemoryDAO<T> dao, EntityCodec<T> codec) {
+            this.index = index;
+            this.name = name;
+            this.dao = dao;
+            this.codec = codec;
+        }
+        
+        void attach() {
+            dao.setJournal(this);
+        }
+        
+        void detach() {
+            dao.setJournal(null);
+        }
+        
+        void restore(DataInput in) throws IOException {
+            dao.restore(codec.read(in));
+        }
+        
+        Path file(Path snapshot) {
+            return snapshot.resolve(name + ".tbl");
+        }
+        
+        /**
+         * Maps this table's file of a snapshot under the DAO.
+         * @return Rows in the file
+         */
+        int attachArchive(Path snapshot) throws IOException {
+            MappedTable<T> archive = MappedTable.open(file(snapshot), codec);
+            dao.attachArchive(archive);
+            return archive.count();
+        }
+        
+        void writeSnapshot(Path snapshot) throws IOException {
+            int nextId = dao.getNextId();
+            try (Stream<T> rows = dao.streamAll()) {
+                MappedTable.write(file(snapshot), codec, nextId, rows);
+            }
+        }
+        
+        @Override
+        public long logPut(T entity) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            try {
+                out.writeByte(index);
+                out.writeByte(OP_PUT);
+                codec.write(out, entity);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // Cannot happen for a byte array
+            }
+            return append(bytes.toByteArray());
+        }
+        
+        @Override
+        public long logDelete(int id) {
+            return append(new byte[] {(byte) index, OP_DELETE,
+                    (byte) (id >>> 24), (byte) (id >>> 16), (byte) (id >>> 8), (byte) id});
+        }
+        
+        @Override
+        public void awaitDurable(long sequence) {
+            DurableStore.this.awaitDurable(sequence);
+        }
+    }
+}
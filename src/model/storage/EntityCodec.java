@@ -0,0 +1,49 @@
+package model.storage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary form of one entity type, used by the write-ahead log and snapshot tables.
+ * @param <T> Entity type
+ */
+public interface EntityCodec<T> {
+    
+    /**
+     * Writes all fields of the entity, starting with the id as an int.
+     */
+    void write(DataOutput out, T entity) throws IOException;
+    
+    /**
+     * Reads an entity written by {@link #write}.
+     */
+    T read(DataInput in) throws IOException;
+    
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(DataOutput out, T entity) throws IOException;
+    }
+    
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+    
+    /**
+     * Builds a codec from a writer and a reader.
+     */
+    static <T> EntityCodec<T> of(Writer<T> writer, Reader<T> reader) {
+        return new EntityCodec<>() {
+            @Override
+            public void write(DataOutput out, T entity) throws IOException {
+                writer.write(out, entity);
+            }
+            
+            @Override
+            public T read(DataInput in) throws IOException {
+                return reader.read(in);
+            }
+        };
+    }
+}
@@ -0,0 +1,270 @@
+package model.storage;
+
+import model.entity.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codecs for the model entities. Fields are written in declaration order; nullable
+ * values carry a presence marker. Enums are stored by ordinal, so new constants
+ * must be added at the end.
+ */
+public final class EntityCodecs {
+    
+    private EntityCodecs() {} // Prevent instantiation
+    
+    public static final EntityCodec<Student> STUDENT = EntityCodec.of((out, s) -> {
+        out.writeInt(s.getId());
+        writeString(out, s.getFirstName());
+        writeString(out, s.getLastName());
+        writeString(out, s.getEmail());
+        writeString(out, s.getPhone());
+        writeString(out, s.getDateOfBirth());
+        writeEnum(out, s.getSkillLevel());
+        writeDateTime(out, s.getCreatedAt());
+    }, in -> {
+        Student s = new Student();
+        s.setId(in.readInt());
+        s.setFirstName(readString(in));
+        s.setLastName(readString(in));
+        s.setEmail(readString(in));
+        s.setPhone(readString(in));
+        s.setDateOfBirth(readString(in));
+        s.setSkillLevel(readEnum(in, Student.SkillLevel.class));
+        s.setCreatedAt(readDateTime(in));
+        return s;
+    });
+    
+    public static final EntityCodec<Instructor> INSTRUCTOR = EntityCodec.of((out, i) -> {
+        out.writeInt(i.getId());
+        writeString(out, i.getFirstName());
+        writeString(out, i.getLastName());
+        writeString(out, i.getEmail());
+        writeString(out, i.getPhone());
+        writeString(out, i.getSpecialization());
+        writeDateTime(out, i.getCreatedAt());
+    }, in -> {
+        Instructor i = new Instructor();
+        i.setId(in.readInt());
+        i.setFirstName(readString(in));
+        i.setLastName(readString(in));
+        i.setEmail(readString(in));
+        i.setPhone(readString(in));
+        i.setSpecialization(readString(in));
+        i.setCreatedAt(readDateTime(in));
+        return i;
+    });
+    
+    public static final EntityCodec<Course> COURSE = EntityCodec.of((out, c) -> {
+        out.writeInt(c.getId());
+        writeString(out, c.getName());
+        writeString(out, c.getDescription());
+        writeEnum(out, c.getTerm());
+        writeEnum(out, c.getSkillLevel());
+        out.writeInt(c.getInstructorId());
+        out.writeInt(c.getMaxCapacity());
+        writeDecimal(out, c.getFee());
+        writeDate(out, c.getStartDate());
+        writeDate(out, c.getEndDate());
+    }, in -> {
+        Course c = new Course();
+        c.setId(in.readInt());
+        c.setName(readString(in));
+        c.setDescription(readString(in));
+        c.setTerm(readEnum(in, Course.Term.class));
+        c.setSkillLevel(readEnum(in, Student.SkillLevel.class));
+        c.setInstructorId(in.readInt());
+        c.setMaxCapacity(in.readInt());
+        c.setFee(readDecimal(in));
+        c.setStartDate(readDate(in));
+        c.setEndDate(readDate(in));
+        return c;
+    });
+    
+    public static final EntityCodec<Enrollment> ENROLLMENT = EntityCodec.of((out, e) -> {
+        out.writeInt(e.getId());
+        out.writeInt(e.getStudentId());
+        out.writeInt(e.getCourseId());
+        writeDateTime(out, e.getEnrollmentDate());
+        writeEnum(out, e.getStatus());
+    }, in -> {
+        Enrollment e = new Enrollment();
+        e.setId(in.readInt());
+        e.setStudentId(in.readInt());
+        e.setCourseId(in.readInt());
+        e.setEnrollmentDate(readDateTime(in));
+        e.setStatus(readEnum(in, Enrollment.Status.class));
+        return e;
+    });
+    
+    public static final EntityCodec<Session> SESSION = EntityCodec.of((out, s) -> {
+        out.writeInt(s.getId());
+        out.writeInt(s.getCourseId());
+        writeDate(out, s.getSessionDate());
+        writeTime(out, s.getStartTime());
+        writeTime(out, s.getEndTime());
+        writeString(out, s.getTopic());
+    }, in -> {
+        Session s = new Session();
+        s.setId(in.readInt());
+        s.setCourseId(in.readInt());
+        s.setSessionDate(readDate(in));
+        s.setStartTime(readTime(in));
+        s.setEndTime(readTime(in));
+        s.setTopic(readString(in));
+        return s;
+    });
+    
+    public static final EntityCodec<Attendance> ATTENDANCE = EntityCodec.of((out, a) -> {
+        out.writeInt(a.getId());
+        out.writeInt(a.getEnrollmentId());
+        out.writeInt(a.getSessionId());
+        writeEnum(out, a.getStatus());
+        writeString(out, a.getNotes());
+    }, in -> {
+        Attendance a = new Attendance();
+        a.setId(in.readInt());
+        a.setEnrollmentId(in.readInt());
+        a.setSessionId(in.readInt());
+        a.setStatus(readEnum(in, Attendance.AttendanceStatus.class));
+        a.setNotes(readString(in));
+        return a;
+    });
+    
+    public static final EntityCodec<Payment> PAYMENT = EntityCodec.of((out, p) -> {
+        out.writeInt(p.getId());
+        out.writeInt(p.getEnrollmentId());
+        writeDecimal(out, p.getAmount());
+        writeDateTime(out, p.getPaymentDate());
+        writeString(out, p.getPaymentMethod());
+        writeEnum(out, p.getStatus());
+    }, in -> {
+        Payment p = new Payment();
+        p.setId(in.readInt());
+        p.setEnrollmentId(in.readInt());
+        p.setAmount(readDecimal(in));
+        p.setPaymentDate(readDateTime(in));
+        p.setPaymentMethod(readString(in));
+        p.setStatus(readEnum(in, Payment.PaymentStatus.class));
+        return p;
+    });
+    
+    public static final EntityCodec<SkillTest> SKILL_TEST = EntityCodec.of((out, t) -> {
+        out.writeInt(t.getId());
+        out.writeInt(t.getStudentId());
+        writeDateTime(out, t.getTestDate());
+        out.writeInt(t.getScore());
+        writeEnum(out, t.getAssignedLevel());
+        writeString(out, t.getNotes());
+    }, in -> {
+        SkillTest t = new SkillTest();
+        t.setId(in.readInt());
+        t.setStudentId(in.readInt());
+        t.setTestDate(readDateTime(in));
+        t.setScore(in.readInt());
+        t.setAssignedLevel(readEnum(in, Student.SkillLevel.class));
+        t.setNotes(readString(in));
+        return t;
+    });
+    
+    /**
+     * Length-prefixed UTF-8; length -1 is null.
+     */
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+    
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+    
+    static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        int ordinal = in.readByte();
+        return ordinal < 0 ? null : type.getEnumConstants()[ordinal];
+    }
+    
+    static void writeDate(DataOutput out, LocalDate value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochDay());
+        }
+    }
+    
+    static LocalDate readDate(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+    }
+    
+    static void writeTime(DataOutput out, LocalTime value) throws IOException {
+        out.writeLong(value == null ? -1 : value.toNanoOfDay());
+    }
+    
+    static LocalTime readTime(DataInput in) throws IOException {
+        long nanos = in.readLong();
+        return nanos < 0 ? null : LocalTime.ofNanoOfDay(nanos);
+    }
+    
+    static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+    
+    static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+    
+    /**
+     * Length byte, the unscaled value in two's complement, then the scale.
+     * A non-null value has at least one byte, so length 0 is null.
+     */
+    static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeByte(unscaled.length);
+        out.write(unscaled);
+        out.writeInt(value.scale());
+    }
+    
+    static BigDecimal readDecimal(DataInput in) throws IOException {
+        int length = in.readUnsignedByte();
+        if (length == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), in.readInt());
+    }
+}
@@ -0,0 +1,256 @@
+package model.storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Read-only file of encoded rows, memory-mapped so the OS pages it in on demand.
+ * <p>
+ * Layout: a header (magic, version, row count, next id, index offset), the variable-length
+ * rows back to back in {@link EntityCodec} form, then a fixed-width index of
+ * {@code [id][offset]} slots in ascending id order. Nothing is decoded on open; a row
+ * is decoded each time it is read and is not cached, so the heap only holds the rows
+ * callers keep. One table is limited to 2 GB, the size of a single mapping.
+ * @param <T> Entity type
+ */
+public final class MappedTable<T> {
+    
+    private static final int MAGIC = 0x4154424C; // "ATBL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+    private static final int SLOT_BYTES = 8;
+    
+    private final MappedByteBuffer buffer;
+    private final EntityCodec<T> codec;
+    private final int count;
+    private final int nextId;
+    private final int indexOffset;
+    
+    private MappedTable(MappedByteBuffer buffer, EntityCodec<T> codec) throws IOException {
+        this.buffer = buffer;
+        this.codec = codec;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a table file");
+        }
+        this.count = buffer.getInt(8);
+        this.nextId = buffer.getInt(12);
+        this.indexOffset = buffer.getInt(16);
+        if (count < 0 || indexOffset < HEADER_BYTES
+                || (long) indexOffset + (long) count * SLOT_BYTES != buffer.capacity()) {
+            throw new IOException("Table file is truncated");
+        }
+    }
+    
+    /**
+     * Maps a table file written by {@link #write}.
+     */
+    public static <T> MappedTable<T> open(Path file, EntityCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Table file is larger than 2 GB: " + file.getFileName());
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new MappedTable<>(buffer, codec);
+            } catch (IOException e) {
+                throw new IOException(e.getMessage() + ": " + file.getFileName(), e);
+            }
+        }
+    }
+    
+    /**
+     * Writes rows, which must come in ascending id order, to a table file and forces it to disk.
+     * The codec must write the id first, as an int.
+     * @return Number of rows written
+     */
+    public static <T> int write(Path file, EntityCodec<T> codec, int nextId, Stream<T> rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream fileOut = new BufferedOutputStream(Channels.newOutputStream(channel), 256 * 1024);
+            RowWriter<T> writer = new RowWriter<>(new DataOutputStream(fileOut), codec);
+            fileOut.write(new byte[HEADER_BYTES]);
+            try {
+                rows.forEachOrdered(writer::add);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            DataOutputStream out = new DataOutputStream(fileOut);
+            for (int i = 0; i < writer.count; i++) {
+                out.writeInt(writer.ids[i]);
+                out.writeInt(writer.offsets[i]);
+            }
+            out.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(writer.count).putInt(nextId).putInt(writer.offset)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+            return writer.count;
+        }
+    }
+    
+    /**
+     * Encodes rows one by one, remembering each row's id and offset for the index.
+     */
+    private static final class RowWriter<T> {
+        final DataOutputStream out;
+        final EntityCodec<T> codec;
+        final ByteArrayOutputStream row = new ByteArrayOutputStream(256);
+        int[] ids = new int[1024];
+        int[] offsets = new int[1024];
+        int count;
+        int offset = HEADER_BYTES;
+        
+        RowWriter(DataOutputStream out, EntityCodec<T> codec) {
+            this.out = out;
+            this.codec = codec;
+        }
+        
+        void add(T entity) {
+            try {
+                row.reset();
+                codec.write(new DataOutputStream(row), entity);
+                int id = ByteBuffer.wrap(row.toByteArray(), 0, 4).getInt();
+                if (count > 0 && id <= ids[count - 1]) {
+                    throw new IllegalArgumentException("Rows are not in ascending id order at id " + id);
+                }
+                if ((long) offset + row.size() + (long) (count + 1) * SLOT_BYTES > Integer.MAX_VALUE) {
+                    throw new IOException("Table would be larger than 2 GB");
+                }
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                ids[count] = id;
+                offsets[count] = offset;
+                count++;
+                row.writeTo(out);
+                offset += row.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+    
+    public int count() {
+        return count;
+    }
+    
+    /**
+     * Gets the id the table's DAO would have handed out next when the file was written.
+     */
+    public int nextId() {
+        return nextId;
+    }
+    
+    public boolean contains(int id) {
+        return slotOf(id) >= 0;
+    }
+    
+    /**
+     * Decodes the row with the given id, or returns null if the table has none.
+     */
+    public T get(int id) {
+        int slot = slotOf(id);
+        return slot < 0 ? null : rowAt(slot);
+    }
+    
+    /**
+     * Gets the id in a slot without decoding the row. Slots are in ascending id order.
+     */
+    public int idAt(int slot) {
+        return buffer.getInt(indexOffset + slot * SLOT_BYTES);
+    }
+    
+    /**
+     * Decodes the row in a slot.
+     */
+    public T rowAt(int slot) {
+        int start = buffer.getInt(indexOffset + slot * SLOT_BYTES + 4);
+        int end = slot + 1 < count ? buffer.getInt(indexOffset + (slot + 1) * SLOT_BYTES + 4) : indexOffset;
+        // Absolute slices leave the shared buffer's position alone, so readers need no lock
+        try {
+            return codec.read(new DataInputStream(new BufferInput(buffer.slice(start, end - start))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Damaged row in table file", e);
+        }
+    }
+    
+    /**
+     * Finds the slot of an id, or returns -(insertion point) - 1 like Arrays.binarySearch.
+     */
+    public int slotOf(int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Decodes rows lazily in id order.
+     */
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            int slot;
+            
+            @Override
+            public boolean hasNext() {
+                return slot < count;
+            }
+            
+            @Override
+            public T next() {
+                if (slot >= count) {
+                    throw new NoSuchElementException();
+                }
+                return rowAt(slot++);
+            }
+        };
+    }
+    
+    /**
+     * InputStream over a byte buffer slice.
+     */
+    private static final class BufferInput extends InputStream {
+        private final ByteBuffer buffer;
+        
+        BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+    }
+}
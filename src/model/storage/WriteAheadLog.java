@@ -0,0 +1,284 @@
+package model.storage;
+
+import util.AppLogger;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log split into numbered segment files ({@code wal-000001.log}, ...).
+ * Each record is {@code [int length][int crc32][payload]}.
+ * <p>
+ * Appends only copy the record into a memory buffer and return its sequence number.
+ * {@link #sync(long)} is a group commit: the first waiting thread writes everything
+ * buffered so far and forces it to disk once, and the threads whose records were in
+ * that batch return without writing. While a sync is running, new records pile up
+ * for the next one, so the number of fsyncs stays flat as writers are added.
+ */
+public class WriteAheadLog implements Closeable {
+    
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d+)\\.log");
+    
+    private final Path directory;
+    private final boolean fsync;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    
+    // Guarded by appendLock
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(64 * 1024);
+    private long appended;
+    // Guarded by syncLock; also read under appendLock by roll()
+    private FileChannel channel;
+    private long segment;
+    private volatile long durable;
+    // Set when a write failed; buffered records were lost, so later syncs must not succeed
+    private volatile IOException failure;
+    
+    /**
+     * Opens a new segment after the highest existing one.
+     * @param directory Log directory; created if missing
+     * @param fsync Whether sync forces the file to disk, not only to the OS
+     */
+    public WriteAheadLog(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        List<Long> existing = segments(directory);
+        this.segment = existing.isEmpty() ? 1 : existing.get(existing.size() - 1) + 1;
+        this.channel = openSegment(segment);
+    }
+    
+    /**
+     * Buffers a record for the next sync.
+     * @return Sequence number of the record, starting at 1
+     */
+    public long append(byte[] payload) {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Log record too large: " + payload.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        synchronized (appendLock) {
+            writeInt(pending, payload.length);
+            writeInt(pending, (int) crc.getValue());
+            pending.write(payload, 0, payload.length);
+            return ++appended;
+        }
+    }
+    
+    /**
+     * Blocks until the record with the given sequence number is on disk.
+     */
+    public void sync(long sequence) throws IOException {
+        if (durable >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            checkHealthy();
+            byte[] batch;
+            long upTo;
+            synchronized (appendLock) {
+                batch = pending.toByteArray();
+                pending.reset();
+                upTo = appended;
+            }
+            writeFully(batch);
+            durable = upTo;
+        }
+    }
+    
+    /**
+     * Syncs everything appended so far and continues in a new segment. Records in
+     * older segments are then all applied to the store before this returns.
+     * @return Number of the new segment
+     */
+    public long roll() throws IOException {
+        synchronized (syncLock) {
+            checkHealthy();
+            synchronized (appendLock) {
+                writeFully(pending.toByteArray());
+                pending.reset();
+                durable = appended;
+                channel.close();
+                segment++;
+                channel = openSegment(segment);
+                return segment;
+            }
+        }
+    }
+    
+    /**
+     * Gets the sequence number of the last appended record.
+     */
+    public long getAppended() {
+        synchronized (appendLock) {
+            return appended;
+        }
+    }
+    
+    /**
+     * Deletes the segments numbered below the given one.
+     */
+    public void deleteSegmentsBefore(long first) throws IOException {
+        for (long number : segments(directory)) {
+            if (number < first) {
+                Files.deleteIfExists(segmentPath(directory, number));
+            }
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                writeFully(pending.toByteArray());
+                pending.reset();
+                durable = appended;
+                channel.close();
+            }
+        }
+    }
+    
+    /**
+     * Callback for {@link #replay}.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(DataInput payload) throws IOException;
+    }
+    
+    /**
+     * Reads the records of all segments numbered from the given one on, oldest first.
+     * A torn record at the end of the last segment, left by a crash during a write,
+     * is cut off; a damaged record anywhere else fails the replay.
+     * @return Number of records read
+     */
+    public static long replay(Path directory, long fromSegment, RecordHandler handler) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Long> numbers = segments(directory);
+        long records = 0;
+        for (int i = 0; i < numbers.size(); i++) {
+            if (numbers.get(i) < fromSegment) {
+                continue;
+            }
+            Path path = segmentPath(directory, numbers.get(i));
+            long validBytes = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+                byte[] payload;
+                while ((payload = readRecord(in)) != null) {
+                    handler.accept(new DataInputStream(new ByteArrayInputStream(payload)));
+                    validBytes += 8 + payload.length;
+                    records++;
+                }
+            }
+            long size = Files.size(path);
+            if (validBytes < size) {
+                if (i < numbers.size() - 1) {
+                    throw new IOException("Damaged log record in " + path.getFileName() + " at byte " + validBytes);
+                }
+                AppLogger.warning("Cutting torn log tail of " + (size - validBytes) + " bytes from "
+                        + path.getFileName());
+                try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    file.truncate(validBytes);
+                    file.force(true);
+                }
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * Reads one record, or returns null at the end of the file or at a torn or damaged record.
+     */
+    private static byte[] readRecord(DataInputStream in) throws IOException {
+        int length;
+        int checksum;
+        try {
+            length = in.readInt();
+            checksum = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0 || length > MAX_RECORD_BYTES) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == checksum ? payload : null;
+    }
+    
+    private void writeFully(byte[] batch) throws IOException {
+        if (batch.length == 0) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+    }
+    
+    private void checkHealthy() throws IOException {
+        if (failure != null) {
+            throw new IOException("Write-ahead log failed earlier: " + failure.getMessage(), failure);
+        }
+    }
+    
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(segmentPath(directory, number),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+    
+    static Path segmentPath(Path directory, long number) {
+        return directory.resolve(String.format("wal-%06d.log", number));
+    }
+    
+    /**
+     * Numbers of the existing segments, in ascending order.
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path file : files) {
+                Matcher m = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (m.matches()) {
+                    numbers.add(Long.parseLong(m.group(1)));
+                }
+            }
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+    
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+}
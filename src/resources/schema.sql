@@ -0,0 +1,88 @@
+-- Art School Management System - PostgreSQL schema
+-- Applied on startup when app.storage=postgresql; every statement is idempotent.
+
+CREATE TABLE IF NOT EXISTS instructors (
+    id SERIAL PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    phone VARCHAR(20),
+    specialization VARCHAR(100),
+    created_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS students (
+    id SERIAL PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    phone VARCHAR(20),
+    date_of_birth DATE,
+    skill_level VARCHAR(20),
+    created_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS courses (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    term VARCHAR(20),
+    skill_level VARCHAR(20),
+    instructor_id INTEGER REFERENCES instructors(id),
+    max_capacity INTEGER,
+    fee DECIMAL(10,2),
+    start_date DATE,
+    end_date DATE
+);
+
+CREATE TABLE IF NOT EXISTS sessions (
+    id SERIAL PRIMARY KEY,
+    course_id INTEGER REFERENCES courses(id),
+    session_date DATE,
+    start_time TIME,
+    end_time TIME,
+    topic VARCHAR(200)
+);
+
+CREATE TABLE IF NOT EXISTS enrollments (
+    id SERIAL PRIMARY KEY,
+    student_id INTEGER REFERENCES students(id),
+    course_id INTEGER REFERENCES courses(id),
+    enrollment_date TIMESTAMP,
+    status VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS attendance (
+    id SERIAL PRIMARY KEY,
+    enrollment_id INTEGER REFERENCES enrollments(id),
+    session_id INTEGER REFERENCES sessions(id),
+    status VARCHAR(20),
+    notes TEXT
+);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id SERIAL PRIMARY KEY,
+    enrollment_id INTEGER REFERENCES enrollments(id),
+    amount DECIMAL(10,2),
+    payment_date TIMESTAMP,
+    payment_method VARCHAR(50),
+    status VARCHAR(20)
+);
+
+CREATE TABLE IF NOT EXISTS skill_tests (
+    id SERIAL PRIMARY KEY,
+    student_id INTEGER REFERENCES students(id),
+    test_date TIMESTAMP,
+    score INTEGER,
+    assigned_level VARCHAR(20),
+    notes TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_courses_instructor ON courses(instructor_id);
+CREATE INDEX IF NOT EXISTS idx_sessions_course ON sessions(course_id);
+CREATE INDEX IF NOT EXISTS idx_enrollments_student ON enrollments(student_id);
+CREATE INDEX IF NOT EXISTS idx_enrollments_course ON enrollments(course_id);
+CREATE INDEX IF NOT EXISTS idx_attendance_enrollment ON attendance(enrollment_id);
+CREATE INDEX IF NOT EXISTS idx_attendance_session ON attendance(session_id);
+CREATE INDEX IF NOT EXISTS idx_payments_enrollment ON payments(enrollment_id);
+CREATE INDEX IF NOT EXISTS idx_skill_tests_student ON skill_tests(student_id);
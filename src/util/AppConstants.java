@@ -71,6 +71,27 @@ public final class AppConstants {
     public static final int DB_DEFAULT_PORT = 5432;
     public static final String DB_DEFAULT_NAME = "artschool";
     public static final String DB_DEFAULT_USER = "postgres";
+    public static final String DB_DEFAULT_PASSWORD = "postgres";
+    
+    // Connection Pool
+    public static final int DB_POOL_MIN_SIZE = 2;
+    public static final int DB_POOL_MAX_SIZE = 10;
+    public static final long DB_POOL_BORROW_TIMEOUT_MS = 5_000;
+    public static final long DB_POOL_IDLE_TIMEOUT_MS = 600_000;
+    public static final long DB_POOL_EVICTION_INTERVAL_MS = 30_000;
+    public static final int DB_POOL_VALIDATION_TIMEOUT_SECONDS = 2;
+    public static final long DB_POOL_LEAK_THRESHOLD_MS = 60_000;
+    public static final int DB_PREPARE_THRESHOLD = 1;
+    public static final int DB_STATEMENT_CACHE_QUERIES = 256;
+    
+    // Storage Backends
+    public static final String STORAGE_MEMORY = "memory";
+    public static final String STORAGE_POSTGRESQL = "postgresql";
+    
+    // In-memory persistence
+    public static final String MEMORY_DEFAULT_DATA_DIR = "";
+    public static final boolean MEMORY_DEFAULT_FSYNC = true;
+    public static final int MEMORY_SNAPSHOT_INTERVAL_SECONDS = 300;
     
     // File paths
     public static final String CONFIG_FILE = "config.properties";
@@ -60,6 +60,9 @@ public class ConfigManager {
         properties.setProperty("db.host", AppConstants.DB_DEFAULT_HOST);
         properties.setProperty("db.port", String.valueOf(AppConstants.DB_DEFAULT_PORT));
         properties.setProperty("db.name", AppConstants.DB_DEFAULT_NAME);
+        properties.setProperty("db.user", AppConstants.DB_DEFAULT_USER);
+        properties.setProperty("db.password", AppConstants.DB_DEFAULT_PASSWORD);
+        properties.setProperty("app.storage", AppConstants.STORAGE_MEMORY);
         properties.setProperty("default.course.capacity", "20");
     }
     
@@ -133,6 +136,47 @@ public class ConfigManager {
         return getString("db.name", AppConstants.DB_DEFAULT_NAME);
     }
     
+    public String getDbUser() {
+        return getString("db.user", AppConstants.DB_DEFAULT_USER);
+    }
+    
+    public String getDbPassword() {
+        return getString("db.password", AppConstants.DB_DEFAULT_PASSWORD);
+    }
+    
+    /**
+     * Builds the PostgreSQL JDBC URL from the db.* settings, including the
+     * driver's server-side prepared statement cache parameters.
+     */
+    public String getDbUrl() {
+        return "jdbc:postgresql://" + getDbHost() + ":" + getDbPort() + "/" + getDbName()
+                + "?prepareThreshold=" + getInt("db.prepareThreshold", AppConstants.DB_PREPARE_THRESHOLD)
+                + "&preparedStatementCacheQueries="
+                + getInt("db.preparedStatementCacheQueries", AppConstants.DB_STATEMENT_CACHE_QUERIES);
+    }
+    
+    /**
+     * Gets the storage backend: "memory" or "postgresql".
+     */
+    public String getStorage() {
+        return getString("app.storage", AppConstants.STORAGE_MEMORY);
+    }
+    
+    /**
+     * Gets the directory the in-memory storage persists to; empty keeps data in memory only.
+     */
+    public String getMemoryDataDir() {
+        return getString("memory.dataDir", AppConstants.MEMORY_DEFAULT_DATA_DIR).trim();
+    }
+    
+    public boolean isMemoryFsync() {
+        return getBoolean("memory.fsync", AppConstants.MEMORY_DEFAULT_FSYNC);
+    }
+    
+    public int getMemorySnapshotIntervalSeconds() {
+        return getInt("memory.snapshotIntervalSeconds", AppConstants.MEMORY_SNAPSHOT_INTERVAL_SECONDS);
+    }
+    
     public int getDefaultCourseCapacity() {
         return getInt("default.course.capacity", 20);
     }
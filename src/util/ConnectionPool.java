@@ -0,0 +1,354 @@
+package util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool.
+ * Connections are validated on borrow, idle ones above the minimum size are evicted,
+ * and connections held longer than the leak threshold are reported with the stack
+ * trace of the code that borrowed them.
+ */
+public class ConnectionPool implements ConnectionProvider {
+    
+    /**
+     * Opens new physical connections for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+    
+    private final ConnectionPoolConfig config;
+    private final ConnectionFactory factory;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+    
+    public ConnectionPool(ConnectionPoolConfig config) {
+        this(config, () -> DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword()));
+    }
+    
+    public ConnectionPool(ConnectionPoolConfig config, ConnectionFactory factory) {
+        config.validate();
+        this.config = config;
+        this.factory = factory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.execute(this::fillToMinimum);
+        if (config.getEvictionIntervalMs() > 0) {
+            housekeeper.scheduleWithFixedDelay(this::housekeep, config.getEvictionIntervalMs(),
+                    config.getEvictionIntervalMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Borrows a connection, waiting up to the configured borrow timeout.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        waiters.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        if (!acquired) {
+            timeoutCount.increment();
+            throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMs()
+                    + " ms waiting for a database connection (active=" + borrowed.size()
+                    + ", max=" + config.getMaxSize() + ").");
+        }
+        
+        try {
+            PooledEntry entry = takeValidEntry();
+            entry.borrowedAtNanos = System.nanoTime();
+            entry.leakReported = false;
+            entry.borrowTrace = config.getLeakDetectionThresholdMs() > 0
+                    ? new Throwable("Connection borrowed by " + Thread.currentThread().getName())
+                    : null;
+            borrowed.add(entry);
+            borrowCount.increment();
+            borrowLatency.record(System.nanoTime() - start);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandle(entry));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns current pool statistics.
+     */
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(borrowed.size(), idle.size(), totalConnections.get(), waiters.get(),
+                config.getMaxSize(), borrowCount.sum(), timeoutCount.sum(), leakCount.sum(),
+                borrowLatency.snapshot());
+    }
+    
+    public ConnectionPoolConfig getConfig() {
+        return config;
+    }
+    
+    /**
+     * Closes idle connections and stops housekeeping.
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+    
+    private PooledEntry takeValidEntry() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isUsable(entry)) {
+                return entry;
+            }
+            discard(entry);
+        }
+        return openEntry();
+    }
+    
+    private PooledEntry openEntry() throws SQLException {
+        PooledEntry entry = new PooledEntry(factory.create());
+        totalConnections.incrementAndGet();
+        return entry;
+    }
+    
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            return !entry.physical.isClosed() && entry.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Hands a borrowed connection back to the pool.
+     */
+    private void release(PooledEntry entry, boolean broken) {
+        if (!borrowed.remove(entry)) {
+            return;
+        }
+        try {
+            if (broken || closed || !resetState(entry)) {
+                discard(entry);
+            } else {
+                entry.lastUsedNanos = System.nanoTime();
+                idle.offerFirst(entry);
+                if (closed && idle.remove(entry)) {
+                    discard(entry);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private boolean resetState(PooledEntry entry) {
+        try {
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+    
+    private void discard(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            AppLogger.debug("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+    
+    private void housekeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            AppLogger.error("Connection pool housekeeping failed", e);
+        }
+    }
+    
+    /**
+     * Closes connections idle for longer than the idle timeout, keeping the minimum size.
+     */
+    private void evictIdle() {
+        long idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMs());
+        if (idleTimeoutNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledEntry entry : idle) {
+            if (totalConnections.get() <= config.getMinSize()) {
+                break;
+            }
+            if (now - entry.lastUsedNanos > idleTimeoutNanos && idle.remove(entry)) {
+                discard(entry);
+            }
+        }
+    }
+    
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < config.getMinSize()) {
+            if (!permits.tryAcquire()) {
+                return;
+            }
+            try {
+                idle.offerLast(openEntry());
+            } catch (SQLException e) {
+                AppLogger.warning("Could not open pooled connection: " + e.getMessage());
+                return;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+    
+    private void detectLeaks() {
+        long threshold = config.getLeakDetectionThresholdMs();
+        if (threshold == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledEntry entry : borrowed) {
+            long heldMs = TimeUnit.NANOSECONDS.toMillis(now - entry.borrowedAtNanos);
+            if (heldMs > threshold && !entry.leakReported) {
+                entry.leakReported = true;
+                leakCount.increment();
+                AppLogger.warning("Possible connection leak: connection held for " + heldMs + " ms\n"
+                        + formatTrace(entry.borrowTrace));
+            }
+        }
+    }
+    
+    private static String formatTrace(Throwable trace) {
+        if (trace == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(trace.getMessage());
+        for (StackTraceElement element : trace.getStackTrace()) {
+            sb.append("\n    at ").append(element);
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * A physical connection owned by the pool.
+     */
+    private static final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastUsedNanos = System.nanoTime();
+        private volatile long borrowedAtNanos;
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+        
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+    }
+    
+    /**
+     * Logical connection handed to callers; close() returns it to the pool.
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned = false;
+        private boolean broken = false;
+        
+        private ConnectionHandle(PooledEntry entry) {
+            this.entry = entry;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry, broken);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool.");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    broken = true;
+                }
+                throw cause;
+            }
+        }
+        
+        /**
+         * SQLState class 08 means the connection itself is unusable.
+         */
+        private boolean isFatal(SQLException e) {
+            String state = e.getSQLState();
+            return state != null && state.startsWith("08");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package util;
+
+/**
+ * Settings for {@link ConnectionPool}.
+ */
+public class ConnectionPoolConfig {
+    
+    private String url;
+    private String user;
+    private String password;
+    private int minSize = AppConstants.DB_POOL_MIN_SIZE;
+    private int maxSize = AppConstants.DB_POOL_MAX_SIZE;
+    private long borrowTimeoutMs = AppConstants.DB_POOL_BORROW_TIMEOUT_MS;
+    private long idleTimeoutMs = AppConstants.DB_POOL_IDLE_TIMEOUT_MS;
+    private long evictionIntervalMs = AppConstants.DB_POOL_EVICTION_INTERVAL_MS;
+    private int validationTimeoutSeconds = AppConstants.DB_POOL_VALIDATION_TIMEOUT_SECONDS;
+    private long leakDetectionThresholdMs = AppConstants.DB_POOL_LEAK_THRESHOLD_MS;
+    
+    public ConnectionPoolConfig() {}
+    
+    public ConnectionPoolConfig(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+    
+    /**
+     * Builds pool settings from the db.* keys of config.properties.
+     */
+    public static ConnectionPoolConfig fromConfig(ConfigManager config) {
+        ConnectionPoolConfig poolConfig = new ConnectionPoolConfig(
+                config.getDbUrl(), config.getDbUser(), config.getDbPassword());
+        poolConfig.setMinSize(config.getInt("db.pool.minSize", AppConstants.DB_POOL_MIN_SIZE));
+        poolConfig.setMaxSize(config.getInt("db.pool.maxSize", AppConstants.DB_POOL_MAX_SIZE));
+        poolConfig.setBorrowTimeoutMs(
+                config.getInt("db.pool.borrowTimeoutMs", (int) AppConstants.DB_POOL_BORROW_TIMEOUT_MS));
+        poolConfig.setIdleTimeoutMs(
+                config.getInt("db.pool.idleTimeoutMs", (int) AppConstants.DB_POOL_IDLE_TIMEOUT_MS));
+        poolConfig.setEvictionIntervalMs(
+                config.getInt("db.pool.evictionIntervalMs", (int) AppConstants.DB_POOL_EVICTION_INTERVAL_MS));
+        poolConfig.setValidationTimeoutSeconds(
+                config.getInt("db.pool.validationTimeoutSeconds", AppConstants.DB_POOL_VALIDATION_TIMEOUT_SECONDS));
+        poolConfig.setLeakDetectionThresholdMs(
+                config.getInt("db.pool.leakDetectionThresholdMs", (int) AppConstants.DB_POOL_LEAK_THRESHOLD_MS));
+        return poolConfig;
+    }
+    
+    /**
+     * Checks that the sizes and timeouts are usable.
+     */
+    public void validate() {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                "Invalid pool size: min=" + minSize + ", max=" + maxSize + ".");
+        }
+        if (borrowTimeoutMs < 0 || idleTimeoutMs < 0 || evictionIntervalMs < 0 || leakDetectionThresholdMs < 0) {
+            throw new IllegalArgumentException("Pool timeouts must not be negative.");
+        }
+    }
+    
+    // Getters and Setters
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    
+    public String getUser() { return user; }
+    public void setUser(String user) { this.user = user; }
+    
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    
+    public int getMinSize() { return minSize; }
+    public void setMinSize(int minSize) { this.minSize = minSize; }
+    
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+    
+    public long getBorrowTimeoutMs() { return borrowTimeoutMs; }
+    public void setBorrowTimeoutMs(long borrowTimeoutMs) { this.borrowTimeoutMs = borrowTimeoutMs; }
+    
+    public long getIdleTimeoutMs() { return idleTimeoutMs; }
+    public void setIdleTimeoutMs(long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+    
+    public long getEvictionIntervalMs() { return evictionIntervalMs; }
+    public void setEvictionIntervalMs(long evictionIntervalMs) { this.evictionIntervalMs = evictionIntervalMs; }
+    
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+    
+    public long getLeakDetectionThresholdMs() { return leakDetectionThresholdMs; }
+    public void setLeakDetectionThresholdMs(long leakDetectionThresholdMs) {
+        this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+    }
+}
@@ -0,0 +1,24 @@
+package util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Source of JDBC connections.
+ * Callers must close every connection they obtain so it can be reused.
+ */
+public interface ConnectionProvider extends AutoCloseable {
+    
+    /**
+     * Obtains a connection.
+     * @return An open connection; closing it hands it back to the provider
+     * @throws SQLException if no connection could be obtained
+     */
+    Connection getConnection() throws SQLException;
+    
+    /**
+     * Releases all resources held by the provider.
+     */
+    @Override
+    void close();
+}
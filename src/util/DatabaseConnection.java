@@ -1,30 +1,28 @@
 package util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
  * Database connection manager for PostgreSQL.
- * This class will be used when PostgreSQL is integrated.
+ * Hands out connections from a {@link ConnectionProvider}, by default a
+ * {@link ConnectionPool} configured from the db.* keys in config.properties.
+ * Callers must close the connections they obtain to return them to the pool.
  */
 public class DatabaseConnection {
     
-    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/artschool";
-    private static final String DEFAULT_USER = "postgres";
-    private static final String DEFAULT_PASSWORD = "postgres";
-    
     private static DatabaseConnection instance;
-    private Connection connection;
+    private ConnectionProvider provider;
     
     private String url;
     private String user;
     private String password;
     
     private DatabaseConnection() {
-        this.url = DEFAULT_URL;
-        this.user = DEFAULT_USER;
-        this.password = DEFAULT_PASSWORD;
+        ConfigManager config = ConfigManager.getInstance();
+        this.url = config.getDbUrl();
+        this.user = config.getDbUser();
+        this.password = config.getDbPassword();
     }
     
     /**
@@ -39,31 +37,50 @@ public class DatabaseConnection {
     
     /**
      * Configures database connection parameters.
+     * An existing pool is closed and rebuilt with the new credentials on next use.
      */
-    public void configure(String url, String user, String password) {
+    public synchronized void configure(String url, String user, String password) {
         this.url = url;
         this.user = user;
         this.password = password;
+        closeConnection();
     }
     
     /**
-     * Gets database connection.
+     * Replaces the connection provider, closing the previous one.
      */
-    public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(url, user, password);
+    public synchronized void setConnectionProvider(ConnectionProvider provider) {
+        closeConnection();
+        this.provider = provider;
+    }
+    
+    /**
+     * Gets the active connection provider, creating the pool on first use.
+     */
+    public synchronized ConnectionProvider getConnectionProvider() {
+        if (provider == null) {
+            ConnectionPoolConfig poolConfig = ConnectionPoolConfig.fromConfig(ConfigManager.getInstance());
+            poolConfig.setUrl(url);
+            poolConfig.setUser(user);
+            poolConfig.setPassword(password);
+            provider = new ConnectionPool(poolConfig);
         }
-        return connection;
+        return provider;
+    }
+    
+    /**
+     * Gets a database connection from the provider.
+     */
+    public Connection getConnection() throws SQLException {
+        return getConnectionProvider().getConnection();
     }
     
     /**
      * Tests database connection.
      */
     public boolean testConnection() {
-        try {
-            Connection conn = getConnection();
-            boolean valid = conn.isValid(5);
-            return valid;
+        try (Connection conn = getConnection()) {
+            return conn.isValid(5);
         } catch (SQLException e) {
             System.err.println("Database connection failed: " + e.getMessage());
             return false;
@@ -71,15 +88,19 @@ public class DatabaseConnection {
     }
     
     /**
-     * Closes database connection.
+     * Returns pool statistics, or null if the provider is not a pool.
+     */
+    public synchronized PoolMetrics getPoolMetrics() {
+        return provider instanceof ConnectionPool pool ? pool.getMetrics() : null;
+    }
+    
+    /**
+     * Closes the connection provider and all pooled connections.
      */
-    public void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                System.err.println("Error closing connection: " + e.getMessage());
-            }
+    public synchronized void closeConnection() {
+        if (provider != null) {
+            provider.close();
+            provider = null;
         }
     }
     
@@ -0,0 +1,48 @@
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded map from idempotency key to the result of the request that first used it.
+ * Only the most recently used keys are held, up to the capacity; a retry is recognised
+ * as long as its key has not been evicted.
+ * @param <V> Result type
+ */
+public final class IdempotencyCache<V> {
+    
+    private final Map<String, V> results;
+    
+    /**
+     * @param capacity Number of keys to hold
+     */
+    public IdempotencyCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.results = new LinkedHashMap<>(Math.min(capacity, 1024) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    
+    /**
+     * Gets the result recorded for a key, or null if the key is unknown or was evicted.
+     */
+    public synchronized V get(String key) {
+        return results.get(key);
+    }
+    
+    /**
+     * Records the result for a key, replacing any earlier one.
+     */
+    public synchronized void put(String key, V result) {
+        results.put(key, result);
+    }
+    
+    public synchronized int size() {
+        return results.size();
+    }
+}
@@ -0,0 +1,94 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed microsecond buckets.
+ */
+public class LatencyHistogram {
+    
+    /** Upper bounds (inclusive) of each bucket in microseconds; the last bucket is unbounded. */
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+        50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, Long.MAX_VALUE
+    };
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length);
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    
+    /**
+     * Records one sample.
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = 0;
+        while (micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        totalMicros.add(micros);
+        samples.increment();
+    }
+    
+    /**
+     * Returns a point-in-time copy of the histogram.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(BUCKET_BOUNDS_MICROS.clone(), copy, samples.sum(), totalMicros.sum());
+    }
+    
+    /**
+     * Immutable histogram snapshot.
+     */
+    public static final class Snapshot {
+        private final long[] bucketBoundsMicros;
+        private final long[] counts;
+        private final long sampleCount;
+        private final long totalMicros;
+        
+        private Snapshot(long[] bucketBoundsMicros, long[] counts, long sampleCount, long totalMicros) {
+            this.bucketBoundsMicros = bucketBoundsMicros;
+            this.counts = counts;
+            this.sampleCount = sampleCount;
+            this.totalMicros = totalMicros;
+        }
+        
+        public long[] getBucketBoundsMicros() { return bucketBoundsMicros.clone(); }
+        public long[] getCounts() { return counts.clone(); }
+        public long getSampleCount() { return sampleCount; }
+        
+        public double getMeanMicros() {
+            return sampleCount == 0 ? 0.0 : (double) totalMicros / sampleCount;
+        }
+        
+        /**
+         * Returns the bucket upper bound containing the given percentile (0-100).
+         */
+        public long getPercentileMicros(double percentile) {
+            if (sampleCount == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * sampleCount);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketBoundsMicros[i];
+                }
+            }
+            return bucketBoundsMicros[bucketBoundsMicros.length - 1];
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Latency[samples=%d, mean=%.1fus, p50<=%dus, p99<=%dus]",
+                    sampleCount, getMeanMicros(), getPercentileMicros(50), getPercentileMicros(99));
+        }
+    }
+}
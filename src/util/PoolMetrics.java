@@ -0,0 +1,48 @@
+package util;
+
+/**
+ * Point-in-time statistics of a {@link ConnectionPool}.
+ */
+public class PoolMetrics {
+    
+    private final int active;
+    private final int idle;
+    private final int total;
+    private final int waiters;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long timeoutCount;
+    private final long leakCount;
+    private final LatencyHistogram.Snapshot borrowLatency;
+    
+    public PoolMetrics(int active, int idle, int total, int waiters, int maxSize,
+                       long borrowCount, long timeoutCount, long leakCount,
+                       LatencyHistogram.Snapshot borrowLatency) {
+        this.active = active;
+        this.idle = idle;
+        this.total = total;
+        this.waiters = waiters;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.borrowLatency = borrowLatency;
+    }
+    
+    // Getters
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getTotal() { return total; }
+    public int getWaiters() { return waiters; }
+    public int getMaxSize() { return maxSize; }
+    public long getBorrowCount() { return borrowCount; }
+    public long getTimeoutCount() { return timeoutCount; }
+    public long getLeakCount() { return leakCount; }
+    public LatencyHistogram.Snapshot getBorrowLatency() { return borrowLatency; }
+    
+    @Override
+    public String toString() {
+        return String.format("PoolMetrics[active=%d, idle=%d, total=%d/%d, waiters=%d, borrows=%d, timeouts=%d, leaks=%d, %s]",
+                active, idle, total, maxSize, waiters, borrowCount, timeoutCount, leakCount, borrowLatency);
+    }
+}
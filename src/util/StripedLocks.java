@@ -0,0 +1,83 @@
+package util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks selected by key hash, so unrelated keys rarely contend
+ * while equal keys are always serialized.
+ */
+public final class StripedLocks {
+    
+    private final ReentrantLock[] stripes;
+    
+    /**
+     * @param stripes Number of locks; rounded up to a power of two
+     */
+    public StripedLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+    
+    /**
+     * Runs an action while holding the lock for the given key.
+     */
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = stripes[indexFor(key)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Runs an action while holding the locks for both keys.
+     * Stripes are always acquired in index order, so callers cannot deadlock.
+     */
+    public <T> T withLocks(Object first, Object second, Supplier<T> action) {
+        int a = indexFor(first);
+        int b = indexFor(second);
+        if (a == b) {
+            return withLock(first, action);
+        }
+        ReentrantLock low = stripes[Math.min(a, b)];
+        ReentrantLock high = stripes[Math.max(a, b)];
+        low.lock();
+        try {
+            high.lock();
+            try {
+                return action.get();
+            } finally {
+                high.unlock();
+            }
+        } finally {
+            low.unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of stripes.
+     */
+    public int size() {
+        return stripes.length;
+    }
+    
+    private int indexFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & (stripes.length - 1);
+    }
+}
@@ -4,6 +4,7 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
+import javax.swing.table.TableModel;
 import java.awt.*;
 
 /**
@@ -114,7 +115,7 @@ public class SwingUtils {
     /**
      * Creates a styled table.
      */
-    public static JTable createTable(DefaultTableModel model) {
+    public static JTable createTable(TableModel model) {
         JTable table = new JTable(model);
         table.setFont(LABEL_FONT);
         table.setRowHeight(30);
@@ -1,20 +1,33 @@
 package view;
 
 import controller.AttendanceController;
+import controller.AttendanceController.RollCallOutcome;
+import controller.AttendanceController.RollCallResult;
 import controller.CourseController;
 import controller.EnrollmentController;
 import model.entity.Attendance;
-import model.entity.Course;
 import model.entity.Enrollment;
+import model.entity.EnrollmentView;
 import model.entity.Session;
+import model.event.EventBus;
 import util.SwingUtils;
+import view.components.BackgroundTasks;
+import view.components.EventCoalescer;
+import view.components.TableLoader;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for attendance management.
+ * Attendance changes for the enrollment on display are applied as row deltas, and
+ * enrollment changes reload the enrollment list.
  */
 public class AttendancePanel extends JPanel {
     
@@ -24,15 +37,25 @@ public class AttendancePanel extends JPanel {
     
     private JTable table;
     private DefaultTableModel tableModel;
+    private TableLoader<Attendance> loader;
     
     private JComboBox<String> cmbEnrollment;
     private JComboBox<String> cmbSession;
     private JComboBox<Attendance.AttendanceStatus> cmbStatus;
     private JTextField txtNotes;
     
+    // Enrollment whose attendance the table shows, -1 before the first view
+    private int shownEnrollmentId = -1;
+    
+    /**
+     * Students on a session's roll and the status already recorded for each.
+     */
+    private record Roll(List<Enrollment> roster, Map<Integer, Attendance.AttendanceStatus> recorded) {}
+    
     public AttendancePanel(AttendanceController attendanceController,
                            EnrollmentController enrollmentController,
-                           CourseController courseController) {
+                           CourseController courseController,
+                           EventBus eventBus) {
         this.attendanceController = attendanceController;
         this.enrollmentController = enrollmentController;
         this.courseController = courseController;
@@ -56,6 +79,10 @@ public class AttendancePanel extends JPanel {
         mainPanel.add(createTablePanel(), BorderLayout.CENTER);
         
         add(mainPanel, BorderLayout.CENTER);
+        
+        new EventCoalescer<>(eventBus, Attendance.class,
+            events -> loader.apply(events, a -> a.getEnrollmentId() == shownEnrollmentId));
+        EventCoalescer.onAny(eventBus, this::refreshEnrollmentComboBox, Enrollment.class);
     }
     
     private JPanel createFormPanel() {
@@ -95,12 +122,15 @@ public class AttendancePanel extends JPanel {
         
         JButton btnRecord = SwingUtils.createSuccessButton("Record");
         JButton btnLoadSessions = SwingUtils.createPrimaryButton("Load Sessions");
+        JButton btnTakeRoll = SwingUtils.createPrimaryButton("Take Roll...");
         
         btnRecord.addActionListener(e -> recordAttendance());
         btnLoadSessions.addActionListener(e -> loadSessions());
+        btnTakeRoll.addActionListener(e -> takeRoll());
         
         btnPanel.add(btnRecord);
         btnPanel.add(btnLoadSessions);
+        btnPanel.add(btnTakeRoll);
         
         formCard.add(btnPanel);
         
@@ -139,6 +169,13 @@ public class AttendancePanel extends JPanel {
         };
         
         table = SwingUtils.createTable(tableModel);
+        loader = new TableLoader<>(table, a -> new Object[]{
+            a.getId(),
+            a.getEnrollmentId(),
+            a.getSessionId(),
+            a.getStatus(),
+            a.getNotes()
+        });
         
         JScrollPane scrollPane = new JScrollPane(table);
         tableCard.add(scrollPane, BorderLayout.CENTER);
@@ -149,6 +186,7 @@ public class AttendancePanel extends JPanel {
         
         JButton btnViewByEnrollment = SwingUtils.createPrimaryButton("View Selected");
         btnViewByEnrollment.addActionListener(e -> viewAttendanceByEnrollment());
+        bottomPanel.add(loader.getProgressBar());
         bottomPanel.add(btnViewByEnrollment);
         
         tableCard.add(bottomPanel, BorderLayout.SOUTH);
@@ -157,15 +195,17 @@ public class AttendancePanel extends JPanel {
     }
     
     private void refreshEnrollmentComboBox() {
-        cmbEnrollment.removeAllItems();
-        cmbEnrollment.addItem("-- Select Enrollment --");
-        
-        List<Enrollment> enrollments = enrollmentController.getActiveEnrollments();
-        for (Enrollment e : enrollments) {
-            String courseName = courseController.getCourseById(e.getCourseId())
-                .map(Course::getName).orElse("Unknown");
-            cmbEnrollment.addItem(e.getId() + " - " + courseName + " (Student: " + e.getStudentId() + ")");
-        }
+        BackgroundTasks.run(() -> {
+            List<String> items = new ArrayList<>();
+            items.add("-- Select Enrollment --");
+            for (EnrollmentView e : enrollmentController.getEnrollmentViews()) {
+                if (e.getStatus() == Enrollment.Status.ACTIVE) {
+                    String courseName = e.getCourseName() != null ? e.getCourseName() : "Unknown";
+                    items.add(e.getId() + " - " + courseName + " (Student: " + e.getStudentId() + ")");
+                }
+            }
+            return items.toArray(new String[0]);
+        }, items -> cmbEnrollment.setModel(new DefaultComboBoxModel<>(items)), this);
     }
     
     private void loadSessions() {
@@ -233,12 +273,89 @@ public class AttendancePanel extends JPanel {
                 txtNotes.getText()
             );
             SwingUtils.showSuccess(this, "Attendance recorded! ID: " + attendance.getId());
-            viewAttendanceByEnrollment();
+            if (enrollmentId != shownEnrollmentId) {
+                viewAttendanceByEnrollment();
+            }
         } catch (IllegalArgumentException e) {
             SwingUtils.showError(this, e.getMessage());
         }
     }
     
+    /**
+     * Records the whole class for the selected session at once.
+     */
+    private void takeRoll() {
+        int sessionId = getSelectedSessionId();
+        if (sessionId < 0) {
+            SwingUtils.showWarning(this, "Please load and select a session.");
+            return;
+        }
+        BackgroundTasks.run(() -> {
+            Map<Integer, Attendance.AttendanceStatus> recorded = new HashMap<>();
+            for (Attendance a : attendanceController.getSessionAttendance(sessionId)) {
+                recorded.putIfAbsent(a.getEnrollmentId(), a.getStatus());
+            }
+            return new Roll(attendanceController.getSessionRoster(sessionId), recorded);
+        }, roll -> showRollDialog(sessionId, roll), this);
+    }
+    
+    private void showRollDialog(int sessionId, Roll roll) {
+        if (roll.roster().isEmpty()) {
+            SwingUtils.showInfo(this, "No active enrollments in this session's course.");
+            return;
+        }
+        DefaultTableModel model = new DefaultTableModel(new String[]{"Enrollment ID", "Student ID", "Status"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return column == 2;
+            }
+        };
+        for (Enrollment e : roll.roster()) {
+            model.addRow(new Object[]{e.getId(), e.getStudentId(),
+                roll.recorded().getOrDefault(e.getId(), Attendance.AttendanceStatus.PRESENT)});
+        }
+        JTable rollTable = SwingUtils.createTable(model);
+        rollTable.getColumnModel().getColumn(2).setCellEditor(
+            new DefaultCellEditor(new JComboBox<>(Attendance.AttendanceStatus.values())));
+        JScrollPane scrollPane = new JScrollPane(rollTable);
+        scrollPane.setPreferredSize(new Dimension(420, 300));
+        
+        int choice = JOptionPane.showConfirmDialog(this, scrollPane, "Take Roll",
+            JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+        if (rollTable.isEditing()) {
+            rollTable.getCellEditor().stopCellEditing();
+        }
+        Map<Integer, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            statuses.put((Integer) model.getValueAt(row, 0), (Attendance.AttendanceStatus) model.getValueAt(row, 2));
+        }
+        BackgroundTasks.run(() -> attendanceController.recordSessionAttendance(sessionId, statuses),
+            this::showRollResults, this);
+    }
+    
+    private void showRollResults(List<RollCallResult> results) {
+        Map<RollCallOutcome, Integer> counts = new EnumMap<>(RollCallOutcome.class);
+        StringBuilder rejected = new StringBuilder();
+        for (RollCallResult result : results) {
+            counts.merge(result.outcome(), 1, Integer::sum);
+            if (result.outcome() == RollCallOutcome.REJECTED) {
+                rejected.append("\nEnrollment ").append(result.enrollmentId()).append(": ").append(result.message());
+            }
+        }
+        String summary = String.format("Roll recorded: %d created, %d updated, %d unchanged.",
+            counts.getOrDefault(RollCallOutcome.CREATED, 0),
+            counts.getOrDefault(RollCallOutcome.UPDATED, 0),
+            counts.getOrDefault(RollCallOutcome.UNCHANGED, 0));
+        if (rejected.length() > 0) {
+            SwingUtils.showWarning(this, summary + "\nRejected:" + rejected);
+        } else {
+            SwingUtils.showSuccess(this, summary);
+        }
+    }
+    
     private void viewAttendanceByEnrollment() {
         int enrollmentId = getSelectedEnrollmentId();
         if (enrollmentId < 0) {
@@ -246,18 +363,8 @@ public class AttendancePanel extends JPanel {
             return;
         }
         
-        tableModel.setRowCount(0);
-        List<Attendance> attendances = attendanceController.getEnrollmentAttendance(enrollmentId);
-        
-        for (Attendance a : attendances) {
-            tableModel.addRow(new Object[]{
-                a.getId(),
-                a.getEnrollmentId(),
-                a.getSessionId(),
-                a.getStatus(),
-                a.getNotes()
-            });
-        }
+        shownEnrollmentId = enrollmentId;
+        loader.load(() -> attendanceController.getEnrollmentAttendance(enrollmentId));
     }
     
     private void calculateAttendance() {
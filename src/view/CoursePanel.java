@@ -5,9 +5,12 @@ import controller.InstructorController;
 import model.entity.Course;
 import model.entity.Instructor;
 import model.entity.Student;
+import model.event.EventBus;
 import util.SwingUtils;
+import view.components.BackgroundTasks;
+import view.components.EventCoalescer;
+import view.components.PagedTableModel;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,13 +19,16 @@ import java.util.List;
 
 /**
  * Panel for course management.
+ * Course changes published on the event bus are applied to the table as they happen,
+ * and instructor changes reload the instructor list.
  */
 public class CoursePanel extends JPanel {
     
     private final CourseController courseController;
     private final InstructorController instructorController;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Course> tableModel;
+    private SwingWorker<?, ?> instructorLoad;
     
     // Form fields
     private JTextField txtName;
@@ -37,7 +43,8 @@ public class CoursePanel extends JPanel {
     
     private int selectedCourseId = -1;
     
-    public CoursePanel(CourseController courseController, InstructorController instructorController) {
+    public CoursePanel(CourseController courseController, InstructorController instructorController,
+                       EventBus eventBus) {
         this.courseController = courseController;
         this.instructorController = instructorController;
         
@@ -61,6 +68,8 @@ public class CoursePanel extends JPanel {
         
         add(mainPanel, BorderLayout.CENTER);
         
+        new EventCoalescer<>(eventBus, Course.class, tableModel::apply);
+        EventCoalescer.onAny(eventBus, this::refreshInstructorComboBox, Instructor.class);
         refreshTable();
     }
     
@@ -138,14 +147,20 @@ public class CoursePanel extends JPanel {
         
         // Table
         String[] columns = {"ID", "Name", "Term", "Level", "Instructor ID", "Capacity", "Fee"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        String[] sortColumns = {null, "name", "term", "skill_level", "instructor_id", "max_capacity", "fee"};
+        tableModel = new PagedTableModel<>(columns, sortColumns, courseController::getCoursesPage,
+            courseController::getCourseCount, c -> new Object[]{
+                c.getId(),
+                c.getName(),
+                c.getTerm(),
+                c.getSkillLevel(),
+                c.getInstructorId(),
+                c.getMaxCapacity(),
+                "$" + c.getFee()
+            });
         
         table = SwingUtils.createTable(tableModel);
+        tableModel.installSortHeader(table);
         table.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 loadSelectedCourse();
@@ -173,35 +188,28 @@ public class CoursePanel extends JPanel {
     }
     
     private void refreshInstructorComboBox() {
-        cmbInstructor.removeAllItems();
-        cmbInstructor.addItem("-- Select Instructor --");
-        List<Instructor> instructors = instructorController.getAllInstructors();
-        for (Instructor i : instructors) {
-            cmbInstructor.addItem(i.getId() + " - " + i.getFullName());
+        if (instructorLoad != null) {
+            instructorLoad.cancel(false);
         }
+        instructorLoad = BackgroundTasks.run(() -> {
+            List<Instructor> instructors = instructorController.getAllInstructors();
+            String[] items = new String[instructors.size() + 1];
+            items[0] = "-- Select Instructor --";
+            for (int i = 0; i < instructors.size(); i++) {
+                items[i + 1] = instructors.get(i).getId() + " - " + instructors.get(i).getFullName();
+            }
+            return items;
+        }, items -> cmbInstructor.setModel(new DefaultComboBoxModel<>(items)), this);
     }
     
     public void refreshTable() {
-        tableModel.setRowCount(0);
         refreshInstructorComboBox();
-        List<Course> courses = courseController.getAllCourses();
-        
-        for (Course c : courses) {
-            tableModel.addRow(new Object[]{
-                c.getId(),
-                c.getName(),
-                c.getTerm(),
-                c.getSkillLevel(),
-                c.getInstructorId(),
-                c.getMaxCapacity(),
-                "$" + c.getFee()
-            });
-        }
+        tableModel.refresh();
     }
     
     private void loadSelectedCourse() {
         int row = table.getSelectedRow();
-        if (row >= 0) {
+        if (row >= 0 && tableModel.getValueAt(row, 0) != null) {
             selectedCourseId = (int) tableModel.getValueAt(row, 0);
             
             courseController.getCourseById(selectedCourseId).ifPresent(c -> {
@@ -255,7 +263,6 @@ public class CoursePanel extends JPanel {
             );
             SwingUtils.showSuccess(this, "Course added successfully! ID: " + course.getId());
             clearForm();
-            refreshTable();
         } catch (NumberFormatException e) {
             SwingUtils.showError(this, "Please enter valid numbers for capacity and fee.");
         } catch (DateTimeParseException e) {
@@ -285,7 +292,6 @@ public class CoursePanel extends JPanel {
                 
                 courseController.updateCourse(course);
                 SwingUtils.showSuccess(this, "Course updated successfully!");
-                refreshTable();
             });
         } catch (Exception e) {
             SwingUtils.showError(this, "Error updating course: " + e.getMessage());
@@ -302,7 +308,6 @@ public class CoursePanel extends JPanel {
             if (courseController.deleteCourse(selectedCourseId)) {
                 SwingUtils.showSuccess(this, "Course deleted successfully!");
                 clearForm();
-                refreshTable();
             } else {
                 SwingUtils.showError(this, "Failed to delete course.");
             }
@@ -1,30 +1,27 @@
 package view;
 
-import controller.*;
+import controller.StatisticsService;
+import model.entity.*;
+import model.event.EventBus;
 import util.SwingUtils;
+import view.components.BackgroundTasks;
+import view.components.EventCoalescer;
 import javax.swing.*;
 import java.awt.*;
 
 /**
  * Dashboard panel showing system statistics.
+ * The counts come from the statistics snapshot and are redrawn once per burst of
+ * changes on the event bus.
  */
 public class DashboardPanel extends JPanel {
     
-    private final StudentController studentController;
-    private final InstructorController instructorController;
-    private final CourseController courseController;
-    private final EnrollmentController enrollmentController;
+    private final StatisticsService statisticsService;
     
     private JPanel statsPanel;
     
-    public DashboardPanel(StudentController studentController,
-                          InstructorController instructorController,
-                          CourseController courseController,
-                          EnrollmentController enrollmentController) {
-        this.studentController = studentController;
-        this.instructorController = instructorController;
-        this.courseController = courseController;
-        this.enrollmentController = enrollmentController;
+    public DashboardPanel(StatisticsService statisticsService, EventBus eventBus) {
+        this.statisticsService = statisticsService;
         
         setLayout(new BorderLayout(20, 20));
         setBackground(SwingUtils.BACKGROUND_COLOR);
@@ -57,40 +54,49 @@ public class DashboardPanel extends JPanel {
         bottomPanel.add(welcomePanel, BorderLayout.NORTH);
         add(bottomPanel, BorderLayout.SOUTH);
         
+        EventCoalescer.onAny(eventBus, this::refresh, Student.class, Instructor.class,
+            Course.class, Enrollment.class, Payment.class);
         refresh();
     }
     
+    /**
+     * Reads the counters in the background, since the first count may still be running.
+     */
     public void refresh() {
+        BackgroundTasks.run(statisticsService::getSnapshot, this::showStats, this);
+    }
+    
+    private void showStats(StatisticsService.Snapshot stats) {
         statsPanel.removeAll();
         
         // Create stat cards
         statsPanel.add(SwingUtils.createStatCard(
             "Total Students",
-            String.valueOf(studentController.getStudentCount()),
+            String.valueOf(stats.students()),
             SwingUtils.PRIMARY_COLOR
         ));
         
         statsPanel.add(SwingUtils.createStatCard(
             "Total Instructors",
-            String.valueOf(instructorController.getInstructorCount()),
+            String.valueOf(stats.instructors()),
             SwingUtils.SUCCESS_COLOR
         ));
         
         statsPanel.add(SwingUtils.createStatCard(
             "Total Courses",
-            String.valueOf(courseController.getCourseCount()),
+            String.valueOf(stats.courses()),
             SwingUtils.WARNING_COLOR
         ));
         
         statsPanel.add(SwingUtils.createStatCard(
             "Active Enrollments",
-            String.valueOf(enrollmentController.getActiveEnrollments().size()),
+            String.valueOf(stats.activeEnrollments()),
             SwingUtils.SECONDARY_COLOR
         ));
         
         statsPanel.add(SwingUtils.createStatCard(
             "Pending Payments",
-            String.valueOf(enrollmentController.getPendingPayments().size()),
+            String.valueOf(stats.pendingPayments()),
             SwingUtils.DANGER_COLOR
         ));
         
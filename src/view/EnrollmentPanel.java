@@ -5,15 +5,29 @@ import controller.EnrollmentController;
 import controller.StudentController;
 import model.entity.Course;
 import model.entity.Enrollment;
+import model.entity.EnrollmentView;
 import model.entity.Student;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import util.AppLogger;
 import util.SwingUtils;
+import view.components.BackgroundTasks;
+import view.components.EventCoalescer;
+import view.components.TableLoader;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
  * Panel for enrollment management.
+ * Enrollment changes published on the event bus are applied as row deltas, and
+ * student and course changes reload the selection lists. The names shown for changed
+ * enrollments are looked up in the background, one batch of events at a time so that
+ * batches are applied in the order they arrived.
  */
 public class EnrollmentPanel extends JPanel {
     
@@ -23,6 +37,12 @@ public class EnrollmentPanel extends JPanel {
     
     private JTable table;
     private DefaultTableModel tableModel;
+    private TableLoader<EnrollmentView> loader;
+    private SwingWorker<?, ?> studentLoad;
+    private SwingWorker<?, ?> courseLoad;
+    // Enrollment event batches waiting for their names; viewLoad resolves the head one
+    private final Deque<List<EntityEvent<Enrollment>>> eventBatches = new ArrayDeque<>();
+    private SwingWorker<?, ?> viewLoad;
     
     private JComboBox<String> cmbStudent;
     private JComboBox<String> cmbCourse;
@@ -31,7 +51,8 @@ public class EnrollmentPanel extends JPanel {
     
     public EnrollmentPanel(EnrollmentController enrollmentController,
                            StudentController studentController,
-                           CourseController courseController) {
+                           CourseController courseController,
+                           EventBus eventBus) {
         this.enrollmentController = enrollmentController;
         this.studentController = studentController;
         this.courseController = courseController;
@@ -56,6 +77,8 @@ public class EnrollmentPanel extends JPanel {
         
         add(mainPanel, BorderLayout.CENTER);
         
+        new EventCoalescer<>(eventBus, Enrollment.class, this::applyEnrollmentEvents);
+        EventCoalescer.onAny(eventBus, this::refreshComboBoxes, Student.class, Course.class);
         refreshTable();
     }
     
@@ -151,6 +174,15 @@ public class EnrollmentPanel extends JPanel {
                 }
             }
         });
+        loader = new TableLoader<>(table, e -> new Object[]{
+            e.getId(),
+            e.getStudentId(),
+            e.getStudentName() != null ? e.getStudentName() : "Unknown",
+            e.getCourseId(),
+            e.getCourseName() != null ? e.getCourseName() : "Unknown",
+            e.getStatus(),
+            e.getEnrollmentDate().toLocalDate()
+        });
         
         JScrollPane scrollPane = new JScrollPane(table);
         tableCard.add(scrollPane, BorderLayout.CENTER);
@@ -161,6 +193,7 @@ public class EnrollmentPanel extends JPanel {
         
         JButton btnRefresh = SwingUtils.createPrimaryButton("Refresh");
         btnRefresh.addActionListener(e -> refreshTable());
+        bottomPanel.add(loader.getProgressBar());
         bottomPanel.add(btnRefresh);
         
         tableCard.add(bottomPanel, BorderLayout.SOUTH);
@@ -169,46 +202,100 @@ public class EnrollmentPanel extends JPanel {
     }
     
     private void refreshComboBoxes() {
-        cmbStudent.removeAllItems();
-        cmbStudent.addItem("-- Select Student --");
-        List<Student> students = studentController.getAllStudents();
-        for (Student s : students) {
-            cmbStudent.addItem(s.getId() + " - " + s.getFullName() + " (" + s.getSkillLevel() + ")");
+        if (studentLoad != null) {
+            studentLoad.cancel(false);
         }
+        studentLoad = BackgroundTasks.run(() -> {
+            List<Student> students = studentController.getAllStudents();
+            String[] items = new String[students.size() + 1];
+            items[0] = "-- Select Student --";
+            for (int i = 0; i < students.size(); i++) {
+                Student s = students.get(i);
+                items[i + 1] = s.getId() + " - " + s.getFullName() + " (" + s.getSkillLevel() + ")";
+            }
+            return items;
+        }, items -> cmbStudent.setModel(new DefaultComboBoxModel<>(items)), this);
         
-        cmbCourse.removeAllItems();
-        cmbCourse.addItem("-- Select Course --");
-        List<Course> courses = courseController.getAllCourses();
-        for (Course c : courses) {
-            cmbCourse.addItem(c.getId() + " - " + c.getName() + " (" + c.getSkillLevel() + ")");
+        if (courseLoad != null) {
+            courseLoad.cancel(false);
         }
+        courseLoad = BackgroundTasks.run(() -> {
+            List<Course> courses = courseController.getAllCourses();
+            String[] items = new String[courses.size() + 1];
+            items[0] = "-- Select Course --";
+            for (int i = 0; i < courses.size(); i++) {
+                Course c = courses.get(i);
+                items[i + 1] = c.getId() + " - " + c.getName() + " (" + c.getSkillLevel() + ")";
+            }
+            return items;
+        }, items -> cmbCourse.setModel(new DefaultComboBoxModel<>(items)), this);
     }
     
     public void refreshTable() {
-        tableModel.setRowCount(0);
         refreshComboBoxes();
-        
-        List<Enrollment> enrollments = enrollmentController.getActiveEnrollments();
-        // Also add non-active enrollments
-        for (Enrollment e : studentController.getAllStudents().stream()
-                .flatMap(s -> enrollmentController.getStudentEnrollments(s.getId()).stream())
-                .distinct().toList()) {
-            
-            String studentName = studentController.getStudentById(e.getStudentId())
-                .map(Student::getFullName).orElse("Unknown");
-            String courseName = courseController.getCourseById(e.getCourseId())
-                .map(Course::getName).orElse("Unknown");
-            
-            tableModel.addRow(new Object[]{
-                e.getId(),
-                e.getStudentId(),
-                studentName,
-                e.getCourseId(),
-                courseName,
-                e.getStatus(),
-                e.getEnrollmentDate().toLocalDate()
-            });
+        loader.load(enrollmentController::getEnrollmentViews);
+    }
+    
+    /**
+     * Reloads the table if its last load was cancelled, e.g. by switching panels.
+     */
+    public void ensureLoaded() {
+        if (!loader.isLoading() && !loader.isComplete()) {
+            loader.load(enrollmentController::getEnrollmentViews);
+        }
+    }
+    
+    private void applyEnrollmentEvents(List<EntityEvent<Enrollment>> events) {
+        eventBatches.add(events);
+        if (viewLoad == null) {
+            resolveNextBatch();
+        }
+    }
+    
+    /**
+     * Turns the next batch of enrollment events into view rows, with the names of the
+     * changed enrollments looked up off the EDT, then moves on to the batch after it.
+     * If a batch cannot be resolved the queued batches are dropped and the table reloaded.
+     */
+    private void resolveNextBatch() {
+        List<EntityEvent<Enrollment>> events = eventBatches.poll();
+        if (events == null) {
+            viewLoad = null;
+            return;
+        }
+        List<Enrollment> changed = new ArrayList<>(events.size());
+        for (EntityEvent<Enrollment> event : events) {
+            if (event.kind() != EntityEvent.Kind.DELETED) {
+                changed.add(event.entity());
+            }
         }
+        viewLoad = BackgroundTasks.run(() -> enrollmentController.getEnrollmentViews(changed), resolved -> {
+            List<EntityEvent<EnrollmentView>> views = new ArrayList<>(events.size());
+            int next = 0;
+            for (EntityEvent<Enrollment> event : events) {
+                if (event.kind() == EntityEvent.Kind.DELETED) {
+                    views.add(EntityEvent.deleted(EnrollmentView.class, event.id()));
+                } else {
+                    views.add(new EntityEvent<>(event.kind(), EnrollmentView.class, event.id(),
+                        resolved.get(next++)));
+                }
+            }
+            loader.apply(views, v -> true);
+            resolveNextBatch();
+        }, e -> {
+            AppLogger.error("Failed to look up changed enrollments", e);
+            reloadAfterFailedBatch();
+        }, this);
+        // Cancelled straight away if the background queue was full
+        if (viewLoad.isCancelled()) {
+            reloadAfterFailedBatch();
+        }
+    }
+    
+    private void reloadAfterFailedBatch() {
+        eventBatches.clear();
+        viewLoad = null;
+        loader.load(enrollmentController::getEnrollmentViews);
     }
     
     private int getSelectedStudentId() {
@@ -245,7 +332,6 @@ public class EnrollmentPanel extends JPanel {
             SwingUtils.showSuccess(this, 
                 "Student enrolled successfully!\nEnrollment ID: " + enrollment.getId() +
                 "\nA pending payment has been created.");
-            refreshTable();
         } catch (IllegalArgumentException e) {
             SwingUtils.showError(this, e.getMessage());
         }
@@ -261,7 +347,6 @@ public class EnrollmentPanel extends JPanel {
             if (enrollmentController.dropEnrollment(selectedEnrollmentId)) {
                 SwingUtils.showSuccess(this, "Enrollment dropped successfully!");
                 selectedEnrollmentId = -1;
-                refreshTable();
             } else {
                 SwingUtils.showError(this, "Failed to drop enrollment.");
             }
@@ -277,7 +362,6 @@ public class EnrollmentPanel extends JPanel {
         if (enrollmentController.completeEnrollment(selectedEnrollmentId)) {
             SwingUtils.showSuccess(this, "Enrollment marked as completed!");
             selectedEnrollmentId = -1;
-            refreshTable();
         } else {
             SwingUtils.showError(this, "Failed to complete enrollment.");
         }
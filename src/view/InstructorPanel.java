@@ -2,20 +2,22 @@ package view;
 
 import controller.InstructorController;
 import model.entity.Instructor;
+import model.event.EventBus;
 import util.SwingUtils;
+import view.components.EventCoalescer;
+import view.components.PagedTableModel;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for instructor management.
+ * Instructor changes published on the event bus are applied to the table as they happen.
  */
 public class InstructorPanel extends JPanel {
     
     private final InstructorController instructorController;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Instructor> tableModel;
     
     // Form fields
     private JTextField txtFirstName;
@@ -26,7 +28,7 @@ public class InstructorPanel extends JPanel {
     
     private int selectedInstructorId = -1;
     
-    public InstructorPanel(InstructorController instructorController) {
+    public InstructorPanel(InstructorController instructorController, EventBus eventBus) {
         this.instructorController = instructorController;
         
         setLayout(new BorderLayout(20, 20));
@@ -49,6 +51,7 @@ public class InstructorPanel extends JPanel {
         
         add(mainPanel, BorderLayout.CENTER);
         
+        new EventCoalescer<>(eventBus, Instructor.class, tableModel::apply);
         refreshTable();
     }
     
@@ -107,14 +110,19 @@ public class InstructorPanel extends JPanel {
         
         // Table
         String[] columns = {"ID", "First Name", "Last Name", "Email", "Phone", "Specialization"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        String[] sortColumns = {null, "first_name", "last_name", "email", "phone", "specialization"};
+        tableModel = new PagedTableModel<>(columns, sortColumns, instructorController::getInstructorsPage,
+            instructorController::getInstructorCount, i -> new Object[]{
+                i.getId(),
+                i.getFirstName(),
+                i.getLastName(),
+                i.getEmail(),
+                i.getPhone(),
+                i.getSpecialization()
+            });
         
         table = SwingUtils.createTable(tableModel);
+        tableModel.installSortHeader(table);
         table.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 loadSelectedInstructor();
@@ -142,30 +150,19 @@ public class InstructorPanel extends JPanel {
     }
     
     public void refreshTable() {
-        tableModel.setRowCount(0);
-        List<Instructor> instructors = instructorController.getAllInstructors();
-        
-        for (Instructor i : instructors) {
-            tableModel.addRow(new Object[]{
-                i.getId(),
-                i.getFirstName(),
-                i.getLastName(),
-                i.getEmail(),
-                i.getPhone(),
-                i.getSpecialization()
-            });
-        }
+        tableModel.refresh();
     }
     
     private void loadSelectedInstructor() {
         int row = table.getSelectedRow();
-        if (row >= 0) {
-            selectedInstructorId = (int) tableModel.getValueAt(row, 0);
-            txtFirstName.setText((String) tableModel.getValueAt(row, 1));
-            txtLastName.setText((String) tableModel.getValueAt(row, 2));
-            txtEmail.setText((String) tableModel.getValueAt(row, 3));
-            txtPhone.setText((String) tableModel.getValueAt(row, 4));
-            txtSpecialization.setText((String) tableModel.getValueAt(row, 5));
+        Object[] values = row >= 0 ? tableModel.getRow(row) : null;
+        if (values != null) {
+            selectedInstructorId = (int) values[0];
+            txtFirstName.setText((String) values[1]);
+            txtLastName.setText((String) values[2]);
+            txtEmail.setText((String) values[3]);
+            txtPhone.setText((String) values[4]);
+            txtSpecialization.setText((String) values[5]);
         }
     }
     
@@ -180,7 +177,6 @@ public class InstructorPanel extends JPanel {
             );
             SwingUtils.showSuccess(this, "Instructor added successfully! ID: " + instructor.getId());
             clearForm();
-            refreshTable();
         } catch (IllegalArgumentException e) {
             SwingUtils.showError(this, e.getMessage());
         }
@@ -201,7 +197,6 @@ public class InstructorPanel extends JPanel {
             
             instructorController.updateInstructor(instructor);
             SwingUtils.showSuccess(this, "Instructor updated successfully!");
-            refreshTable();
         });
     }
     
@@ -215,7 +210,6 @@ public class InstructorPanel extends JPanel {
             if (instructorController.deleteInstructor(selectedInstructorId)) {
                 SwingUtils.showSuccess(this, "Instructor deleted successfully!");
                 clearForm();
-                refreshTable();
             } else {
                 SwingUtils.showError(this, "Failed to delete instructor.");
             }
@@ -1,12 +1,15 @@
 package view;
 
 import controller.*;
+import model.event.EventBus;
 import util.SwingUtils;
 import javax.swing.*;
 import java.awt.*;
 
 /**
  * Main application frame for Art School Management System.
+ * Panels keep themselves current from the event bus, so switching cards only
+ * reloads tables whose load was interrupted and the reports.
  */
 public class MainFrame extends JFrame {
 
@@ -19,6 +22,9 @@ public class MainFrame extends JFrame {
     private final CourseController courseController;
     private final EnrollmentController enrollmentController;
     private final AttendanceController attendanceController;
+    private final StatisticsService statisticsService;
+    private final ReportService reportService;
+    private final EventBus eventBus;
 
     // Panels
     private DashboardPanel dashboardPanel;
@@ -34,12 +40,18 @@ public class MainFrame extends JFrame {
             InstructorController instructorController,
             CourseController courseController,
             EnrollmentController enrollmentController,
-            AttendanceController attendanceController) {
+            AttendanceController attendanceController,
+            StatisticsService statisticsService,
+            ReportService reportService,
+            EventBus eventBus) {
         this.studentController = studentController;
         this.instructorController = instructorController;
         this.courseController = courseController;
         this.enrollmentController = enrollmentController;
         this.attendanceController = attendanceController;
+        this.statisticsService = statisticsService;
+        this.reportService = reportService;
+        this.eventBus = eventBus;
 
         setTitle("Art School Management System");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -212,16 +224,16 @@ public class MainFrame extends JFrame {
     }
 
     private void initializePanels() {
-        dashboardPanel = new DashboardPanel(studentController, instructorController,
-                courseController, enrollmentController);
-        studentPanel = new StudentPanel(studentController);
-        instructorPanel = new InstructorPanel(instructorController);
-        coursePanel = new CoursePanel(courseController, instructorController);
-        enrollmentPanel = new EnrollmentPanel(enrollmentController, studentController, courseController);
-        attendancePanel = new AttendancePanel(attendanceController, enrollmentController, courseController);
-        paymentPanel = new PaymentPanel(enrollmentController);
+        dashboardPanel = new DashboardPanel(statisticsService, eventBus);
+        studentPanel = new StudentPanel(studentController, eventBus);
+        instructorPanel = new InstructorPanel(instructorController, eventBus);
+        coursePanel = new CoursePanel(courseController, instructorController, eventBus);
+        enrollmentPanel = new EnrollmentPanel(enrollmentController, studentController, courseController, eventBus);
+        attendancePanel = new AttendancePanel(attendanceController, enrollmentController, courseController,
+                eventBus);
+        paymentPanel = new PaymentPanel(enrollmentController, eventBus);
         reportPanel = new ReportPanel(studentController, instructorController,
-                courseController, enrollmentController);
+                courseController, enrollmentController, statisticsService, reportService);
 
         contentPanel.add(dashboardPanel, "dashboard");
         contentPanel.add(studentPanel, "students");
@@ -237,14 +249,11 @@ public class MainFrame extends JFrame {
         cardLayout.show(contentPanel, panelName);
         setStatus("Viewing: " + panelName.substring(0, 1).toUpperCase() + panelName.substring(1));
 
-        // Refresh data when panel is shown
+        // Hiding a table cancels its load; reload those when shown again
         switch (panelName) {
-            case "dashboard" -> dashboardPanel.refresh();
-            case "students" -> studentPanel.refreshTable();
-            case "instructors" -> instructorPanel.refreshTable();
-            case "courses" -> coursePanel.refreshTable();
-            case "enrollments" -> enrollmentPanel.refreshTable();
-            case "payments" -> paymentPanel.refreshTable();
+            case "students" -> studentPanel.ensureLoaded();
+            case "enrollments" -> enrollmentPanel.ensureLoaded();
+            case "payments" -> paymentPanel.ensureLoaded();
             case "reports" -> reportPanel.refresh();
         }
     }
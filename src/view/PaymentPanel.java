@@ -1,15 +1,27 @@
 package view;
 
 import controller.EnrollmentController;
+import controller.EnrollmentController.SettlementResult;
+import model.dao.PaymentTotals;
+import model.entity.Course;
 import model.entity.Payment;
+import model.event.EventBus;
 import util.SwingUtils;
+import view.components.EventCoalescer;
+import view.components.TableLoader;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Panel for payment management.
+ * Payment changes published on the event bus are applied as row deltas; a payment
+ * leaves the table once it is no longer pending. Processing settles the selected
+ * payment itself, so a second click on the same row is reported instead of settling
+ * the enrollment's next pending payment. The totals per term are read from
+ * the payment DAO's running totals and redrawn once per burst of changes.
  */
 public class PaymentPanel extends JPanel {
     
@@ -17,10 +29,12 @@ public class PaymentPanel extends JPanel {
     
     private JTable table;
     private DefaultTableModel tableModel;
+    private TableLoader<Payment> loader;
+    private final Map<Course.Term, JLabel> termTotals = new EnumMap<>(Course.Term.class);
     
-    private int selectedEnrollmentId = -1;
+    private int selectedPaymentId = -1;
     
-    public PaymentPanel(EnrollmentController enrollmentController) {
+    public PaymentPanel(EnrollmentController enrollmentController, EventBus eventBus) {
         this.enrollmentController = enrollmentController;
         
         setLayout(new BorderLayout(20, 20));
@@ -43,7 +57,11 @@ public class PaymentPanel extends JPanel {
         
         add(mainPanel, BorderLayout.CENTER);
         
+        new EventCoalescer<>(eventBus, Payment.class,
+            events -> loader.apply(events, p -> p.getStatus() == Payment.PaymentStatus.PENDING));
+        EventCoalescer.onAny(eventBus, this::refreshTotals, Payment.class, Course.class);
         refreshTable();
+        refreshTotals();
     }
     
     private JPanel createActionsPanel() {
@@ -74,21 +92,20 @@ public class PaymentPanel extends JPanel {
         JButton btnProcess = SwingUtils.createSuccessButton("Process");
         btnProcess.setPreferredSize(new Dimension(200, 40));
         btnProcess.addActionListener(e -> {
-            if (selectedEnrollmentId < 0) {
+            if (selectedPaymentId < 0) {
                 SwingUtils.showWarning(this, "Please select a pending payment first.");
                 return;
             }
             
-            try {
-                Payment payment = enrollmentController.processPayment(
-                    selectedEnrollmentId, (String) cmbMethod.getSelectedItem());
-                SwingUtils.showSuccess(this, 
-                    "Payment processed successfully!\nAmount: $" + payment.getAmount());
-                selectedEnrollmentId = -1;
-                refreshTable();
-            } catch (IllegalArgumentException ex) {
-                SwingUtils.showError(this, ex.getMessage());
+            SettlementResult result = enrollmentController.settlePayment(
+                selectedPaymentId, (String) cmbMethod.getSelectedItem());
+            switch (result.outcome()) {
+                case SETTLED -> SwingUtils.showSuccess(this,
+                    "Payment processed successfully!\nAmount: $" + result.payment().getAmount());
+                case DUPLICATE -> SwingUtils.showWarning(this, "This payment has already been processed.");
+                case REJECTED -> SwingUtils.showError(this, result.message());
             }
+            selectedPaymentId = -1;
         });
         
         JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
@@ -98,6 +115,16 @@ public class PaymentPanel extends JPanel {
         
         // Stats
         actionsCard.add(Box.createVerticalStrut(40));
+        JLabel totalsTitle = SwingUtils.createHeaderLabel("Totals by Term");
+        totalsTitle.setAlignmentX(Component.LEFT_ALIGNMENT);
+        actionsCard.add(totalsTitle);
+        for (Course.Term term : Course.Term.values()) {
+            actionsCard.add(Box.createVerticalStrut(10));
+            JLabel label = SwingUtils.createLabel("");
+            label.setAlignmentX(Component.LEFT_ALIGNMENT);
+            termTotals.put(term, label);
+            actionsCard.add(label);
+        }
         actionsCard.add(Box.createVerticalGlue());
         
         return actionsCard;
@@ -124,10 +151,18 @@ public class PaymentPanel extends JPanel {
             if (!e.getValueIsAdjusting()) {
                 int row = table.getSelectedRow();
                 if (row >= 0) {
-                    selectedEnrollmentId = (int) tableModel.getValueAt(row, 1);
+                    selectedPaymentId = (int) tableModel.getValueAt(row, 0);
                 }
             }
         });
+        loader = new TableLoader<>(table, p -> new Object[]{
+            p.getId(),
+            p.getEnrollmentId(),
+            "$" + p.getAmount(),
+            p.getStatus(),
+            p.getPaymentMethod() != null ? p.getPaymentMethod() : "-",
+            p.getPaymentDate().toLocalDate()
+        });
         
         JScrollPane scrollPane = new JScrollPane(table);
         tableCard.add(scrollPane, BorderLayout.CENTER);
@@ -138,6 +173,7 @@ public class PaymentPanel extends JPanel {
         
         JButton btnRefresh = SwingUtils.createPrimaryButton("Refresh");
         btnRefresh.addActionListener(e -> refreshTable());
+        bottomPanel.add(loader.getProgressBar());
         bottomPanel.add(btnRefresh);
         
         tableCard.add(bottomPanel, BorderLayout.SOUTH);
@@ -146,19 +182,25 @@ public class PaymentPanel extends JPanel {
     }
     
     public void refreshTable() {
-        tableModel.setRowCount(0);
-        
-        List<Payment> payments = enrollmentController.getPendingPayments();
-        
-        for (Payment p : payments) {
-            tableModel.addRow(new Object[]{
-                p.getId(),
-                p.getEnrollmentId(),
-                "$" + p.getAmount(),
-                p.getStatus(),
-                p.getPaymentMethod() != null ? p.getPaymentMethod() : "-",
-                p.getPaymentDate().toLocalDate()
-            });
+        loader.load(enrollmentController::getPendingPayments);
+    }
+    
+    public void refreshTotals() {
+        for (Map.Entry<Course.Term, JLabel> entry : termTotals.entrySet()) {
+            PaymentTotals totals = enrollmentController.getPaymentTotals(entry.getKey());
+            entry.getValue().setText("<html><b>" + entry.getKey() + "</b><br>"
+                + "Outstanding: $" + totals.outstanding() + "<br>"
+                + "Collected: $" + totals.collected() + "<br>"
+                + "Refunded: $" + totals.refunded() + "</html>");
+        }
+    }
+    
+    /**
+     * Reloads the table if its last load was cancelled, e.g. by switching panels.
+     */
+    public void ensureLoaded() {
+        if (!loader.isLoading() && !loader.isComplete()) {
+            refreshTable();
         }
     }
 }
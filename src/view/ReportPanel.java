@@ -2,12 +2,19 @@ package view;
 
 import controller.*;
 import model.entity.Student;
+import model.report.ReportFormat;
 import util.SwingUtils;
+import view.components.BackgroundTasks;
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Panel for displaying reports.
+ * Counters come from the statistics snapshot; Refresh recounts them from the DAOs.
+ * Export streams a full report to a CSV or JSON file in the background.
  */
 public class ReportPanel extends JPanel {
     
@@ -15,17 +22,23 @@ public class ReportPanel extends JPanel {
     private final InstructorController instructorController;
     private final CourseController courseController;
     private final EnrollmentController enrollmentController;
+    private final StatisticsService statisticsService;
+    private final ReportService reportService;
     
     private JPanel contentPanel;
     
     public ReportPanel(StudentController studentController,
                        InstructorController instructorController,
                        CourseController courseController,
-                       EnrollmentController enrollmentController) {
+                       EnrollmentController enrollmentController,
+                       StatisticsService statisticsService,
+                       ReportService reportService) {
         this.studentController = studentController;
         this.instructorController = instructorController;
         this.courseController = courseController;
         this.enrollmentController = enrollmentController;
+        this.statisticsService = statisticsService;
+        this.reportService = reportService;
         
         setLayout(new BorderLayout(20, 20));
         setBackground(SwingUtils.BACKGROUND_COLOR);
@@ -46,18 +59,31 @@ public class ReportPanel extends JPanel {
         scrollPane.getViewport().setOpaque(false);
         add(scrollPane, BorderLayout.CENTER);
         
-        // Refresh button
+        // Export and Refresh buttons
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         bottomPanel.setOpaque(false);
+        JButton btnExport = SwingUtils.createSuccessButton("Export...");
+        btnExport.addActionListener(e -> exportReport());
+        bottomPanel.add(btnExport);
         JButton btnRefresh = SwingUtils.createPrimaryButton("Refresh");
-        btnRefresh.addActionListener(e -> refresh());
+        btnRefresh.addActionListener(e -> BackgroundTasks.run(() -> {
+            statisticsService.rebuild();
+            return null;
+        }, ignored -> refresh(), this));
         bottomPanel.add(btnRefresh);
         add(bottomPanel, BorderLayout.SOUTH);
         
         refresh();
     }
     
+    /**
+     * Reads the counters in the background, since the first count may still be running.
+     */
     public void refresh() {
+        BackgroundTasks.run(statisticsService::getSnapshot, this::showStats, this);
+    }
+    
+    private void showStats(StatisticsService.Snapshot stats) {
         contentPanel.removeAll();
         
         // Summary Card
@@ -72,15 +98,15 @@ public class ReportPanel extends JPanel {
         statsGrid.setOpaque(false);
         
         statsGrid.add(createStatItem("Total Students", 
-            String.valueOf(studentController.getStudentCount()), SwingUtils.PRIMARY_COLOR));
+            String.valueOf(stats.students()), SwingUtils.PRIMARY_COLOR));
         statsGrid.add(createStatItem("Total Instructors", 
-            String.valueOf(instructorController.getInstructorCount()), SwingUtils.SUCCESS_COLOR));
+            String.valueOf(stats.instructors()), SwingUtils.SUCCESS_COLOR));
         statsGrid.add(createStatItem("Total Courses", 
-            String.valueOf(courseController.getCourseCount()), SwingUtils.WARNING_COLOR));
+            String.valueOf(stats.courses()), SwingUtils.WARNING_COLOR));
         statsGrid.add(createStatItem("Active Enrollments", 
-            String.valueOf(enrollmentController.getActiveEnrollments().size()), SwingUtils.SECONDARY_COLOR));
+            String.valueOf(stats.activeEnrollments()), SwingUtils.SECONDARY_COLOR));
         statsGrid.add(createStatItem("Pending Payments", 
-            String.valueOf(enrollmentController.getPendingPayments().size()), SwingUtils.DANGER_COLOR));
+            String.valueOf(stats.pendingPayments()), SwingUtils.DANGER_COLOR));
         
         summaryCard.add(statsGrid, BorderLayout.CENTER);
         contentPanel.add(summaryCard);
@@ -98,7 +124,7 @@ public class ReportPanel extends JPanel {
         levelGrid.setOpaque(false);
         
         for (Student.SkillLevel level : Student.SkillLevel.values()) {
-            int count = studentController.getStudentsByLevel(level).size();
+            int count = stats.studentsAt(level);
             Color color = switch (level) {
                 case BEGINNER -> new Color(46, 204, 113);
                 case INTERMEDIATE -> new Color(241, 196, 15);
@@ -114,22 +140,30 @@ public class ReportPanel extends JPanel {
         // Quick Actions Card
         JPanel actionsCard = SwingUtils.createCardPanel();
         actionsCard.setLayout(new BorderLayout(10, 10));
-        actionsCard.setMaximumSize(new Dimension(Integer.MAX_VALUE, 150));
+        actionsCard.setMaximumSize(new Dimension(Integer.MAX_VALUE, 200));
         
         JLabel actionsTitle = SwingUtils.createHeaderLabel("⚡ Quick Stats");
         actionsCard.add(actionsTitle, BorderLayout.NORTH);
         
-        StringBuilder statsText = new StringBuilder("<html>");
-        statsText.append("<table style='font-size:12px;'>");
-        statsText.append("<tr><td>• Students without enrollments:</td><td><b>")
-            .append(countStudentsWithoutEnrollments()).append("</b></td></tr>");
-        statsText.append("<tr><td>• Available courses (not full):</td><td><b>")
-            .append(courseController.getAvailableCourses().size()).append("</b></td></tr>");
-        statsText.append("</table></html>");
-        
-        JLabel statsLabel = new JLabel(statsText.toString());
+        JLabel statsLabel = new JLabel("Loading...");
         statsLabel.setFont(SwingUtils.LABEL_FONT);
         actionsCard.add(statsLabel, BorderLayout.CENTER);
+        int availableCourses = stats.availableCourses();
+        BackgroundTasks.run(() -> {
+            StringBuilder statsText = new StringBuilder("<html>");
+            statsText.append("<table style='font-size:12px;'>");
+            appendStat(statsText, "Students without enrollments",
+                studentController.countStudentsWithoutEnrollments());
+            appendStat(statsText, "Students without payments",
+                studentController.countStudentsWithoutPayments());
+            appendStat(statsText, "Courses without sessions",
+                courseController.countCoursesWithoutSessions());
+            appendStat(statsText, "Instructors without courses",
+                instructorController.countInstructorsWithoutCourses());
+            appendStat(statsText, "Available courses (not full)", availableCourses);
+            statsText.append("</table></html>");
+            return statsText.toString();
+        }, statsLabel::setText, this);
         
         contentPanel.add(actionsCard);
         
@@ -137,6 +171,35 @@ public class ReportPanel extends JPanel {
         contentPanel.repaint();
     }
     
+    private void exportReport() {
+        JComboBox<ReportService.Report> reportCombo = SwingUtils.createComboBox(ReportService.Report.values());
+        reportCombo.setPreferredSize(new Dimension(280, 30));
+        JComboBox<ReportFormat> formatCombo = SwingUtils.createComboBox(ReportFormat.values());
+        JPanel options = new JPanel(new GridLayout(2, 1, 5, 5));
+        options.add(SwingUtils.createFormRow("Report:", reportCombo));
+        options.add(SwingUtils.createFormRow("Format:", formatCombo));
+        if (JOptionPane.showConfirmDialog(this, options, "Export Report",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+        ReportService.Report report = (ReportService.Report) reportCombo.getSelectedItem();
+        ReportFormat format = (ReportFormat) formatCombo.getSelectedItem();
+        
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File(report.getId() + "." + format.getExtension()));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        BackgroundTasks.run(() -> {
+            try {
+                return reportService.export(report, format, file.toPath());
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, rows -> SwingUtils.showSuccess(this, "Exported " + rows + " rows to " + file.getName()), this);
+    }
+    
     private JPanel createStatItem(String label, String value, Color color) {
         JPanel panel = new JPanel(new BorderLayout(5, 5));
         panel.setOpaque(false);
@@ -155,13 +218,8 @@ public class ReportPanel extends JPanel {
         return panel;
     }
     
-    private int countStudentsWithoutEnrollments() {
-        int count = 0;
-        for (var student : studentController.getAllStudents()) {
-            if (enrollmentController.getStudentEnrollments(student.getId()).isEmpty()) {
-                count++;
-            }
-        }
-        return count;
+    private static void appendStat(StringBuilder html, String label, int value) {
+        html.append("<tr><td>• ").append(label).append(":</td><td><b>")
+            .append(value).append("</b></td></tr>");
     }
 }
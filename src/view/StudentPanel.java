@@ -3,17 +3,20 @@ package view;
 import controller.StudentController;
 import model.entity.Student;
 import model.entity.SkillTest;
+import model.event.EventBus;
 import util.SwingUtils;
 import util.InputValidator;
 import util.ValidationResult;
+import view.components.EventCoalescer;
+import view.components.TableLoader;
 import view.components.TableSearchPanel;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for student management.
+ * Student changes published on the event bus are applied to the table as row deltas.
  */
 public class StudentPanel extends JPanel {
 
@@ -21,6 +24,7 @@ public class StudentPanel extends JPanel {
     private JTable table;
     private DefaultTableModel tableModel;
     private TableSearchPanel searchPanel;
+    private TableLoader<Student> loader;
 
     // Form fields
     private JTextField txtFirstName;
@@ -32,7 +36,7 @@ public class StudentPanel extends JPanel {
 
     private int selectedStudentId = -1;
 
-    public StudentPanel(StudentController studentController) {
+    public StudentPanel(StudentController studentController, EventBus eventBus) {
         this.studentController = studentController;
 
         setLayout(new BorderLayout(20, 20));
@@ -55,6 +59,7 @@ public class StudentPanel extends JPanel {
 
         add(mainPanel, BorderLayout.CENTER);
 
+        new EventCoalescer<>(eventBus, Student.class, events -> loader.apply(events, s -> true));
         refreshTable();
     }
 
@@ -147,6 +152,14 @@ public class StudentPanel extends JPanel {
                 loadSelectedStudent();
             }
         });
+        loader = new TableLoader<>(table, s -> new Object[] {
+                s.getId(),
+                s.getFirstName(),
+                s.getLastName(),
+                s.getEmail(),
+                s.getPhone(),
+                s.getSkillLevel()
+        });
 
         // Add search panel
         searchPanel = new TableSearchPanel(table);
@@ -167,6 +180,7 @@ public class StudentPanel extends JPanel {
         btnDelete.addActionListener(e -> deleteStudent());
         btnRefresh.addActionListener(e -> refreshTable());
 
+        bottomPanel.add(loader.getProgressBar());
         bottomPanel.add(btnRefresh);
         bottomPanel.add(btnDelete);
         tableCard.add(bottomPanel, BorderLayout.SOUTH);
@@ -175,18 +189,15 @@ public class StudentPanel extends JPanel {
     }
 
     public void refreshTable() {
-        tableModel.setRowCount(0);
-        List<Student> students = studentController.getAllStudents();
-
-        for (Student s : students) {
-            tableModel.addRow(new Object[] {
-                    s.getId(),
-                    s.getFirstName(),
-                    s.getLastName(),
-                    s.getEmail(),
-                    s.getPhone(),
-                    s.getSkillLevel()
-            });
+        loader.load(studentController::getAllStudents);
+    }
+
+    /**
+     * Reloads the table if its last load was cancelled, e.g. by switching panels.
+     */
+    public void ensureLoaded() {
+        if (!loader.isLoading() && !loader.isComplete()) {
+            refreshTable();
         }
     }
 
@@ -229,9 +240,6 @@ public class StudentPanel extends JPanel {
                     txtDateOfBirth.getText());
             SwingUtils.showSuccess(this, "Student added successfully! ID: " + student.getId());
             clearForm();
-            refreshTable();
-            if (searchPanel != null)
-                searchPanel.refreshSorter();
         } catch (IllegalArgumentException e) {
             SwingUtils.showError(this, e.getMessage());
         }
@@ -253,7 +261,6 @@ public class StudentPanel extends JPanel {
 
             studentController.updateStudent(student);
             SwingUtils.showSuccess(this, "Student updated successfully!");
-            refreshTable();
         });
     }
 
@@ -267,7 +274,6 @@ public class StudentPanel extends JPanel {
             if (studentController.deleteStudent(selectedStudentId)) {
                 SwingUtils.showSuccess(this, "Student deleted successfully!");
                 clearForm();
-                refreshTable();
             } else {
                 SwingUtils.showError(this, "Failed to delete student.");
             }
@@ -296,8 +302,7 @@ public class StudentPanel extends JPanel {
 
             SwingUtils.showSuccess(this,
                     "Skill test completed!\nScore: " + score + "\nAssigned Level: " + test.getAssignedLevel());
-            refreshTable();
-            loadSelectedStudent();
+            cmbSkillLevel.setSelectedItem(test.getAssignedLevel());
         } catch (NumberFormatException e) {
             SwingUtils.showError(this, "Please enter a valid number.");
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,115 @@
+package view.components;
+
+import util.AppLogger;
+import util.SwingUtils;
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs controller calls off the Event Dispatch Thread on a small shared pool.
+ * The pool and its queue are bounded; work that does not fit is cancelled
+ * instead of piling up behind slow queries, and the user is told the load did not run.
+ */
+public final class BackgroundTasks {
+    
+    private static final int THREADS = 2;
+    private static final int QUEUE_CAPACITY = 32;
+    
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+    // EDT only; true while the queue-full dialog is open, so a burst of rejections shows one
+    private static boolean rejectionShown;
+    
+    private BackgroundTasks() {} // Prevent instantiation
+    
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "ui-loader-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+    
+    /**
+     * Schedules a worker on the shared pool instead of SwingWorker's own executor.
+     * If the queue is full the worker is cancelled and an error is shown on parent.
+     * @param parent Component to anchor the error dialog on
+     */
+    public static void submit(SwingWorker<?, ?> worker, Component parent) {
+        try {
+            EXECUTOR.execute(worker);
+        } catch (RejectedExecutionException e) {
+            AppLogger.warning("Background queue full, load not started");
+            worker.cancel(false);
+            SwingUtilities.invokeLater(() -> reportRejection(parent));
+        }
+    }
+    
+    /**
+     * Runs work in the background and hands its result to the EDT.
+     * @param work Runs on a pool thread; must not touch Swing components
+     * @param onSuccess Runs on the EDT unless the task was cancelled or failed
+     * @param parent Component to anchor the error dialog on failure or rejection
+     * @return The scheduled worker, for cancellation
+     */
+    public static <R> SwingWorker<R, Void> run(Supplier<R> work, Consumer<R> onSuccess, Component parent) {
+        return run(work, onSuccess, e -> reportFailure(parent, e), parent);
+    }
+    
+    /**
+     * Like {@link #run(Supplier, Consumer, Component)}, with the caller handling a failure.
+     * @param onFailure Runs on the EDT with the failure instead of the error dialog
+     * @param parent Component to anchor the error dialog on rejection
+     */
+    public static <R> SwingWorker<R, Void> run(Supplier<R> work, Consumer<R> onSuccess,
+                                               Consumer<Exception> onFailure, Component parent) {
+        SwingWorker<R, Void> worker = new SwingWorker<>() {
+            @Override
+            protected R doInBackground() {
+                return work.get();
+            }
+            
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    onFailure.accept(e);
+                }
+            }
+        };
+        submit(worker, parent);
+        return worker;
+    }
+    
+    /**
+     * Logs a failed load and tells the user. Must be called on the EDT.
+     */
+    static void reportFailure(Component parent, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        AppLogger.error("Background load failed", cause);
+        SwingUtils.showError(parent, "Failed to load data: " + cause.getMessage());
+    }
+    
+    private static void reportRejection(Component parent) {
+        if (rejectionShown) {
+            return;
+        }
+        rejectionShown = true;
+        try {
+            SwingUtils.showError(parent, "Too many loads are waiting; the data was not loaded. Please try again.");
+        } finally {
+            rejectionShown = false;
+        }
+    }
+}
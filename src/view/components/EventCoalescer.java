@@ -0,0 +1,102 @@
+package view.components;
+
+import model.event.EntityEvent;
+import model.event.EventBus;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Collects entity events from any thread and hands them to the EDT as one batch.
+ * The first event of a burst schedules a single EDT update; events arriving before it
+ * runs join the batch. Events for the same id are merged, so a row created and then
+ * updated arrives as one creation, and a row created and deleted within the burst
+ * does not arrive at all.
+ * @param <T> Entity type
+ */
+public class EventCoalescer<T> implements AutoCloseable {
+    
+    private final Consumer<List<EntityEvent<T>>> handler;
+    private final EventBus.Subscription subscription;
+    private final Map<Integer, EntityEvent<T>> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+    
+    /**
+     * @param bus Event bus to subscribe to
+     * @param type Entity class
+     * @param handler Applies a batch; runs on the EDT
+     */
+    public EventCoalescer(EventBus bus, Class<T> type, Consumer<List<EntityEvent<T>>> handler) {
+        this.handler = handler;
+        this.subscription = bus.subscribe(type, this::add);
+    }
+    
+    /**
+     * Runs an action once on the EDT per burst of events of any of the given types.
+     * Used where a view recomputes as a whole, e.g. counters and combo boxes.
+     * @return Subscription covering all the types
+     */
+    public static EventBus.Subscription onAny(EventBus bus, Runnable action, Class<?>... types) {
+        AtomicBoolean scheduled = new AtomicBoolean();
+        List<EventBus.Subscription> subscriptions = new ArrayList<>(types.length);
+        for (Class<?> type : types) {
+            subscriptions.add(bus.subscribe(type, event -> {
+                if (scheduled.compareAndSet(false, true)) {
+                    SwingUtilities.invokeLater(() -> {
+                        scheduled.set(false);
+                        action.run();
+                    });
+                }
+            }));
+        }
+        return () -> subscriptions.forEach(EventBus.Subscription::close);
+    }
+    
+    private void add(EntityEvent<T> event) {
+        synchronized (pending) {
+            EntityEvent<T> merged = merge(pending.get(event.id()), event);
+            if (merged == null) {
+                pending.remove(event.id());
+            } else {
+                pending.put(event.id(), merged);
+            }
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flush);
+    }
+    
+    private static <T> EntityEvent<T> merge(EntityEvent<T> previous, EntityEvent<T> next) {
+        if (previous == null || previous.kind() != EntityEvent.Kind.CREATED) {
+            return next;
+        }
+        return switch (next.kind()) {
+            case UPDATED -> EntityEvent.created(next.type(), next.id(), next.entity());
+            case DELETED -> null;
+            case CREATED -> next;
+        };
+    }
+    
+    private void flush() {
+        List<EntityEvent<T>> batch;
+        synchronized (pending) {
+            scheduled = false;
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        if (!batch.isEmpty()) {
+            handler.accept(batch);
+        }
+    }
+    
+    @Override
+    public void close() {
+        subscription.close();
+    }
+}
@@ -0,0 +1,323 @@
+package view.components;
+
+import model.dao.Page;
+import model.dao.PageRequest;
+import model.event.EntityEvent;
+import util.AppLogger;
+import javax.swing.*;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Table model that fetches rows a page at a time as the table asks for them.
+ * JTable only reads the visible cells, so scrolling loads the pages under the
+ * viewport; at most {@code maxPages} pages are kept, least recently used first out.
+ * Pages are fetched on {@link BackgroundTasks}; cells of a page still loading read
+ * as null and are repainted when it arrives. Clicking a sortable column header
+ * re-queries in that column's order on the DAO side instead of sorting on the EDT.
+ * A page that fails to load is retried after a delay that doubles with each failure,
+ * so a dead database does not keep the background pool busy; refresh() and sort()
+ * start over.
+ * All methods must be called on the EDT.
+ * @param <T> Entity type
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+    
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 20;
+    private static final int RETRY_DELAY_MS = 1000;
+    private static final int MAX_RETRY_DELAY_MS = 30_000;
+    
+    private final String[] columnNames;
+    private final String[] sortColumns;
+    private final Function<PageRequest, Page<T>> pageSource;
+    private final IntSupplier countSource;
+    private final Function<T, Object[]> rowMapper;
+    private final int pageSize;
+    private final Map<Integer, List<Object[]>> pages;
+    private final Map<Integer, SwingWorker<?, ?>> pending = new HashMap<>();
+    private final Map<Integer, Backoff> failed = new HashMap<>();
+    private SwingWorker<?, ?> countLoad;
+    // Table to anchor error dialogs on, set by installSortHeader
+    private JTable table;
+    private Consumer<Exception> failureReporter = e -> BackgroundTasks.reportFailure(table, e);
+    // Set once a failed page has been reported; reset by refresh() and sort()
+    private boolean failureReported;
+    private int rowCount;
+    private int sortColumn = -1;
+    private boolean descending;
+    // Bumped by refresh() and sort(); pages fetched for an older generation are dropped
+    private int generation;
+    
+    /**
+     * Failures of a page so far and when it may be fetched again, in System.nanoTime() terms.
+     */
+    private record Backoff(int failures, long retryAt) {}
+    
+    /**
+     * @param columnNames Column headers
+     * @param sortColumns DAO sort column per table column, or null where the column is not sortable
+     * @param pageSource Fetches one page, e.g. a controller's get*Page method; runs off the EDT
+     * @param countSource Total row count; runs off the EDT
+     * @param rowMapper Converts an entity to a row; runs off the EDT
+     */
+    public PagedTableModel(String[] columnNames, String[] sortColumns, Function<PageRequest, Page<T>> pageSource,
+                           IntSupplier countSource, Function<T, Object[]> rowMapper) {
+        this(columnNames, sortColumns, pageSource, countSource, rowMapper, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+    
+    public PagedTableModel(String[] columnNames, String[] sortColumns, Function<PageRequest, Page<T>> pageSource,
+                           IntSupplier countSource, Function<T, Object[]> rowMapper, int pageSize, int maxPages) {
+        if (sortColumns.length != columnNames.length) {
+            throw new IllegalArgumentException("sortColumns must have one entry per column");
+        }
+        this.columnNames = columnNames.clone();
+        this.sortColumns = sortColumns.clone();
+        this.pageSource = pageSource;
+        this.countSource = countSource;
+        this.rowMapper = rowMapper;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+    
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Object[] row = getRow(rowIndex);
+        return row == null ? null : row[columnIndex];
+    }
+    
+    /**
+     * Gets a loaded row, or null while its page is being fetched.
+     */
+    public Object[] getRow(int rowIndex) {
+        int page = rowIndex / pageSize;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int index = rowIndex - page * pageSize;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+    
+    /**
+     * Drops cached pages and reloads the row count; visible rows are fetched again.
+     */
+    public void refresh() {
+        invalidate();
+        if (countLoad != null) {
+            countLoad.cancel(false);
+        }
+        int requested = generation;
+        countLoad = BackgroundTasks.run(countSource::getAsInt, count -> {
+            if (requested == generation) {
+                rowCount = count;
+                fireTableDataChanged();
+            }
+        }, e -> failureReporter.accept(e), table);
+    }
+    
+    /**
+     * Applies entity events. Updates replace cached rows in place, matched by the id in
+     * column 0; rows not cached are fetched fresh anyway. Inserts and deletes shift every
+     * later row between pages, so they fall back to {@link #refresh()}, which only
+     * refetches the count and the visible pages.
+     * @param events Batch of events
+     */
+    public void apply(List<EntityEvent<T>> events) {
+        for (EntityEvent<T> event : events) {
+            if (event.kind() != EntityEvent.Kind.UPDATED) {
+                refresh();
+                return;
+            }
+        }
+        for (EntityEvent<T> event : events) {
+            for (Map.Entry<Integer, List<Object[]>> entry : pages.entrySet()) {
+                List<Object[]> rows = entry.getValue();
+                for (int i = 0; i < rows.size(); i++) {
+                    if (Objects.equals(rows.get(i)[0], event.id())) {
+                        rows.set(i, rowMapper.apply(event.entity()));
+                        int row = entry.getKey() * pageSize + i;
+                        fireTableRowsUpdated(row, row);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Orders rows by a column on the DAO side. Sorting by the current column again flips the direction.
+     * @param column Model column index
+     */
+    public void sort(int column) {
+        if (sortColumns[column] == null) {
+            return;
+        }
+        descending = column == sortColumn && !descending;
+        sortColumn = column;
+        invalidate();
+        fireTableDataChanged();
+    }
+    
+    /**
+     * Replaces the error dialog shown when the count or a page fails to load.
+     * @param failureReporter Runs on the EDT with the failure
+     */
+    public void setFailureReporter(Consumer<Exception> failureReporter) {
+        this.failureReporter = failureReporter;
+    }
+    
+    public int getSortColumn() { return sortColumn; }
+    
+    public boolean isDescending() { return descending; }
+    
+    /**
+     * Sorts when a sortable header is clicked and marks the sorted column with an arrow.
+     * Load errors are shown over this table from then on.
+     */
+    public void installSortHeader(JTable table) {
+        this.table = table;
+        JTableHeader header = table.getTableHeader();
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int viewColumn = header.columnAtPoint(e.getPoint());
+                if (viewColumn < 0) {
+                    return;
+                }
+                sort(table.convertColumnIndexToModel(viewColumn));
+                for (int i = 0; i < table.getColumnCount(); i++) {
+                    TableColumn column = table.getColumnModel().getColumn(i);
+                    int modelColumn = column.getModelIndex();
+                    String arrow = modelColumn == sortColumn ? (descending ? " ▼" : " ▲") : "";
+                    column.setHeaderValue(columnNames[modelColumn] + arrow);
+                }
+                header.repaint();
+            }
+        });
+    }
+    
+    private void invalidate() {
+        generation++;
+        failureReported = false;
+        pages.clear();
+        for (SwingWorker<?, ?> worker : pending.values()) {
+            worker.cancel(false);
+        }
+        pending.clear();
+        failed.clear();
+    }
+    
+    /**
+     * Fetches a page unless it is already on its way or waiting out a failure. A page
+     * whose fetch failed or was rejected by the full background queue is fetched again
+     * when read after its retry delay; the table is repainted then so that it is read.
+     */
+    private void requestPage(int page) {
+        SwingWorker<?, ?> existing = pending.get(page);
+        if (existing != null) {
+            if (!existing.isCancelled()) {
+                return;
+            }
+            pending.remove(page);
+            backOff(page);
+            return;
+        }
+        Backoff backoff = failed.get(page);
+        if (backoff != null && System.nanoTime() - backoff.retryAt() < 0) {
+            return;
+        }
+        PageRequest request = PageRequest.ofOffset(page * pageSize, pageSize);
+        if (sortColumn >= 0) {
+            request = request.sortBy(sortColumns[sortColumn]);
+        }
+        if (descending) {
+            request = request.descending();
+        }
+        PageRequest pageRequest = request;
+        int requested = generation;
+        pending.put(page, BackgroundTasks.run(() -> {
+            List<T> content = pageSource.apply(pageRequest).getContent();
+            List<Object[]> rows = new ArrayList<>(content.size());
+            for (T item : content) {
+                rows.add(rowMapper.apply(item));
+            }
+            return rows;
+        }, rows -> {
+            if (requested != generation) {
+                return;
+            }
+            pending.remove(page);
+            failed.remove(page);
+            pages.put(page, rows);
+            int first = page * pageSize;
+            int last = Math.min(rowCount, first + pageSize) - 1;
+            if (last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, e -> {
+            if (requested != generation) {
+                return;
+            }
+            pending.remove(page);
+            backOff(page);
+            // A source that keeps failing is only reported once per refresh
+            if (failureReported) {
+                AppLogger.warning("Page " + page + " failed to load again: " + e.getMessage());
+                return;
+            }
+            failureReported = true;
+            failureReporter.accept(e);
+        }, table));
+    }
+    
+    /**
+     * Holds off fetching a page for twice as long as after its previous failure, then
+     * repaints its rows so that the table reads them again.
+     */
+    private void backOff(int page) {
+        Backoff previous = failed.get(page);
+        int failures = previous == null ? 1 : previous.failures() + 1;
+        int delay = (int) Math.min(MAX_RETRY_DELAY_MS, (long) RETRY_DELAY_MS << Math.min(failures - 1, 16));
+        failed.put(page, new Backoff(failures, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay)));
+        int requested = generation;
+        Timer retry = new Timer(delay, e -> {
+            int first = page * pageSize;
+            int last = Math.min(rowCount, first + pageSize) - 1;
+            if (requested == generation && last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        });
+        retry.setRepeats(false);
+        retry.start();
+    }
+}
@@ -0,0 +1,249 @@
+package view.components;
+
+import model.event.EntityEvent;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Loads rows into a table in the background. The query and the row mapping run
+ * on {@link BackgroundTasks}; rows reach the model in chunks with one insert event
+ * per chunk, and a progress bar tracks them. Starting a new load cancels the
+ * previous one, and hiding the table (navigating to another panel) cancels the
+ * running load and clears its partial rows. Once loaded, entity events can be
+ * applied as row inserts, updates and deletes instead of reloading.
+ */
+public class TableLoader<T> {
+    
+    /** Rows handed to the EDT at a time. */
+    public static final int CHUNK_SIZE = 500;
+    
+    private final JTable table;
+    private final DefaultTableModel model;
+    private final Function<T, Object[]> rowMapper;
+    private final JProgressBar progressBar;
+    private LoadWorker current;
+    private Supplier<? extends List<T>> lastQuery;
+    // True once every row of lastQuery is in the model
+    private boolean complete;
+    
+    /**
+     * @param table Table backed by a DefaultTableModel
+     * @param rowMapper Converts an item to a row; runs off the EDT
+     */
+    public TableLoader(JTable table, Function<T, Object[]> rowMapper) {
+        this.table = table;
+        this.model = (DefaultTableModel) table.getModel();
+        this.rowMapper = rowMapper;
+        
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setPreferredSize(new Dimension(180, 24));
+        progressBar.setVisible(false);
+        
+        table.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && !table.isShowing()) {
+                cancel();
+            }
+        });
+    }
+    
+    /**
+     * Progress bar shown while a load is running; add it next to the table.
+     */
+    public JProgressBar getProgressBar() {
+        return progressBar;
+    }
+    
+    /**
+     * Clears the table and loads the query's rows in the background.
+     * Must be called on the EDT.
+     * @param query Controller call; runs off the EDT
+     */
+    public void load(Supplier<? extends List<T>> query) {
+        if (current != null) {
+            current.cancel(false);
+        }
+        lastQuery = query;
+        complete = false;
+        model.setRowCount(0);
+        progressBar.setValue(0);
+        progressBar.setString("Loading...");
+        progressBar.setVisible(true);
+        current = new LoadWorker(query);
+        BackgroundTasks.submit(current, table);
+    }
+    
+    /**
+     * Cancels the running load, if any, and clears its partial rows.
+     */
+    public void cancel() {
+        if (current != null) {
+            current.cancel(false);
+            current = null;
+            model.setRowCount(0);
+            progressBar.setVisible(false);
+        }
+    }
+    
+    public boolean isLoading() {
+        return current != null;
+    }
+    
+    /**
+     * Whether the last load completed, i.e. was neither cancelled nor failed.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+     * Applies entity events to the loaded rows. Rows are matched by the id in column 0:
+     * changed rows are updated in place, new rows are appended and deleted rows or rows
+     * that no longer pass the filter are removed, each with its own row event.
+     * A load in progress is restarted instead, since its query may predate the events;
+     * a table whose load did not complete is left for the next load.
+     * Must be called on the EDT.
+     * @param events Batch of events, at most one per id
+     * @param include Whether an entity belongs in this table
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void apply(List<EntityEvent<T>> events, Predicate<? super T> include) {
+        if (current != null) {
+            load(lastQuery);
+            return;
+        }
+        if (!complete || events.isEmpty()) {
+            return;
+        }
+        Vector<Vector> data = model.getDataVector();
+        Map<Object, Integer> rowById = new HashMap<>();
+        for (int r = 0; r < data.size(); r++) {
+            rowById.put(data.get(r).get(0), r);
+        }
+        List<Integer> removed = new ArrayList<>();
+        List<Vector> added = new ArrayList<>();
+        for (EntityEvent<T> event : events) {
+            Integer row = rowById.get(event.id());
+            boolean keep = event.kind() != EntityEvent.Kind.DELETED && include.test(event.entity());
+            if (!keep) {
+                if (row != null) {
+                    removed.add(row);
+                }
+                continue;
+            }
+            Vector values = new Vector<>(Arrays.asList(rowMapper.apply(event.entity())));
+            if (row != null) {
+                data.set(row, values);
+                model.fireTableRowsUpdated(row, row);
+            } else {
+                added.add(values);
+            }
+        }
+        if (!added.isEmpty()) {
+            int first = data.size();
+            data.addAll(added);
+            model.fireTableRowsInserted(first, data.size() - 1);
+        }
+        // Highest index first so the remaining indexes stay valid
+        removed.sort(null);
+        for (int i = removed.size() - 1; i >= 0; i--) {
+            int row = removed.get(i);
+            data.remove(row);
+            model.fireTableRowsDeleted(row, row);
+        }
+    }
+    
+    private class LoadWorker extends SwingWorker<Integer, List<Object[]>> {
+        
+        private final Supplier<? extends List<T>> query;
+        private volatile int total;
+        private int loaded;
+        
+        LoadWorker(Supplier<? extends List<T>> query) {
+            this.query = query;
+        }
+        
+        @Override
+        protected Integer doInBackground() {
+            List<T> items = query.get();
+            total = items.size();
+            List<Object[]> chunk = new ArrayList<>(Math.min(CHUNK_SIZE, total));
+            for (T item : items) {
+                if (isCancelled()) {
+                    return 0;
+                }
+                chunk.add(rowMapper.apply(item));
+                if (chunk.size() == CHUNK_SIZE) {
+                    publish(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                publish(chunk);
+            }
+            return total;
+        }
+        
+        @Override
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        protected void process(List<List<Object[]>> chunks) {
+            if (this != current || isCancelled()) {
+                return;
+            }
+            int first = model.getRowCount();
+            Vector<Vector> data = model.getDataVector();
+            for (List<Object[]> chunk : chunks) {
+                for (Object[] row : chunk) {
+                    data.add(new Vector<>(Arrays.asList(row)));
+                }
+                loaded += chunk.size();
+            }
+            model.fireTableRowsInserted(first, model.getRowCount() - 1);
+            progressBar.setValue((int) (loaded * 100L / total));
+            progressBar.setString(loaded + " / " + total);
+            // Chunks may still arrive after done() ran
+            if (isDone() && loaded == total) {
+                finish();
+                complete = true;
+            }
+        }
+        
+        @Override
+        protected void done() {
+            if (this != current) {
+                return;
+            }
+            if (isCancelled()) {
+                finish();
+                return;
+            }
+            try {
+                get();
+            } catch (Exception e) {
+                finish();
+                BackgroundTasks.reportFailure(table, e);
+                return;
+            }
+            if (loaded == total) {
+                finish();
+                complete = true;
+            }
+        }
+        
+        private void finish() {
+            current = null;
+            progressBar.setVisible(false);
+        }
+    }
+}
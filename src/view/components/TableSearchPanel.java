@@ -4,23 +4,61 @@ import util.SwingUtils;
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Locale;
 
 /**
  * Reusable search panel component for JTable filtering.
+ * Typing is debounced; matching runs on {@link BackgroundTasks} against lowercase
+ * copies of the cell text that are kept until the model changes. Rows appended at the
+ * end, e.g. the chunks of a {@link TableLoader} load, only extend the copies, and only
+ * they are matched against a query that was already applied. When the new query
+ * contains the previous one, only the previous matches are checked again. The
+ * result is applied as a single row filter.
  */
 public class TableSearchPanel extends JPanel {
     
+    /** Quiet time after the last keystroke before filtering. */
+    public static final int DEBOUNCE_MS = 200;
+    
     private final JTextField searchField;
     private final JComboBox<String> columnSelector;
     private final JButton clearButton;
     private final JTable table;
+    private final Timer debounce;
     private TableRowSorter<DefaultTableModel> sorter;
+    private DefaultTableModel listenedModel;
+    // Bumped on every model change other than appending rows; cached text and results
+    // from older versions are stale
+    private int modelVersion;
+    private int generation;
+    private SearchIndex index;
+    private FilterResult lastResult;
+    
+    /**
+     * Lowercase text of the cells of the first text.length rows, as of a model version.
+     */
+    private record SearchIndex(int version, String[][] text) {
+        
+        int rowCount() {
+            return text.length;
+        }
+    }
+    
+    /**
+     * Rows matching a query in a column (-1 for all columns), among the rows of index.
+     */
+    private record FilterResult(int version, int column, String query, BitSet matches, SearchIndex index) {}
     
     public TableSearchPanel(JTable table) {
         this.table = table;
+        this.debounce = new Timer(DEBOUNCE_MS, e -> filterTable());
+        debounce.setRepeats(false);
         
         setLayout(new FlowLayout(FlowLayout.LEFT, 10, 5));
         setOpaque(false);
@@ -68,11 +106,11 @@ public class TableSearchPanel extends JPanel {
         // Add search listener
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public void insertUpdate(DocumentEvent e) { filterTable(); }
+            public void insertUpdate(DocumentEvent e) { debounce.restart(); }
             @Override
-            public void removeUpdate(DocumentEvent e) { filterTable(); }
+            public void removeUpdate(DocumentEvent e) { debounce.restart(); }
             @Override
-            public void changedUpdate(DocumentEvent e) { filterTable(); }
+            public void changedUpdate(DocumentEvent e) { debounce.restart(); }
         });
         
         // Column change listener
@@ -84,11 +122,40 @@ public class TableSearchPanel extends JPanel {
      */
     private void setupRowSorter() {
         if (table.getModel() instanceof DefaultTableModel) {
-            sorter = new TableRowSorter<>((DefaultTableModel) table.getModel());
+            DefaultTableModel model = (DefaultTableModel) table.getModel();
+            sorter = new TableRowSorter<>(model);
             table.setRowSorter(sorter);
+            lastResult = null;
+            if (model != listenedModel) {
+                listenedModel = model;
+                model.addTableModelListener(e -> {
+                    boolean appended = isAppend(e, model);
+                    if (!appended) {
+                        modelVersion++;
+                    }
+                    if (searchField.getText().trim().isEmpty()) {
+                        return;
+                    }
+                    // Rows changed under an active filter are matched again. Appends do not
+                    // push the filter back, so it keeps up with a load arriving in chunks.
+                    if (!appended) {
+                        debounce.restart();
+                    } else if (!debounce.isRunning()) {
+                        debounce.start();
+                    }
+                });
+            }
         }
     }
     
+    /**
+     * Whether an event only added rows at the end of the model.
+     */
+    private static boolean isAppend(TableModelEvent e, DefaultTableModel model) {
+        return e.getType() == TableModelEvent.INSERT && e.getColumn() == TableModelEvent.ALL_COLUMNS
+                && e.getFirstRow() >= 0 && e.getLastRow() == model.getRowCount() - 1;
+    }
+    
     /**
      * Refreshes the sorter when table model changes.
      */
@@ -111,38 +178,124 @@ public class TableSearchPanel extends JPanel {
     private void filterTable() {
         if (sorter == null) return;
         
-        String searchText = searchField.getText().trim();
-        int selectedColumn = columnSelector.getSelectedIndex();
+        String query = searchField.getText().trim().toLowerCase(Locale.ROOT);
+        // Search specific column (index - 1 because "All Columns" is at 0)
+        int column = columnSelector.getSelectedIndex() - 1;
+        int requested = ++generation;
         
-        if (searchText.isEmpty()) {
+        if (query.isEmpty()) {
+            lastResult = null;
             sorter.setRowFilter(null);
             return;
         }
         
-        try {
-            // Case-insensitive search
-            RowFilter<DefaultTableModel, Object> filter;
-            
-            if (selectedColumn == 0) {
-                // Search all columns
-                filter = RowFilter.regexFilter("(?i)" + escapeRegex(searchText));
-            } else {
-                // Search specific column (index - 1 because "All Columns" is at 0)
-                filter = RowFilter.regexFilter("(?i)" + escapeRegex(searchText), selectedColumn - 1);
+        int version = modelVersion;
+        SearchIndex cached = index != null && index.version() == version ? index : null;
+        // Rows appended since the cached copies were made; every row if there are none
+        Object[][] rows = snapshotRows(cached != null ? cached.rowCount() : 0);
+        FilterResult previous = lastResult != null && lastResult.version() == version
+                && lastResult.column() == column && query.contains(lastResult.query()) ? lastResult : null;
+        
+        BackgroundTasks.run(() -> {
+            SearchIndex searchIndex = extendIndex(version, cached, rows);
+            return new FilterResult(version, column, query, match(searchIndex, column, query, previous), searchIndex);
+        }, result -> {
+            if (result.version() != modelVersion) {
+                if (requested == generation) {
+                    debounce.restart();
+                }
+                return;
+            }
+            // Copies made for a superseded query still save the next one the work
+            if (index == null || index.version() != modelVersion || result.index().rowCount() > index.rowCount()) {
+                index = result.index();
+            }
+            if (requested != generation) {
+                return;
+            }
+            lastResult = result;
+            BitSet matches = result.matches();
+            sorter.setRowFilter(new RowFilter<DefaultTableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> entry) {
+                    return matches.get(entry.getIdentifier());
+                }
+            });
+        }, this);
+    }
+    
+    /**
+     * Copies the cell values of the rows from a model row on, on the EDT; lowercasing
+     * happens in the background.
+     */
+    private Object[][] snapshotRows(int from) {
+        DefaultTableModel model = sorter.getModel();
+        Object[][] rows = new Object[Math.max(0, model.getRowCount() - from)][model.getColumnCount()];
+        for (int r = 0; r < rows.length; r++) {
+            for (int c = 0; c < rows[r].length; c++) {
+                rows[r][c] = model.getValueAt(from + r, c);
             }
-            
-            sorter.setRowFilter(filter);
-        } catch (Exception e) {
-            // Invalid regex, clear filter
-            sorter.setRowFilter(null);
         }
+        return rows;
     }
     
     /**
-     * Escapes special regex characters.
+     * Gets the cached copies with the appended rows added, or new copies of rows if
+     * nothing is cached.
      */
-    private String escapeRegex(String text) {
-        return text.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+    private static SearchIndex extendIndex(int version, SearchIndex cached, Object[][] rows) {
+        if (cached != null && rows.length == 0) {
+            return cached;
+        }
+        int from = cached != null ? cached.rowCount() : 0;
+        String[][] text = cached != null ? Arrays.copyOf(cached.text(), from + rows.length)
+                : new String[rows.length][];
+        for (int r = 0; r < rows.length; r++) {
+            String[] cells = new String[rows[r].length];
+            for (int c = 0; c < cells.length; c++) {
+                Object value = rows[r][c];
+                cells[c] = value == null ? "" : value.toString().toLowerCase(Locale.ROOT);
+            }
+            text[from + r] = cells;
+        }
+        return new SearchIndex(version, text);
+    }
+    
+    /**
+     * Matching model rows. Of the rows the previous result covered only its matches
+     * are checked again; rows appended since are all checked.
+     */
+    private static BitSet match(SearchIndex index, int column, String query, FilterResult previous) {
+        String[][] text = index.text();
+        BitSet matches = new BitSet(text.length);
+        int checked = 0;
+        if (previous != null) {
+            BitSet candidates = previous.matches();
+            for (int r = candidates.nextSetBit(0); r >= 0; r = candidates.nextSetBit(r + 1)) {
+                if (matches(text[r], column, query)) {
+                    matches.set(r);
+                }
+            }
+            checked = previous.index().rowCount();
+        }
+        for (int r = checked; r < text.length; r++) {
+            if (matches(text[r], column, query)) {
+                matches.set(r);
+            }
+        }
+        return matches;
+    }
+    
+    private static boolean matches(String[] row, int column, String query) {
+        if (column >= 0) {
+            return column < row.length && row[column].contains(query);
+        }
+        for (String cell : row) {
+            if (cell.contains(query)) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -150,6 +303,9 @@ public class TableSearchPanel extends JPanel {
      */
     public void clearSearch() {
         searchField.setText("");
+        debounce.stop();
+        generation++;
+        lastResult = null;
         if (sorter != null) {
             sorter.setRowFilter(null);
         }
@@ -162,6 +318,13 @@ public class TableSearchPanel extends JPanel {
         return searchField.getText();
     }
     
+    /**
+     * Sets the search text; the table is filtered after the debounce delay.
+     */
+    public void setSearchText(String text) {
+        searchField.setText(text);
+    }
+    
     /**
      * Sets focus to the search field.
      */
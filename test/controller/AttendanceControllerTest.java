@@ -0,0 +1,168 @@
+package controller;
+
+import controller.AttendanceController.AttendanceRate;
+import controller.AttendanceController.RollCallOutcome;
+import controller.AttendanceController.RollCallResult;
+import model.dao.*;
+import model.dao.impl.*;
+import model.entity.*;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import org.junit.jupiter.api.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AttendanceController roll calls.
+ */
+class AttendanceControllerTest {
+    
+    private AttendanceDAO attendanceDAO;
+    private EnrollmentDAO enrollmentDAO;
+    private SessionDAO sessionDAO;
+    private CourseDAO courseDAO;
+    private AttendanceController controller;
+    private final List<EntityEvent<Attendance>> events = new ArrayList<>();
+    
+    @BeforeEach
+    void setUp() {
+        AttendanceDAOImpl attendance = new AttendanceDAOImpl();
+        attendanceDAO = attendance;
+        enrollmentDAO = new EnrollmentDAOImpl();
+        sessionDAO = new SessionDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        attendance.setEnrollmentDAO(enrollmentDAO);
+        attendance.setCourseDAO(courseDAO);
+        EventBus eventBus = new EventBus();
+        eventBus.subscribe(Attendance.class, events::add);
+        controller = new AttendanceController(attendanceDAO, enrollmentDAO, sessionDAO, eventBus);
+    }
+    
+    private Session createSession(int courseId) {
+        return sessionDAO.save(new Session(0, courseId, LocalDate.of(2025, 6, 2),
+                LocalTime.of(10, 0), LocalTime.of(12, 0), "Intro"));
+    }
+    
+    private int enroll(int studentId, int courseId, Enrollment.Status status) {
+        return enrollmentDAO.save(new Enrollment(0, studentId, courseId, status)).getId();
+    }
+    
+    @Test
+    @DisplayName("Roll call creates, updates and skips records and rejects enrollments not on the roll")
+    void testRecordSessionAttendance() {
+        Session session = createSession(1);
+        int present = enroll(1, 1, Enrollment.Status.ACTIVE);
+        int late = enroll(2, 1, Enrollment.Status.ACTIVE);
+        int same = enroll(3, 1, Enrollment.Status.ACTIVE);
+        int dropped = enroll(4, 1, Enrollment.Status.DROPPED);
+        int otherCourse = enroll(5, 2, Enrollment.Status.ACTIVE);
+        controller.recordAttendance(late, session.getId(), Attendance.AttendanceStatus.ABSENT, "Called in");
+        controller.recordAttendance(same, session.getId(), Attendance.AttendanceStatus.PRESENT, null);
+        events.clear();
+        
+        Map<Integer, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        statuses.put(present, Attendance.AttendanceStatus.PRESENT);
+        statuses.put(late, Attendance.AttendanceStatus.LATE);
+        statuses.put(same, Attendance.AttendanceStatus.PRESENT);
+        statuses.put(dropped, Attendance.AttendanceStatus.PRESENT);
+        statuses.put(otherCourse, Attendance.AttendanceStatus.PRESENT);
+        List<RollCallResult> results = controller.recordSessionAttendance(session.getId(), statuses);
+        
+        assertEquals(List.of(present, late, same, dropped, otherCourse),
+                results.stream().map(RollCallResult::enrollmentId).toList());
+        assertEquals(List.of(RollCallOutcome.CREATED, RollCallOutcome.UPDATED, RollCallOutcome.UNCHANGED,
+                RollCallOutcome.REJECTED, RollCallOutcome.REJECTED),
+                results.stream().map(RollCallResult::outcome).toList());
+        assertNull(results.get(3).attendance());
+        assertNotNull(results.get(3).message());
+        
+        Attendance updated = attendanceDAO.findByEnrollmentAndSession(late, session.getId());
+        assertEquals(Attendance.AttendanceStatus.LATE, updated.getStatus());
+        assertEquals("Called in", updated.getNotes());
+        assertEquals(3, attendanceDAO.findBySessionId(session.getId()).size());
+        assertEquals(List.of(EntityEvent.Kind.CREATED, EntityEvent.Kind.UPDATED),
+                events.stream().map(EntityEvent::kind).toList());
+    }
+    
+    @Test
+    @DisplayName("A record created by another roll call after the read is reported as updated")
+    void testRecordCreatedConcurrently() {
+        Session session = createSession(1);
+        int enrollmentId = enroll(1, 1, Enrollment.Status.ACTIVE);
+        AttendanceDAOImpl staleReads = new AttendanceDAOImpl() {
+            @Override
+            public List<Attendance> findBySessionId(int sessionId) {
+                // Another roll call commits its record right after this read
+                save(new Attendance(0, enrollmentId, sessionId, Attendance.AttendanceStatus.ABSENT, null));
+                return List.of();
+            }
+        };
+        EventBus eventBus = new EventBus();
+        eventBus.subscribe(Attendance.class, events::add);
+        controller = new AttendanceController(staleReads, enrollmentDAO, sessionDAO, eventBus);
+        
+        List<RollCallResult> results = controller.recordSessionAttendance(session.getId(),
+                Map.of(enrollmentId, Attendance.AttendanceStatus.PRESENT));
+        
+        assertEquals(RollCallOutcome.UPDATED, results.get(0).outcome());
+        assertEquals(List.of(EntityEvent.Kind.UPDATED), events.stream().map(EntityEvent::kind).toList());
+        assertEquals(1, staleReads.count());
+    }
+    
+    @Test
+    @DisplayName("Roll call for an unknown session fails before writing anything")
+    void testUnknownSession() {
+        int enrollmentId = enroll(1, 1, Enrollment.Status.ACTIVE);
+        assertThrows(IllegalArgumentException.class, () -> controller.recordSessionAttendance(99,
+                Map.of(enrollmentId, Attendance.AttendanceStatus.PRESENT)));
+        assertThrows(IllegalArgumentException.class, () -> controller.recordSessionAttendance(99, Map.of()));
+        assertEquals(0, attendanceDAO.count());
+    }
+    
+    @Test
+    @DisplayName("Course and term rates cover every enrollment with records, filtered by threshold")
+    void testAttendanceRates() {
+        List<Integer> summerCourses = new ArrayList<>();
+        // Enough courses for the term totals to be split into fork/join tasks
+        for (int i = 0; i < 20; i++) {
+            Course.Term term = i % 4 == 3 ? Course.Term.WINTER : Course.Term.SUMMER;
+            Course course = courseDAO.save(new Course(0, "Course " + i, "desc", term, Student.SkillLevel.BEGINNER,
+                    1, 10, new BigDecimal("100.00"), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31)));
+            if (term == Course.Term.SUMMER) {
+                summerCourses.add(course.getId());
+            }
+        }
+        int session = createSession(summerCourses.get(0)).getId();
+        int expected = 0;
+        for (int courseId : summerCourses) {
+            int good = enroll(1, courseId, Enrollment.Status.ACTIVE);
+            int poor = enroll(2, courseId, Enrollment.Status.ACTIVE);
+            enroll(3, courseId, Enrollment.Status.ACTIVE);
+            controller.recordAttendance(good, session, Attendance.AttendanceStatus.PRESENT, null);
+            controller.recordAttendance(poor, session, Attendance.AttendanceStatus.LATE, null);
+            attendanceDAO.save(new Attendance(0, poor, session + 1, Attendance.AttendanceStatus.ABSENT, null));
+            attendanceDAO.save(new Attendance(0, poor, session + 2, Attendance.AttendanceStatus.ABSENT, null));
+            expected++;
+        }
+        
+        List<AttendanceRate> course = controller.getCourseAttendanceRates(summerCourses.get(0));
+        assertEquals(2, course.size());
+        AttendanceRate poorest = course.get(0);
+        assertEquals(1, poorest.attended());
+        assertEquals(3, poorest.recorded());
+        assertEquals(controller.calculateAttendancePercentage(poorest.enrollmentId()), poorest.percentage());
+        assertEquals(100.0, course.get(1).percentage());
+        
+        assertEquals(2 * expected, controller.getTermAttendanceRates(Course.Term.SUMMER).size());
+        List<AttendanceRate> atRisk = controller.getTermAttendanceRates(Course.Term.SUMMER, 75.0);
+        assertEquals(expected, atRisk.size());
+        assertTrue(atRisk.stream().allMatch(r -> r.percentage() < 75.0));
+        assertTrue(controller.getTermAttendanceRates(Course.Term.WINTER).isEmpty());
+    }
+}
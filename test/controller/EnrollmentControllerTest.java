@@ -0,0 +1,310 @@
+package controller;
+
+import controller.EnrollmentController.Settlement;
+import controller.EnrollmentController.SettlementOutcome;
+import controller.EnrollmentController.SettlementResult;
+import model.dao.*;
+import model.dao.impl.*;
+import model.entity.*;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EnrollmentController.
+ */
+class EnrollmentControllerTest {
+    
+    private StudentDAO studentDAO;
+    private CourseDAO courseDAO;
+    private EnrollmentDAO enrollmentDAO;
+    private PaymentDAO paymentDAO;
+    private EnrollmentController controller;
+    
+    @BeforeEach
+    void setUp() {
+        studentDAO = new StudentDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        paymentDAO = new PaymentDAOImpl();
+        controller = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, paymentDAO);
+    }
+    
+    private Course createCourse(int capacity) {
+        return courseDAO.save(new Course(0, "Watercolor", "Basics", Course.Term.SUMMER,
+                Student.SkillLevel.BEGINNER, 1, capacity, new BigDecimal("100.00"),
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31)));
+    }
+    
+    private Student createStudent(int n) {
+        return studentDAO.save(new Student(0, "Student", "Number" + n, "student" + n + "@email.com",
+                "1234567890", "2000-01-01", Student.SkillLevel.BEGINNER));
+    }
+    
+    @Test
+    @DisplayName("Should create an enrollment with a pending payment")
+    void testEnrollCreatesPendingPayment() {
+        Course course = createCourse(5);
+        Student student = createStudent(1);
+        
+        Enrollment enrollment = controller.enrollStudent(student.getId(), course.getId());
+        
+        List<Payment> payments = paymentDAO.findByEnrollmentId(enrollment.getId());
+        assertEquals(1, payments.size());
+        assertEquals(Payment.PaymentStatus.PENDING, payments.get(0).getStatus());
+        assertEquals(0, new BigDecimal("100.00").compareTo(payments.get(0).getAmount()));
+    }
+    
+    @Test
+    @DisplayName("Dropping an enrollment frees its seat")
+    void testDropFreesSeat() {
+        Course course = createCourse(1);
+        Enrollment first = controller.enrollStudent(createStudent(1).getId(), course.getId());
+        int secondStudent = createStudent(2).getId();
+        
+        assertThrows(IllegalArgumentException.class, () -> controller.enrollStudent(secondStudent, course.getId()));
+        assertTrue(controller.dropEnrollment(first.getId()));
+        assertFalse(controller.completeEnrollment(first.getId()));
+        assertEquals(Enrollment.Status.DROPPED, enrollmentDAO.findById(first.getId()).orElseThrow().getStatus());
+        assertNotNull(controller.enrollStudent(secondStudent, course.getId()));
+    }
+    
+    @Test
+    @DisplayName("A failed payment save leaves no enrollment and no taken seat")
+    void testPaymentFailureRollsBackEnrollment() {
+        PaymentDAO failingPayments = new PaymentDAOImpl() {
+            @Override
+            public Payment save(Payment payment) {
+                throw new IllegalStateException("payment store unavailable");
+            }
+        };
+        controller = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, failingPayments);
+        Course course = createCourse(1);
+        Student student = createStudent(1);
+        
+        assertThrows(IllegalStateException.class, () -> controller.enrollStudent(student.getId(), course.getId()));
+        assertEquals(0, enrollmentDAO.count());
+        assertNull(enrollmentDAO.findByStudentAndCourse(student.getId(), course.getId()));
+        
+        controller = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, paymentDAO);
+        assertNotNull(controller.enrollStudent(student.getId(), course.getId()));
+    }
+    
+    @Test
+    @DisplayName("Hundreds of concurrent enrollments never overbook a course")
+    void testConcurrentEnrollmentsRespectCapacity() throws Exception {
+        int capacity = 25;
+        int contenders = 400;
+        Course course = createCourse(capacity);
+        List<Integer> studentIds = new ArrayList<>();
+        for (int i = 0; i < contenders; i++) {
+            studentIds.add(createStudent(i).getId());
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int studentId : studentIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        controller.enrollStudent(studentId, course.getId());
+                        enrolled.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(capacity, enrolled.get());
+        assertEquals(contenders - capacity, rejected.get());
+        assertEquals(capacity, enrollmentDAO.countByCourseId(course.getId()));
+        assertEquals(capacity, paymentDAO.findPendingPayments().size());
+    }
+    
+    @Test
+    @DisplayName("A drop racing a completion releases the seat once and keeps the winner's status")
+    void testConcurrentDropAndCompleteReleaseOnce() throws Exception {
+        int capacity = 200;
+        int ended = 100;
+        Course course = createCourse(capacity);
+        List<Integer> enrollmentIds = new ArrayList<>();
+        for (int i = 0; i < capacity; i++) {
+            enrollmentIds.add(controller.enrollStudent(createStudent(i).getId(), course.getId()).getId());
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int enrollmentId : enrollmentIds.subList(0, ended)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return controller.dropEnrollment(enrollmentId);
+                }));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return controller.completeEnrollment(enrollmentId);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < ended; i++) {
+                boolean dropped = futures.get(2 * i).get(30, TimeUnit.SECONDS);
+                boolean completed = futures.get(2 * i + 1).get(30, TimeUnit.SECONDS);
+                assertNotEquals(dropped, completed);
+                // The loser must not overwrite the winner's status
+                assertEquals(dropped ? Enrollment.Status.DROPPED : Enrollment.Status.COMPLETED,
+                        enrollmentDAO.findById(enrollmentIds.get(i)).orElseThrow().getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertEquals(capacity - ended, enrollmentDAO.countByCourseId(course.getId()));
+        // A seat released twice would let more than the ended enrollments back in
+        int admitted = 0;
+        for (int i = capacity; i < capacity + ended + 1; i++) {
+            try {
+                controller.enrollStudent(createStudent(i).getId(), course.getId());
+                admitted++;
+            } catch (IllegalArgumentException e) {
+                // Course is full
+            }
+        }
+        assertEquals(ended, admitted);
+    }
+    
+    @Test
+    @DisplayName("Enrollments and payments are listed a page at a time")
+    void testPages() {
+        Course course = createCourse(5);
+        for (int i = 0; i < 3; i++) {
+            controller.enrollStudent(createStudent(i).getId(), course.getId());
+        }
+        
+        Page<Enrollment> enrollments = controller.getEnrollmentsPage(PageRequest.first(2));
+        assertEquals(2, enrollments.getContent().size());
+        assertTrue(enrollments.hasNext());
+        assertEquals(1, controller.getEnrollmentsPage(enrollments.nextRequest()).getContent().size());
+        Page<Payment> payments = controller.getPaymentsPage(PageRequest.ofOffset(1, 5));
+        assertEquals(2, payments.getContent().size());
+        assertFalse(payments.hasNext());
+    }
+    
+    @Test
+    @DisplayName("Views of changed enrollments carry their student and course names")
+    void testEnrollmentViewsOfChanges() {
+        Course course = createCourse(5);
+        Student student = createStudent(1);
+        Enrollment enrollment = controller.enrollStudent(student.getId(), course.getId());
+        Enrollment orphan = new Enrollment(99, 99, course.getId(), Enrollment.Status.ACTIVE);
+        
+        List<EnrollmentView> views = controller.getEnrollmentViews(List.of(enrollment, orphan));
+        assertEquals(student.getFullName(), views.get(0).getStudentName());
+        assertEquals("Watercolor", views.get(0).getCourseName());
+        assertNull(views.get(1).getStudentName());
+        assertEquals(99, views.get(1).getId());
+    }
+    
+    @Test
+    @DisplayName("Should publish the enrollment and its payment, then status changes")
+    void testPublishesEvents() {
+        EventBus bus = new EventBus();
+        List<EntityEvent<?>> events = new ArrayList<>();
+        bus.subscribe(Enrollment.class, events::add);
+        bus.subscribe(Payment.class, events::add);
+        controller = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, paymentDAO,
+                TransactionManager.NONE, bus);
+        Course course = createCourse(5);
+        
+        Enrollment enrollment = controller.enrollStudent(createStudent(1).getId(), course.getId());
+        controller.dropEnrollment(enrollment.getId());
+        
+        assertEquals(3, events.size());
+        assertEquals(EntityEvent.Kind.CREATED, events.get(0).kind());
+        assertEquals(Enrollment.class, events.get(0).type());
+        assertEquals(enrollment.getId(), events.get(0).id());
+        assertEquals(Payment.class, events.get(1).type());
+        assertEquals(EntityEvent.Kind.UPDATED, events.get(2).kind());
+        assertEquals(Enrollment.Status.DROPPED, ((Enrollment) events.get(2).entity()).getStatus());
+    }
+    
+    @Test
+    @DisplayName("Batch settlement settles each key once and rejects bad lines without failing the rest")
+    void testSettlePayments() {
+        Course course = createCourse(5);
+        int[] enrollments = new int[4];
+        for (int i = 0; i < enrollments.length; i++) {
+            enrollments[i] = controller.enrollStudent(createStudent(i).getId(), course.getId()).getId();
+        }
+        
+        List<SettlementResult> results = controller.settlePayments(List.of(
+                new Settlement(enrollments[0], "Bank Transfer", "line-1"),
+                new Settlement(enrollments[1], "Bank Transfer", "line-2"),
+                new Settlement(enrollments[0], "Bank Transfer", "line-1"),
+                new Settlement(enrollments[2], " ", "line-3"),
+                new Settlement(enrollments[3], "Cash", null),
+                new Settlement(enrollments[1], "Cash", "line-5"),
+                new Settlement(999, "Cash", "line-6")));
+        
+        assertEquals(List.of(SettlementOutcome.SETTLED, SettlementOutcome.SETTLED, SettlementOutcome.DUPLICATE,
+                SettlementOutcome.REJECTED, SettlementOutcome.REJECTED, SettlementOutcome.REJECTED,
+                SettlementOutcome.REJECTED), results.stream().map(SettlementResult::outcome).toList());
+        assertEquals(results.get(0).payment(), results.get(2).payment());
+        assertEquals("Bank Transfer", results.get(0).payment().getPaymentMethod());
+        assertNotNull(results.get(6).message());
+        assertEquals(2, paymentDAO.findPendingPayments().size());
+        
+        List<SettlementResult> resubmitted = controller.settlePayments(List.of(
+                new Settlement(enrollments[0], "Cash", "line-1"),
+                new Settlement(enrollments[2], "Cash", "line-1"),
+                new Settlement(enrollments[2], "Cash", "line-3")));
+        assertEquals(List.of(SettlementOutcome.DUPLICATE, SettlementOutcome.REJECTED, SettlementOutcome.SETTLED),
+                resubmitted.stream().map(SettlementResult::outcome).toList());
+        assertEquals(results.get(0).payment().getId(), resubmitted.get(0).payment().getId());
+        assertEquals("Bank Transfer", paymentDAO.findById(resubmitted.get(0).payment().getId())
+                .orElseThrow().getPaymentMethod());
+        assertEquals(1, paymentDAO.findPendingPayments().size());
+        assertThrows(IllegalArgumentException.class, () -> controller.settlePayments(List.of()));
+    }
+    
+    @Test
+    @DisplayName("Settling a chosen payment completes that payment, not the enrollment's oldest")
+    void testSettlePaymentById() {
+        Course course = createCourse(5);
+        int enrollmentId = controller.enrollStudent(createStudent(1).getId(), course.getId()).getId();
+        Payment oldest = paymentDAO.findPendingByEnrollmentId(enrollmentId);
+        Payment newer = paymentDAO.save(new Payment(0, enrollmentId, new BigDecimal("50.00"), null,
+                Payment.PaymentStatus.PENDING));
+        
+        SettlementResult result = controller.settlePayment(newer.getId(), "Cash");
+        assertEquals(SettlementOutcome.SETTLED, result.outcome());
+        assertEquals(newer.getId(), result.payment().getId());
+        assertEquals("payment-" + newer.getId(), result.idempotencyKey());
+        assertEquals(oldest.getId(), paymentDAO.findPendingByEnrollmentId(enrollmentId).getId());
+        
+        // A second click on the same row must not settle the remaining pending payment
+        assertEquals(SettlementOutcome.DUPLICATE, controller.settlePayment(newer.getId(), "Cash").outcome());
+        assertEquals(oldest.getId(), paymentDAO.findPendingByEnrollmentId(enrollmentId).getId());
+        assertEquals(SettlementOutcome.REJECTED, controller.settlePayment(oldest.getId(), " ").outcome());
+        assertEquals(SettlementOutcome.REJECTED, controller.settlePayment(999, "Cash").outcome());
+    }
+}
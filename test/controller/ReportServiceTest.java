@@ -0,0 +1,124 @@
+package controller;
+
+import model.dao.impl.*;
+import model.entity.*;
+import model.report.ReportFormat;
+import org.junit.jupiter.api.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReportService.
+ */
+class ReportServiceTest {
+    
+    private ReportService service;
+    private EnrollmentDAOImpl enrollmentDAO;
+    private AttendanceDAOImpl attendanceDAO;
+    private PaymentDAOImpl paymentDAO;
+    
+    @BeforeEach
+    void setUp() {
+        StudentDAOImpl studentDAO = new StudentDAOImpl();
+        CourseDAOImpl courseDAO = new CourseDAOImpl();
+        SessionDAOImpl sessionDAO = new SessionDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        attendanceDAO = new AttendanceDAOImpl();
+        paymentDAO = new PaymentDAOImpl();
+        service = new ReportService(studentDAO, courseDAO, sessionDAO, enrollmentDAO, attendanceDAO, paymentDAO);
+        
+        courseDAO.save(newCourse("Watercolor", Course.Term.SUMMER, 2025));
+        courseDAO.save(newCourse("Oil, \"Advanced\"", Course.Term.WINTER, 2025));
+        studentDAO.save(new Student(0, "Ada", "Kaya", "ada@email.com", "1234567890", "2000-01-01",
+                Student.SkillLevel.BEGINNER));
+        studentDAO.save(new Student(0, "Bo", "Demir", "bo@email.com", "1234567890", "2000-01-01",
+                Student.SkillLevel.BEGINNER));
+        enrollmentDAO.save(new Enrollment(0, 1, 1, Enrollment.Status.ACTIVE));
+        enrollmentDAO.save(new Enrollment(0, 2, 1, Enrollment.Status.DROPPED));
+        enrollmentDAO.save(new Enrollment(0, 2, 2, Enrollment.Status.ACTIVE));
+        paymentDAO.save(new Payment(0, 1, new BigDecimal("100.00"), "Cash", Payment.PaymentStatus.COMPLETED));
+        paymentDAO.save(new Payment(0, 2, new BigDecimal("100.00"), "Cash", Payment.PaymentStatus.REFUNDED));
+        paymentDAO.save(new Payment(0, 3, new BigDecimal("250.50"), "Cash", Payment.PaymentStatus.PENDING));
+        sessionDAO.save(new Session(0, 1, LocalDate.of(2025, 6, 2), LocalTime.of(10, 0), LocalTime.of(12, 0), "Intro"));
+        sessionDAO.save(new Session(0, 1, LocalDate.of(2025, 6, 9), LocalTime.of(10, 0), LocalTime.of(12, 0), "Wash"));
+        attendanceDAO.save(new Attendance(0, 1, 1, Attendance.AttendanceStatus.PRESENT, null));
+        attendanceDAO.save(new Attendance(0, 1, 2, Attendance.AttendanceStatus.LATE, null));
+        attendanceDAO.save(new Attendance(0, 2, 1, Attendance.AttendanceStatus.ABSENT, null));
+    }
+    
+    private static Course newCourse(String name, Course.Term term, int year) {
+        return new Course(0, name, "desc", term, Student.SkillLevel.BEGINNER, 1, 10,
+                new BigDecimal("100.00"), LocalDate.of(year, 6, 1), LocalDate.of(year, 8, 31));
+    }
+    
+    private String export(ReportService.Report report, ReportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(report, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    @DisplayName("CSV reports aggregate per group and quote special characters")
+    void testCsvReports() throws IOException {
+        assertEquals("year,term,courses,enrollments,payments,collected,outstanding,refunded\r\n"
+                + "2025,SUMMER,1,2,2,100.00,0,100.00\r\n"
+                + "2025,WINTER,1,1,1,0,250.50,0\r\n",
+                export(ReportService.Report.REVENUE_BY_TERM, ReportFormat.CSV));
+        assertEquals("course_id,course,sessions,enrollments,present,late,absent,attendance_rate\r\n"
+                + "1,Watercolor,2,2,1,1,1,0.6667\r\n"
+                + "2,\"Oil, \"\"Advanced\"\"\",0,1,0,0,0,\r\n",
+                export(ReportService.Report.ATTENDANCE_BY_COURSE, ReportFormat.CSV));
+        assertEquals("course_id,course,capacity,enrolled,paid,active,completed,dropped\r\n"
+                + "1,Watercolor,10,2,1,1,0,1\r\n"
+                + "2,\"Oil, \"\"Advanced\"\"\",10,1,0,1,0,0\r\n",
+                export(ReportService.Report.ENROLLMENT_FUNNEL, ReportFormat.CSV));
+    }
+    
+    @Test
+    @DisplayName("Rows without a status are counted where their status is not needed and skipped elsewhere")
+    void testNullStatuses() throws IOException {
+        // The status columns are nullable
+        enrollmentDAO.save(new Enrollment(0, 1, 2, null));
+        paymentDAO.save(new Payment(0, 4, new BigDecimal("80.00"), null, null));
+        attendanceDAO.save(new Attendance(0, 4, 1, null, null));
+        
+        assertEquals("year,term,courses,enrollments,payments,collected,outstanding,refunded\r\n"
+                + "2025,SUMMER,1,2,2,100.00,0,100.00\r\n"
+                + "2025,WINTER,1,2,1,0,250.50,0\r\n",
+                export(ReportService.Report.REVENUE_BY_TERM, ReportFormat.CSV));
+        assertEquals("course_id,course,sessions,enrollments,present,late,absent,attendance_rate\r\n"
+                + "1,Watercolor,2,2,1,1,1,0.6667\r\n"
+                + "2,\"Oil, \"\"Advanced\"\"\",0,2,0,0,0,\r\n",
+                export(ReportService.Report.ATTENDANCE_BY_COURSE, ReportFormat.CSV));
+        assertEquals("course_id,course,capacity,enrolled,paid,active,completed,dropped\r\n"
+                + "1,Watercolor,10,2,1,1,0,1\r\n"
+                + "2,\"Oil, \"\"Advanced\"\"\",10,2,0,1,0,0\r\n",
+                export(ReportService.Report.ENROLLMENT_FUNNEL, ReportFormat.CSV));
+    }
+    
+    @Test
+    @DisplayName("JSON export writes one object per row with unquoted numbers")
+    void testJsonReport() throws IOException {
+        assertEquals("{\"report\":\"outstanding-balances\","
+                + "\"columns\":[\"student_id\",\"student\",\"email\",\"pending_payments\",\"outstanding\"],"
+                + "\"rows\":[\n"
+                + "{\"student_id\":2,\"student\":\"Bo Demir\",\"email\":\"bo@email.com\","
+                + "\"pending_payments\":1,\"outstanding\":250.50}\n"
+                + "]}\n",
+                export(ReportService.Report.OUTSTANDING_BALANCES, ReportFormat.JSON));
+    }
+    
+    @Test
+    @DisplayName("Reports and formats are looked up by id")
+    void testLookup() {
+        assertEquals(ReportService.Report.ENROLLMENT_FUNNEL, ReportService.Report.fromId("enrollment-funnel"));
+        assertEquals(ReportFormat.JSON, ReportFormat.fromExtension("JSON"));
+        assertThrows(IllegalArgumentException.class, () -> ReportService.Report.fromId("payroll"));
+        assertThrows(IllegalArgumentException.class, () -> ReportFormat.fromExtension("xlsx"));
+    }
+}
@@ -0,0 +1,185 @@
+package controller;
+
+import model.dao.*;
+import model.dao.impl.*;
+import model.entity.*;
+import model.event.EntityEvent;
+import model.event.EventBus;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StatisticsService.
+ */
+class StatisticsServiceTest {
+    
+    private StudentDAO studentDAO;
+    private InstructorDAO instructorDAO;
+    private CourseDAOImpl courseDAO;
+    private EnrollmentDAOImpl enrollmentDAO;
+    private PaymentDAO paymentDAO;
+    private EventBus bus;
+    private StudentController studentController;
+    private CourseController courseController;
+    private EnrollmentController enrollmentController;
+    
+    @BeforeEach
+    void setUp() {
+        studentDAO = new StudentDAOImpl();
+        instructorDAO = new InstructorDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        courseDAO.setEnrollmentDAO(enrollmentDAO);
+        paymentDAO = new PaymentDAOImpl();
+        bus = new EventBus();
+        studentController = new StudentController(studentDAO, new SkillTestDAOImpl(), bus);
+        courseController = new CourseController(courseDAO, instructorDAO, new SessionDAOImpl(), bus);
+        enrollmentController = new EnrollmentController(enrollmentDAO, studentDAO, courseDAO, paymentDAO,
+                TransactionManager.NONE, bus);
+        instructorDAO.save(new Instructor(0, "Ada", "Painter", "ada@email.com", "1234567890", "Oil"));
+    }
+    
+    private StatisticsService newService() {
+        return new StatisticsService(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, bus);
+    }
+    
+    private Course createCourse(int capacity) {
+        return courseController.createCourse("Watercolor", "Basics", Course.Term.SUMMER,
+                Student.SkillLevel.BEGINNER, 1, capacity, new BigDecimal("100.00"),
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31));
+    }
+    
+    private Student createStudent(int n) {
+        return studentController.registerStudent("Student", "Number" + n, "student" + n + "@email.com",
+                "1234567890", "2000-01-01");
+    }
+    
+    private void assertMatchesQueries(StatisticsService.Snapshot stats) {
+        assertEquals(studentDAO.count(), stats.students());
+        assertEquals(instructorDAO.count(), stats.instructors());
+        assertEquals(courseDAO.count(), stats.courses());
+        assertEquals(enrollmentDAO.findActiveEnrollments().size(), stats.activeEnrollments());
+        assertEquals(paymentDAO.findPendingPayments().size(), stats.pendingPayments());
+        assertEquals(courseDAO.findAvailableCourses().size(), stats.availableCourses());
+        for (Student.SkillLevel level : Student.SkillLevel.values()) {
+            assertEquals(studentDAO.findBySkillLevel(level).size(), stats.studentsAt(level));
+        }
+    }
+    
+    @Test
+    @DisplayName("Should count existing data and follow later writes")
+    void testTracksWrites() {
+        Course small = createCourse(1);
+        Course large = createCourse(5);
+        Student first = createStudent(1);
+        StatisticsService service = newService();
+        assertMatchesQueries(service.getSnapshot());
+        
+        Student second = createStudent(2);
+        Enrollment firstInSmall = enrollmentController.enrollStudent(first.getId(), small.getId());
+        enrollmentController.enrollStudent(second.getId(), large.getId());
+        StatisticsService.Snapshot full = service.getSnapshot();
+        assertMatchesQueries(full);
+        assertEquals(1, full.availableCourses());
+        assertEquals(2, full.pendingPayments());
+        
+        enrollmentController.processPayment(firstInSmall.getId(), "Cash");
+        enrollmentController.dropEnrollment(firstInSmall.getId());
+        studentController.conductSkillTest(second.getId(), 80, null);
+        studentController.deleteStudent(first.getId());
+        courseController.deleteCourse(large.getId());
+        
+        StatisticsService.Snapshot stats = service.getSnapshot();
+        assertMatchesQueries(stats);
+        assertEquals(1, stats.studentsAt(Student.SkillLevel.ADVANCED));
+        // The snapshot taken earlier is unaffected
+        assertEquals(2, full.pendingPayments());
+    }
+    
+    @Test
+    @DisplayName("Students without a level and ids beyond the first allocation are counted")
+    void testSparseIdsAndMissingLevel() {
+        StatisticsService service = newService();
+        assertEquals(0, service.getSnapshot().students());
+        Student unleveled = studentDAO.save(new Student(0, "No", "Level", "none@email.com", "1234567890",
+                "2000-01-01", null));
+        bus.publish(EntityEvent.created(Student.class, unleveled.getId(), unleveled));
+        Student far = new Student(0, "Far", "Away", "far@email.com", "1234567890", "2000-01-01",
+                Student.SkillLevel.ADVANCED);
+        far.setId(100_000);
+        bus.publish(EntityEvent.created(Student.class, far.getId(), far));
+        
+        StatisticsService.Snapshot stats = service.getSnapshot();
+        assertEquals(2, stats.students());
+        assertEquals(1, stats.studentsAt(Student.SkillLevel.ADVANCED));
+        assertEquals(0, stats.studentsAt(Student.SkillLevel.BEGINNER));
+        
+        bus.publish(EntityEvent.deleted(Student.class, unleveled.getId()));
+        bus.publish(EntityEvent.deleted(Student.class, far.getId()));
+        bus.publish(EntityEvent.deleted(Student.class, far.getId()));
+        assertEquals(0, service.getSnapshot().students());
+        assertEquals(0, service.getSnapshot().studentsAt(Student.SkillLevel.ADVANCED));
+    }
+    
+    @Test
+    @DisplayName("Repeated events and rebuilds should not double count")
+    void testIdempotent() {
+        Course course = createCourse(1);
+        Student student = createStudent(1);
+        StatisticsService service = newService();
+        Enrollment enrollment = enrollmentController.enrollStudent(student.getId(), course.getId());
+        
+        bus.publish(EntityEvent.created(Enrollment.class, enrollment.getId(), enrollment));
+        bus.publish(EntityEvent.created(Student.class, student.getId(), student));
+        assertMatchesQueries(service.getSnapshot());
+        
+        // Writes that bypass the controllers show up after a rebuild
+        createStudentDirectly();
+        assertEquals(1, service.getSnapshot().students());
+        service.rebuild();
+        assertMatchesQueries(service.getSnapshot());
+    }
+    
+    @Test
+    @DisplayName("Writes during a count neither wait for it nor get lost when it finishes")
+    void testWritesDuringCount() throws InterruptedException {
+        CountDownLatch scanned = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        studentDAO = new StudentDAOImpl() {
+            @Override
+            public void forEach(Consumer<? super Student> action) {
+                super.forEach(action);
+                scanned.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        studentController = new StudentController(studentDAO, new SkillTestDAOImpl(), bus);
+        Student student = createStudent(1);
+        StatisticsService service = newService();
+        assertTrue(scanned.await(10, TimeUnit.SECONDS));
+        
+        // The count has seen the student and is still running
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> studentController.deleteStudent(student.getId()));
+        createStudent(2);
+        release.countDown();
+        
+        StatisticsService.Snapshot stats = service.getSnapshot();
+        assertEquals(1, stats.students());
+        assertMatchesQueries(stats);
+    }
+    
+    private void createStudentDirectly() {
+        studentDAO.save(new Student(0, "Direct", "Write", "direct@email.com", "1234567890",
+                "2000-01-01", Student.SkillLevel.INTERMEDIATE));
+    }
+}
@@ -0,0 +1,137 @@
+package model.dao;
+
+import model.dao.impl.*;
+import model.entity.*;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DataGenerator against the in-memory DAOs.
+ */
+class DataGeneratorTest {
+    
+    private StudentDAOImpl studentDAO;
+    private CourseDAOImpl courseDAO;
+    private EnrollmentDAOImpl enrollmentDAO;
+    private PaymentDAOImpl paymentDAO;
+    private AttendanceDAOImpl attendanceDAO;
+    private SkillTestDAOImpl skillTestDAO;
+    private DataGenerator generator;
+    
+    @BeforeEach
+    void setUp() {
+        studentDAO = new StudentDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        enrollmentDAO = new EnrollmentDAOImpl();
+        paymentDAO = new PaymentDAOImpl();
+        attendanceDAO = new AttendanceDAOImpl();
+        skillTestDAO = new SkillTestDAOImpl();
+        courseDAO.setEnrollmentDAO(enrollmentDAO);
+        generator = new DataGenerator(studentDAO, new InstructorDAOImpl(), courseDAO, new SessionDAOImpl(),
+                enrollmentDAO, paymentDAO, attendanceDAO, skillTestDAO);
+    }
+    
+    private static DataGeneratorConfig config() {
+        DataGeneratorConfig config = new DataGeneratorConfig();
+        config.setSeed(7L);
+        config.setStudents(2_000);
+        config.setInstructors(10);
+        config.setCoursesPerTerm(20);
+        config.setSessionsPerCourse(10);
+        config.setCourseCapacity(20);
+        config.setCapacityFillRatio(0.75);
+        config.setAttendanceRate(0.8);
+        config.setLateShare(0.25);
+        config.setPaymentCompletionRate(0.6);
+        config.setBatchSize(250);
+        return config;
+    }
+    
+    @Test
+    @DisplayName("Should write the counts reported in the summary")
+    void testSummaryMatchesStore() {
+        DataGenerator.Summary summary = generator.generate(config());
+        
+        assertEquals(2_000, summary.students());
+        assertEquals(studentDAO.count(), summary.students());
+        assertEquals(skillTestDAO.count(), summary.skillTests());
+        assertEquals(40, summary.courses());
+        assertEquals(400, summary.sessions());
+        assertEquals(40 * 15, summary.enrollments());
+        assertEquals(enrollmentDAO.count(), summary.enrollments());
+        assertEquals(paymentDAO.count(), summary.payments());
+        assertEquals(summary.enrollments() * 10, summary.attendance());
+        assertEquals(attendanceDAO.count(), summary.attendance());
+    }
+    
+    @Test
+    @DisplayName("Same seed should produce the same data")
+    void testDeterministic() {
+        generator.generate(config());
+        
+        DataGeneratorTest other = new DataGeneratorTest();
+        other.setUp();
+        other.generator.generate(config());
+        
+        assertEquals(names(studentDAO.findAll()), names(other.studentDAO.findAll()));
+        assertEquals(enrollmentKeys(enrollmentDAO.findAll()), enrollmentKeys(other.enrollmentDAO.findAll()));
+        assertEquals(attendanceDAO.findAll().stream().map(Attendance::getStatus).collect(Collectors.toList()),
+                other.attendanceDAO.findAll().stream().map(Attendance::getStatus).collect(Collectors.toList()));
+    }
+    
+    @Test
+    @DisplayName("Should enroll students only in courses of their level and within capacity")
+    void testEnrollmentsRespectLevelAndCapacity() {
+        generator.generate(config());
+        
+        for (Course course : courseDAO.findAll()) {
+            List<Enrollment> enrollments = enrollmentDAO.findByCourseId(course.getId());
+            assertTrue(enrollments.size() <= course.getMaxCapacity());
+            for (Enrollment enrollment : enrollments) {
+                assertEquals(course.getSkillLevel(), studentDAO.findById(enrollment.getStudentId()).get().getSkillLevel());
+            }
+        }
+        for (SkillTest skillTest : skillTestDAO.findAll()) {
+            assertEquals(SkillTest.determineLevel(skillTest.getScore()), skillTest.getAssignedLevel());
+        }
+    }
+    
+    @Test
+    @DisplayName("Should roughly follow the configured rates")
+    void testDistributions() {
+        generator.generate(config());
+        
+        double completed = (double) paymentDAO.findCompletedPayments().size() / paymentDAO.count();
+        assertEquals(0.6, completed, 0.05);
+        
+        List<Attendance> attendance = attendanceDAO.findAll();
+        long absent = attendance.stream().filter(a -> a.getStatus() == Attendance.AttendanceStatus.ABSENT).count();
+        long late = attendance.stream().filter(a -> a.getStatus() == Attendance.AttendanceStatus.LATE).count();
+        assertEquals(0.2, (double) absent / attendance.size(), 0.03);
+        assertEquals(0.25, (double) late / (attendance.size() - absent), 0.03);
+        
+        long beginners = studentDAO.findBySkillLevel(Student.SkillLevel.BEGINNER).size();
+        assertEquals(0.5, beginners / 2_000.0, 0.05);
+    }
+    
+    @Test
+    @DisplayName("Should reject out of range settings")
+    void testInvalidConfig() {
+        DataGeneratorConfig config = config();
+        config.setAttendanceRate(1.5);
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(config));
+        assertEquals(0, studentDAO.count());
+    }
+    
+    private static List<String> names(List<Student> students) {
+        return students.stream().map(s -> s.getFirstName() + " " + s.getLastName() + " " + s.getEmail())
+                .collect(Collectors.toList());
+    }
+    
+    private static List<String> enrollmentKeys(List<Enrollment> enrollments) {
+        return enrollments.stream().map(e -> e.getStudentId() + ":" + e.getCourseId())
+                .collect(Collectors.toList());
+    }
+}
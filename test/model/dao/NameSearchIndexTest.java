@@ -0,0 +1,109 @@
+package model.dao;
+
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NameSearchIndex.
+ */
+class NameSearchIndexTest {
+    
+    private NameSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new NameSearchIndex();
+    }
+    
+    private static List<Integer> scan(Map<Integer, String[]> names, String query) {
+        String needle = query.toLowerCase();
+        return names.entrySet().stream()
+                .filter(e -> Arrays.stream(e.getValue()).anyMatch(n -> n.toLowerCase().contains(needle)))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("Prefix matches rank first and the limit is applied")
+    void testRankingAndLimit() {
+        index.put(1, "Mary", "Hammer");
+        index.put(2, "Amaryllis", "Stone");
+        index.put(3, "Marcus", "Lee");
+        index.put(4, "John", "Smith");
+        
+        assertEquals(List.of(1, 3, 2), index.search("MAR", 10));
+        assertEquals(List.of(1, 3), index.search("mar", 2));
+        assertEquals(List.of(1, 3, 2), index.search("ma", 10));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Re-indexing and removal update the posting lists")
+    void testReindexAndRemove() {
+        index.put(1, "Alice", "Walker");
+        index.put(1, "Alicia", "Keys");
+        
+        assertTrue(index.search("walk", 10).isEmpty());
+        assertEquals(List.of(1), index.search("keys", 10));
+        
+        index.remove(1);
+        assertTrue(index.search("alic", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+    
+    @Test
+    @DisplayName("Results match a full scan after random writes")
+    void testMatchesScan() {
+        Random random = new Random(7);
+        Map<Integer, String[]> names = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            int id = random.nextInt(1000);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                names.remove(id);
+            } else {
+                String[] value = {DataGenerator.randomName(random), DataGenerator.randomName(random)};
+                index.put(id, value);
+                names.put(id, value);
+            }
+        }
+        for (int q = 0; q < 200; q++) {
+            String source = DataGenerator.randomName(random).toLowerCase();
+            int start = random.nextInt(source.length() - 1);
+            String query = source.substring(start, Math.min(source.length(), start + 1 + random.nextInt(5)));
+            List<Integer> expected = scan(names, query);
+            List<Integer> actual = new ArrayList<>(index.search(query, Integer.MAX_VALUE));
+            Collections.sort(actual);
+            assertEquals(expected, actual, "query " + query);
+        }
+    }
+    
+    @Test
+    @DisplayName("Results match a full scan at 100k rows")
+    void testMatchesScanAt100k() {
+        Random random = new Random(11);
+        Map<Integer, String[]> names = new HashMap<>();
+        for (int id = 1; id <= 100_000; id++) {
+            String[] value = {DataGenerator.randomName(random), DataGenerator.randomName(random)};
+            index.put(id, value);
+            names.put(id, value);
+        }
+        List<String> queries = new ArrayList<>();
+        while (queries.size() < 50) {
+            String name = DataGenerator.randomName(random);
+            if (name.length() >= 5) {
+                queries.add(name.substring(0, 5).toLowerCase());
+            }
+        }
+        
+        // Timing against the scan is measured by NameSearchBenchmark in the benchmark profile
+        for (String query : queries) {
+            List<Integer> actual = new ArrayList<>(index.search(query, Integer.MAX_VALUE));
+            Collections.sort(actual);
+            assertEquals(scan(names, query), actual, "query " + query);
+        }
+    }
+}
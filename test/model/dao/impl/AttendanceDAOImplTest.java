@@ -0,0 +1,69 @@
+package model.dao.impl;
+
+import model.entity.Attendance;
+import model.entity.Attendance.AttendanceStatus;
+import org.junit.jupiter.api.*;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the indexes and status tallies kept by AttendanceDAOImpl.
+ */
+class AttendanceDAOImplTest {
+    
+    private AttendanceDAOImpl dao;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new AttendanceDAOImpl();
+    }
+    
+    private Attendance record(int enrollmentId, int sessionId, AttendanceStatus status) {
+        return dao.save(new Attendance(0, enrollmentId, sessionId, status, null));
+    }
+    
+    @Test
+    @DisplayName("Status tallies follow saves, in-place updates and deletes")
+    void testStatusTallies() {
+        Attendance first = record(1, 100, AttendanceStatus.PRESENT);
+        record(1, 101, AttendanceStatus.ABSENT);
+        record(2, 100, AttendanceStatus.LATE);
+        assertEquals(Map.of(AttendanceStatus.PRESENT, 1, AttendanceStatus.ABSENT, 1, AttendanceStatus.LATE, 0),
+                dao.countByStatus(1));
+        
+        first.setStatus(AttendanceStatus.LATE);
+        dao.update(first);
+        assertEquals(Map.of(AttendanceStatus.PRESENT, 0, AttendanceStatus.ABSENT, 1, AttendanceStatus.LATE, 1),
+                dao.countByStatus(1));
+        
+        dao.delete(first.getId());
+        assertEquals(1, dao.countByStatus(1).get(AttendanceStatus.ABSENT));
+        assertEquals(0, dao.countByStatus(1).get(AttendanceStatus.LATE));
+        assertEquals(0, dao.countByStatus(3).get(AttendanceStatus.PRESENT));
+    }
+    
+    @Test
+    @DisplayName("Lookups by enrollment, session and pair use the indexes, duplicates included")
+    void testIndexedLookups() {
+        Attendance a = record(1, 100, AttendanceStatus.PRESENT);
+        Attendance duplicate = record(1, 100, AttendanceStatus.ABSENT);
+        Attendance b = record(1, 101, AttendanceStatus.PRESENT);
+        Attendance c = record(2, 100, AttendanceStatus.PRESENT);
+        
+        assertEquals(List.of(a, duplicate, b), dao.findByEnrollmentId(1));
+        assertEquals(List.of(a, duplicate, c), dao.findBySessionId(100));
+        assertEquals(a, dao.findByEnrollmentAndSession(1, 100));
+        
+        dao.delete(a.getId());
+        assertEquals(duplicate, dao.findByEnrollmentAndSession(1, 100));
+        dao.delete(duplicate.getId());
+        assertNull(dao.findByEnrollmentAndSession(1, 100));
+        
+        b.setSessionId(102);
+        dao.update(b);
+        assertNull(dao.findByEnrollmentAndSession(1, 101));
+        assertEquals(b, dao.findByEnrollmentAndSession(1, 102));
+        assertEquals(List.of(c), dao.findBySessionId(100));
+    }
+}
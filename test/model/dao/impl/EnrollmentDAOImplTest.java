@@ -0,0 +1,168 @@
+package model.dao.impl;
+
+import model.entity.Course;
+import model.entity.Enrollment;
+import model.entity.EnrollmentView;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the indexes kept by EnrollmentDAOImpl.
+ */
+class EnrollmentDAOImplTest {
+    
+    private EnrollmentDAOImpl dao;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new EnrollmentDAOImpl();
+    }
+    
+    @Test
+    @DisplayName("Status transitions adjust the active count per course")
+    void testActiveCountFollowsStatus() {
+        Enrollment enrollment = dao.save(new Enrollment(0, 1, 10, Enrollment.Status.ACTIVE));
+        dao.save(new Enrollment(0, 2, 10, Enrollment.Status.ACTIVE));
+        assertEquals(2, dao.countByCourseId(10));
+        
+        enrollment.setStatus(Enrollment.Status.DROPPED);
+        dao.update(enrollment);
+        assertEquals(1, dao.countByCourseId(10));
+        
+        enrollment.setStatus(Enrollment.Status.ACTIVE);
+        dao.update(enrollment);
+        assertEquals(2, dao.countByCourseId(10));
+        
+        dao.delete(enrollment.getId());
+        assertEquals(1, dao.countByCourseId(10));
+        assertNull(dao.findByStudentAndCourse(1, 10));
+    }
+    
+    @Test
+    @DisplayName("Moving an enrollment to another course re-indexes it")
+    void testCourseChangeReindexes() {
+        Enrollment enrollment = dao.save(new Enrollment(0, 1, 10, Enrollment.Status.ACTIVE));
+        enrollment.setCourseId(20);
+        dao.update(enrollment);
+        
+        assertTrue(dao.findByCourseId(10).isEmpty());
+        assertEquals(1, dao.findByCourseId(20).size());
+        assertNull(dao.findByStudentAndCourse(1, 10));
+        assertSame(enrollment, dao.findByStudentAndCourse(1, 20));
+        assertEquals(0, dao.countByCourseId(10));
+        assertEquals(1, dao.countByCourseId(20));
+    }
+    
+    @Test
+    @DisplayName("Enrollment views carry names from the linked DAOs")
+    void testFindAllViews() {
+        StudentDAOImpl students = new StudentDAOImpl();
+        CourseDAOImpl courses = new CourseDAOImpl();
+        dao.setStudentDAO(students);
+        dao.setCourseDAO(courses);
+        Student student = students.save(new Student(0, "John", "Doe", "john@example.com", "5551234567",
+                "2000-01-15", Student.SkillLevel.BEGINNER));
+        Course course = new Course();
+        course.setName("Sketching");
+        courses.save(course);
+        dao.save(new Enrollment(0, student.getId(), course.getId(), Enrollment.Status.ACTIVE));
+        dao.save(new Enrollment(0, 99, course.getId(), Enrollment.Status.ACTIVE));
+        
+        List<EnrollmentView> views = dao.findAllViews();
+        assertEquals(2, views.size());
+        assertEquals("John Doe", views.get(0).getStudentName());
+        assertEquals("Sketching", views.get(0).getCourseName());
+        assertNull(views.get(1).getStudentName());
+    }
+    
+    @Test
+    @DisplayName("A student cannot hold two enrollments in the same course")
+    void testDuplicateEnrollmentRejected() {
+        Enrollment first = dao.save(new Enrollment(0, 1, 10, Enrollment.Status.ACTIVE));
+        assertThrows(IllegalArgumentException.class,
+                () -> dao.save(new Enrollment(0, 1, 10, Enrollment.Status.ACTIVE)));
+        
+        Enrollment other = dao.save(new Enrollment(0, 1, 20, Enrollment.Status.ACTIVE));
+        Enrollment moved = new Enrollment(other.getId(), 1, 10, Enrollment.Status.ACTIVE);
+        assertThrows(IllegalArgumentException.class, () -> dao.update(moved));
+        assertSame(other, dao.findByStudentAndCourse(1, 20));
+        
+        dao.delete(first.getId());
+        assertNotNull(dao.save(new Enrollment(0, 1, 10, Enrollment.Status.ACTIVE)));
+    }
+    
+    @Test
+    @DisplayName("Indexes match a full scan after randomized operations")
+    void testIndexesMatchScanUnderRandomOperations() {
+        Random random = new Random(42);
+        Enrollment.Status[] statuses = Enrollment.Status.values();
+        List<Integer> ids = new ArrayList<>();
+        
+        for (int i = 0; i < 5000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || ids.isEmpty()) {
+                Enrollment enrollment = new Enrollment(0, random.nextInt(20), random.nextInt(15),
+                        statuses[random.nextInt(statuses.length)]);
+                if (isTaken(enrollment, 0)) {
+                    assertThrows(IllegalArgumentException.class, () -> dao.save(enrollment));
+                } else {
+                    ids.add(dao.save(enrollment).getId());
+                }
+            } else if (op < 8) {
+                int id = ids.get(random.nextInt(ids.size()));
+                Enrollment changed = new Enrollment(id, random.nextInt(20), random.nextInt(15),
+                        statuses[random.nextInt(statuses.length)]);
+                if (isTaken(changed, id)) {
+                    assertThrows(IllegalArgumentException.class, () -> dao.update(changed));
+                } else {
+                    assertNotNull(dao.update(changed));
+                }
+            } else {
+                int id = ids.remove(random.nextInt(ids.size()));
+                assertTrue(dao.delete(id));
+            }
+            if (i % 250 == 0) {
+                assertConsistent();
+            }
+        }
+        assertConsistent();
+    }
+    
+    private boolean isTaken(Enrollment candidate, int ownId) {
+        return dao.findAll().stream().anyMatch(e -> e.getId() != ownId
+                && e.getStudentId() == candidate.getStudentId()
+                && e.getCourseId() == candidate.getCourseId());
+    }
+    
+    private void assertConsistent() {
+        List<Enrollment> all = dao.findAll();
+        for (int studentId = 0; studentId < 20; studentId++) {
+            int s = studentId;
+            assertEquals(idsOf(all.stream().filter(e -> e.getStudentId() == s)),
+                    idsOf(dao.findByStudentId(s).stream()));
+        }
+        for (int courseId = 0; courseId < 15; courseId++) {
+            int c = courseId;
+            assertEquals(idsOf(all.stream().filter(e -> e.getCourseId() == c)),
+                    idsOf(dao.findByCourseId(c).stream()));
+            assertEquals(all.stream()
+                    .filter(e -> e.getCourseId() == c && e.getStatus() == Enrollment.Status.ACTIVE)
+                    .count(), dao.countByCourseId(c));
+            for (int studentId = 0; studentId < 20; studentId++) {
+                int s = studentId;
+                Optional<Enrollment> expected = all.stream()
+                        .filter(e -> e.getStudentId() == s && e.getCourseId() == c)
+                        .findFirst();
+                assertEquals(expected.orElse(null), dao.findByStudentAndCourse(s, c));
+            }
+        }
+    }
+    
+    private static List<Integer> idsOf(Stream<Enrollment> stream) {
+        return stream.map(Enrollment::getId).sorted().collect(Collectors.toList());
+    }
+}
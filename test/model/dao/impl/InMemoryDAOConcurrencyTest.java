@@ -0,0 +1,151 @@
+package model.dao.impl;
+
+import model.entity.Enrollment;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress tests for the in-memory DAOs.
+ */
+class InMemoryDAOConcurrencyTest {
+    
+    private static final int THREADS = 8;
+    
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    private void runConcurrently(int tasks, IntConsumerTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < tasks; t++) {
+            int taskIndex = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(taskIndex);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void run(int taskIndex) throws Exception;
+    }
+    
+    private static Student student(String email) {
+        return new Student(0, "First", "Last", email, "5551234567", "2000-01-01", Student.SkillLevel.BEGINNER);
+    }
+    
+    @Test
+    @DisplayName("Concurrent saves hand out unique ids and lose no updates")
+    void testConcurrentSavesAndUpdates() throws Exception {
+        StudentDAOImpl dao = new StudentDAOImpl();
+        int perThread = 2000;
+        
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < perThread; i++) {
+                Student saved = dao.save(student("s" + t + "_" + i + "@example.com"));
+                saved.setSkillLevel(Student.SkillLevel.ADVANCED);
+                assertNotNull(dao.update(saved));
+                assertTrue(dao.findById(saved.getId()).isPresent());
+            }
+        });
+        
+        List<Student> all = dao.findAll();
+        assertEquals(THREADS * perThread, dao.count());
+        assertEquals(THREADS * perThread, all.stream().map(Student::getId).distinct().count());
+        assertTrue(all.stream().allMatch(s -> s.getSkillLevel() == Student.SkillLevel.ADVANCED));
+    }
+    
+    @Test
+    @DisplayName("Only one of many racing saves with the same email succeeds")
+    void testUniqueEmailUnderContention() throws Exception {
+        StudentDAOImpl dao = new StudentDAOImpl();
+        AtomicInteger successes = new AtomicInteger();
+        
+        for (int round = 0; round < 50; round++) {
+            String email = "race" + round + "@example.com";
+            runConcurrently(THREADS, t -> {
+                try {
+                    dao.save(student(t % 2 == 0 ? email : email.toUpperCase()));
+                    successes.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Expected for every thread but one
+                }
+            });
+        }
+        
+        assertEquals(50, successes.get());
+        assertEquals(50, dao.count());
+    }
+    
+    @Test
+    @DisplayName("Mixed enrollment writes keep one enrollment per pair and consistent indexes")
+    void testEnrollmentInvariantsUnderContention() throws Exception {
+        EnrollmentDAOImpl dao = new EnrollmentDAOImpl();
+        Enrollment.Status[] statuses = Enrollment.Status.values();
+        
+        runConcurrently(THREADS, t -> {
+            Random random = new Random(t);
+            for (int i = 0; i < 5000; i++) {
+                int op = random.nextInt(10);
+                try {
+                    if (op < 5) {
+                        dao.save(new Enrollment(0, random.nextInt(30), random.nextInt(10),
+                                statuses[random.nextInt(statuses.length)]));
+                    } else if (op < 8) {
+                        List<Enrollment> byCourse = dao.findByCourseId(random.nextInt(10));
+                        if (!byCourse.isEmpty()) {
+                            Enrollment current = byCourse.get(random.nextInt(byCourse.size()));
+                            dao.update(new Enrollment(current.getId(), current.getStudentId(),
+                                    random.nextInt(10), statuses[random.nextInt(statuses.length)]));
+                        }
+                    } else {
+                        List<Enrollment> byStudent = dao.findByStudentId(random.nextInt(30));
+                        if (!byStudent.isEmpty()) {
+                            dao.delete(byStudent.get(0).getId());
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Duplicate (student, course) pair rejected
+                }
+            }
+        });
+        
+        List<Enrollment> all = dao.findAll();
+        Set<Long> pairs = new HashSet<>();
+        for (Enrollment e : all) {
+            assertTrue(pairs.add(((long) e.getStudentId() << 32) | e.getCourseId()),
+                    "duplicate enrollment for student " + e.getStudentId() + " course " + e.getCourseId());
+            assertSame(e, dao.findByStudentAndCourse(e.getStudentId(), e.getCourseId()));
+        }
+        for (int courseId = 0; courseId < 10; courseId++) {
+            int c = courseId;
+            assertEquals(all.stream().filter(e -> e.getCourseId() == c).count(), dao.findByCourseId(c).size());
+            assertEquals(all.stream()
+                    .filter(e -> e.getCourseId() == c && e.getStatus() == Enrollment.Status.ACTIVE)
+                    .count(), dao.countByCourseId(c));
+        }
+        for (int studentId = 0; studentId < 30; studentId++) {
+            int s = studentId;
+            assertEquals(all.stream().filter(e -> e.getStudentId() == s).count(), dao.findByStudentId(s).size());
+        }
+    }
+}
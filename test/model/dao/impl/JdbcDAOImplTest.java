@@ -0,0 +1,477 @@
+package model.dao.impl;
+
+import controller.EnrollmentController;
+import model.dao.*;
+import model.entity.*;
+import org.junit.jupiter.api.*;
+import util.ConnectionPool;
+import util.ConnectionPoolConfig;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the JDBC DAOs against an in-memory H2 database in PostgreSQL mode.
+ */
+class JdbcDAOImplTest {
+    
+    private static int databaseCounter = 0;
+    
+    private ConnectionPool pool;
+    private JdbcStudentDAOImpl studentDAO;
+    private JdbcInstructorDAOImpl instructorDAO;
+    private JdbcCourseDAOImpl courseDAO;
+    private JdbcEnrollmentDAOImpl enrollmentDAO;
+    private JdbcPaymentDAOImpl paymentDAO;
+    
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:jdbcdao" + (databaseCounter++)
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        ConnectionPoolConfig config = new ConnectionPoolConfig(url, "sa", "");
+        config.setMinSize(1);
+        config.setMaxSize(4);
+        config.setEvictionIntervalMs(0);
+        pool = new ConnectionPool(config);
+        JdbcSchema.initialize(pool);
+        studentDAO = new JdbcStudentDAOImpl(pool);
+        instructorDAO = new JdbcInstructorDAOImpl(pool);
+        courseDAO = new JdbcCourseDAOImpl(pool);
+        enrollmentDAO = new JdbcEnrollmentDAOImpl(pool);
+        paymentDAO = new JdbcPaymentDAOImpl(pool);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+    
+    private Student newStudent(String first, String last, String email) {
+        return new Student(0, first, last, email, "5551234567", "2000-01-15", Student.SkillLevel.BEGINNER);
+    }
+    
+    private Course newCourse(String name, int instructorId, int capacity) {
+        return new Course(0, name, "desc", Course.Term.SUMMER, Student.SkillLevel.BEGINNER,
+                instructorId, capacity, new BigDecimal("150.00"),
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31));
+    }
+    
+    private Instructor saveInstructor() {
+        Instructor instructor = new Instructor();
+        instructor.setFirstName("Ada");
+        instructor.setLastName("Painter");
+        instructor.setEmail("ada@school.com");
+        instructor.setSpecialization("Oil");
+        return instructorDAO.save(instructor);
+    }
+    
+    @Test
+    @DisplayName("Save assigns generated ids and round-trips all columns")
+    void testSaveAndFind() {
+        Student saved = studentDAO.save(newStudent("John", "Doe", "john@example.com"));
+        assertTrue(saved.getId() > 0);
+        
+        Student found = studentDAO.findById(saved.getId()).orElseThrow();
+        assertEquals("John", found.getFirstName());
+        assertEquals("2000-01-15", found.getDateOfBirth());
+        assertEquals(Student.SkillLevel.BEGINNER, found.getSkillLevel());
+        assertEquals(found.getId(), studentDAO.findByEmail("JOHN@example.com").getId());
+    }
+    
+    @Test
+    @DisplayName("Update, delete and count behave like the in-memory DAOs")
+    void testUpdateDeleteCount() {
+        Student saved = studentDAO.save(newStudent("Jane", "Smith", "jane@example.com"));
+        studentDAO.save(newStudent("Bob", "Jones", "bob@example.com"));
+        
+        saved.setSkillLevel(Student.SkillLevel.ADVANCED);
+        assertNotNull(studentDAO.update(saved));
+        assertEquals(Student.SkillLevel.ADVANCED, studentDAO.findById(saved.getId()).orElseThrow().getSkillLevel());
+        
+        Student missing = newStudent("No", "One", "none@example.com");
+        missing.setId(9999);
+        assertNull(studentDAO.update(missing));
+        
+        assertEquals(2, studentDAO.count());
+        assertTrue(studentDAO.delete(saved.getId()));
+        assertFalse(studentDAO.delete(saved.getId()));
+        assertEquals(1, studentDAO.count());
+        assertEquals(1, studentDAO.searchByName("jon").size());
+    }
+    
+    @Test
+    @DisplayName("Available courses exclude courses at capacity")
+    void testFindAvailableCourses() {
+        Instructor instructor = saveInstructor();
+        Course small = courseDAO.save(newCourse("Sketching", instructor.getId(), 1));
+        Course large = courseDAO.save(newCourse("Painting", instructor.getId(), 5));
+        Student student = studentDAO.save(newStudent("John", "Doe", "john@example.com"));
+        
+        Enrollment enrollment = new Enrollment(0, student.getId(), small.getId(), Enrollment.Status.ACTIVE);
+        enrollmentDAO.save(enrollment);
+        
+        List<Course> available = courseDAO.findAvailableCourses();
+        assertEquals(1, available.size());
+        assertEquals(large.getId(), available.get(0).getId());
+        assertEquals(1, enrollmentDAO.countByCourseId(small.getId()));
+        assertNotNull(enrollmentDAO.findByStudentAndCourse(student.getId(), small.getId()));
+        assertEquals(0, small.getFee().compareTo(courseDAO.findById(small.getId()).orElseThrow().getFee()));
+    }
+    
+    @Test
+    @DisplayName("Enrollment views join student and course names")
+    void testFindAllViews() {
+        Instructor instructor = saveInstructor();
+        Course course = courseDAO.save(newCourse("Sketching", instructor.getId(), 5));
+        Student john = studentDAO.save(newStudent("John", "Doe", "john@example.com"));
+        Student jane = studentDAO.save(newStudent("Jane", "Smith", "jane@example.com"));
+        enrollmentDAO.save(new Enrollment(0, jane.getId(), course.getId(), Enrollment.Status.ACTIVE));
+        enrollmentDAO.save(new Enrollment(0, john.getId(), course.getId(), Enrollment.Status.DROPPED));
+        
+        List<EnrollmentView> views = enrollmentDAO.findAllViews();
+        assertEquals(2, views.size());
+        assertEquals("Jane Smith", views.get(0).getStudentName());
+        assertEquals("John Doe", views.get(1).getStudentName());
+        assertEquals("Sketching", views.get(1).getCourseName());
+        assertEquals(Enrollment.Status.DROPPED, views.get(1).getStatus());
+    }
+    
+    @Test
+    @DisplayName("Only the first end of an active enrollment wins")
+    void testEndIfActive() {
+        Course course = courseDAO.save(newCourse("Sketching", saveInstructor().getId(), 5));
+        Student jane = studentDAO.save(newStudent("Jane", "Smith", "jane@example.com"));
+        Enrollment enrollment = enrollmentDAO.save(
+                new Enrollment(0, jane.getId(), course.getId(), Enrollment.Status.ACTIVE));
+        
+        assertTrue(enrollmentDAO.endIfActive(enrollment.getId(), Enrollment.Status.DROPPED));
+        assertFalse(enrollmentDAO.endIfActive(enrollment.getId(), Enrollment.Status.COMPLETED));
+        assertEquals(Enrollment.Status.DROPPED, enrollmentDAO.findById(enrollment.getId()).orElseThrow().getStatus());
+        assertEquals(0, enrollmentDAO.countByCourseId(course.getId()));
+    }
+    
+    @Test
+    @DisplayName("Payments are filtered by status")
+    void testPaymentStatusQueries() {
+        Instructor instructor = saveInstructor();
+        Course course = courseDAO.save(newCourse("Sketching", instructor.getId(), 10));
+        Student student = studentDAO.save(newStudent("John", "Doe", "john@example.com"));
+        Enrollment enrollment = enrollmentDAO.save(
+                new Enrollment(0, student.getId(), course.getId(), Enrollment.Status.ACTIVE));
+        
+        paymentDAO.save(new Payment(0, enrollment.getId(), new BigDecimal("150.00"), "Cash",
+                Payment.PaymentStatus.PENDING));
+        paymentDAO.save(new Payment(0, enrollment.getId(), new BigDecimal("50.00"), "Card",
+                Payment.PaymentStatus.COMPLETED));
+        
+        assertEquals(1, paymentDAO.findPendingPayments().size());
+        assertEquals(1, paymentDAO.findCompletedPayments().size());
+        assertEquals(2, paymentDAO.findByEnrollmentId(enrollment.getId()).size());
+    }
+    
+    @Test
+    @DisplayName("Writes inside a failed transaction are rolled back")
+    void testTransactionRollback() {
+        JdbcTransactionManager tx = new JdbcTransactionManager(pool);
+        JdbcStudentDAOImpl txStudents = new JdbcStudentDAOImpl(tx);
+        
+        assertThrows(IllegalStateException.class, () -> tx.inTransaction(() -> {
+            txStudents.save(newStudent("Rolled", "Back", "rolled@example.com"));
+            assertEquals(1, txStudents.count());
+            throw new IllegalStateException("fail");
+        }));
+        assertEquals(0, studentDAO.count());
+        
+        tx.inTransaction(() -> txStudents.save(newStudent("Kept", "Row", "kept@example.com")));
+        assertEquals(1, studentDAO.count());
+    }
+    
+    @Test
+    @DisplayName("Controllers with their own seat ledgers cannot overbook a shared course")
+    void testCapacityAcrossControllers() {
+        Course course = courseDAO.save(newCourse("Sketching", saveInstructor().getId(), 2));
+        List<Integer> studentIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            studentIds.add(studentDAO.save(newStudent("Student", "No" + i, "s" + i + "@example.com")).getId());
+        }
+        JdbcTransactionManager tx = new JdbcTransactionManager(pool);
+        EnrollmentController first = new EnrollmentController(new JdbcEnrollmentDAOImpl(tx),
+                new JdbcStudentDAOImpl(tx), new JdbcCourseDAOImpl(tx), new JdbcPaymentDAOImpl(tx), tx);
+        EnrollmentController second = new EnrollmentController(new JdbcEnrollmentDAOImpl(tx),
+                new JdbcStudentDAOImpl(tx), new JdbcCourseDAOImpl(tx), new JdbcPaymentDAOImpl(tx), tx);
+        
+        first.enrollStudent(studentIds.get(0), course.getId());
+        Enrollment other = second.enrollStudent(studentIds.get(1), course.getId());
+        // The first controller's ledger has counted one seat only
+        assertThrows(IllegalArgumentException.class, () -> first.enrollStudent(studentIds.get(2), course.getId()));
+        assertEquals(2, enrollmentDAO.countByCourseId(course.getId()));
+        assertEquals(2, paymentDAO.findPendingPayments().size());
+        
+        second.dropEnrollment(other.getId());
+        first.enrollStudent(studentIds.get(2), course.getId());
+        // The first controller's ledger is full; the seat the second frees next is only seen in the database
+        second.dropEnrollment(enrollmentDAO.findByStudentAndCourse(studentIds.get(0), course.getId()).getId());
+        assertNotNull(first.enrollStudent(studentIds.get(3), course.getId()));
+        assertEquals(2, enrollmentDAO.countByCourseId(course.getId()));
+    }
+    
+    @Test
+    @DisplayName("Keyset pages and the streaming cursor cover every row")
+    void testPagingAndStreaming() {
+        for (int i = 0; i < 12; i++) {
+            studentDAO.save(newStudent("Student", "N" + i, "s" + i + "@example.com"));
+        }
+        
+        List<Integer> seen = new ArrayList<>();
+        Page<Student> page = studentDAO.findPage(PageRequest.first(5));
+        page.getContent().forEach(s -> seen.add(s.getId()));
+        while (page.hasNext()) {
+            page = studentDAO.findPage(page.nextRequest());
+            page.getContent().forEach(s -> seen.add(s.getId()));
+        }
+        assertEquals(12, seen.size());
+        assertEquals(2, page.getContent().size());
+        
+        Page<Student> last = studentDAO.findPage(PageRequest.ofOffset(10, 5).descending());
+        assertEquals(List.of(seen.get(1), seen.get(0)),
+                last.getContent().stream().map(Student::getId).collect(Collectors.toList()));
+        
+        try (Stream<Student> stream = studentDAO.streamAll()) {
+            assertEquals(seen, stream.map(Student::getId).collect(Collectors.toList()));
+        }
+        assertEquals(0, pool.getMetrics().getActive());
+    }
+    
+    @Test
+    @DisplayName("Sorted pages come back in the same order as from the in-memory DAO")
+    void testSortedPagesMatchInMemory() {
+        StudentDAOImpl memoryDAO = new StudentDAOImpl();
+        String[] lastNames = {"Kaya", "Demir", "Kaya", "Aksoy", "Yilmaz", "Demir", "Celik"};
+        Student.SkillLevel[] levels = Student.SkillLevel.values();
+        for (int i = 0; i < lastNames.length; i++) {
+            Student student = newStudent("S" + i, lastNames[i], "s" + i + "@example.com");
+            student.setSkillLevel(levels[i % levels.length]);
+            studentDAO.save(student);
+            Student copy = newStudent("S" + i, lastNames[i], "s" + i + "@example.com");
+            copy.setSkillLevel(levels[i % levels.length]);
+            memoryDAO.save(copy);
+        }
+        
+        for (String column : List.of("last_name", "skill_level")) {
+            for (boolean descending : List.of(false, true)) {
+                PageRequest request = PageRequest.first(3).sortBy(column);
+                request = descending ? request.descending() : request;
+                assertEquals(sortedIds(memoryDAO, request), sortedIds(studentDAO, request), column);
+            }
+        }
+        assertEquals(List.of(4, 7, 2, 6, 1, 3, 5), sortedIds(studentDAO, PageRequest.first(3).sortBy("last_name")));
+        assertThrows(IllegalArgumentException.class,
+                () -> studentDAO.findPage(PageRequest.first(3).sortBy("id; DROP TABLE students")));
+        assertThrows(IllegalArgumentException.class,
+                () -> memoryDAO.findPage(PageRequest.first(3).sortBy("date_of_birth")));
+    }
+    
+    @Test
+    @DisplayName("Anti-join report queries agree with the in-memory DAOs")
+    void testAntiJoinQueriesMatchInMemory() {
+        StudentDAOImpl memoryStudents = new StudentDAOImpl();
+        InstructorDAOImpl memoryInstructors = new InstructorDAOImpl();
+        CourseDAOImpl memoryCourses = new CourseDAOImpl();
+        EnrollmentDAOImpl memoryEnrollments = new EnrollmentDAOImpl();
+        PaymentDAOImpl memoryPayments = new PaymentDAOImpl();
+        SessionDAOImpl memorySessions = new SessionDAOImpl();
+        memoryStudents.setEnrollmentDAO(memoryEnrollments);
+        memoryStudents.setPaymentDAO(memoryPayments);
+        memoryInstructors.setCourseDAO(memoryCourses);
+        memoryCourses.setSessionDAO(memorySessions);
+        
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO,
+                new JdbcSessionDAOImpl(pool));
+        populateForAntiJoins(memoryStudents, memoryInstructors, memoryCourses, memoryEnrollments,
+                memoryPayments, memorySessions);
+        
+        for (StudentDAO dao : List.<StudentDAO>of(studentDAO, memoryStudents)) {
+            assertEquals(List.of(3), dao.findWithoutEnrollments().stream().map(Student::getId).toList());
+            assertEquals(1, dao.countWithoutEnrollments());
+            assertEquals(List.of(2, 3), dao.findWithoutPayments().stream().map(Student::getId).toList());
+            assertEquals(2, dao.countWithoutPayments());
+        }
+        for (CourseDAO dao : List.<CourseDAO>of(courseDAO, memoryCourses)) {
+            assertEquals(List.of(2), dao.findWithoutSessions().stream().map(Course::getId).toList());
+            assertEquals(1, dao.countWithoutSessions());
+        }
+        for (InstructorDAO dao : List.<InstructorDAO>of(instructorDAO, memoryInstructors)) {
+            assertEquals(List.of(2), dao.findWithoutCourses().stream().map(Instructor::getId).toList());
+            assertEquals(1, dao.countWithoutCourses());
+        }
+    }
+    
+    @Test
+    @DisplayName("Roll-call upsert updates existing records and inserts the rest in one transaction")
+    void testUpsertAttendanceStatuses() {
+        JdbcSessionDAOImpl sessionDAO = new JdbcSessionDAOImpl(pool);
+        JdbcAttendanceDAOImpl attendanceDAO = new JdbcAttendanceDAOImpl(pool);
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, sessionDAO);
+        int sessionId = sessionDAO.findAll().get(0).getId();
+        List<Integer> enrollmentIds = enrollmentDAO.findAll().stream().map(Enrollment::getId).toList();
+        Attendance noted = attendanceDAO.save(new Attendance(0, enrollmentIds.get(0), sessionId,
+                Attendance.AttendanceStatus.ABSENT, "Sick"));
+        
+        Map<Integer, Attendance.AttendanceStatus> statuses = new LinkedHashMap<>();
+        statuses.put(enrollmentIds.get(0), Attendance.AttendanceStatus.LATE);
+        statuses.put(enrollmentIds.get(1), Attendance.AttendanceStatus.PRESENT);
+        List<AttendanceUpsert> stored = attendanceDAO.upsertStatuses(sessionId, statuses);
+        
+        assertEquals(2, stored.size());
+        assertFalse(stored.get(0).created());
+        assertTrue(stored.get(1).created());
+        Attendance updated = attendanceDAO.findById(noted.getId()).orElseThrow();
+        assertEquals(Attendance.AttendanceStatus.LATE, updated.getStatus());
+        assertEquals("Sick", updated.getNotes());
+        Attendance created = attendanceDAO.findByEnrollmentAndSession(enrollmentIds.get(1), sessionId);
+        assertEquals(Attendance.AttendanceStatus.PRESENT, created.getStatus());
+        assertTrue(stored.stream().allMatch(u -> u.attendance().getId() > 0));
+        
+        attendanceDAO.upsertStatuses(sessionId, Map.of(enrollmentIds.get(1), Attendance.AttendanceStatus.ABSENT));
+        assertEquals(2, attendanceDAO.count());
+        assertEquals(Attendance.AttendanceStatus.ABSENT,
+                attendanceDAO.findById(created.getId()).orElseThrow().getStatus());
+    }
+    
+    @Test
+    @DisplayName("Course and term attendance totals group records by enrollment in one query")
+    void testCountByStatusForCourseAndTerm() {
+        JdbcSessionDAOImpl sessionDAO = new JdbcSessionDAOImpl(pool);
+        JdbcAttendanceDAOImpl attendanceDAO = new JdbcAttendanceDAOImpl(pool);
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, sessionDAO);
+        int sessionId = sessionDAO.findAll().get(0).getId();
+        List<Enrollment> enrollments = enrollmentDAO.findAll();
+        int first = enrollments.get(0).getId();
+        int second = enrollments.get(1).getId();
+        attendanceDAO.save(new Attendance(0, first, sessionId, Attendance.AttendanceStatus.PRESENT, null));
+        attendanceDAO.save(new Attendance(0, first, sessionId, Attendance.AttendanceStatus.ABSENT, null));
+        attendanceDAO.save(new Attendance(0, first, sessionId, null, "Not taken"));
+        attendanceDAO.save(new Attendance(0, second, sessionId, Attendance.AttendanceStatus.LATE, null));
+        
+        AttendanceTotals course = attendanceDAO.countByStatusForCourse(enrollments.get(0).getCourseId());
+        assertEquals(1, course.size());
+        assertEquals(first, course.getEnrollmentId(0));
+        assertEquals(1, course.getAttended(0));
+        assertEquals(2, course.getRecorded(0));
+        
+        AttendanceTotals term = attendanceDAO.countByStatusForTerm(Course.Term.SUMMER);
+        assertEquals(2, term.size());
+        assertEquals(second, term.getEnrollmentId(1));
+        assertEquals(1, term.getCount(1, Attendance.AttendanceStatus.LATE));
+        assertTrue(attendanceDAO.countByStatusForTerm(Course.Term.WINTER).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Pending payment lookup and payment totals per course and term")
+    void testPaymentTotals() {
+        JdbcSessionDAOImpl sessionDAO = new JdbcSessionDAOImpl(pool);
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, sessionDAO);
+        Payment pending = paymentDAO.findPendingPayments().get(0);
+        int courseId = enrollmentDAO.findById(pending.getEnrollmentId()).orElseThrow().getCourseId();
+        paymentDAO.save(new Payment(0, pending.getEnrollmentId(), new BigDecimal("20.00"), "Card",
+                Payment.PaymentStatus.REFUNDED));
+        
+        assertEquals(pending.getId(), paymentDAO.findPendingByEnrollmentId(pending.getEnrollmentId()).getId());
+        PaymentTotals course = paymentDAO.getTotalsByCourse(courseId);
+        assertEquals(0, new BigDecimal("150.00").compareTo(course.outstanding()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(course.refunded()));
+        assertEquals(0, course.collected().signum());
+        assertEquals(course, paymentDAO.getTotalsByTerm(Course.Term.SUMMER));
+        assertTrue(paymentDAO.getTotalsByTerm(Course.Term.WINTER).isZero());
+        
+        pending.setStatus(Payment.PaymentStatus.COMPLETED);
+        paymentDAO.update(pending);
+        assertNull(paymentDAO.findPendingByEnrollmentId(pending.getEnrollmentId()));
+    }
+    
+    @Test
+    @DisplayName("Completing pending payments in one batch settles the oldest of each enrollment")
+    void testCompletePending() {
+        JdbcSessionDAOImpl sessionDAO = new JdbcSessionDAOImpl(pool);
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, sessionDAO);
+        Payment oldest = paymentDAO.findPendingPayments().get(0);
+        Payment newer = paymentDAO.save(new Payment(0, oldest.getEnrollmentId(), new BigDecimal("50.00"), null,
+                Payment.PaymentStatus.PENDING));
+        
+        Map<Integer, String> methods = new LinkedHashMap<>();
+        methods.put(oldest.getEnrollmentId(), "Bank Transfer");
+        methods.put(999, "Cash");
+        List<Payment> completed = paymentDAO.completePending(methods);
+        
+        assertEquals(List.of(oldest.getId()), completed.stream().map(Payment::getId).toList());
+        Payment stored = paymentDAO.findById(oldest.getId()).orElseThrow();
+        assertEquals(Payment.PaymentStatus.COMPLETED, stored.getStatus());
+        assertEquals("Bank Transfer", stored.getPaymentMethod());
+        assertEquals(newer.getId(), paymentDAO.findPendingByEnrollmentId(oldest.getEnrollmentId()).getId());
+        assertTrue(paymentDAO.completePending(Map.of()).isEmpty());
+    }
+    
+    @Test
+    @DisplayName("Completing a payment by id only succeeds while it is pending")
+    void testCompleteIfPending() {
+        JdbcSessionDAOImpl sessionDAO = new JdbcSessionDAOImpl(pool);
+        populateForAntiJoins(studentDAO, instructorDAO, courseDAO, enrollmentDAO, paymentDAO, sessionDAO);
+        Payment pending = paymentDAO.findPendingPayments().get(0);
+        
+        Payment completed = paymentDAO.completeIfPending(pending.getId(), "Cash");
+        assertEquals(Payment.PaymentStatus.COMPLETED, completed.getStatus());
+        assertEquals("Cash", paymentDAO.findById(pending.getId()).orElseThrow().getPaymentMethod());
+        assertNull(paymentDAO.completeIfPending(pending.getId(), "Bank Transfer"));
+        assertEquals("Cash", paymentDAO.findById(pending.getId()).orElseThrow().getPaymentMethod());
+        assertNull(paymentDAO.completeIfPending(999, "Cash"));
+    }
+    
+    /**
+     * Two instructors (the second without courses), two courses (the first with a session)
+     * and three students: paid, enrolled without payment, and not enrolled.
+     */
+    private void populateForAntiJoins(StudentDAO students, InstructorDAO instructors, CourseDAO courses,
+                                      EnrollmentDAO enrollments, PaymentDAO payments, SessionDAO sessions) {
+        int instructorId = 0;
+        for (String name : List.of("Ada", "Bea")) {
+            Instructor instructor = new Instructor();
+            instructor.setFirstName(name);
+            instructor.setLastName("Painter");
+            instructor.setEmail(name.toLowerCase() + "@school.com");
+            instructor.setSpecialization("Oil");
+            int id = instructors.save(instructor).getId();
+            instructorId = instructorId == 0 ? id : instructorId;
+        }
+        Course painting = courses.save(newCourse("Painting", instructorId, 10));
+        Course drawing = courses.save(newCourse("Drawing", instructorId, 10));
+        sessions.save(new Session(0, painting.getId(), LocalDate.of(2025, 6, 2),
+                LocalTime.of(10, 0), LocalTime.of(12, 0), "Intro"));
+        
+        Student paid = students.save(newStudent("Paid", "One", "paid@example.com"));
+        Student unpaid = students.save(newStudent("Unpaid", "Two", "unpaid@example.com"));
+        students.save(newStudent("Idle", "Three", "idle@example.com"));
+        Enrollment paidEnrollment = enrollments.save(
+                new Enrollment(0, paid.getId(), painting.getId(), Enrollment.Status.ACTIVE));
+        enrollments.save(new Enrollment(0, unpaid.getId(), drawing.getId(), Enrollment.Status.ACTIVE));
+        payments.save(new Payment(0, paidEnrollment.getId(), new BigDecimal("150.00"), "Card",
+                Payment.PaymentStatus.PENDING));
+    }
+    
+    private static List<Integer> sortedIds(StudentDAO dao, PageRequest request) {
+        List<Integer> ids = new ArrayList<>();
+        Page<Student> page = dao.findPage(request);
+        page.getContent().forEach(s -> ids.add(s.getId()));
+        while (page.hasNext()) {
+            page = dao.findPage(page.nextRequest());
+            page.getContent().forEach(s -> ids.add(s.getId()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,86 @@
+package model.dao.impl;
+
+import model.dao.Page;
+import model.dao.PageRequest;
+import model.entity.Session;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for findPage and streamAll on the in-memory DAOs.
+ */
+class PagingTest {
+    
+    private SessionDAOImpl dao;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new SessionDAOImpl();
+        for (int i = 0; i < 25; i++) {
+            Session session = new Session();
+            session.setCourseId(1);
+            session.setTopic("Topic " + i);
+            dao.save(session);
+        }
+    }
+    
+    private static List<Integer> ids(Page<Session> page) {
+        return page.getContent().stream().map(Session::getId).collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("Keyset pages walk every row once in id order")
+    void testKeysetPaging() {
+        List<Integer> seen = new ArrayList<>();
+        Page<Session> page = dao.findPage(PageRequest.first(10));
+        seen.addAll(ids(page));
+        while (page.hasNext()) {
+            page = dao.findPage(page.nextRequest());
+            seen.addAll(ids(page));
+        }
+        
+        assertEquals(25, seen.size());
+        assertEquals(dao.findAll().stream().map(Session::getId).collect(Collectors.toList()), seen);
+        assertEquals(5, page.getContent().size());
+    }
+    
+    @Test
+    @DisplayName("Keyset paging skips rows deleted between pages")
+    void testKeysetSurvivesDeletes() {
+        Page<Session> first = dao.findPage(PageRequest.first(10));
+        dao.delete(11);
+        dao.delete(12);
+        
+        Page<Session> second = dao.findPage(first.nextRequest());
+        assertEquals(List.of(13, 14, 15, 16, 17, 18, 19, 20, 21, 22), ids(second));
+    }
+    
+    @Test
+    @DisplayName("Offset and descending requests")
+    void testOffsetAndDescending() {
+        assertEquals(List.of(21, 22, 23, 24, 25), ids(dao.findPage(PageRequest.ofOffset(20, 10))));
+        assertFalse(dao.findPage(PageRequest.ofOffset(20, 10)).hasNext());
+        
+        Page<Session> newest = dao.findPage(PageRequest.first(3).descending());
+        assertEquals(List.of(25, 24, 23), ids(newest));
+        assertEquals(List.of(22, 21, 20), ids(dao.findPage(newest.nextRequest())));
+    }
+    
+    @Test
+    @DisplayName("streamAll and forEach visit every row in id order")
+    void testStreamAndForEach() {
+        try (Stream<Session> stream = dao.streamAll()) {
+            assertEquals(25, stream.count());
+        }
+        List<Integer> visited = new ArrayList<>();
+        dao.forEach(s -> visited.add(s.getId()));
+        assertEquals(25, visited.size());
+        assertEquals(1, visited.get(0));
+        assertEquals(25, visited.get(24));
+        assertEquals(25, dao.count());
+    }
+}
@@ -0,0 +1,107 @@
+package model.dao.impl;
+
+import model.dao.PaymentTotals;
+import model.entity.Course;
+import model.entity.Enrollment;
+import model.entity.Payment;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the status and enrollment indexes and the running totals kept by PaymentDAOImpl.
+ */
+class PaymentDAOImplTest {
+    
+    private PaymentDAOImpl dao;
+    private CourseDAOImpl courses;
+    private EnrollmentDAOImpl enrollments;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new PaymentDAOImpl();
+        courses = new CourseDAOImpl();
+        enrollments = new EnrollmentDAOImpl();
+        dao.setEnrollmentDAO(enrollments);
+        dao.setCourseDAO(courses);
+    }
+    
+    private Course createCourse(Course.Term term) {
+        return courses.save(new Course(0, "Painting", "desc", term, Student.SkillLevel.BEGINNER, 1, 10,
+                new BigDecimal("100.00"), LocalDate.of(2025, 6, 1), LocalDate.of(2025, 8, 31)));
+    }
+    
+    private int enroll(int studentId, int courseId) {
+        return enrollments.save(new Enrollment(0, studentId, courseId, Enrollment.Status.ACTIVE)).getId();
+    }
+    
+    private Payment pay(int enrollmentId, String amount, Payment.PaymentStatus status) {
+        return dao.save(new Payment(0, enrollmentId, new BigDecimal(amount), "Cash", status));
+    }
+    
+    /**
+     * Compares amounts by value; totals keep the scale of the amounts added, e.g. 0.00 rather than 0.
+     */
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> expected + " != " + actual);
+    }
+    
+    @Test
+    @DisplayName("Status and enrollment lookups follow status changes and deletes")
+    void testIndexedLookups() {
+        Payment completed = pay(1, "50.00", Payment.PaymentStatus.COMPLETED);
+        Payment first = pay(1, "100.00", Payment.PaymentStatus.PENDING);
+        Payment second = pay(1, "25.00", Payment.PaymentStatus.PENDING);
+        Payment other = pay(2, "75.00", Payment.PaymentStatus.PENDING);
+        
+        assertEquals(List.of(completed, first, second), dao.findByEnrollmentId(1));
+        assertEquals(List.of(first, second, other), dao.findPendingPayments());
+        assertEquals(first, dao.findPendingByEnrollmentId(1));
+        
+        first.setStatus(Payment.PaymentStatus.COMPLETED);
+        dao.update(first);
+        assertEquals(second, dao.findPendingByEnrollmentId(1));
+        assertEquals(List.of(completed, first), dao.findCompletedPayments());
+        
+        dao.delete(second.getId());
+        assertNull(dao.findPendingByEnrollmentId(1));
+        assertEquals(List.of(other), dao.findPendingPayments());
+        assertEquals(List.of(completed, first), dao.findByEnrollmentId(1));
+    }
+    
+    @Test
+    @DisplayName("Course and term totals follow payments and a course moving to another term")
+    void testTotals() {
+        Course summer = createCourse(Course.Term.SUMMER);
+        Course winter = createCourse(Course.Term.WINTER);
+        int a = enroll(1, summer.getId());
+        int b = enroll(2, summer.getId());
+        int c = enroll(3, winter.getId());
+        Payment pending = pay(a, "100.00", Payment.PaymentStatus.PENDING);
+        pay(b, "40.00", Payment.PaymentStatus.COMPLETED);
+        pay(c, "60.00", Payment.PaymentStatus.PENDING);
+        
+        pending.setStatus(Payment.PaymentStatus.COMPLETED);
+        dao.update(pending);
+        PaymentTotals course = dao.getTotalsByCourse(summer.getId());
+        assertAmount("0", course.outstanding());
+        assertAmount("140.00", course.collected());
+        
+        Payment refunded = pay(b, "40.00", Payment.PaymentStatus.REFUNDED);
+        assertAmount("40.00", dao.getTotalsByTerm(Course.Term.SUMMER).refunded());
+        assertAmount("60.00", dao.getTotalsByTerm(Course.Term.WINTER).outstanding());
+        
+        dao.delete(refunded.getId());
+        winter.setTerm(Course.Term.SUMMER);
+        courses.update(winter);
+        PaymentTotals term = dao.getTotalsByTerm(Course.Term.SUMMER);
+        assertAmount("60.00", term.outstanding());
+        assertAmount("140.00", term.collected());
+        assertAmount("0", term.refunded());
+        assertTrue(dao.getTotalsByTerm(Course.Term.WINTER).isZero());
+        assertTrue(dao.getTotalsByCourse(99).isZero());
+    }
+}
@@ -0,0 +1,64 @@
+package model.dao.impl;
+
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the email index in StudentDAOImpl.
+ */
+class StudentDAOImplTest {
+    
+    private StudentDAOImpl dao;
+    
+    @BeforeEach
+    void setUp() {
+        dao = new StudentDAOImpl();
+    }
+    
+    private Student student(String email) {
+        return new Student(0, "Jane", "Doe", email, "1234567890", "2000-01-01", Student.SkillLevel.BEGINNER);
+    }
+    
+    @Test
+    @DisplayName("Email lookups are case-insensitive")
+    void testCaseInsensitiveLookup() {
+        Student saved = dao.save(student("Jane.Doe@Email.com"));
+        
+        assertSame(saved, dao.findByEmail("jane.doe@email.com"));
+        assertTrue(dao.existsByEmail("JANE.DOE@EMAIL.COM"));
+        assertFalse(dao.existsByEmail("other@email.com"));
+        assertThrows(IllegalArgumentException.class, () -> dao.save(student("jane.doe@email.com")));
+    }
+    
+    @Test
+    @DisplayName("Changing an email through update moves the index entry")
+    void testEmailChangeOnUpdate() {
+        Student saved = dao.save(student("old@email.com"));
+        Student other = dao.save(student("taken@email.com"));
+        
+        saved.setEmail("new@email.com");
+        assertNotNull(dao.update(saved));
+        assertNull(dao.findByEmail("old@email.com"));
+        assertSame(saved, dao.findByEmail("new@email.com"));
+        
+        // The freed address can be used again
+        assertNotNull(dao.save(student("old@email.com")));
+        
+        Student conflicting = student("taken@email.com");
+        conflicting.setId(saved.getId());
+        assertThrows(IllegalArgumentException.class, () -> dao.update(conflicting));
+        assertSame(other, dao.findByEmail("taken@email.com"));
+        assertSame(saved, dao.findByEmail("new@email.com"));
+    }
+    
+    @Test
+    @DisplayName("Deleting a student frees the email")
+    void testDeleteFreesEmail() {
+        Student saved = dao.save(student("gone@email.com"));
+        assertTrue(dao.delete(saved.getId()));
+        
+        assertFalse(dao.existsByEmail("gone@email.com"));
+        assertNotNull(dao.save(student("gone@email.com")));
+    }
+}
@@ -0,0 +1,68 @@
+package model.event;
+
+import model.entity.Course;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventBus.
+ */
+class EventBusTest {
+    
+    private EventBus bus;
+    
+    @BeforeEach
+    void setUp() {
+        bus = new EventBus();
+    }
+    
+    @Test
+    @DisplayName("Should deliver events only to listeners of the entity type")
+    void testRoutesByType() {
+        List<EntityEvent<Student>> students = new ArrayList<>();
+        List<EntityEvent<Course>> courses = new ArrayList<>();
+        bus.subscribe(Student.class, students::add);
+        bus.subscribe(Course.class, courses::add);
+        
+        Student student = new Student();
+        bus.publish(EntityEvent.created(Student.class, 1, student));
+        bus.publish(EntityEvent.deleted(Student.class, 1));
+        
+        assertEquals(2, students.size());
+        assertSame(student, students.get(0).entity());
+        assertEquals(EntityEvent.Kind.DELETED, students.get(1).kind());
+        assertNull(students.get(1).entity());
+        assertTrue(courses.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("A closed subscription should receive no more events")
+    void testUnsubscribe() {
+        List<EntityEvent<Student>> received = new ArrayList<>();
+        EventBus.Subscription subscription = bus.subscribe(Student.class, received::add);
+        
+        bus.publish(EntityEvent.deleted(Student.class, 1));
+        subscription.close();
+        bus.publish(EntityEvent.deleted(Student.class, 2));
+        
+        assertEquals(1, received.size());
+    }
+    
+    @Test
+    @DisplayName("A failing listener should not stop delivery to the others")
+    void testListenerFailureIsIsolated() {
+        List<EntityEvent<Student>> received = new ArrayList<>();
+        bus.subscribe(Student.class, e -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(Student.class, received::add);
+        
+        bus.publishAll(List.of(EntityEvent.deleted(Student.class, 1), EntityEvent.deleted(Student.class, 2)));
+        
+        assertEquals(2, received.size());
+        assertEquals(2, received.get(1).id());
+    }
+}
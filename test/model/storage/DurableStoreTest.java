@@ -0,0 +1,178 @@
+package model.storage;
+
+import model.dao.impl.*;
+import model.entity.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DurableStore recovery from the write-ahead log and snapshots.
+ */
+class DurableStoreTest {
+    
+    @TempDir
+    Path directory;
+    
+    private StudentDAOImpl studentDAO;
+    private CourseDAOImpl courseDAO;
+    private SessionDAOImpl sessionDAO;
+    private PaymentDAOImpl paymentDAO;
+    private DurableStore store;
+    
+    private DurableStore.Recovery open() {
+        studentDAO = new StudentDAOImpl();
+        courseDAO = new CourseDAOImpl();
+        sessionDAO = new SessionDAOImpl();
+        paymentDAO = new PaymentDAOImpl();
+        store = new DurableStore(directory, false)
+                .register("students", studentDAO, EntityCodecs.STUDENT)
+                .register("courses", courseDAO, EntityCodecs.COURSE)
+                .register("sessions", sessionDAO, EntityCodecs.SESSION)
+                .register("payments", paymentDAO, EntityCodecs.PAYMENT);
+        return store.open();
+    }
+    
+    /**
+     * Simulates a crash: the log is synced, but no final snapshot is taken.
+     */
+    private void crash() throws IOException {
+        for (AbstractInMemoryDAO<?> dao : List.of(studentDAO, courseDAO, sessionDAO, paymentDAO)) {
+            dao.setJournal(null);
+        }
+        store = null;
+    }
+    
+    private static Student newStudent(int n) {
+        return new Student(0, "First" + n, "Last" + n, "student" + n + "@email.com", "1234567890",
+                "2000-01-01", Student.SkillLevel.BEGINNER);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Writes survive a restart through the log, with all field types intact")
+    void testReplayLog() throws IOException {
+        open();
+        Student kept = studentDAO.save(newStudent(1));
+        kept.setCreatedAt(LocalDateTime.of(2025, 3, 4, 5, 6, 7, 890_000_000));
+        Student deleted = studentDAO.save(newStudent(2));
+        kept.setSkillLevel(Student.SkillLevel.ADVANCED);
+        studentDAO.update(kept);
+        studentDAO.delete(deleted.getId());
+        Course course = courseDAO.save(new Course(0, "Oil", null, Course.Term.WINTER, null, 1, 12,
+                new BigDecimal("-12345678901234567890.125"), LocalDate.of(2025, 1, 6), null));
+        sessionDAO.save(new Session(0, course.getId(), LocalDate.of(2025, 1, 7), LocalTime.of(9, 30),
+                null, "Ünïcode topic"));
+        paymentDAO.save(new Payment(0, 1, null, "Cash", Payment.PaymentStatus.PENDING));
+        crash();
+        
+        DurableStore.Recovery recovery = open();
+        assertEquals(0, recovery.snapshotRows());
+        assertEquals(7, recovery.logRecords());
+        assertEquals(1, studentDAO.count());
+        Student restored = studentDAO.findById(kept.getId()).orElseThrow();
+        assertEquals(Student.SkillLevel.ADVANCED, restored.getSkillLevel());
+        assertEquals(kept.getCreatedAt(), restored.getCreatedAt());
+        assertEquals(restored, studentDAO.findByEmail("student1@email.com"));
+        assertNull(studentDAO.findByEmail("student2@email.com"));
+        Course restoredCourse = courseDAO.findById(course.getId()).orElseThrow();
+        assertEquals(new BigDecimal("-12345678901234567890.125"), restoredCourse.getFee());
+        assertNull(restoredCourse.getSkillLevel());
+        assertNull(restoredCourse.getEndDate());
+        Session session = sessionDAO.findAll().get(0);
+        assertEquals("Ünïcode topic", session.getTopic());
+        assertEquals(LocalTime.of(9, 30), session.getStartTime());
+        assertNull(session.getEndTime());
+        assertNull(paymentDAO.findAll().get(0).getAmount());
+        // Deleted ids are not handed out again
+        assertEquals(3, studentDAO.save(newStudent(3)).getId());
+    }
+    
+    @Test
+    @DisplayName("Snapshot taken during concurrent writes plus the log restores every row")
+    void testSnapshotWithConcurrentWriters() throws Exception {
+        open();
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(writers.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    Student student = studentDAO.save(newStudent(thread * 1000 + i));
+                    if (i % 5 == 0) {
+                        studentDAO.delete(student.getId());
+                    } else if (i % 5 == 1) {
+                        student.setPhone("555" + i);
+                        studentDAO.update(student);
+                    }
+                }
+            }));
+        }
+        store.snapshot();
+        store.snapshot();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+        List<String> expected = studentDAO.findAll().stream()
+                .map(s -> s.getId() + ":" + s.getEmail() + ":" + s.getPhone()).toList();
+        int nextId = studentDAO.getNextId();
+        crash();
+        
+        DurableStore.Recovery recovery = open();
+        assertTrue(recovery.snapshotRows() > 0 || recovery.logRecords() > 0);
+        assertEquals(800, studentDAO.count());
+        assertEquals(expected, studentDAO.findAll().stream()
+                .map(s -> s.getId() + ":" + s.getEmail() + ":" + s.getPhone()).toList());
+        assertEquals(nextId, studentDAO.getNextId());
+        assertEquals(1, Files.list(directory).filter(f -> f.getFileName().toString().startsWith("snapshot-")).count());
+    }
+    
+    @Test
+    @DisplayName("A torn record at the end of the log is cut off on recovery")
+    void testTornTail() throws IOException {
+        open();
+        store.inTransaction(() -> {
+            studentDAO.save(newStudent(1));
+            studentDAO.save(newStudent(2));
+            return null;
+        });
+        crash();
+        Path segment;
+        try (var files = Files.list(directory)) {
+            segment = files.filter(f -> f.getFileName().toString().startsWith("wal-"))
+                    .filter(f -> f.toFile().length() > 0).findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+        
+        DurableStore.Recovery recovery = open();
+        assertEquals(2, recovery.logRecords());
+        assertEquals(2, studentDAO.count());
+        studentDAO.save(newStudent(3));
+        store.close();
+        
+        open();
+        assertEquals(3, studentDAO.count());
+    }
+}
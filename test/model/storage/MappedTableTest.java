@@ -0,0 +1,121 @@
+package model.storage;
+
+import model.dao.Page;
+import model.dao.PageRequest;
+import model.dao.impl.SkillTestDAOImpl;
+import model.dao.impl.StudentDAOImpl;
+import model.entity.SkillTest;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MappedTable files used as the archive tier of the in-memory DAOs.
+ */
+class MappedTableTest {
+    
+    @TempDir
+    Path directory;
+    
+    private static Student newStudent(int n) {
+        return new Student(0, "First" + n, "Last" + n, "student" + n + "@email.com", "1234567890",
+                "2000-01-01", Student.SkillLevel.BEGINNER);
+    }
+    
+    private static List<Integer> ids(List<Student> students) {
+        return students.stream().map(Student::getId).collect(Collectors.toList());
+    }
+    
+    /**
+     * Writes students 1..10 with ids 3, 6 and 9 deleted, and maps the file under a new DAO.
+     */
+    private StudentDAOImpl archivedStudents() throws IOException {
+        StudentDAOImpl source = new StudentDAOImpl();
+        for (int i = 1; i <= 10; i++) {
+            source.save(newStudent(i));
+        }
+        source.delete(3);
+        source.delete(6);
+        source.delete(9);
+        Path file = directory.resolve("students.tbl");
+        try (Stream<Student> rows = source.streamAll()) {
+            assertEquals(7, MappedTable.write(file, EntityCodecs.STUDENT, source.getNextId(), rows));
+        }
+        StudentDAOImpl dao = new StudentDAOImpl();
+        dao.attachArchive(MappedTable.open(file, EntityCodecs.STUDENT));
+        return dao;
+    }
+    
+    @Test
+    @DisplayName("Archived rows read, page and index like rows on the heap")
+    void testReadArchive() throws IOException {
+        StudentDAOImpl dao = archivedStudents();
+        assertEquals(7, dao.count());
+        assertEquals(List.of(1, 2, 4, 5, 7, 8, 10), ids(dao.findAll()));
+        assertEquals("First4", dao.findById(4).orElseThrow().getFirstName());
+        assertTrue(dao.findById(3).isEmpty());
+        assertEquals(8, dao.findByEmail("student8@email.com").getId());
+        
+        Page<Student> page = dao.findPage(PageRequest.first(3).after(4));
+        assertEquals(List.of(5, 7, 8), ids(page.getContent()));
+        Page<Student> descending = dao.findPage(PageRequest.first(3).descending().after(7));
+        assertEquals(List.of(5, 4, 2), ids(descending.getContent()));
+        Page<Student> sorted = dao.findPage(PageRequest.ofOffset(0, 3).sortBy("first_name").descending());
+        assertEquals(List.of(8, 7, 5), ids(sorted.getContent()));
+    }
+    
+    @Test
+    @DisplayName("Writes on top of the archive shadow, mask and extend it")
+    void testWriteOverArchive() throws IOException {
+        StudentDAOImpl dao = archivedStudents();
+        Student updated = dao.findById(2).orElseThrow();
+        updated.setEmail("renamed@email.com");
+        assertNotNull(dao.update(updated));
+        assertTrue(dao.delete(5));
+        assertFalse(dao.delete(5));
+        assertFalse(dao.delete(3));
+        Student created = dao.save(newStudent(11));
+        
+        assertEquals(11, created.getId());
+        assertEquals(7, dao.count());
+        assertEquals(List.of(1, 2, 4, 7, 8, 10, 11), ids(dao.findAll()));
+        assertEquals("renamed@email.com", dao.findById(2).orElseThrow().getEmail());
+        assertNull(dao.findByEmail("student2@email.com"));
+        assertEquals(2, dao.findByEmail("renamed@email.com").getId());
+        assertTrue(dao.findById(5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> dao.save(newStudent(7)));
+        assertEquals(List.of(11, 10, 8), ids(dao.findPage(PageRequest.first(3).descending()).getContent()));
+    }
+    
+    @Test
+    @DisplayName("A DAO without indexes opens its archive without decoding rows")
+    void testLazyDecoding() throws IOException {
+        SkillTestDAOImpl source = new SkillTestDAOImpl();
+        for (int i = 1; i <= 100; i++) {
+            source.save(new SkillTest(0, i, i % 100, Student.SkillLevel.BEGINNER, null));
+        }
+        Path file = directory.resolve("skill_tests.tbl");
+        try (Stream<SkillTest> rows = source.streamAll()) {
+            MappedTable.write(file, EntityCodecs.SKILL_TEST, source.getNextId(), rows);
+        }
+        AtomicInteger decoded = new AtomicInteger();
+        EntityCodec<SkillTest> counting = EntityCodec.of(EntityCodecs.SKILL_TEST::write, in -> {
+            decoded.incrementAndGet();
+            return EntityCodecs.SKILL_TEST.read(in);
+        });
+        
+        SkillTestDAOImpl dao = new SkillTestDAOImpl();
+        dao.attachArchive(MappedTable.open(file, counting));
+        assertEquals(100, dao.count());
+        assertEquals(0, decoded.get());
+        assertEquals(42, dao.findById(42).orElseThrow().getScore());
+        assertEquals(1, decoded.get());
+    }
+}
@@ -0,0 +1,156 @@
+package util;
+
+import org.junit.jupiter.api.*;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConnectionPool using stub connections.
+ */
+class ConnectionPoolTest {
+    
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicBoolean valid = new AtomicBoolean(true);
+    private ConnectionPool pool;
+    
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+    
+    private ConnectionPool createPool(int min, int max, long borrowTimeoutMs) {
+        ConnectionPoolConfig config = new ConnectionPoolConfig("jdbc:stub", "user", "secret");
+        config.setMinSize(min);
+        config.setMaxSize(max);
+        config.setBorrowTimeoutMs(borrowTimeoutMs);
+        config.setEvictionIntervalMs(0);
+        return new ConnectionPool(config, this::stubConnection);
+    }
+    
+    private Connection stubConnection() {
+        opened.incrementAndGet();
+        AtomicBoolean isClosed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                        if (isClosed.compareAndSet(false, true)) {
+                            closed.incrementAndGet();
+                        }
+                        return null;
+                    case "isClosed":
+                        return isClosed.get();
+                    case "isValid":
+                        return valid.get();
+                    case "getAutoCommit":
+                        return true;
+                    default:
+                        return null;
+                }
+            });
+    }
+    
+    @Test
+    @DisplayName("Closing a borrowed connection returns it for reuse")
+    void testConnectionIsReused() throws SQLException {
+        pool = createPool(0, 2, 1000);
+        
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+        second.close();
+        
+        assertEquals(1, opened.get());
+        assertTrue(first.isClosed());
+        assertEquals(1, pool.getMetrics().getIdle());
+        assertEquals(0, pool.getMetrics().getActive());
+    }
+    
+    @Test
+    @DisplayName("Borrowing beyond max size times out")
+    void testBorrowTimeout() throws SQLException {
+        pool = createPool(0, 1, 50);
+        
+        Connection held = pool.getConnection();
+        
+        assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        assertEquals(1, pool.getMetrics().getTimeoutCount());
+        held.close();
+        assertDoesNotThrow(() -> pool.getConnection().close());
+    }
+    
+    @Test
+    @DisplayName("Invalid idle connections are discarded on borrow")
+    void testValidationOnBorrow() throws SQLException {
+        pool = createPool(0, 2, 1000);
+        pool.getConnection().close();
+        
+        valid.set(false);
+        Connection conn = pool.getConnection();
+        
+        assertEquals(2, opened.get());
+        assertEquals(1, closed.get());
+        conn.close();
+    }
+    
+    @Test
+    @DisplayName("Using a returned connection fails")
+    void testUseAfterClose() throws SQLException {
+        pool = createPool(0, 1, 1000);
+        Connection conn = pool.getConnection();
+        conn.close();
+        conn.close();
+        
+        assertThrows(SQLException.class, () -> conn.createStatement());
+        assertEquals(0, pool.getMetrics().getActive());
+    }
+    
+    @Test
+    @DisplayName("Metrics report active connections and borrow latency")
+    void testMetrics() throws SQLException {
+        pool = createPool(0, 3, 1000);
+        Connection a = pool.getConnection();
+        Connection b = pool.getConnection();
+        
+        PoolMetrics metrics = pool.getMetrics();
+        
+        assertEquals(2, metrics.getActive());
+        assertEquals(2, metrics.getTotal());
+        assertEquals(2, metrics.getBorrowCount());
+        assertEquals(2, metrics.getBorrowLatency().getSampleCount());
+        a.close();
+        b.close();
+    }
+    
+    @Test
+    @DisplayName("Closing the pool closes idle connections")
+    void testClosePool() throws SQLException {
+        pool = createPool(0, 2, 1000);
+        Connection a = pool.getConnection();
+        pool.getConnection().close();
+        
+        pool.close();
+        a.close();
+        
+        assertEquals(2, closed.get());
+        assertThrows(SQLException.class, () -> pool.getConnection());
+    }
+    
+    @Test
+    @DisplayName("Invalid pool sizes are rejected")
+    void testInvalidConfig() {
+        ConnectionPoolConfig config = new ConnectionPoolConfig("jdbc:stub", "user", "secret");
+        config.setMinSize(5);
+        config.setMaxSize(2);
+        
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionPool(config, this::stubConnection));
+    }
+}
@@ -0,0 +1,26 @@
+package util;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyCache.
+ */
+class IdempotencyCacheTest {
+    
+    @Test
+    @DisplayName("Holds at most capacity keys, evicting the least recently used")
+    void testEvictsLeastRecentlyUsed() {
+        IdempotencyCache<Integer> cache = new IdempotencyCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+        
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache<Integer>(0));
+    }
+}
@@ -0,0 +1,65 @@
+package view.components;
+
+import model.event.EntityEvent;
+import model.event.EventBus;
+import org.junit.jupiter.api.*;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventCoalescer.
+ */
+class EventCoalescerTest {
+    
+    @Test
+    @DisplayName("A burst of events should reach the EDT as one merged batch")
+    void testCoalescesBurst() throws Exception {
+        EventBus bus = new EventBus();
+        List<List<EntityEvent<String>>> batches = new ArrayList<>();
+        new EventCoalescer<>(bus, String.class, batch -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            batches.add(batch);
+        });
+        
+        // Publish while the EDT is busy so every event lands in the same batch
+        SwingUtilities.invokeAndWait(() -> {
+            bus.publish(EntityEvent.created(String.class, 1, "a"));
+            bus.publish(EntityEvent.updated(String.class, 1, "b"));
+            bus.publish(EntityEvent.created(String.class, 2, "c"));
+            bus.publish(EntityEvent.deleted(String.class, 2));
+            bus.publish(EntityEvent.updated(String.class, 3, "d"));
+            bus.publish(EntityEvent.deleted(String.class, 3));
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+        
+        assertEquals(1, batches.size());
+        List<EntityEvent<String>> batch = batches.get(0);
+        assertEquals(2, batch.size());
+        assertEquals(EntityEvent.created(String.class, 1, "b"), batch.get(0));
+        assertEquals(EntityEvent.deleted(String.class, 3), batch.get(1));
+    }
+    
+    @Test
+    @DisplayName("onAny should run the action once per burst across types")
+    void testOnAny() throws Exception {
+        EventBus bus = new EventBus();
+        AtomicInteger runs = new AtomicInteger();
+        EventBus.Subscription subscription = EventCoalescer.onAny(bus, runs::incrementAndGet,
+                String.class, Integer.class);
+        
+        SwingUtilities.invokeAndWait(() -> {
+            bus.publish(EntityEvent.deleted(String.class, 1));
+            bus.publish(EntityEvent.deleted(Integer.class, 1));
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, runs.get());
+        
+        subscription.close();
+        bus.publish(EntityEvent.deleted(String.class, 2));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, runs.get());
+    }
+}
@@ -0,0 +1,133 @@
+package view.components;
+
+import model.dao.impl.StudentDAOImpl;
+import model.entity.Student;
+import org.junit.jupiter.api.*;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PagedTableModel backed by the in-memory student DAO.
+ */
+class PagedTableModelTest {
+    
+    private static final int STUDENTS = 250;
+    
+    private StudentDAOImpl dao;
+    private PagedTableModel<Student> model;
+    private final AtomicInteger fetches = new AtomicInteger();
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        dao = new StudentDAOImpl();
+        for (int i = 0; i < STUDENTS; i++) {
+            // Last names run backwards so sorting by them reverses the id order
+            dao.save(new Student(0, "First" + i, String.format("Last%03d", STUDENTS - i),
+                    "s" + i + "@example.com", "5551234567", "2000-01-15", Student.SkillLevel.BEGINNER));
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            model = new PagedTableModel<>(new String[] {"ID", "Last Name"}, new String[] {null, "last_name"},
+                    request -> {
+                        fetches.incrementAndGet();
+                        return dao.findPage(request);
+                    }, dao::count, s -> new Object[] {s.getId(), s.getLastName()}, 50, 2);
+            model.refresh();
+        });
+        awaitOnEdt(() -> model.getRowCount() == STUDENTS);
+    }
+    
+    private static void awaitOnEdt(BooleanSupplier condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        boolean[] met = {false};
+        while (!met[0] && System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> met[0] = condition.getAsBoolean());
+            if (!met[0]) {
+                Thread.sleep(10);
+            }
+        }
+        assertTrue(met[0], "condition not met in time");
+    }
+    
+    @Test
+    @DisplayName("Should fetch only the pages that are read")
+    void testFetchesPagesOnDemand() throws Exception {
+        assertEquals(0, fetches.get());
+        awaitOnEdt(() -> model.getValueAt(120, 0) != null);
+        
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(121, model.getValueAt(120, 0));
+            // Same page as row 120
+            assertEquals(101, model.getValueAt(100, 0));
+        });
+        assertEquals(1, fetches.get());
+    }
+    
+    @Test
+    @DisplayName("Should evict the least recently used page")
+    void testEvictsOldPages() throws Exception {
+        awaitOnEdt(() -> model.getValueAt(0, 0) != null);
+        awaitOnEdt(() -> model.getValueAt(50, 0) != null);
+        awaitOnEdt(() -> model.getValueAt(100, 0) != null);
+        int before = fetches.get();
+        
+        awaitOnEdt(() -> model.getValueAt(0, 0) != null);
+        assertEquals(before + 1, fetches.get());
+    }
+    
+    @Test
+    @DisplayName("Sorting should re-query in column order and flip on a second click")
+    void testSort() throws Exception {
+        SwingUtilities.invokeAndWait(() -> model.sort(1));
+        awaitOnEdt(() -> model.getValueAt(0, 0) != null);
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals("Last001", model.getValueAt(0, 1));
+            assertEquals(STUDENTS, model.getValueAt(0, 0));
+        });
+        
+        SwingUtilities.invokeAndWait(() -> model.sort(1));
+        awaitOnEdt(() -> model.getValueAt(0, 0) != null);
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(model.isDescending());
+            assertEquals(1, model.getValueAt(0, 0));
+        });
+        
+        SwingUtilities.invokeAndWait(() -> model.sort(0));
+        SwingUtilities.invokeAndWait(() -> assertEquals(1, model.getSortColumn()));
+    }
+    
+    @Test
+    @DisplayName("A page whose fetch failed is reported once and fetched again after a delay")
+    void testRetriesFailedPage() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Exception> reported = new ArrayList<>();
+        SwingUtilities.invokeAndWait(() -> {
+            model = new PagedTableModel<>(new String[] {"ID", "Last Name"}, new String[] {null, "last_name"},
+                    request -> {
+                        if (attempts.incrementAndGet() <= 2) {
+                            throw new IllegalStateException("connection lost");
+                        }
+                        return dao.findPage(request);
+                    }, dao::count, s -> new Object[] {s.getId(), s.getLastName()}, 50, 2);
+            // No dialog in tests
+            model.setFailureReporter(reported::add);
+            model.refresh();
+        });
+        awaitOnEdt(() -> model.getRowCount() == STUDENTS);
+        
+        awaitOnEdt(() -> model.getValueAt(0, 0) == null && !reported.isEmpty());
+        // Reads during the retry delay do not fetch again
+        for (int i = 0; i < 10; i++) {
+            SwingUtilities.invokeAndWait(() -> assertNull(model.getValueAt(0, 0)));
+        }
+        assertEquals(1, attempts.get());
+        
+        awaitOnEdt(() -> model.getValueAt(0, 0) != null);
+        assertEquals(3, attempts.get());
+        SwingUtilities.invokeAndWait(() -> assertEquals(1, reported.size()));
+    }
+}
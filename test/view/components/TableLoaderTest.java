@@ -0,0 +1,128 @@
+package view.components;
+
+import model.event.EntityEvent;
+import org.junit.jupiter.api.*;
+import javax.swing.*;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TableLoader.
+ */
+class TableLoaderTest {
+    
+    private DefaultTableModel model;
+    private TableLoader<Integer> loader;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            model = new DefaultTableModel(new String[] {"Value", "Square"}, 0);
+            loader = new TableLoader<>(new JTable(model), i -> new Object[] {i, i * i});
+        });
+    }
+    
+    private void awaitIdle() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        boolean[] loading = {true};
+        while (loading[0] && System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> loading[0] = loader.isLoading());
+            Thread.sleep(10);
+        }
+        assertFalse(loading[0], "load did not finish");
+    }
+    
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+    
+    @Test
+    @DisplayName("Should load every row in order across several chunks")
+    void testLoadsAllRows() throws Exception {
+        int count = TableLoader.CHUNK_SIZE * 3 + 7;
+        SwingUtilities.invokeAndWait(() -> loader.load(() -> range(count)));
+        awaitIdle();
+        
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(count, model.getRowCount());
+            assertEquals(count - 1, model.getValueAt(count - 1, 0));
+            assertEquals(25, model.getValueAt(5, 1));
+            assertFalse(loader.getProgressBar().isVisible());
+        });
+    }
+    
+    @Test
+    @DisplayName("A new load should replace a slower running one")
+    void testNewLoadSupersedesOld() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> loader.load(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return range(5_000);
+        }));
+        SwingUtilities.invokeAndWait(() -> loader.load(() -> range(10)));
+        release.countDown();
+        awaitIdle();
+        Thread.sleep(200);
+        
+        SwingUtilities.invokeAndWait(() -> assertEquals(10, model.getRowCount()));
+    }
+    
+    @Test
+    @DisplayName("Cancel should stop the load and clear partial rows")
+    void testCancel() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> loader.load(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return range(100);
+        }));
+        SwingUtilities.invokeAndWait(() -> {
+            assertTrue(loader.isLoading());
+            loader.cancel();
+            assertFalse(loader.isLoading());
+        });
+        release.countDown();
+        Thread.sleep(200);
+        
+        SwingUtilities.invokeAndWait(() -> assertEquals(0, model.getRowCount()));
+    }
+    
+    @Test
+    @DisplayName("Events should become row updates, inserts and deletes")
+    void testApplyEvents() throws Exception {
+        SwingUtilities.invokeAndWait(() -> loader.load(() -> range(10)));
+        awaitIdle();
+        
+        SwingUtilities.invokeAndWait(() -> {
+            List<Integer> types = new ArrayList<>();
+            model.addTableModelListener(e -> types.add(e.getType()));
+            loader.apply(List.of(
+                    EntityEvent.updated(Integer.class, 4, 4),
+                    EntityEvent.updated(Integer.class, 3, 3),
+                    EntityEvent.created(Integer.class, 20, 20),
+                    EntityEvent.deleted(Integer.class, 5)), i -> i % 2 == 0);
+            
+            assertEquals(9, model.getRowCount());
+            assertEquals(20, model.getValueAt(8, 0));
+            assertEquals(400, model.getValueAt(8, 1));
+            assertEquals(4, model.getValueAt(3, 0));
+            assertEquals(6, model.getValueAt(4, 0));
+            assertEquals(List.of(TableModelEvent.UPDATE, TableModelEvent.INSERT,
+                    TableModelEvent.DELETE, TableModelEvent.DELETE), types);
+        });
+    }
+}
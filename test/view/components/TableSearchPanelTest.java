@@ -0,0 +1,164 @@
+package view.components;
+
+import org.junit.jupiter.api.*;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.Component;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TableSearchPanel.
+ */
+class TableSearchPanelTest {
+    
+    private DefaultTableModel model;
+    private JTable table;
+    private TableSearchPanel searchPanel;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            model = new DefaultTableModel(new String[] {"Name", "City"}, 0);
+            model.addRow(new Object[] {"Anna Smith", "Ankara"});
+            model.addRow(new Object[] {"Hannah Lee", "Izmir"});
+            model.addRow(new Object[] {"Bob Stone", "Anna Bay"});
+            model.addRow(new Object[] {"Carl Young", null});
+            table = new JTable(model);
+            searchPanel = new TableSearchPanel(table);
+        });
+    }
+    
+    private void awaitRowCount(int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int[] rows = {-1};
+        while (System.nanoTime() < deadline) {
+            SwingUtilities.invokeAndWait(() -> rows[0] = table.getRowCount());
+            if (rows[0] == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        assertEquals(expected, rows[0], "filter did not settle");
+    }
+    
+    private Object viewValue(int row) throws Exception {
+        Object[] value = new Object[1];
+        SwingUtilities.invokeAndWait(() -> value[0] = table.getValueAt(row, 0));
+        return value[0];
+    }
+    
+    @SuppressWarnings("unchecked")
+    private JComboBox<String> columnSelector() {
+        for (Component component : searchPanel.getComponents()) {
+            if (component instanceof JComboBox) {
+                return (JComboBox<String>) component;
+            }
+        }
+        throw new AssertionError("no column selector");
+    }
+    
+    @Test
+    @DisplayName("Should match any column case-insensitively after the debounce")
+    void testFiltersAllColumns() throws Exception {
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("ANN"));
+        awaitRowCount(3);
+        
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("anna"));
+        awaitRowCount(3);
+        
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("anna s"));
+        awaitRowCount(1);
+        assertEquals("Anna Smith", viewValue(0));
+    }
+    
+    @Test
+    @DisplayName("Should widen again when the query gets shorter")
+    void testShorterQueryWidens() throws Exception {
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("hannah"));
+        awaitRowCount(1);
+        
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("n"));
+        awaitRowCount(4);
+    }
+    
+    @Test
+    @DisplayName("Should restrict matching to the selected column")
+    void testColumnSearch() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            columnSelector().setSelectedItem("Name");
+            searchPanel.setSearchText("anna");
+        });
+        awaitRowCount(2);
+        
+        SwingUtilities.invokeAndWait(() -> columnSelector().setSelectedItem("City"));
+        awaitRowCount(1);
+        assertEquals("Bob Stone", viewValue(0));
+    }
+    
+    @Test
+    @DisplayName("Should re-filter when rows are added under an active search")
+    void testRefiltersOnModelChange() throws Exception {
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("smith"));
+        awaitRowCount(1);
+        
+        SwingUtilities.invokeAndWait(() -> model.addRow(new Object[] {"Jane Smith", "Bursa"}));
+        awaitRowCount(2);
+        
+        SwingUtilities.invokeAndWait(() -> model.setValueAt("Anna Jones", 0, 0));
+        awaitRowCount(1);
+        assertEquals("Jane Smith", viewValue(0));
+    }
+    
+    @Test
+    @DisplayName("Rows appended in chunks are matched without copying the earlier rows again")
+    void testAppendedRowsExtendIndex() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> {
+            model = new DefaultTableModel(new String[] {"Name", "City"}, 0) {
+                @Override
+                public Object getValueAt(int row, int column) {
+                    reads.incrementAndGet();
+                    return super.getValueAt(row, column);
+                }
+            };
+            for (int i = 0; i < 1000; i++) {
+                model.addRow(new Object[] {i % 10 == 0 ? "Smith " + i : "Jones " + i, "Izmir"});
+            }
+            table = new JTable(model);
+            searchPanel = new TableSearchPanel(table);
+            searchPanel.setSearchText("smith");
+        });
+        awaitRowCount(100);
+        
+        reads.set(0);
+        SwingUtilities.invokeAndWait(() -> {
+            // Chunks the way TableLoader hands them over: one insert event each
+            for (int chunk = 0; chunk < 10; chunk++) {
+                int first = model.getRowCount();
+                for (int i = 0; i < 100; i++) {
+                    model.getDataVector().add(new Vector<>(List.of("Smith new", "Bursa")));
+                }
+                model.fireTableRowsInserted(first, model.getRowCount() - 1);
+            }
+        });
+        awaitRowCount(1100);
+        assertTrue(reads.get() <= 1000 * 2, "read " + reads.get() + " cells for 1000 appended rows");
+    }
+    
+    @Test
+    @DisplayName("Clearing the search should show every row at once")
+    void testClearSearch() throws Exception {
+        SwingUtilities.invokeAndWait(() -> searchPanel.setSearchText("carl"));
+        awaitRowCount(1);
+        
+        SwingUtilities.invokeAndWait(() -> {
+            searchPanel.clearSearch();
+            assertEquals(4, table.getRowCount());
+            assertEquals("", searchPanel.getSearchText());
+        });
+    }
+}